@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.benchmarks.jmh;
+
+import java.io.File;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.settingsbuilders.H2MemorySettingsBuilder;
+import nz.co.gregs.dbvolution.databases.settingsbuilders.SQLiteSettingsBuilder;
+
+/**
+ * The databases the benchmarks are run against.
+ *
+ * <p>
+ * Both databases run in the benchmark's JVM so the measurements are dominated
+ * by DBvolution rather than the network.
+ *
+ * @author Gregory Graham
+ */
+public enum BenchmarkDatabase {
+
+	/**
+	 * An H2 memory database.
+	 */
+	H2 {
+		@Override
+		public DBDatabase create(String name) throws Exception {
+			return new H2MemorySettingsBuilder().setDatabaseName(name).getDBDatabase();
+		}
+	},
+	/**
+	 * A SQLite database in the target directory.
+	 */
+	SQLITE {
+		@Override
+		public DBDatabase create(String name) throws Exception {
+			final File file = getFile(name);
+			file.delete();
+			return new SQLiteSettingsBuilder().setFilename(file.getPath()).getDBDatabase();
+		}
+
+		@Override
+		public void remove(DBDatabase database, String name) {
+			super.remove(database, name);
+			getFile(name).delete();
+		}
+	};
+
+	/**
+	 * Creates a new, empty, database.
+	 *
+	 * @param name a name unique to the benchmark
+	 * @return a new database
+	 * @throws Exception if the database can not be created
+	 */
+	public abstract DBDatabase create(String name) throws Exception;
+
+	/**
+	 * Stops the database and removes any files it created.
+	 *
+	 * @param database the database created by {@link #create(java.lang.String) }
+	 * @param name the name used to create the database
+	 */
+	public void remove(DBDatabase database, String name) {
+		database.stop();
+	}
+
+	private static File getFile(String name) {
+		return new File("target", name + ".sqlite");
+	}
+}
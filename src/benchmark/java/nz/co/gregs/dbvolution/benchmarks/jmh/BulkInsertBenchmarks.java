@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.benchmarks.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.actions.DBBulkInsert;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures copying the rows of a table to another database with
+ * {@link DBBulkInsert}, the way a cluster copies a table to a new member.
+ *
+ * <p>
+ * The rows are read from one database and inserted into an empty table in
+ * another using a single statement, chunked statements, chunked statements sent
+ * as JDBC batches, and batches of PreparedStatements.
+ *
+ * @author Gregory Graham
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkInsertBenchmarks {
+
+	private static final String NAME = "BulkInsertBenchmarks";
+
+	/**
+	 * The ways the bulk insert can send its statements.
+	 */
+	public enum Method {
+		SINGLE_STATEMENT(false, false, 0),
+		CHUNKED(false, false, 1000),
+		CHUNKED_BATCHES(true, false, 1000),
+		PREPARED_BATCHES(true, true, 1000);
+
+		private final boolean batched;
+		private final boolean prepared;
+		private final int rowsPerStatement;
+
+		Method(boolean batched, boolean prepared, int rowsPerStatement) {
+			this.batched = batched;
+			this.prepared = prepared;
+			this.rowsPerStatement = rowsPerStatement;
+		}
+	}
+
+	@Param({"H2", "SQLITE"})
+	public BenchmarkDatabase databaseType;
+
+	@Param({"SINGLE_STATEMENT", "CHUNKED", "CHUNKED_BATCHES", "PREPARED_BATCHES"})
+	public Method method;
+
+	@Param({"50000"})
+	public int rows;
+
+	private DBDatabase source;
+	private DBDatabase target;
+	private DBRow[] definedRows;
+
+	@Setup
+	public void setUp() throws Exception {
+		source = databaseType.create(NAME + "Source");
+		target = databaseType.create(NAME + "Target");
+		source.createTable(new CarCompany());
+		final List<CarCompany> companies = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			companies.add(new CarCompany("COMPANY " + i, i));
+		}
+		source.insert(companies);
+		definedRows = source.getDBTable(new CarCompany()).setBlankQueryAllowed(true).getAllRows().toArray(new DBRow[]{});
+		target.setBatchSQLStatementsWhenPossible(method.batched);
+		target.setPreparedStatementsPreference(method.prepared);
+	}
+
+	@Setup(Level.Invocation)
+	public void emptyTable() throws Exception {
+		// dropping is only permitted once for each call
+		target.preventDroppingOfTables(false);
+		target.dropTableNoExceptions(new CarCompany());
+		target.createTable(new CarCompany());
+	}
+
+	@TearDown
+	public void tearDown() {
+		databaseType.remove(source, NAME + "Source");
+		databaseType.remove(target, NAME + "Target");
+	}
+
+	@Benchmark
+	public void bulkInsert() throws Exception {
+		final DBBulkInsert bulkInsert = new DBBulkInsert()
+				.setRowsPerStatement(method.rowsPerStatement)
+				.setBytesPerStatement(0);
+		bulkInsert.addAll(definedRows);
+		bulkInsert.insert(target);
+	}
+}
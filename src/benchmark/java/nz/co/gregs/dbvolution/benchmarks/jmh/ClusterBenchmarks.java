@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.benchmarks.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.DBDatabaseCluster;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures reading from and writing to a cluster of two databases.
+ *
+ * @author Gregory Graham
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ClusterBenchmarks {
+
+	private static final String NAME = "ClusterBenchmarks";
+
+	@Param({"H2", "SQLITE"})
+	public BenchmarkDatabase databaseType;
+
+	private DBDatabase first;
+	private DBDatabase second;
+	private DBDatabaseCluster cluster;
+	private final AtomicInteger nextKey = new AtomicInteger(1000);
+
+	@Setup
+	public void setUp() throws Exception {
+		first = databaseType.create(NAME + "First");
+		second = databaseType.create(NAME + "Second");
+		cluster = new DBDatabaseCluster(NAME, DBDatabaseCluster.Configuration.autoStart(), first);
+		cluster.addTrackedTable(new CarCompany());
+		cluster.createTable(new CarCompany());
+		final List<CarCompany> companies = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			companies.add(new CarCompany("COMPANY " + i, i));
+		}
+		cluster.insert(companies);
+		cluster.addDatabaseAndWait(second);
+	}
+
+	@TearDown
+	public void tearDown() {
+		cluster.stopCluster();
+		databaseType.remove(first, NAME + "First");
+		databaseType.remove(second, NAME + "Second");
+	}
+
+	@Benchmark
+	public List<CarCompany> read() throws Exception {
+		return cluster.getDBTable(new CarCompany()).setBlankQueryAllowed(true).getAllRows();
+	}
+
+	@Benchmark
+	public void write() throws Exception {
+		final int key = nextKey.incrementAndGet();
+		cluster.insert(new CarCompany("COMPANY " + key, key));
+	}
+}
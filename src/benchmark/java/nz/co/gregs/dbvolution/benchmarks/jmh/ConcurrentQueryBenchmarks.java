@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.benchmarks.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import nz.co.gregs.dbvolution.DBTable;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the queries per second achieved by many threads sharing one
+ * DBDatabase.
+ *
+ * <p>
+ * Each thread repeatedly selects a car company by its primary key, starting
+ * from a different key to the other threads.
+ *
+ * @author Gregory Graham
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConcurrentQueryBenchmarks {
+
+	private static final String NAME = "ConcurrentQueryBenchmarks";
+	private static final int ROWS = 100;
+
+	@Param({"H2", "SQLITE"})
+	public BenchmarkDatabase databaseType;
+
+	private DBDatabase database;
+	private final AtomicInteger nextOffset = new AtomicInteger(0);
+
+	@Setup
+	public void setUp() throws Exception {
+		database = databaseType.create(NAME);
+		database.createTable(new CarCompany());
+		final List<CarCompany> companies = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			companies.add(new CarCompany("COMPANY " + i, i));
+		}
+		database.insert(companies);
+	}
+
+	@TearDown
+	public void tearDown() {
+		databaseType.remove(database, NAME);
+	}
+
+	/**
+	 * The table and next key used by a single thread.
+	 */
+	@State(Scope.Thread)
+	public static class Reader {
+
+		private DBTable<CarCompany> table;
+		private int key;
+
+		@Setup
+		public void setUp(ConcurrentQueryBenchmarks benchmark) {
+			table = benchmark.database.getDBTable(new CarCompany());
+			key = benchmark.nextOffset.getAndIncrement();
+		}
+
+		List<CarCompany> query() throws Exception {
+			return table.getRowsByPrimaryKey(key++ % ROWS);
+		}
+	}
+
+	@Benchmark
+	@Threads(1)
+	public List<CarCompany> oneThread(Reader reader) throws Exception {
+		return reader.query();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public List<CarCompany> eightThreads(Reader reader) throws Exception {
+		return reader.query();
+	}
+
+	@Benchmark
+	@Threads(64)
+	public List<CarCompany> sixtyFourThreads(Reader reader) throws Exception {
+		return reader.query();
+	}
+}
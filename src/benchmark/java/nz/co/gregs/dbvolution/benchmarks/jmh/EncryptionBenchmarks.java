@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.benchmarks.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import nz.co.gregs.dbvolution.utility.encryption.DerivedKeyCache;
+import nz.co.gregs.dbvolution.utility.encryption.Encryption_BASE64_AES_GCM_NoPadding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures decrypting values with {@link Encryption_BASE64_AES_GCM_NoPadding}.
+ *
+ * <p>
+ * Every value is encrypted separately so every cipher text has its own salt,
+ * the way values are written to a table. The values are decrypted without a
+ * key cache, with an empty key cache, with the bulk decryption, and again with
+ * the key cache left warm by a previous read.
+ *
+ * <p>
+ * Only the re-read benefits from the cache: a salt is derived at least once no
+ * matter how the values are decrypted.
+ *
+ * @author Gregory Graham
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EncryptionBenchmarks {
+
+	private static final String PASSPHRASE = "benchmark pass phrase";
+
+	@Param({"200"})
+	public int values;
+
+	private List<String> encrypted;
+
+	@Setup
+	public void setUp() throws Exception {
+		encrypted = new ArrayList<>(values);
+		for (int i = 0; i < values; i++) {
+			encrypted.add(Encryption_BASE64_AES_GCM_NoPadding.encrypt(PASSPHRASE, "VALUE " + i));
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		Encryption_BASE64_AES_GCM_NoPadding.setKeyCache(new DerivedKeyCache());
+	}
+
+	/**
+	 * Disables the key cache so every key is derived.
+	 */
+	@State(Scope.Thread)
+	public static class NoCache {
+
+		@Setup(Level.Invocation)
+		public void setUp() {
+			Encryption_BASE64_AES_GCM_NoPadding.setKeyCache(new DerivedKeyCache(0, 0, true));
+		}
+	}
+
+	/**
+	 * Starts each invocation without any cached keys.
+	 */
+	@State(Scope.Thread)
+	public static class EmptyCache {
+
+		@Setup(Level.Invocation)
+		public void setUp() {
+			Encryption_BASE64_AES_GCM_NoPadding.setKeyCache(new DerivedKeyCache());
+		}
+	}
+
+	/**
+	 * Starts each invocation with the keys of every value already cached.
+	 */
+	@State(Scope.Thread)
+	public static class WarmCache {
+
+		@Setup(Level.Invocation)
+		public void setUp(EncryptionBenchmarks benchmark) throws Exception {
+			Encryption_BASE64_AES_GCM_NoPadding.setKeyCache(new DerivedKeyCache());
+			Encryption_BASE64_AES_GCM_NoPadding.decrypt(PASSPHRASE, benchmark.encrypted);
+		}
+	}
+
+	@Benchmark
+	public List<String> uncached(NoCache cache) throws Exception {
+		return decryptIndividually();
+	}
+
+	@Benchmark
+	public List<String> cached(EmptyCache cache) throws Exception {
+		return decryptIndividually();
+	}
+
+	@Benchmark
+	public List<String> bulk(EmptyCache cache) throws Exception {
+		return Encryption_BASE64_AES_GCM_NoPadding.decrypt(PASSPHRASE, encrypted);
+	}
+
+	@Benchmark
+	public List<String> reread(WarmCache cache) throws Exception {
+		return decryptIndividually();
+	}
+
+	private List<String> decryptIndividually() throws Exception {
+		final List<String> results = new ArrayList<>(encrypted.size());
+		for (String value : encrypted) {
+			results.add(Encryption_BASE64_AES_GCM_NoPadding.decrypt(PASSPHRASE, value));
+		}
+		return results;
+	}
+}
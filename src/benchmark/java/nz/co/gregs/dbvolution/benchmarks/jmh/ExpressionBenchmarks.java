@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.benchmarks.jmh;
+
+import java.util.concurrent.TimeUnit;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.databases.definitions.H2DBDefinition;
+import nz.co.gregs.dbvolution.databases.definitions.SQLiteDefinition;
+import nz.co.gregs.dbvolution.example.Marque;
+import nz.co.gregs.dbvolution.expressions.BooleanExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures building expressions and rendering them as SQL.
+ *
+ * @author Gregory Graham
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExpressionBenchmarks {
+
+	@Param({"H2", "SQLITE"})
+	public BenchmarkDatabase databaseType;
+
+	private DBDefinition definition;
+	private BooleanExpression prebuilt;
+
+	@Setup
+	public void setUp() {
+		definition = databaseType == BenchmarkDatabase.H2 ? new H2DBDefinition() : new SQLiteDefinition();
+		prebuilt = buildExpression();
+	}
+
+	@Benchmark
+	public String buildAndRender() {
+		return buildExpression().toSQLString(definition);
+	}
+
+	@Benchmark
+	public String render() {
+		return prebuilt.toSQLString(definition);
+	}
+
+	private static BooleanExpression buildExpression() {
+		final Marque marque = new Marque();
+		return BooleanExpression.anyOf(
+				marque.column(marque.name).lowercase().substring(0, 3).append("-").is("toy-"),
+				marque.column(marque.uidMarque).plus(10).times(2).isBetween(100, 200),
+				marque.column(marque.creationDate).year().isGreaterThan(2000)
+		);
+	}
+}
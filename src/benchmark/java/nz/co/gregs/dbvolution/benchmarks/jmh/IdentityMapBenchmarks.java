@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.benchmarks.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.databases.definitions.H2DBDefinition;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import nz.co.gregs.dbvolution.internal.query.RowIdentityMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures de-duplicating the rows of a large join, as a query does when it
+ * reuses existing instances.
+ *
+ * <p>
+ * Each invocation looks up one row for every row of the join, so the
+ * throughput is the number of complete joins de-duplicated per second. The
+ * renderedKeys benchmark reproduces the previous approach of rendering every
+ * primary key as SQL for comparison.
+ *
+ * @author Gregory Graham
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IdentityMapBenchmarks {
+
+	@Param({"1000000"})
+	public int rows;
+
+	@Param({"1000", "100000"})
+	public int distinctRows;
+
+	private final DBDefinition definition = new H2DBDefinition();
+	private CarCompany[] joinedRows;
+
+	@Setup
+	public void setUp() {
+		joinedRows = new CarCompany[distinctRows];
+		for (int i = 0; i < distinctRows; i++) {
+			joinedRows[i] = new CarCompany("COMPANY " + i, i);
+		}
+	}
+
+	@Benchmark
+	public int typedKeys() {
+		final RowIdentityMap existing = new RowIdentityMap();
+		for (int i = 0; i < rows; i++) {
+			final CarCompany row = joinedRows[i % distinctRows];
+			existing.getOrSet(row, row.getPrimaryKeys());
+		}
+		return existing.size();
+	}
+
+	@Benchmark
+	public int renderedKeys() {
+		final Map<String, DBRow> existing = new HashMap<>();
+		for (int i = 0; i < rows; i++) {
+			final CarCompany row = joinedRows[i % distinctRows];
+			String key = "";
+			for (QueryableDatatype<?> qdt : row.getPrimaryKeys()) {
+				key += "(" + qdt.toSQLString(definition) + ")";
+			}
+			existing.putIfAbsent(key, row);
+		}
+		return existing.size();
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.benchmarks.jmh;
+
+import java.util.concurrent.TimeUnit;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.actions.DBBulkInsert;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures inserting a batch of rows with {@link DBBulkInsert}.
+ *
+ * <p>
+ * The table is recreated before each invocation so every invocation inserts
+ * into an empty table.
+ *
+ * @author Gregory Graham
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InsertBenchmarks {
+
+	private static final String NAME = "InsertBenchmarks";
+
+	@Param({"H2", "SQLITE"})
+	public BenchmarkDatabase databaseType;
+
+	@Param({"1000"})
+	public int rows;
+
+	private DBDatabase database;
+	private DBRow[] companies;
+
+	@Setup
+	public void setUp() throws Exception {
+		database = databaseType.create(NAME);
+		companies = new DBRow[rows];
+		for (int i = 0; i < rows; i++) {
+			companies[i] = new CarCompany("COMPANY " + i, i);
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void emptyTable() throws Exception {
+		// dropping is only permitted once for each call
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new CarCompany());
+		database.createTable(new CarCompany());
+	}
+
+	@TearDown
+	public void tearDown() {
+		databaseType.remove(database, NAME);
+	}
+
+	@Benchmark
+	public void bulkInsert() throws Exception {
+		final DBBulkInsert bulkInsert = new DBBulkInsert();
+		bulkInsert.addAll(companies);
+		bulkInsert.insert(database);
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.benchmarks.jmh;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import nz.co.gregs.dbvolution.DBQuery;
+import nz.co.gregs.dbvolution.DBQueryRow;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import nz.co.gregs.dbvolution.example.Marque;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures generating the SQL for a query and hydrating the rows it returns.
+ *
+ * @author Gregory Graham
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class QueryBenchmarks {
+
+	private static final String NAME = "QueryBenchmarks";
+
+	@Param({"H2", "SQLITE"})
+	public BenchmarkDatabase databaseType;
+
+	@Param({"1000"})
+	public int rows;
+
+	private DBDatabase database;
+	private DBQuery repeatedQuery;
+
+	@Setup
+	public void setUp() throws Exception {
+		database = databaseType.create(NAME);
+		database.createTable(new CarCompany());
+		database.createTable(new Marque());
+		final List<CarCompany> companies = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			companies.add(new CarCompany("COMPANY " + i, i));
+		}
+		database.insert(companies);
+		final List<Marque> marques = new ArrayList<>(rows);
+		final Date created = new Date();
+		for (int i = 0; i < rows; i++) {
+			marques.add(new Marque(i, "False", 1, "", 0, "", "MARQUE " + i, "", "Y", created, i % 10, true));
+		}
+		database.insert(marques);
+		repeatedQuery = createQuery();
+	}
+
+	@TearDown
+	public void tearDown() {
+		databaseType.remove(database, NAME);
+	}
+
+	@Benchmark
+	public String sqlGeneration() {
+		return createQuery().getSQLForQuery();
+	}
+
+	@Benchmark
+	public String repeatedSQLGeneration() {
+		return repeatedQuery.getSQLForQuery();
+	}
+
+	private DBQuery createQuery() {
+		final Marque marque = new Marque();
+		marque.name.permittedPatternIgnoreCase("MARQUE 1%");
+		final CarCompany company = new CarCompany();
+		company.name.permittedValues("COMPANY 1", "COMPANY 2");
+		final DBQuery query = database.getDBQuery(marque, company);
+		query.setSortOrder(marque.column(marque.name).ascending());
+		return query;
+	}
+
+	@Benchmark
+	public List<DBQueryRow> hydration() throws Exception {
+		final DBQuery query = database.getDBQuery(new Marque(), new CarCompany());
+		query.setBlankQueryAllowed(true);
+		return query.getAllRows();
+	}
+}
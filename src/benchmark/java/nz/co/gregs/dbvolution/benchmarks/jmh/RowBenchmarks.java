@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.benchmarks.jmh;
+
+import java.util.concurrent.TimeUnit;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.example.Marque;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures creating and copying DBRows, which every hydrated row requires.
+ *
+ * @author Gregory Graham
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RowBenchmarks {
+
+	private final Marque original = new Marque();
+
+	@Benchmark
+	public Marque instantiation() {
+		return DBRow.getDBRow(Marque.class);
+	}
+
+	@Benchmark
+	public Marque copy() {
+		return DBRow.copyDBRow(original);
+	}
+
+	@Benchmark
+	public int columns() {
+		return DBRow.getDBRow(Marque.class).getColumnPropertyWrappers().size();
+	}
+}
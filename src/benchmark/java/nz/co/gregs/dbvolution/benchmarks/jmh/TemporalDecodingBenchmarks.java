@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.benchmarks.jmh;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.databases.definitions.SQLiteDefinition;
+import nz.co.gregs.dbvolution.utility.TemporalStringParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures decoding the date-times that SQLite, and other text mode databases,
+ * return as strings.
+ *
+ * <p>
+ * The decoder benchmark uses the definition's decoder, the isoFormatter and
+ * patternFormats benchmarks reproduce the previous approaches of parsing every
+ * value with {@link DateTimeFormatter#ISO_DATE_TIME} and of compiling the
+ * expected formats for every value.
+ *
+ * @author Gregory Graham
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TemporalDecodingBenchmarks {
+
+	private static final String[] FORMATS = new String[]{"uuuu-MM-dd[ ]['T'][HH:mm:ss][.][S][S][S][S][S][S][S][S][S][ ][VV]", "uuuu-MM-dd HH:mm:ss.SSSSSS[ ]VV", "uuuu-MM-dd HH:mm:ss.SSSSSSX"};
+
+	@Param({"1000"})
+	public int values;
+
+	private final DBDefinition definition = new SQLiteDefinition();
+	private String[] texts;
+
+	@Setup
+	public void setUp() {
+		final DateTimeFormatter canonical = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss.SSSSSS");
+		final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+		texts = new String[values];
+		for (int i = 0; i < values; i++) {
+			texts[i] = canonical.format(start.plusSeconds(i * 7919L).plusNanos(i * 1000L));
+		}
+	}
+
+	@Benchmark
+	public int decoder() {
+		int total = 0;
+		for (String text : texts) {
+			total += definition.parseLocalDateTimeFromGetString(text).getNano();
+		}
+		return total;
+	}
+
+	@Benchmark
+	public int isoFormatter() {
+		int total = 0;
+		for (String text : texts) {
+			total += LocalDateTime.parse(text.replaceAll(" ", "T"), DateTimeFormatter.ISO_DATE_TIME).getNano();
+		}
+		return total;
+	}
+
+	@Benchmark
+	public int patternFormats() {
+		int total = 0;
+		for (String text : texts) {
+			total += TemporalStringParser.toLocalDateTime(text, FORMATS).getNano();
+		}
+		return total;
+	}
+}
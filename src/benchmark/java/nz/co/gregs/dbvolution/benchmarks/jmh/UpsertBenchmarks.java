@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.benchmarks.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.actions.DBBulkInsert;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures inserting or updating a batch of rows, in rows per second.
+ *
+ * <p>
+ * Before each invocation the table is recreated holding half of the rows,
+ * which are retrieved and changed, so each invocation updates half of the rows
+ * and inserts the other half.
+ * {@link #insertOrUpdateCollection() } uses the database's native bulk upsert
+ * while {@link #insertOrUpdateEachRow() } tries to insert each row and updates
+ * it when the insert fails.
+ *
+ * @author Gregory Graham
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UpsertBenchmarks {
+
+	private static final String NAME = "UpsertBenchmarks";
+	private static final int ROWS = 1000;
+
+	@Param({"H2", "SQLITE"})
+	public BenchmarkDatabase databaseType;
+
+	private DBDatabase database;
+	private List<DBRow> companies;
+
+	@Setup
+	public void setUp() throws Exception {
+		database = databaseType.create(NAME);
+	}
+
+	@Setup(Level.Invocation)
+	public void prepareTable() throws Exception {
+		// dropping is only permitted once for each call
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new CarCompany());
+		database.createTable(new CarCompany());
+		final DBBulkInsert existing = new DBBulkInsert();
+		for (int i = 0; i < ROWS; i += 2) {
+			existing.addRow(new CarCompany("COMPANY " + i, i));
+		}
+		existing.insert(database);
+		companies = new ArrayList<>(ROWS);
+		for (CarCompany company : database.getDBTable(new CarCompany()).setBlankQueryAllowed(true).getAllRows()) {
+			company.name.setValue("UPDATED " + company.uidCarCompany.getValue());
+			companies.add(company);
+		}
+		for (int i = 1; i < ROWS; i += 2) {
+			companies.add(new CarCompany("INSERTED " + i, i));
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		databaseType.remove(database, NAME);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public void insertOrUpdateCollection() throws Exception {
+		database.insertOrUpdate(companies);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public void insertOrUpdateEachRow() throws Exception {
+		for (DBRow company : companies) {
+			database.insertOrUpdate(company);
+		}
+	}
+}
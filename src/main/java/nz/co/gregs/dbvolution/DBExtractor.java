@@ -18,11 +18,19 @@ package nz.co.gregs.dbvolution;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import nz.co.gregs.dbvolution.databases.DBDatabase;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Date;
-import java.util.GregorianCalendar;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import nz.co.gregs.dbvolution.actions.DBActionList;
 import nz.co.gregs.dbvolution.exceptions.AccidentalBlankQueryException;
 import nz.co.gregs.dbvolution.exceptions.AccidentalCartesianJoinException;
@@ -52,10 +60,22 @@ import nz.co.gregs.dbvolution.exceptions.AccidentalCartesianJoinException;
  * accelerate and brake as possible or required to achieve close to optimal
  * throughput.
  *
+ * <p>
+ * Extractor normally retrieves and processes one range at a time. Use
+ * {@link #setParallelism(int)} to retrieve several ranges at once, each on its
+ * own connection, while the rows already retrieved are processed.
+ *
+ * <p>
+ * Progress is published as {@link Metrics} to the listener set with
+ * {@link #setMetricsListener(java.util.function.Consumer)} and logged at the
+ * FINE level.
+ *
  * @author Gregory Graham
  */
 public abstract class DBExtractor extends DBScript {
 
+	private static final Logger LOG = Logger.getLogger(DBExtractor.class.getName());
+
 	private int maxBoundIncrease = 10000000;
 	private static final int MIN_BOUND_INCREASE = 1;
 	private int boundIncrease = 10;
@@ -68,6 +88,10 @@ public abstract class DBExtractor extends DBScript {
 	private Integer timeoutInMilliseconds = 10000;
 	private Long rowCount = null;
 	private boolean countOnly = false;
+	private int parallelism = 1;
+	private int queueCapacity = 4;
+	private Metrics metrics = new Metrics(0, maxBound);
+	private Consumer<Metrics> metricsListener = null;
 
 	/**
 	 * Default constructor.
@@ -133,35 +157,15 @@ public abstract class DBExtractor extends DBScript {
 	 * @throws Exception any exception could be thrown
 	 */
 	public final DBActionList extract(DBDatabase db) throws Exception {
-		DBActionList actions = new DBActionList();
 		startLowerBound = lowerBound;
-		Date startTime = new Date();
-		GregorianCalendar cal = new GregorianCalendar();
+		metrics = new Metrics(startLowerBound, maxBound);
+		if (parallelism > 1) {
+			return extractInParallel(db);
+		}
+		DBActionList actions = new DBActionList();
 		while (hasMoreRecords()) {
 			actions.addAll(db.test(this));
-			Date finishTime = new Date();
-			final double elapsedTimeInMilliseconds = 0.0 + finishTime.getTime() - startTime.getTime();
-			double timePerRecord = elapsedTimeInMilliseconds / (lowerBound - startLowerBound);
-			System.out.println("EXTRACTED: " + getLowerBound() + "-" + getUpperBound() + " (+" + getBoundIncrease() + ") in " + elapsedTimeInMilliseconds + "ms at " + timePerRecord + "ms/record.");
-			double estimatedRequiredTime = timePerRecord * (maxBound - startLowerBound);
-			cal.setTime(startTime);
-			int secondsValue = (int) (estimatedRequiredTime / 1000.0D);
-			cal.add(Calendar.SECOND, secondsValue);
-			double timeInHours = (Math.round((estimatedRequiredTime / (1000 * 60 * 60)) * 100) + 0.0) / 100.0;
-			double timeInMinutes = (Math.round((estimatedRequiredTime / (1000 * 60)) * 100) + 0.0) / 100.0;
-			double elapsedTimeInMinutes = (Math.round((elapsedTimeInMilliseconds / (1000 * 60)) * 100) + 0.0) / 100.0;
-			double elapsedTimeInHours = (Math.round((elapsedTimeInMilliseconds / (1000 * 60 * 60)) * 100) + 0.0) / 100.0;
-			double remainingTimeInMinutes = timeInMinutes - elapsedTimeInMinutes;
-			double remainingTimeInHours = timeInHours - elapsedTimeInHours;
-			if (timeInHours > 1) {
-				System.out.println("PROJECTED: time=" + timeInHours + "hours: " + (cal.getTime()));
-				System.out.println("ELAPSED: time=" + elapsedTimeInHours + "hours");
-				System.out.println("REMAINING: time=" + remainingTimeInHours + "hours");
-			} else {
-				System.out.println("PROJECTED: time=" + timeInMinutes + "minutes: " + (cal.getTime()));
-				System.out.println("ELAPSED: time=" + elapsedTimeInMinutes + "minutes");
-				System.out.println("REMAINING: time=" + remainingTimeInMinutes + "minutes");
-			}
+			publishMetrics();
 		}
 		return actions;
 	}
@@ -182,15 +186,157 @@ public abstract class DBExtractor extends DBScript {
 		DBActionList actions = new DBActionList();
 
 		List<DBQueryRow> rows = getRows(db);
-		Date startTime = new Date();
+		final long startTime = System.currentTimeMillis();
 		processRows(rows);
-		Date finishTime = new Date();
-		double timePerRecord = (0.0 + finishTime.getTime() - startTime.getTime()) / getBoundIncrease();
-		System.out.println("PROCESSED: " + (getLowerBound()) + "-" + (getUpperBound() - getBoundIncrease()) + " (+" + getBoundIncrease() + ") at " + timePerRecord + "ms/record.");
+		final long timeTaken = System.currentTimeMillis() - startTime;
+		metrics.recordProcessing(rows == null ? 0 : rows.size(), timeTaken);
+		LOG.log(Level.FINE, "PROCESSED: {0} rows in {1}ms", new Object[]{rows == null ? 0 : rows.size(), timeTaken});
+
+		return actions;
+	}
 
+	private DBActionList extractInParallel(DBDatabase db) throws Exception {
+		final DBActionList actions = new DBActionList();
+		final BlockingQueue<ExtractedRange> extracted = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+		final AtomicBoolean stopped = new AtomicBoolean(false);
+		final ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+			final Thread thread = new Thread(runnable, "DBvolution extractor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			for (int i = 0; i < parallelism; i++) {
+				executor.execute(() -> retrieveRanges(db, extracted, stopped));
+			}
+			int finishedRetrievers = 0;
+			while (finishedRetrievers < parallelism) {
+				final ExtractedRange range = extracted.take();
+				if (range.finished) {
+					finishedRetrievers++;
+					if (range.failure != null) {
+						throw range.failure;
+					}
+				} else {
+					actions.addAll(db.test(new DBScript() {
+						@Override
+						public DBActionList script(DBDatabase db) throws Exception {
+							rowCount = range.rowCount;
+							final long startTime = System.currentTimeMillis();
+							processRows(range.rows);
+							final long timeTaken = System.currentTimeMillis() - startTime;
+							metrics.recordProcessing(range.rows.size(), timeTaken);
+							LOG.log(Level.FINE, "PROCESSED: {0}-{1} in {2}ms", new Object[]{range.lowerBound, range.upperBound, timeTaken});
+							return new DBActionList();
+						}
+					}));
+					publishMetrics();
+				}
+			}
+		} finally {
+			stopped.set(true);
+			executor.shutdownNow();
+		}
+		setMoreRecords(false);
 		return actions;
 	}
 
+	/**
+	 * Retrieves ranges until the key space is exhausted, handing the rows to the
+	 * processing thread through the queue.
+	 *
+	 * <p>
+	 * A range that fails is split in half and both halves are retried, braking
+	 * the range size used by all the retrievers. A failed range of the minimum
+	 * size is skipped.
+	 */
+	@SuppressFBWarnings(
+			value = "REC_CATCH_EXCEPTION",
+			justification = "Database vendors throw many interesting exceptions")
+	private void retrieveRanges(DBDatabase db, BlockingQueue<ExtractedRange> extracted, AtomicBoolean stopped) {
+		Exception failure = null;
+		try {
+			final Deque<int[]> retries = new ArrayDeque<>();
+			double previousTimePerKey = Double.MAX_VALUE;
+			while (!stopped.get()) {
+				final int[] range = retries.isEmpty() ? claimRange() : retries.pop();
+				if (range == null) {
+					break;
+				}
+				final int lower = range[0];
+				final int upper = range[1];
+				try {
+					LOG.log(Level.FINE, "RETRIEVING: {0}-{1}", new Object[]{lower, upper});
+					final DBQuery dbQuery = getQuery(db, lower, upper);
+					setQueryTimeout(dbQuery);
+					final long startTime = System.currentTimeMillis();
+					final List<DBQueryRow> rows;
+					final long count;
+					if (this.countOnly) {
+						count = dbQuery.count();
+						rows = new ArrayList<>();
+					} else {
+						rows = dbQuery.getAllRows();
+						count = rows.size();
+					}
+					final long timeTaken = System.currentTimeMillis() - startTime;
+					metrics.recordRetrieval(upper - lower, count, timeTaken);
+					LOG.log(Level.FINE, "RETRIEVED: {0}-{1} in {2}ms", new Object[]{lower, upper, timeTaken});
+					final double timePerKey = (0.0 + timeTaken) / (upper - lower);
+					synchronized (this) {
+						if (timePerKey < previousTimePerKey) {
+							accelerate();
+						} else {
+							brake();
+						}
+					}
+					previousTimePerKey = timePerKey;
+					extracted.put(new ExtractedRange(lower, upper, rows, count));
+				} catch (SQLException | AccidentalBlankQueryException | AccidentalCartesianJoinException ex) {
+					if (upper - lower <= getMinBoundIncrease()) {
+						LOG.log(Level.WARNING, "Unable to access records: {0} - {1}", new Object[]{lower, upper});
+						metrics.recordSkipped(upper - lower);
+					} else {
+						LOG.log(Level.FINE, "Splitting {0}-{1} and braking", new Object[]{lower, upper});
+						metrics.recordRetry();
+						synchronized (this) {
+							brake();
+						}
+						final int middle = lower + (upper - lower) / 2;
+						retries.push(new int[]{middle, upper});
+						retries.push(new int[]{lower, middle});
+					}
+				}
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} catch (Exception ex) {
+			failure = ex;
+		} finally {
+			try {
+				extracted.put(new ExtractedRange(failure));
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private synchronized int[] claimRange() {
+		if (getLowerBound() > getMaxBound()) {
+			return null;
+		}
+		final int[] range = new int[]{getLowerBound(), getUpperBound()};
+		setLowerBound(getUpperBound());
+		return range;
+	}
+
+	private void publishMetrics() {
+		LOG.log(Level.FINE, "EXTRACTED: {0}", metrics);
+		final Consumer<Metrics> listener = metricsListener;
+		if (listener != null) {
+			listener.accept(metrics);
+		}
+	}
+
 	@SuppressFBWarnings(
 			value = "REC_CATCH_EXCEPTION",
 			justification = "Database vendors throw many interesting exceptions")
@@ -203,10 +349,10 @@ public abstract class DBExtractor extends DBScript {
 				if (getLowerBound() > getMaxBound()) {
 					setMoreRecords(false);
 				} else {
-					System.out.println("RETRIEVING: " + getLowerBound() + "-" + getUpperBound() + " (+" + getBoundIncrease() + ")");
+					LOG.log(Level.FINE, "RETRIEVING: {0}-{1}", new Object[]{getLowerBound(), getUpperBound()});
 					DBQuery dbQuery = getQuery(db, getLowerBound(), getUpperBound());
 					setQueryTimeout(dbQuery);
-					Date startTime = new Date();
+					final long startTime = System.currentTimeMillis();
 					if (this.countOnly) {
 						rowCount = dbQuery.count();
 						rows = new ArrayList<>();
@@ -214,22 +360,22 @@ public abstract class DBExtractor extends DBScript {
 						rows = dbQuery.getAllRows();
 						rowCount = 0L + rows.size();
 					}
-					Date finishTime = new Date();
-					final double timeTaken = 0.0 + finishTime.getTime() - startTime.getTime();
-					timePerRecord = timeTaken / getBoundIncrease();
-					System.out.println("RETRIEVED: " + getLowerBound() + "-" + getUpperBound() + " (+" + getBoundIncrease() + ") after " + timeTaken + " at " + timePerRecord + "ms/record.");
+					final long timeTaken = System.currentTimeMillis() - startTime;
+					timePerRecord = (0.0 + timeTaken) / getBoundIncrease();
+					metrics.recordRetrieval(getBoundIncrease(), rowCount, timeTaken);
+					LOG.log(Level.FINE, "RETRIEVED: {0}-{1} in {2}ms", new Object[]{getLowerBound(), getUpperBound(), timeTaken});
 				}
 			} catch (SQLException | AccidentalBlankQueryException | AccidentalCartesianJoinException ex) {
 				if (getBoundIncrease() == getMinBoundIncrease()) {
 					// We can't get this row so acknowledge the error
-					System.out.println("Unable to access records: " + getLowerBound() + " - " + getUpperBound());
+					LOG.log(Level.WARNING, "Unable to access records: {0} - {1}", new Object[]{getLowerBound(), getUpperBound()});
+					metrics.recordSkipped(getBoundIncrease());
 					// and move on.
 					stepForward();
-					System.out.println("Will retry from " + getLowerBound() + " - " + getUpperBound() + " (+" + getBoundIncrease() + ").");
 				} else {
-					System.out.println("Stepping back from " + getLowerBound() + "-" + getUpperBound() + " and braking from +" + getBoundIncrease() + ".");
+					LOG.log(Level.FINE, "Stepping back from {0}-{1} and braking from +{2}", new Object[]{getLowerBound(), getUpperBound(), getBoundIncrease()});
+					metrics.recordRetry();
 					brake();
-					System.out.println("Will retry from " + getLowerBound() + "-" + getUpperBound() + " (+" + getBoundIncrease() + ").");
 				}
 			}
 		}
@@ -454,4 +600,267 @@ public abstract class DBExtractor extends DBScript {
 		return rowCount;
 	}
 
+	/**
+	 * Sets the number of ranges retrieved at the same time.
+	 *
+	 * <p>
+	 * The default is 1, retrieving and processing one range at a time.
+	 *
+	 * <p>
+	 * With a parallelism greater than 1 each range is retrieved on its own
+	 * thread, and so its own connection, while the ranges already retrieved are
+	 * processed. {@link #processRows(java.util.List) } is still called from a
+	 * single thread but the ranges may be processed out of order.
+	 *
+	 * @param parallelism the number of ranges retrieved at the same time
+	 */
+	protected void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * The number of ranges retrieved at the same time.
+	 *
+	 * @return the parallelism of the extraction
+	 */
+	protected int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of retrieved ranges that may wait to be processed.
+	 *
+	 * <p>
+	 * When the queue is full the retrievers wait for the processing to catch up,
+	 * limiting the memory used by a parallel extraction.
+	 *
+	 * @param capacity the number of ranges that may wait to be processed
+	 */
+	protected void setQueueCapacity(int capacity) {
+		this.queueCapacity = Math.max(1, capacity);
+	}
+
+	/**
+	 * Sets a listener that receives the metrics of the extraction after each
+	 * range is processed.
+	 *
+	 * @param listener the listener or NULL to remove the listener
+	 */
+	public void setMetricsListener(Consumer<Metrics> listener) {
+		this.metricsListener = listener;
+	}
+
+	/**
+	 * The metrics of the current, or most recent, extraction.
+	 *
+	 * @return the extraction metrics
+	 */
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	private static class ExtractedRange {
+
+		private final int lowerBound;
+		private final int upperBound;
+		private final List<DBQueryRow> rows;
+		private final long rowCount;
+		private final boolean finished;
+		private final Exception failure;
+
+		ExtractedRange(int lowerBound, int upperBound, List<DBQueryRow> rows, long rowCount) {
+			this.lowerBound = lowerBound;
+			this.upperBound = upperBound;
+			this.rows = rows;
+			this.rowCount = rowCount;
+			this.finished = false;
+			this.failure = null;
+		}
+
+		ExtractedRange(Exception failure) {
+			this.lowerBound = 0;
+			this.upperBound = 0;
+			this.rows = null;
+			this.rowCount = 0;
+			this.finished = true;
+			this.failure = failure;
+		}
+	}
+
+	/**
+	 * The throughput and progress of an extraction.
+	 *
+	 * <p>
+	 * The metrics are updated as the extraction progresses and may be read from
+	 * any thread.
+	 */
+	public static class Metrics {
+
+		private final long startTime = System.currentTimeMillis();
+		private final long firstKey;
+		private final long lastKey;
+		private final AtomicLong keysCovered = new AtomicLong(0);
+		private final AtomicLong keysSkipped = new AtomicLong(0);
+		private final AtomicLong rangesRetrieved = new AtomicLong(0);
+		private final AtomicLong rangesRetried = new AtomicLong(0);
+		private final AtomicLong rowsRetrieved = new AtomicLong(0);
+		private final AtomicLong rowsProcessed = new AtomicLong(0);
+		private final AtomicLong retrievalMilliseconds = new AtomicLong(0);
+		private final AtomicLong processingMilliseconds = new AtomicLong(0);
+
+		Metrics(long firstKey, long lastKey) {
+			this.firstKey = firstKey;
+			this.lastKey = lastKey;
+		}
+
+		void recordRetrieval(long keys, long rows, long milliseconds) {
+			keysCovered.addAndGet(keys);
+			rangesRetrieved.incrementAndGet();
+			rowsRetrieved.addAndGet(rows);
+			retrievalMilliseconds.addAndGet(milliseconds);
+		}
+
+		void recordProcessing(long rows, long milliseconds) {
+			rowsProcessed.addAndGet(rows);
+			processingMilliseconds.addAndGet(milliseconds);
+		}
+
+		void recordRetry() {
+			rangesRetried.incrementAndGet();
+		}
+
+		void recordSkipped(long keys) {
+			keysCovered.addAndGet(keys);
+			keysSkipped.addAndGet(keys);
+		}
+
+		/**
+		 * The time since the extraction started.
+		 *
+		 * @return the elapsed time in milliseconds
+		 */
+		public long getElapsedMilliseconds() {
+			return System.currentTimeMillis() - startTime;
+		}
+
+		/**
+		 * The number of keys retrieved or skipped so far.
+		 *
+		 * @return the number of keys covered
+		 */
+		public long getKeysCovered() {
+			return keysCovered.get();
+		}
+
+		/**
+		 * The number of keys that could not be retrieved even as a range of a
+		 * single key.
+		 *
+		 * @return the number of keys skipped
+		 */
+		public long getKeysSkipped() {
+			return keysSkipped.get();
+		}
+
+		/**
+		 * The number of ranges successfully retrieved.
+		 *
+		 * @return the number of ranges retrieved
+		 */
+		public long getRangesRetrieved() {
+			return rangesRetrieved.get();
+		}
+
+		/**
+		 * The number of ranges that failed and were retried with a smaller range.
+		 *
+		 * @return the number of ranges retried
+		 */
+		public long getRangesRetried() {
+			return rangesRetried.get();
+		}
+
+		/**
+		 * The number of rows, or counted rows, retrieved from the database.
+		 *
+		 * @return the number of rows retrieved
+		 */
+		public long getRowsRetrieved() {
+			return rowsRetrieved.get();
+		}
+
+		/**
+		 * The number of rows handed to {@link DBExtractor#processRows(java.util.List)
+		 * }.
+		 *
+		 * @return the number of rows processed
+		 */
+		public long getRowsProcessed() {
+			return rowsProcessed.get();
+		}
+
+		/**
+		 * The total time spent retrieving rows, summed across all retrievers.
+		 *
+		 * @return the retrieval time in milliseconds
+		 */
+		public long getRetrievalMilliseconds() {
+			return retrievalMilliseconds.get();
+		}
+
+		/**
+		 * The total time spent processing rows.
+		 *
+		 * @return the processing time in milliseconds
+		 */
+		public long getProcessingMilliseconds() {
+			return processingMilliseconds.get();
+		}
+
+		/**
+		 * The rate at which rows have been retrieved since the extraction
+		 * started.
+		 *
+		 * @return rows retrieved per second
+		 */
+		public double getRowsPerSecond() {
+			final long elapsed = Math.max(1, getElapsedMilliseconds());
+			return rowsRetrieved.get() * 1000.0 / elapsed;
+		}
+
+		/**
+		 * The rate at which the key space has been covered since the extraction
+		 * started.
+		 *
+		 * @return keys covered per second
+		 */
+		public double getKeysPerSecond() {
+			final long elapsed = Math.max(1, getElapsedMilliseconds());
+			return keysCovered.get() * 1000.0 / elapsed;
+		}
+
+		/**
+		 * Estimates the time required to cover the rest of the key space at the
+		 * current rate.
+		 *
+		 * @return the estimated remaining time in milliseconds
+		 */
+		public long getEstimatedRemainingMilliseconds() {
+			final long remainingKeys = Math.max(0, lastKey - firstKey - keysCovered.get());
+			final double keysPerSecond = getKeysPerSecond();
+			if (keysPerSecond <= 0) {
+				return Long.MAX_VALUE;
+			}
+			return (long) (remainingKeys * 1000.0 / keysPerSecond);
+		}
+
+		@Override
+		public String toString() {
+			return "keys " + firstKey + "-" + (firstKey + getKeysCovered()) + " of " + lastKey
+					+ ", " + getRowsRetrieved() + " rows at " + Math.round(getRowsPerSecond()) + " rows/s"
+					+ ", " + getRangesRetried() + " retries, " + getKeysSkipped() + " keys skipped"
+					+ ", elapsed " + getElapsedMilliseconds() + "ms, remaining ~" + getEstimatedRemainingMilliseconds() + "ms";
+		}
+	}
+
 }
@@ -400,6 +400,101 @@ public class DBQuery implements Serializable {
 		}
 	}
 
+	/**
+	 * Retrieves the rows of this query one at a time.
+	 *
+	 * <p>
+	 * Unlike {@link #getAllRows() } the rows are not collected into a list,
+	 * instead each DBQueryRow is created from the open ResultSet as the stream
+	 * requests it. Memory use stays constant no matter how large the result is
+	 * so use this method for exporting or processing very large tables.
+	 *
+	 * <p>
+	 * The stream holds a database connection until it is closed, so use it in a
+	 * try-with-resources block:
+	 * <pre>
+	 * try (Stream&lt;DBQueryRow&gt; rows = query.stream()) {
+	 *     rows.forEach(row -&gt; process(row));
+	 * }
+	 * </pre>
+	 *
+	 * <p>
+	 * As the complete result is never available, identical rows are not merged
+	 * into a single instance and autofilled fields only contain the related
+	 * tables from the same DBQueryRow. Use {@link #setFetchSize(int) } to control
+	 * how many rows the driver retrieves from the database at a time.
+	 *
+	 * @return a Stream of the DBQueryRows for this query that must be closed
+	 * after use
+	 * @throws java.sql.SQLException database errors
+	 * @throws nz.co.gregs.dbvolution.exceptions.AccidentalBlankQueryException add
+	 * a condition or set blank queries permitted
+	 * @throws nz.co.gregs.dbvolution.exceptions.AccidentalCartesianJoinException
+	 * add a join or permit cartesian joins
+	 * @throws nz.co.gregs.dbvolution.exceptions.DBRuntimeException if the
+	 * database failed to open a cursor for the query
+	 */
+	public java.util.stream.Stream<DBQueryRow> stream() throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
+		return getResultCursor().stream();
+	}
+
+	/**
+	 * Retrieves the rows of this query one at a time using an Iterator.
+	 *
+	 * <p>
+	 * Identical to {@link #stream() } but returns the cursor itself which must
+	 * be closed after use.
+	 *
+	 * @return an open cursor over the results of this query
+	 * @throws java.sql.SQLException database errors
+	 * @throws nz.co.gregs.dbvolution.exceptions.AccidentalBlankQueryException add
+	 * a condition or set blank queries permitted
+	 * @throws nz.co.gregs.dbvolution.exceptions.AccidentalCartesianJoinException
+	 * add a join or permit cartesian joins
+	 * @throws nz.co.gregs.dbvolution.exceptions.DBRuntimeException if the
+	 * database failed to open a cursor for the query
+	 */
+	public synchronized QueryResultCursor getResultCursor() throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
+		final QueryOptions options = details.getOptions();
+		final QueryType previousType = options.getQueryType();
+		details.setQueryType(QueryType.STREAM);
+		try {
+			database.executeDBQuery(details);
+		} finally {
+			details.setQueryType(previousType);
+		}
+		final QueryResultCursor cursor = details.takeResultCursor();
+		if (cursor == null) {
+			throw new DBRuntimeException("Unable To Stream Query: the database did not open a result cursor for " + database.getLabel());
+		}
+		return cursor;
+	}
+
+	/**
+	 * Suggests the number of rows the JDBC driver should fetch from the database
+	 * at a time.
+	 *
+	 * <p>
+	 * Mostly useful with {@link #stream() } to keep the driver from reading the
+	 * entire result into memory. Zero, the default, uses the driver's setting.
+	 *
+	 * @param rows the number of rows to retrieve with each fetch
+	 * @return this query
+	 */
+	public DBQuery setFetchSize(int rows) {
+		details.getOptions().setFetchSize(rows);
+		return this;
+	}
+
+	/**
+	 * The number of rows the JDBC driver will be asked to fetch at a time.
+	 *
+	 * @return the fetch size, zero means the driver's default
+	 */
+	public int getFetchSize() {
+		return details.getOptions().getFetchSize();
+	}
+
 	/**
 	 * Sets all the expression columns using data from the current ResultSet row.
 	 *
@@ -387,4 +387,34 @@ public class DBRecursiveQuery<T extends DBRow> {
 		this.queryDetails.setMaximumDepth(RecursiveQueryDetails.MAXIMUM_DEPTH_DEFAULT);
 		return this;
 	}
+
+	/**
+	 * Sets the maximum number of keys queried at once when the database does
+	 * not support recursive queries natively.
+	 *
+	 * <p>
+	 * Emulated recursive queries find each level of the tree by querying for the
+	 * keys of the previous level, wide levels are split into batches of this
+	 * size.
+	 *
+	 * @param batchSize the maximum number of keys in each query
+	 * @return this DBRecursiveQuery
+	 */
+	public DBRecursiveQuery<T> setEmulationBatchSize(int batchSize) {
+		this.queryDetails.setEmulationBatchSize(batchSize);
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of batches queried at the same time when the
+	 * database does not support recursive queries natively.
+	 *
+	 * @param parallelism the number of batches queried at the same time, 1
+	 * queries the batches one after another
+	 * @return this DBRecursiveQuery
+	 */
+	public DBRecursiveQuery<T> setEmulationParallelism(int parallelism) {
+		this.queryDetails.setEmulationParallelism(parallelism);
+		return this;
+	}
 }
@@ -106,6 +106,7 @@ public class DBTable<E extends DBRow> {
 		query.setQueryLabel(options.getQueryLabel());
 		query.setRawSQL(options.getRawSQL());
 		query.setPrintSQLBeforeExecution(options.getPrintSQLBeforeExecution());
+		query.setFetchSize(options.getFetchSize());
 
 		return query;
 	}
@@ -167,6 +168,48 @@ public class DBTable<E extends DBRow> {
 		}
 	}
 
+	/**
+	 * Retrieves all the appropriate rows of the table one at a time.
+	 *
+	 * <p>
+	 * Equivalent to {@link #getAllRows() } but the rows are created from the
+	 * open ResultSet as they are required, so memory use does not grow with the
+	 * size of the table.
+	 *
+	 * <p>
+	 * The stream holds a database connection until it is closed so use it within
+	 * a try-with-resources block.
+	 *
+	 * @return a Stream of the rows that must be closed after use
+	 * @throws SQLException database exceptions
+	 * @throws nz.co.gregs.dbvolution.exceptions.AccidentalBlankQueryException
+	 * Thrown when no conditions are detectable within the query and blank queries
+	 * have not been explicitly set with {@link #setBlankQueryAllowed(boolean) }
+	 */
+	public java.util.stream.Stream<E> stream() throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
+		final E example = exemplar;
+		return getQuery(database, example)
+				.stream()
+				.map(row -> row.get(example))
+				.filter(row -> row != null);
+	}
+
+	/**
+	 * Suggests the number of rows the JDBC driver should fetch from the database
+	 * at a time.
+	 *
+	 * <p>
+	 * Mostly useful with {@link #stream() }. Zero, the default, uses the
+	 * driver's setting.
+	 *
+	 * @param rows the number of rows to retrieve with each fetch
+	 * @return this DBTable
+	 */
+	public DBTable<E> setFetchSize(int rows) {
+		options.setFetchSize(rows);
+		return this;
+	}
+
 	/**
 	 * Synonym for {@link #getAllRows()}
 	 *
@@ -644,19 +687,7 @@ public class DBTable<E extends DBRow> {
 	 * @throws java.sql.SQLException java.sql.SQLException
 	 */
 	public DBActionList insertOrUpdate(Collection<E> newRows) throws SQLException {
-		DBActionList changes = new DBActionList();
-		for (E row : newRows) {
-			try {
-				changes.addAll(insert(row));
-			} catch (SQLException exc1) {
-				try {
-					changes.addAll(update(row));
-				} catch (SQLException exc2) {
-					throw exc1;
-				}
-			}
-		}
-		return changes;
+		return database.insertOrUpdate(newRows);
 	}
 
 	protected DBActionList updateAnyway(E row) throws SQLException {
@@ -808,13 +839,13 @@ public class DBTable<E extends DBRow> {
 	 * @throws java.sql.SQLException java.sql.SQLException
 	 */
 	public DBActionList update(Collection<E> oldRows) throws SQLException {
-		DBActionList changes = new DBActionList();
+		List<E> changedRows = new ArrayList<>();
 		for (E row : oldRows) {
 			if (row.hasChangedSimpleTypes()) {
-				changes.addAll(DBUpdate.update(database, row));
+				changedRows.add(row);
 			}
 		}
-		return changes;
+		return DBUpdate.update(database, changedRows);
 	}
 
 	/**
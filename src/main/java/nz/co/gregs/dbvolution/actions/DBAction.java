@@ -170,6 +170,27 @@ public abstract class DBAction implements Serializable {
 	 */
 	public abstract DBActionList execute(DBDatabase db) throws SQLException;
 
+	/**
+	 * Returns the name of the only table changed by this action.
+	 *
+	 * <p>
+	 * Clusters use the table name to apply actions on different tables at the
+	 * same time while keeping the actions on each table in order.
+	 *
+	 * <p>
+	 * NULL indicates that the action changes the schema, may change more than
+	 * one table, or depends on the contents of other tables, and must be ordered
+	 * against all other actions.
+	 *
+	 * @return the table name or NULL
+	 */
+	public String getOrderingTableName() {
+		if (row == null || intention.isDDL()) {
+			return null;
+		}
+		return row.getTableName();
+	}
+
 	public boolean requiresRunOnIndividualDatabaseBeforeCluster() {
 		// this was FALSE to allow for effeciency
 		// but maintaining the cluster is more important
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.actions;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.DBStatement;
+import nz.co.gregs.dbvolution.databases.QueryIntention;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.internal.query.StatementDetails;
+
+/**
+ * Deletes many rows using as few statements as possible.
+ *
+ * <p>
+ * Rows are identified by their primary keys and deleted with
+ * {@code DELETE ... WHERE pk IN (...)} statements, split into chunks so that
+ * no statement identifies more than {@link #setRowsPerStatement(int) the rows
+ * per statement}. Rows of tables with composite primary keys are identified by
+ * a series of OR'd conditions instead. The rows are not retrieved from the
+ * database before they are deleted.
+ *
+ * <p>
+ * By default the deleted rows are not kept and the delete cannot be reverted.
+ * {@link #setRevertable(boolean) Revertable} bulk deletes capture the deleted
+ * rows as they are deleted when the database
+ * {@link DBDefinition#supportsReturningDeletedRows() can return deleted rows},
+ * and with a single query for each chunk otherwise.
+ *
+ * <p>
+ * Rows without primary keys, or without values for their primary keys, are
+ * deleted individually by the usual {@link DBDelete} actions.
+ *
+ * @author Gregory Graham
+ */
+public class DBBulkDelete extends DBAction {
+
+	public static final long serialVersionUID = 1l;
+
+	private static final int STATEMENTS_PER_BATCH = 16;
+
+	private final ArrayList<DBRow> rows = new ArrayList<>();
+	private final ArrayList<DBRow> savedRows = new ArrayList<>();
+	private Integer rowsPerStatement = null;
+	private boolean revertable = false;
+
+	/**
+	 * Creates an empty bulk delete.
+	 */
+	public DBBulkDelete() {
+		super(null, QueryIntention.BULK_DELETE);
+	}
+
+	/**
+	 * Adds the row to the rows to be deleted.
+	 *
+	 * @param row the row to delete
+	 * @return this DBBulkDelete
+	 */
+	public DBBulkDelete addRow(DBRow row) {
+		rows.add(row);
+		return this;
+	}
+
+	/**
+	 * Adds the rows to the rows to be deleted.
+	 *
+	 * @param rowsToDelete the rows to delete
+	 * @return this DBBulkDelete
+	 */
+	public DBBulkDelete addAll(Collection<? extends DBRow> rowsToDelete) {
+		rows.addAll(rowsToDelete);
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of rows identified by each DELETE statement.
+	 *
+	 * <p>
+	 * The default is provided by
+	 * {@link DBDefinition#getBulkDeleteRowsPerStatement() the database definition}.
+	 *
+	 * @param rows the maximum number of rows in each statement, 0 or less for no
+	 * limit
+	 * @return this DBBulkDelete
+	 */
+	public DBBulkDelete setRowsPerStatement(int rows) {
+		this.rowsPerStatement = rows;
+		return this;
+	}
+
+	/**
+	 * Sets whether the deleted rows are captured so that the delete can be
+	 * reverted.
+	 *
+	 * <p>
+	 * The default is FALSE, which avoids retrieving the deleted rows at all.
+	 *
+	 * @param revertable TRUE to capture the deleted rows
+	 * @return this DBBulkDelete
+	 */
+	public DBBulkDelete setRevertable(boolean revertable) {
+		this.revertable = revertable;
+		return this;
+	}
+
+	/**
+	 * Indicates whether the deleted rows are captured so that the delete can be
+	 * reverted.
+	 *
+	 * @return TRUE if the delete can be reverted
+	 */
+	public boolean isRevertable() {
+		return revertable;
+	}
+
+	private int getRowsPerStatement(DBDefinition defn) {
+		return rowsPerStatement == null ? defn.getBulkDeleteRowsPerStatement() : rowsPerStatement;
+	}
+
+	/**
+	 * Deletes the rows from the database.
+	 *
+	 * @param database the target database
+	 * @return the actions performed
+	 * @throws SQLException database errors
+	 */
+	public DBActionList delete(DBDatabase database) throws SQLException {
+		return database.executeDBAction(this);
+	}
+
+	@Override
+	public DBRow getRow() {
+		return rows.isEmpty() ? null : DBRow.copyDBRow(rows.get(0));
+	}
+
+	/**
+	 * Returns the table of the rows if they all belong to the same table.
+	 *
+	 * @return the table name or NULL if the rows belong to several tables
+	 */
+	@Override
+	public String getOrderingTableName() {
+		String tableName = null;
+		for (DBRow row : rows) {
+			if (tableName == null) {
+				tableName = row.getTableName();
+			} else if (!tableName.equals(row.getTableName())) {
+				return null;
+			}
+		}
+		return tableName;
+	}
+
+	@Override
+	public List<String> getSQLStatements(DBDatabase db) {
+		final DBDefinition defn = db.getDefinition();
+		final List<String> sqlStatements = new ArrayList<>();
+		for (Chunk chunk : getChunks(defn)) {
+			sqlStatements.add(chunk.getDeleteSQL(defn));
+		}
+		for (DBRow row : rows) {
+			if (!canBeBulkDeleted(row)) {
+				sqlStatements.addAll(getIndividualDelete(row).getSQLStatements(db));
+			}
+		}
+		return sqlStatements;
+	}
+
+	@Override
+	public DBActionList execute(DBDatabase db) throws SQLException {
+		final DBDefinition defn = db.getDefinition();
+		final DBBulkDelete executed = new DBBulkDelete().setRevertable(revertable);
+		executed.rowsPerStatement = rowsPerStatement;
+		executed.rows.addAll(rows);
+		final DBActionList actions = new DBActionList(executed);
+		final List<Chunk> chunks = getChunks(defn);
+		if (!chunks.isEmpty()) {
+			try (DBStatement statement = db.getDBStatement()) {
+				if (revertable) {
+					for (Chunk chunk : chunks) {
+						if (defn.supportsReturningDeletedRows()) {
+							executed.saveDeletedRows(defn, statement, chunk.table, defn.getDeleteReturningDeletedRowsSQL(chunk.table, chunk.condition));
+						} else {
+							executed.saveDeletedRows(defn, statement, chunk.table, chunk.getSelectSQL(defn));
+							statement.execute("BULK DELETE", QueryIntention.BULK_DELETE, chunk.getDeleteSQL(defn));
+						}
+					}
+				} else if (db.batchSQLStatementsWhenPossible()) {
+					int batched = 0;
+					for (Chunk chunk : chunks) {
+						statement.addBatch(chunk.getDeleteSQL(defn));
+						batched++;
+						if (batched >= STATEMENTS_PER_BATCH) {
+							statement.executeBatch();
+							statement.clearBatch();
+							batched = 0;
+						}
+					}
+					if (batched > 0) {
+						statement.executeBatch();
+						statement.clearBatch();
+					}
+				} else {
+					for (Chunk chunk : chunks) {
+						statement.execute("BULK DELETE", QueryIntention.BULK_DELETE, chunk.getDeleteSQL(defn));
+					}
+				}
+			}
+		}
+		for (DBRow row : rows) {
+			if (!canBeBulkDeleted(row)) {
+				actions.addAll(DBDelete.delete(db, row));
+			}
+		}
+		return actions;
+	}
+
+	private void saveDeletedRows(DBDefinition defn, DBStatement statement, DBRow table, String sql) throws SQLException {
+		try (ResultSet resultSet = statement.executeQuery(new StatementDetails("BULK DELETE", QueryIntention.BULK_DELETE, sql, statement))) {
+			while (resultSet.next()) {
+				final DBRow deletedRow = DBRow.getDBRow(table.getClass());
+				for (var prop : deletedRow.getColumnPropertyWrappers()) {
+					final QueryableDatatype<?> qdt = prop.getQueryableDatatype();
+					qdt.setFromResultSet(defn, resultSet, defn.formatForColumnAlias(prop.columnName()));
+					prop.setQueryableDatatype(qdt);
+				}
+				deletedRow.setDefined();
+				savedRows.add(deletedRow);
+			}
+		}
+	}
+
+	/**
+	 * Returns the actions required to re-insert the deleted rows.
+	 *
+	 * @return the inserts that revert this delete
+	 * @throws UnsupportedOperationException if the bulk delete was not
+	 * {@link #setRevertable(boolean) revertable}
+	 */
+	@Override
+	protected DBActionList getRevertDBActionList() {
+		if (!revertable) {
+			throw new UnsupportedOperationException("The deleted rows were not captured: use setRevertable(true) to allow reverting a DBBulkDelete");
+		}
+		DBActionList reverts = new DBActionList();
+		for (DBRow savedRow : savedRows) {
+			reverts.add(new DBInsert(savedRow));
+		}
+		return reverts;
+	}
+
+	private List<Chunk> getChunks(DBDefinition defn) {
+		final Map<Class<?>, List<DBRow>> rowsByTable = new LinkedHashMap<>();
+		for (DBRow row : rows) {
+			if (canBeBulkDeleted(row)) {
+				rowsByTable.computeIfAbsent(row.getClass(), (key) -> new ArrayList<>()).add(row);
+			}
+		}
+		final int maximumRows = getRowsPerStatement(defn);
+		final List<Chunk> chunks = new ArrayList<>();
+		for (List<DBRow> tableRows : rowsByTable.values()) {
+			final int chunkSize = maximumRows > 0 ? maximumRows : tableRows.size();
+			for (int start = 0; start < tableRows.size(); start += chunkSize) {
+				final List<DBRow> chunkRows = tableRows.subList(start, Math.min(tableRows.size(), start + chunkSize));
+				chunks.add(new Chunk(chunkRows.get(0), getCondition(defn, chunkRows)));
+			}
+		}
+		return chunks;
+	}
+
+	static String getCondition(DBDefinition defn, List<DBRow> chunkRows) {
+		final DBRow table = chunkRows.get(0);
+		final List<QueryableDatatype<?>> tablePKs = table.getPrimaryKeys();
+		final StringBuilder condition = new StringBuilder();
+		if (tablePKs.size() == 1) {
+			condition.append(defn.formatColumnName(table.getPropertyWrapperOf(tablePKs.get(0)).columnName()))
+					.append(" IN (");
+			String separator = "";
+			for (DBRow row : chunkRows) {
+				condition.append(separator).append(row.getPrimaryKeys().get(0).toSQLString(defn));
+				separator = ", ";
+			}
+			condition.append(")");
+		} else {
+			String rowSeparator = "";
+			for (DBRow row : chunkRows) {
+				condition.append(rowSeparator).append("(");
+				String separator = "";
+				for (QueryableDatatype<?> pk : row.getPrimaryKeys()) {
+					condition.append(separator)
+							.append(defn.formatColumnName(row.getPropertyWrapperOf(pk).columnName()))
+							.append(defn.getEqualsComparator())
+							.append(pk.toSQLString(defn));
+					separator = defn.beginAndLine();
+				}
+				condition.append(")");
+				rowSeparator = defn.beginOrLine();
+			}
+		}
+		return condition.toString();
+	}
+
+	static boolean canBeBulkDeleted(DBRow row) {
+		final List<QueryableDatatype<?>> primaryKeys = row.getPrimaryKeys();
+		if (!row.getDefined() || primaryKeys == null || primaryKeys.isEmpty()) {
+			return false;
+		}
+		for (QueryableDatatype<?> pk : primaryKeys) {
+			if (!pk.hasBeenSet() || pk.isNull()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static DBDelete getIndividualDelete(DBRow row) {
+		if (!row.getDefined()) {
+			return new DBDeleteByExample(row);
+		}
+		final List<QueryableDatatype<?>> primaryKeys = row.getPrimaryKeys();
+		if (primaryKeys == null || primaryKeys.isEmpty()) {
+			return new DBDeleteUsingAllColumns(row);
+		}
+		return new DBDeleteByPrimaryKey(row);
+	}
+
+	/**
+	 * The rows of one table identified by a single DELETE statement.
+	 */
+	private static class Chunk {
+
+		private final DBRow table;
+		private final String condition;
+
+		Chunk(DBRow table, String condition) {
+			this.table = table;
+			this.condition = condition;
+		}
+
+		String getDeleteSQL(DBDefinition defn) {
+			return defn.beginDeleteLine()
+					+ defn.formatTableName(table)
+					+ defn.beginWhereClause()
+					+ condition
+					+ defn.endDeleteLine();
+		}
+
+		String getSelectSQL(DBDefinition defn) {
+			return "SELECT " + defn.formatColumnsWithAliases(table, "")
+					+ " FROM " + defn.formatTableName(table)
+					+ defn.beginWhereClause()
+					+ condition
+					+ defn.endSQLStatement();
+		}
+	}
+}
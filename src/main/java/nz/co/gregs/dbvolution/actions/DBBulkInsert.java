@@ -33,7 +33,10 @@ package nz.co.gregs.dbvolution.actions;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import nz.co.gregs.dbvolution.DBRow;
 import nz.co.gregs.dbvolution.databases.DBDatabase;
 import nz.co.gregs.dbvolution.databases.DBStatement;
@@ -41,8 +44,29 @@ import nz.co.gregs.dbvolution.databases.QueryIntention;
 import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.datatypes.DBLargeObject;
 import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.exceptions.DBRuntimeException;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
+import nz.co.gregs.dbvolution.internal.query.ParameterisedSQL;
 
 /**
+ * Inserts many rows using as few statements as possible.
+ *
+ * <p>
+ * Rows are grouped by table, in the order the tables first appear, and by the
+ * columns that have values. Each group is inserted with multi-row VALUES
+ * clauses, split into chunks so that no
+ * statement has more than {@link #setRowsPerStatement(int) the rows per
+ * statement} or is larger than {@link #setBytesPerStatement(int) the bytes per
+ * statement}. The chunks are generated as they are needed and sent to the
+ * database in JDBC batches when the database
+ * {@link DBDatabase#batchSQLStatementsWhenPossible() batches statements}.
+ *
+ * <p>
+ * When the database {@link DBDatabase#getPreparedStatementsPreference() prefers
+ * PreparedStatements}, the values of the multi-row statements are bound as
+ * parameters, up to
+ * {@link DBDefinition#getMaximumBindParametersPerStatement() the maximum bind parameters}
+ * per statement, and the statements are sent in JDBC batches.
  *
  * @author gregorygraham
  */
@@ -50,7 +74,11 @@ public class DBBulkInsert extends DBAction {
 
 	public static final long serialVersionUID = 1l;
 
+	private static final int STATEMENTS_PER_BATCH = 16;
+
 	ArrayList<DBRow> rows = new ArrayList<>();
+	private Integer rowsPerStatement = null;
+	private Integer bytesPerStatement = null;
 
 	private <R extends DBRow> DBBulkInsert(R row) {
 		super(row, QueryIntention.BULK_INSERT);
@@ -64,6 +92,46 @@ public class DBBulkInsert extends DBAction {
 		rows.add(row);
 	}
 
+	/**
+	 * Sets the maximum number of rows inserted by each INSERT statement.
+	 *
+	 * <p>
+	 * The default is provided by
+	 * {@link DBDefinition#getBulkInsertRowsPerStatement() the database definition}.
+	 *
+	 * @param rows the maximum number of rows in each statement, 0 or less for no
+	 * limit
+	 * @return this DBBulkInsert
+	 */
+	public DBBulkInsert setRowsPerStatement(int rows) {
+		this.rowsPerStatement = rows;
+		return this;
+	}
+
+	/**
+	 * Sets the approximate maximum size, in bytes, of each INSERT statement.
+	 *
+	 * <p>
+	 * The default is provided by
+	 * {@link DBDefinition#getBulkInsertBytesPerStatement() the database definition}.
+	 * A row that is larger than the limit is inserted by a statement of its own.
+	 *
+	 * @param bytes the maximum size of each statement, 0 or less for no limit
+	 * @return this DBBulkInsert
+	 */
+	public DBBulkInsert setBytesPerStatement(int bytes) {
+		this.bytesPerStatement = bytes;
+		return this;
+	}
+
+	private int getRowsPerStatement(DBDefinition defn) {
+		return rowsPerStatement == null ? defn.getBulkInsertRowsPerStatement() : rowsPerStatement;
+	}
+
+	private int getBytesPerStatement(DBDefinition defn) {
+		return bytesPerStatement == null ? defn.getBulkInsertBytesPerStatement() : bytesPerStatement;
+	}
+
 	public synchronized DBActionList insert(DBDatabase database) throws SQLException {
 		return save(database);
 	}
@@ -93,91 +161,70 @@ public class DBBulkInsert extends DBAction {
 	@Override
 	public ArrayList<String> getSQLStatements(DBDatabase db) {
 		ArrayList<String> sqlStatements = new ArrayList<String>();
-		List<DBRow> accumulated = new ArrayList<>();
+		try {
+			generateSQLStatements(db, false, sql -> sqlStatements.add(sql.getLiteralSQL()));
+		} catch (SQLException ex) {
+			// adding to a list does not throw SQLExceptions
+			throw new DBRuntimeException("Unable to generate bulk insert", ex);
+		}
+		return sqlStatements;
+	}
+
+	private void generateSQLStatements(DBDatabase db, boolean bindValues, StatementConsumer consumer) throws SQLException {
+		final Map<Class<?>, TableGroup> groups = new LinkedHashMap<>();
 		for (DBRow currentRow : rows) {
-			QueryableDatatype<?>[] pks = currentRow.getPrimaryKeysAsArray();
-			boolean pksAreSet = true;
-			for (QueryableDatatype<?> pk : pks) {
-				pksAreSet = pksAreSet && pk.hasBeenSet();
-			}
-			if (pksAreSet) {
-				accumulated.add(currentRow);
+			final TableGroup group = groups.computeIfAbsent(currentRow.getClass(), (key) -> new TableGroup());
+			if (primaryKeysAreSet(currentRow)) {
+				group.rowsByColumns.computeIfAbsent(getInsertedColumns(currentRow), (key) -> new ArrayList<>()).add(currentRow);
 			} else {
-				sqlStatements.addAll(generateSQLForAccumulatedRows(db, accumulated));
-				accumulated.clear();
-				sqlStatements.addAll(new DBInsert(currentRow).getSQLStatements(db));
+				group.individualRows.add(currentRow);
+			}
+		}
+		final Chunker chunker = new Chunker(db.getDefinition(), bindValues, consumer);
+		for (TableGroup group : groups.values()) {
+			for (List<DBRow> columnRows : group.rowsByColumns.values()) {
+				for (DBRow currentRow : columnRows) {
+					chunker.add(currentRow);
+				}
+			}
+			chunker.finish();
+			for (DBRow currentRow : group.individualRows) {
+				for (String sql : new DBInsert(currentRow).getSQLStatements(db)) {
+					consumer.accept(literal(sql));
+				}
 			}
 		}
-		sqlStatements.addAll(generateSQLForAccumulatedRows(db, accumulated));
-		return sqlStatements;
 	}
 
-	private DBInsert.InsertFields processAllFieldsForInsert(DBDatabase database, DBRow row, boolean isFirstRow) {
-		DBInsert.InsertFields fields = new DBInsert.InsertFields();
-		StringBuilder allColumns = fields.getAllColumns();
-		StringBuilder allValues = fields.getAllValues();
-		StringBuilder allChangedColumns = fields.getAllChangedColumns();
-		StringBuilder allSetValues = fields.getAllSetValues();
-		DBDefinition defn = database.getDefinition();
-		var props = row.getColumnPropertyWrappers();
-		String allColumnSeparator = "";
-		String columnSeparator = "";
-		String valuesSeparator = isFirstRow ? defn.beginValueClause() : defn.beginValueSeparatorClause();
-		String allValuesSeparator = isFirstRow ? defn.beginValueClause() : defn.beginValueSeparatorClause();
-		for (var prop : props) {
-			if (prop.isColumn() && !prop.hasColumnExpression()) {
-				final QueryableDatatype<?> qdt = prop.getQueryableDatatype();
-				if (qdt != null) {
-					// BLOBS are not inserted normally so don't include them
-					if (!(qdt instanceof DBLargeObject)) {
-						//support for inserting empty rows in a table with an autoincrementing pk
-						if (!prop.isAutoIncrement() || qdt.hasBeenSet()) {
-							allColumns
-									.append(allColumnSeparator)
-									.append(" ")
-									.append(defn.formatColumnName(prop.columnName()));
-							allColumnSeparator = defn.getValuesClauseColumnSeparator();
-							// add the value
-							allValues.append(allValuesSeparator);
-							if (!qdt.hasBeenSet() && qdt.hasDefaultInsertValue()) {
-								allValues.append(
-										qdt.getDefaultInsertValueSQLString(database.getDefinition())
-								);
-							} else {
-								allValues.append(
-										qdt.toSQLString(database.getDefinition())
-								);
-							}
-							allValuesSeparator = defn.getValuesClauseValueSeparator();
-						}
-						if (qdt.hasBeenSet() || qdt.hasDefaultInsertValue()) {
-							// nice normal columns
-							// Add the column
-							allChangedColumns
-									.append(columnSeparator)
-									.append(" ")
-									.append(defn.formatColumnName(prop.columnName()));
-							columnSeparator = defn.getValuesClauseColumnSeparator();
-							allSetValues.append(valuesSeparator);
-							// add the value
-							if (qdt.hasBeenSet()) {
-								allSetValues.append(
-										qdt.toSQLString(database.getDefinition())
-								);
-							} else if (qdt.hasDefaultInsertValue()) {
-								allSetValues.append(
-										qdt.getDefaultInsertValueSQLString(database.getDefinition())
-								);
-							}
-							valuesSeparator = defn.getValuesClauseValueSeparator();
-						}
-					}
-				}
+	private static ParameterisedSQL literal(String sql) {
+		return BindParameters.none().bind(sql);
+	}
+
+	private static boolean primaryKeysAreSet(DBRow row) {
+		for (QueryableDatatype<?> pk : row.getPrimaryKeysAsArray()) {
+			if (!pk.hasBeenSet()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the table of the rows if they all belong to the same table.
+	 *
+	 * @return the table name or NULL if the rows belong to several tables
+	 */
+	@Override
+	public String getOrderingTableName() {
+		String tableName = null;
+		for (DBRow row : rows) {
+			if (tableName == null) {
+				tableName = row.getTableName();
+			} else if (!tableName.equals(row.getTableName())) {
+				return null;
 			}
 		}
-		allValues.append(defn.endValueClause());
-		allSetValues.append(defn.endValueClause());
-		return fields;
+		return tableName;
 	}
 
 	@Override
@@ -189,8 +236,11 @@ public class DBBulkInsert extends DBAction {
 		}
 		if (allRowsCanBeBulkInserted) {
 			try (DBStatement statement = db.getDBStatement()) {
-				for (String sql : getSQLStatements(db)) {
-					statement.execute("BULK INSERT", QueryIntention.BULK_INSERT, sql);
+				final boolean bindValues = db.getPreparedStatementsPreference();
+				if (bindValues || db.batchSQLStatementsWhenPossible()) {
+					insertUsingBatches(db, statement, bindValues);
+				} else {
+					generateSQLStatements(db, false, sql -> statement.execute("BULK INSERT", QueryIntention.BULK_INSERT, sql.getLiteralSQL()));
 				}
 			}
 			for (DBRow current : rows) {
@@ -204,33 +254,75 @@ public class DBBulkInsert extends DBAction {
 		return actions;
 	}
 
-	/* In this method we need to generate the SQL and execute it */
-	private ArrayList<String> generateSQLForAccumulatedRows(DBDatabase database, List<DBRow> accumulated) {
-		ArrayList<String> strs = new ArrayList<>();
-		StringBuilder inserts = new StringBuilder();
-		if (accumulated.size() > 0) {
-			//generate and execute the SQL
-			DBRow table = accumulated.get(0);
-			DBDefinition defn = database.getDefinition();
-			DBInsert.InsertFields fields = processAllFieldsForInsert(database, table, true);
+	private void insertUsingBatches(DBDatabase db, DBStatement statement, boolean bindValues) throws SQLException {
+		final List<ParameterisedSQL> batch = new ArrayList<>();
+		generateSQLStatements(db, bindValues, sql -> {
+			batch.add(sql);
+			if (batch.size() >= STATEMENTS_PER_BATCH) {
+				statement.executeBatch("BULK INSERT", QueryIntention.BULK_INSERT, new ArrayList<>(batch));
+				batch.clear();
+			}
+		});
+		statement.executeBatch("BULK INSERT", QueryIntention.BULK_INSERT, batch);
+	}
 
-			strs.addAll(defn.getInsertPreparation(table));
-			inserts.append(defn.beginInsertLine())
-					.append(defn.formatTableName(table))
-					.append(defn.beginInsertColumnList())
-					.append(fields.getAllColumns())
-					.append(defn.endInsertColumnList());
-			boolean isFirstRow = true;
-			for (DBRow currentRow : rows) {
-				fields = processAllFieldsForInsert(database, currentRow, isFirstRow);
-				inserts.append(fields.getAllValues().toString());
-				isFirstRow = false;
+	private static String getInsertHeader(DBDefinition defn, DBRow row, BitSet columns) {
+		StringBuilder header = new StringBuilder()
+				.append(defn.beginInsertLine())
+				.append(defn.formatTableName(row))
+				.append(defn.beginInsertColumnList());
+		String columnSeparator = "";
+		var props = row.getColumnPropertyWrappers();
+		for (int i = columns.nextSetBit(0); i >= 0; i = columns.nextSetBit(i + 1)) {
+			header.append(columnSeparator)
+					.append(" ")
+					.append(defn.formatColumnName(props.get(i).columnName()));
+			columnSeparator = defn.getValuesClauseColumnSeparator();
+		}
+		return header.append(defn.endInsertColumnList()).toString();
+	}
+
+	/**
+	 * Finds the columns of the row that are included in the VALUES clause.
+	 */
+	private static BitSet getInsertedColumns(DBRow row) {
+		final BitSet columns = new BitSet();
+		var props = row.getColumnPropertyWrappers();
+		for (int i = 0; i < props.size(); i++) {
+			var prop = props.get(i);
+			if (prop.isColumn() && !prop.hasColumnExpression()) {
+				final QueryableDatatype<?> qdt = prop.getQueryableDatatype();
+				// BLOBS are not inserted normally so don't include them
+				if (qdt != null && !(qdt instanceof DBLargeObject)) {
+					//support for inserting empty rows in a table with an autoincrementing pk
+					if (!prop.isAutoIncrement() || qdt.hasBeenSet()) {
+						columns.set(i);
+					}
+				}
+			}
+		}
+		return columns;
+	}
+
+	/**
+	 * Generates the values of the included columns of the row for the VALUES
+	 * clause, without the surrounding brackets.
+	 */
+	private static String getValues(DBDefinition defn, DBRow row, BitSet columns) {
+		StringBuilder values = new StringBuilder();
+		String valueSeparator = "";
+		var props = row.getColumnPropertyWrappers();
+		for (int i = columns.nextSetBit(0); i >= 0; i = columns.nextSetBit(i + 1)) {
+			final QueryableDatatype<?> qdt = props.get(i).getQueryableDatatype();
+			values.append(valueSeparator);
+			if (!qdt.hasBeenSet() && qdt.hasDefaultInsertValue()) {
+				values.append(qdt.getDefaultInsertValueSQLString(defn));
+			} else {
+				values.append(qdt.toSQLString(defn));
 			}
-			inserts.append(defn.endInsertLine());
-			strs.add(inserts.toString());
-			strs.addAll(defn.getInsertCleanUp(table));
+			valueSeparator = defn.getValuesClauseValueSeparator();
 		}
-		return strs;
+		return values.toString();
 	}
 
 	public void addAll(DBRow[] listOfRowsToInsert) {
@@ -241,4 +333,120 @@ public class DBBulkInsert extends DBAction {
 		return row.getDefined();
 	}
 
+	@FunctionalInterface
+	private static interface StatementConsumer {
+
+		void accept(ParameterisedSQL sql) throws SQLException;
+	}
+
+	/**
+	 * The rows of one table, grouped by the columns that have values, and the
+	 * rows that need an individual insert.
+	 */
+	private static class TableGroup {
+
+		private final Map<BitSet, List<DBRow>> rowsByColumns = new LinkedHashMap<>();
+		private final List<DBRow> individualRows = new ArrayList<>();
+	}
+
+	/**
+	 * Accumulates rows of the same table and columns into multi-row INSERT
+	 * statements, producing each statement as soon as it is full.
+	 */
+	private class Chunker {
+
+		private final DBDefinition defn;
+		private final boolean bindValues;
+		private final StatementConsumer consumer;
+		private final int maximumRows;
+		private final int maximumBytes;
+		private final int maximumParameters;
+		private final ParameterisedSQL valueSeparator;
+		private final ParameterisedSQL endValueClause;
+		private final ParameterisedSQL endInsertLine;
+		private final List<ParameterisedSQL> statement = new ArrayList<>();
+		private int statementLength = 0;
+		private int parametersInStatement = 0;
+		private DBRow table = null;
+		private BitSet tableColumns = null;
+		private ParameterisedSQL header = null;
+		private int rowsInStatement = 0;
+
+		Chunker(DBDefinition defn, boolean bindValues, StatementConsumer consumer) {
+			this.defn = defn;
+			this.bindValues = bindValues;
+			this.consumer = consumer;
+			this.maximumRows = getRowsPerStatement(defn);
+			this.maximumBytes = getBytesPerStatement(defn);
+			this.maximumParameters = defn.getMaximumBindParametersPerStatement();
+			this.valueSeparator = literal(defn.beginValueSeparatorClause());
+			this.endValueClause = literal(String.valueOf(defn.endValueClause()));
+			this.endInsertLine = literal(defn.endInsertLine());
+		}
+
+		void add(DBRow row) throws SQLException {
+			final BitSet columns = getInsertedColumns(row);
+			final BindParameters parameters = bindValues ? BindParameters.create() : BindParameters.none();
+			final ParameterisedSQL values = parameters.bind(parameters.collect(() -> getValues(defn, row, columns)));
+			if (table == null || !table.getClass().equals(row.getClass())) {
+				finish();
+				table = row;
+				for (String sql : defn.getInsertPreparation(row)) {
+					consumer.accept(literal(sql));
+				}
+			}
+			if (!columns.equals(tableColumns)) {
+				flush();
+				tableColumns = columns;
+				header = literal(getInsertHeader(defn, row, columns) + defn.beginValueClause());
+			}
+			if (rowsInStatement > 0) {
+				final int size = statementLength + length(valueSeparator) + length(values) + length(endValueClause) + length(endInsertLine);
+				final int parameterCount = parametersInStatement + values.getValues().size();
+				if ((maximumRows > 0 && rowsInStatement >= maximumRows)
+						|| (maximumBytes > 0 && size > maximumBytes)
+						|| (maximumParameters > 0 && parameterCount > maximumParameters)) {
+					flush();
+				}
+			}
+			append(rowsInStatement == 0 ? header : valueSeparator);
+			append(values);
+			append(endValueClause);
+			rowsInStatement++;
+		}
+
+		private void append(ParameterisedSQL sql) {
+			statement.add(sql);
+			statementLength += length(sql);
+			parametersInStatement += sql.getValues().size();
+		}
+
+		private int length(ParameterisedSQL sql) {
+			return sql.getLiteralSQL().length();
+		}
+
+		private void flush() throws SQLException {
+			if (rowsInStatement > 0) {
+				statement.add(endInsertLine);
+				final ParameterisedSQL sql = ParameterisedSQL.concatenate(statement);
+				statement.clear();
+				statementLength = 0;
+				parametersInStatement = 0;
+				rowsInStatement = 0;
+				consumer.accept(sql);
+			}
+		}
+
+		void finish() throws SQLException {
+			flush();
+			if (table != null) {
+				for (String sql : defn.getInsertCleanUp(table)) {
+					consumer.accept(literal(sql));
+				}
+				table = null;
+				tableColumns = null;
+				header = null;
+			}
+		}
+	}
 }
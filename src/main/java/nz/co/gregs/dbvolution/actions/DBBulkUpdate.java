@@ -0,0 +1,318 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.actions;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.DBStatement;
+import nz.co.gregs.dbvolution.databases.QueryIntention;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.datatypes.DBLargeObject;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+
+/**
+ * Updates the simple columns of many rows using as few statements as possible.
+ *
+ * <p>
+ * Rows are grouped by table and by the set of columns that have changed, then
+ * each group is updated in chunks of {@link #setRowsPerStatement(int) the rows
+ * per statement} when the database
+ * {@link DBDefinition#supportsBulkUpdates() supports bulk updates}. Other
+ * databases receive the usual UPDATE statement for each row in JDBC batches.
+ *
+ * <p>
+ * Only rows that {@link #canBeBulkUpdated(nz.co.gregs.dbvolution.DBRow) can be
+ * bulk updated} are accepted. Large objects are not updated by this action.
+ *
+ * <p>
+ * The best way to use this is by using
+ * {@link DBUpdate#update(nz.co.gregs.dbvolution.databases.DBDatabase, java.util.Collection)}
+ * which chooses the rows that can be bulk updated automatically.
+ *
+ * @author Gregory Graham
+ */
+public class DBBulkUpdate extends DBAction {
+
+	public static final long serialVersionUID = 1l;
+
+	private static final int STATEMENTS_PER_BATCH = 16;
+
+	private final ArrayList<DBRow> rows = new ArrayList<>();
+	private Integer rowsPerStatement = null;
+
+	/**
+	 * Creates an empty bulk update.
+	 */
+	public DBBulkUpdate() {
+		super(null, QueryIntention.BULK_UPDATE);
+	}
+
+	/**
+	 * Indicates whether the row can be updated by a DBBulkUpdate.
+	 *
+	 * <p>
+	 * The row must be defined, have unchanged values for all of its primary
+	 * keys, and have changed simple columns. Rows with automatic values or
+	 * default update values need the individual update provided by
+	 * {@link DBUpdate#getUpdates(nz.co.gregs.dbvolution.DBRow...)}.
+	 *
+	 * @param row the row to check
+	 * @return TRUE if the row can be included in a bulk update
+	 */
+	public static boolean canBeBulkUpdated(DBRow row) {
+		final List<QueryableDatatype<?>> primaryKeys = row.getPrimaryKeys();
+		if (!row.getDefined() || primaryKeys == null || primaryKeys.isEmpty() || !row.hasChangedSimpleTypes() || row.hasAutomaticValueFields()) {
+			return false;
+		}
+		for (QueryableDatatype<?> pk : primaryKeys) {
+			if (pk.hasChanged() || !pk.hasBeenSet() || pk.isNull()) {
+				return false;
+			}
+		}
+		for (var prop : row.getColumnPropertyWrappers()) {
+			final QueryableDatatype<?> qdt = prop.getQueryableDatatype();
+			if (qdt != null && qdt.hasDefaultUpdateValue()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Adds a copy of the row, and its changes, to the rows to be updated.
+	 *
+	 * @param row the row to update
+	 * @return this DBBulkUpdate
+	 * @throws IllegalArgumentException if the row cannot be bulk updated
+	 */
+	public DBBulkUpdate addRow(DBRow row) {
+		if (!canBeBulkUpdated(row)) {
+			throw new IllegalArgumentException("The row cannot be bulk updated: " + row.getTableName());
+		}
+		rows.add(DBRow.copyDBRow(row));
+		return this;
+	}
+
+	/**
+	 * Adds copies of the rows, and their changes, to the rows to be updated.
+	 *
+	 * @param rowsToUpdate the rows to update
+	 * @return this DBBulkUpdate
+	 * @throws IllegalArgumentException if any of the rows cannot be bulk updated
+	 */
+	public DBBulkUpdate addAll(Collection<? extends DBRow> rowsToUpdate) {
+		for (DBRow row : rowsToUpdate) {
+			addRow(row);
+		}
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of rows updated by each statement.
+	 *
+	 * <p>
+	 * The default is provided by
+	 * {@link DBDefinition#getBulkUpdateRowsPerStatement() the database definition}.
+	 *
+	 * @param rows the maximum number of rows in each statement, 0 or less for no
+	 * limit
+	 * @return this DBBulkUpdate
+	 */
+	public DBBulkUpdate setRowsPerStatement(int rows) {
+		this.rowsPerStatement = rows;
+		return this;
+	}
+
+	private int getRowsPerStatement(DBDefinition defn) {
+		return rowsPerStatement == null ? defn.getBulkUpdateRowsPerStatement() : rowsPerStatement;
+	}
+
+	/**
+	 * Updates the rows in the database.
+	 *
+	 * @param database the target database
+	 * @return the actions performed
+	 * @throws SQLException database errors
+	 */
+	public DBActionList update(DBDatabase database) throws SQLException {
+		return database.executeDBAction(this);
+	}
+
+	@Override
+	public DBRow getRow() {
+		return rows.isEmpty() ? null : DBRow.copyDBRow(rows.get(0));
+	}
+
+	/**
+	 * Returns the table of the rows if they all belong to the same table.
+	 *
+	 * @return the table name or NULL if the rows belong to several tables
+	 */
+	@Override
+	public String getOrderingTableName() {
+		String tableName = null;
+		for (DBRow row : rows) {
+			if (tableName == null) {
+				tableName = row.getTableName();
+			} else if (!tableName.equals(row.getTableName())) {
+				return null;
+			}
+		}
+		return tableName;
+	}
+
+	@Override
+	public List<String> getSQLStatements(DBDatabase db) {
+		final DBDefinition defn = db.getDefinition();
+		final List<String> sqlStatements = new ArrayList<>();
+		if (defn.supportsBulkUpdates()) {
+			for (Chunk chunk : getChunks(defn)) {
+				sqlStatements.add(defn.getBulkUpdateSQL(chunk.rows, chunk.columnNames));
+			}
+		} else {
+			for (DBRow row : rows) {
+				sqlStatements.addAll(new DBUpdateSimpleTypes(row).getSQLStatements(db));
+			}
+		}
+		return sqlStatements;
+	}
+
+	/**
+	 * Updates the rows and returns a DBUpdate action for each row, so that the
+	 * rows can be reverted individually.
+	 *
+	 * @param db the target database
+	 * @return the update of each row
+	 * @throws SQLException database errors
+	 */
+	@Override
+	public DBActionList execute(DBDatabase db) throws SQLException {
+		final DBActionList actions = new DBActionList();
+		for (DBRow row : rows) {
+			actions.add(new DBUpdateSimpleTypes(row));
+		}
+		final List<String> sqlStatements = getSQLStatements(db);
+		if (!sqlStatements.isEmpty()) {
+			try (DBStatement statement = db.getDBStatement()) {
+				if (sqlStatements.size() > 1 && db.batchSQLStatementsWhenPossible()) {
+					int batched = 0;
+					for (String sql : sqlStatements) {
+						statement.addBatch(sql);
+						batched++;
+						if (batched >= STATEMENTS_PER_BATCH) {
+							statement.executeBatch();
+							statement.clearBatch();
+							batched = 0;
+						}
+					}
+					if (batched > 0) {
+						statement.executeBatch();
+						statement.clearBatch();
+					}
+				} else {
+					for (String sql : sqlStatements) {
+						statement.execute("BULK UPDATE", QueryIntention.BULK_UPDATE, sql);
+					}
+				}
+			}
+		}
+		return actions;
+	}
+
+	@Override
+	protected DBActionList getRevertDBActionList() {
+		DBActionList reverts = new DBActionList();
+		for (DBRow row : rows) {
+			reverts.add(new DBUpdateToPreviousValues(row));
+		}
+		return reverts;
+	}
+
+	private List<Chunk> getChunks(DBDefinition defn) {
+		final Map<Class<?>, Map<BitSet, List<DBRow>>> rowsByColumns = new LinkedHashMap<>();
+		final Map<Class<?>, List<String>> columnNamesByTable = new LinkedHashMap<>();
+		for (DBRow row : rows) {
+			final List<String> columnNames = columnNamesByTable.computeIfAbsent(row.getClass(), (key) -> new ArrayList<>());
+			final BitSet changedColumns = new BitSet();
+			int index = 0;
+			for (var prop : row.getColumnPropertyWrappers()) {
+				final QueryableDatatype<?> qdt = prop.getQueryableDatatype();
+				if (qdt != null && !(qdt instanceof DBLargeObject) && qdt.hasChanged()) {
+					changedColumns.set(index);
+				}
+				if (columnNames.size() == index) {
+					columnNames.add(prop.columnName());
+				}
+				index++;
+			}
+			rowsByColumns.computeIfAbsent(row.getClass(), (key) -> new LinkedHashMap<>())
+					.computeIfAbsent(changedColumns, (key) -> new ArrayList<>())
+					.add(row);
+		}
+		final int maximumRows = getRowsPerStatement(defn);
+		final List<Chunk> chunks = new ArrayList<>();
+		for (var tableEntry : rowsByColumns.entrySet()) {
+			final List<String> allColumnNames = columnNamesByTable.get(tableEntry.getKey());
+			for (var columnsEntry : tableEntry.getValue().entrySet()) {
+				final List<String> columnNames = new ArrayList<>();
+				columnsEntry.getKey().stream().forEach((index) -> columnNames.add(allColumnNames.get(index)));
+				final List<DBRow> groupRows = columnsEntry.getValue();
+				final int chunkSize = maximumRows > 0 ? maximumRows : groupRows.size();
+				for (int start = 0; start < groupRows.size(); start += chunkSize) {
+					chunks.add(new Chunk(groupRows.subList(start, Math.min(groupRows.size(), start + chunkSize)), columnNames));
+				}
+			}
+		}
+		return chunks;
+	}
+
+	/**
+	 * The rows of one table, with the same changed columns, updated by a single
+	 * statement.
+	 */
+	private static class Chunk {
+
+		private final List<DBRow> rows;
+		private final List<String> columnNames;
+
+		Chunk(List<DBRow> rows, List<String> columnNames) {
+			this.rows = rows;
+			this.columnNames = columnNames;
+		}
+	}
+}
@@ -0,0 +1,444 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.actions;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.DBStatement;
+import nz.co.gregs.dbvolution.databases.QueryIntention;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.datatypes.DBLargeObject;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.internal.query.RowIdentityMap;
+import nz.co.gregs.dbvolution.internal.query.StatementDetails;
+
+/**
+ * Inserts many rows, updating the rows that already exist, using as few
+ * statements as possible.
+ *
+ * <p>
+ * Rows are grouped by table and by the columns that have values, then each
+ * group is inserted or updated in chunks of
+ * {@link #setRowsPerStatement(int) the rows per statement} using the database's
+ * native upsert syntax, such as MERGE, INSERT ... ON CONFLICT, or INSERT ... ON
+ * DUPLICATE KEY UPDATE. Databases that do not
+ * {@link DBDefinition#supportsBulkUpserts() support bulk upserts} insert or
+ * update each row individually.
+ *
+ * <p>
+ * Only rows that {@link #canBeBulkUpserted(nz.co.gregs.dbvolution.DBRow) can be
+ * bulk upserted} are accepted. The columns without values are not included in
+ * the statements, so they keep their current values when a row is updated.
+ *
+ * <p>
+ * By default the existing rows are not retrieved and the upsert cannot be
+ * reverted. {@link #setRevertable(boolean) Revertable} bulk upserts retrieve the
+ * rows that already exist with a single query for each chunk before the upsert,
+ * so that the inserted rows can be deleted and the updated columns returned to
+ * their previous values.
+ *
+ * <p>
+ * The best way to use this is by using
+ * {@link DBDatabase#insertOrUpdate(java.util.Collection)} which chooses the
+ * rows that can be bulk upserted automatically.
+ *
+ * @author Gregory Graham
+ */
+public class DBBulkUpsert extends DBAction {
+
+	public static final long serialVersionUID = 1l;
+
+	private static final int STATEMENTS_PER_BATCH = 16;
+
+	private final ArrayList<DBRow> rows = new ArrayList<>();
+	private final ArrayList<DBRow> insertedRows = new ArrayList<>();
+	private final ArrayList<DBRow> updatedRows = new ArrayList<>();
+	private Integer rowsPerStatement = null;
+	private boolean revertable = false;
+
+	/**
+	 * Creates an empty bulk upsert.
+	 */
+	public DBBulkUpsert() {
+		super(null, QueryIntention.BULK_UPSERT);
+	}
+
+	/**
+	 * Indicates whether the row can be inserted or updated by a DBBulkUpsert.
+	 *
+	 * <p>
+	 * The row must have values for all of its primary keys, and a defined row
+	 * must not have changed its primary keys. Rows with automatic values, default
+	 * values, or new large objects need the individual insert or update.
+	 *
+	 * @param row the row to check
+	 * @return TRUE if the row can be included in a bulk upsert
+	 */
+	public static boolean canBeBulkUpserted(DBRow row) {
+		final List<QueryableDatatype<?>> primaryKeys = row.getPrimaryKeys();
+		if (primaryKeys == null || primaryKeys.isEmpty() || row.hasAutomaticValueFields()) {
+			return false;
+		}
+		for (QueryableDatatype<?> pk : primaryKeys) {
+			if (!pk.hasBeenSet() || pk.isNull() || (row.getDefined() && pk.hasChanged())) {
+				return false;
+			}
+		}
+		for (var prop : row.getColumnPropertyWrappers()) {
+			final QueryableDatatype<?> qdt = prop.getQueryableDatatype();
+			if (qdt != null) {
+				if (qdt.hasDefaultInsertValue() || qdt.hasDefaultUpdateValue()) {
+					return false;
+				}
+				if (qdt instanceof DBLargeObject && (row.getDefined() ? qdt.hasChanged() : qdt.hasBeenSet())) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Adds a copy of the row to the rows to be inserted or updated.
+	 *
+	 * @param row the row to insert or update
+	 * @return this DBBulkUpsert
+	 * @throws IllegalArgumentException if the row cannot be bulk upserted
+	 */
+	public DBBulkUpsert addRow(DBRow row) {
+		if (!canBeBulkUpserted(row)) {
+			throw new IllegalArgumentException("The row cannot be bulk upserted: " + row.getTableName());
+		}
+		rows.add(DBRow.copyDBRow(row));
+		return this;
+	}
+
+	/**
+	 * Adds copies of the rows to the rows to be inserted or updated.
+	 *
+	 * @param rowsToUpsert the rows to insert or update
+	 * @return this DBBulkUpsert
+	 * @throws IllegalArgumentException if any of the rows cannot be bulk
+	 * upserted
+	 */
+	public DBBulkUpsert addAll(Collection<? extends DBRow> rowsToUpsert) {
+		for (DBRow row : rowsToUpsert) {
+			addRow(row);
+		}
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of rows inserted or updated by each statement.
+	 *
+	 * <p>
+	 * The default is provided by
+	 * {@link DBDefinition#getBulkUpsertRowsPerStatement() the database definition}.
+	 *
+	 * @param rows the maximum number of rows in each statement, 0 or less for no
+	 * limit
+	 * @return this DBBulkUpsert
+	 */
+	public DBBulkUpsert setRowsPerStatement(int rows) {
+		this.rowsPerStatement = rows;
+		return this;
+	}
+
+	/**
+	 * Sets whether the existing rows are captured so that the upsert can be
+	 * reverted.
+	 *
+	 * <p>
+	 * The default is FALSE, which avoids retrieving the existing rows at all.
+	 *
+	 * @param revertable TRUE to capture the existing rows
+	 * @return this DBBulkUpsert
+	 */
+	public DBBulkUpsert setRevertable(boolean revertable) {
+		this.revertable = revertable;
+		return this;
+	}
+
+	/**
+	 * Indicates whether the existing rows are captured so that the upsert can be
+	 * reverted.
+	 *
+	 * @return TRUE if the upsert can be reverted
+	 */
+	public boolean isRevertable() {
+		return revertable;
+	}
+
+	private int getRowsPerStatement(DBDefinition defn) {
+		return rowsPerStatement == null ? defn.getBulkUpsertRowsPerStatement() : rowsPerStatement;
+	}
+
+	/**
+	 * Inserts or updates the rows in the database.
+	 *
+	 * @param database the target database
+	 * @return the actions performed
+	 * @throws SQLException database errors
+	 */
+	public DBActionList upsert(DBDatabase database) throws SQLException {
+		return database.executeDBAction(this);
+	}
+
+	@Override
+	public DBRow getRow() {
+		return rows.isEmpty() ? null : DBRow.copyDBRow(rows.get(0));
+	}
+
+	/**
+	 * Returns the table of the rows if they all belong to the same table.
+	 *
+	 * @return the table name or NULL if the rows belong to several tables
+	 */
+	@Override
+	public String getOrderingTableName() {
+		String tableName = null;
+		for (DBRow row : rows) {
+			if (tableName == null) {
+				tableName = row.getTableName();
+			} else if (!tableName.equals(row.getTableName())) {
+				return null;
+			}
+		}
+		return tableName;
+	}
+
+	/**
+	 * Returns the upsert statements for databases that
+	 * {@link DBDefinition#supportsBulkUpserts() support bulk upserts}.
+	 *
+	 * <p>
+	 * Other databases decide between inserting and updating each row as it is
+	 * executed, so no statements are returned for them.
+	 *
+	 * @param db the target database
+	 * @return the SQL statements of the bulk upsert
+	 */
+	@Override
+	public List<String> getSQLStatements(DBDatabase db) {
+		final DBDefinition defn = db.getDefinition();
+		final List<String> sqlStatements = new ArrayList<>();
+		if (defn.supportsBulkUpserts()) {
+			for (Chunk chunk : getChunks(defn)) {
+				sqlStatements.addAll(defn.getBulkUpsertSQL(chunk.rows, chunk.columnNames));
+			}
+		}
+		return sqlStatements;
+	}
+
+	@Override
+	public DBActionList execute(DBDatabase db) throws SQLException {
+		final DBBulkUpsert executed = new DBBulkUpsert().setRevertable(revertable);
+		executed.rowsPerStatement = rowsPerStatement;
+		executed.rows.addAll(rows);
+		final DBActionList actions = new DBActionList(executed);
+		if (!db.getDefinition().supportsBulkUpserts()) {
+			// the individual actions revert themselves
+			executed.revertable = true;
+			for (DBRow row : rows) {
+				actions.addAll(db.insertOrUpdate(DBRow.copyDBRow(row)));
+			}
+			return actions;
+		}
+		final DBDefinition defn = db.getDefinition();
+		final List<String> sqlStatements = new ArrayList<>();
+		try (DBStatement statement = db.getDBStatement()) {
+			for (Chunk chunk : getChunks(defn)) {
+				if (revertable) {
+					executed.saveExistingRows(defn, statement, chunk);
+				}
+				sqlStatements.addAll(defn.getBulkUpsertSQL(chunk.rows, chunk.columnNames));
+			}
+			if (!sqlStatements.isEmpty()) {
+				if (sqlStatements.size() > 1 && db.batchSQLStatementsWhenPossible()) {
+					int batched = 0;
+					for (String sql : sqlStatements) {
+						statement.addBatch(sql);
+						batched++;
+						if (batched >= STATEMENTS_PER_BATCH) {
+							statement.executeBatch();
+							statement.clearBatch();
+							batched = 0;
+						}
+					}
+					if (batched > 0) {
+						statement.executeBatch();
+						statement.clearBatch();
+					}
+				} else {
+					for (String sql : sqlStatements) {
+						statement.execute("BULK UPSERT", QueryIntention.BULK_UPSERT, sql);
+					}
+				}
+			}
+		}
+		return actions;
+	}
+
+	private void saveExistingRows(DBDefinition defn, DBStatement statement, Chunk chunk) throws SQLException {
+		final DBRow table = chunk.rows.get(0);
+		final String sql = "SELECT " + defn.formatColumnsWithAliases(table, "")
+				+ " FROM " + defn.formatTableName(table)
+				+ defn.beginWhereClause()
+				+ DBBulkDelete.getCondition(defn, chunk.rows)
+				+ defn.endSQLStatement();
+		final RowIdentityMap existingRows = new RowIdentityMap();
+		try (ResultSet resultSet = statement.executeQuery(new StatementDetails("BULK UPSERT", QueryIntention.BULK_UPSERT, sql, statement))) {
+			while (resultSet.next()) {
+				final DBRow existingRow = DBRow.getDBRow(table.getClass());
+				for (var prop : existingRow.getColumnPropertyWrappers()) {
+					final QueryableDatatype<?> qdt = prop.getQueryableDatatype();
+					qdt.setFromResultSet(defn, resultSet, defn.formatForColumnAlias(prop.columnName()));
+					prop.setQueryableDatatype(qdt);
+				}
+				existingRow.setDefined();
+				existingRows.getOrSet(existingRow, existingRow.getPrimaryKeys());
+			}
+		}
+		for (DBRow row : chunk.rows) {
+			final DBRow existingRow = existingRows.getOrSet(row, row.getPrimaryKeys());
+			if (existingRow == row) {
+				insertedRows.add(row);
+			} else {
+				final DBRow updatedRow = DBRow.copyDBRow(existingRow);
+				final var updatedProps = updatedRow.getColumnPropertyWrappers();
+				final var upsertedProps = row.getColumnPropertyWrappers();
+				for (int i = 0; i < updatedProps.size(); i++) {
+					final QueryableDatatype<?> upserted = upsertedProps.get(i).getQueryableDatatype();
+					final QueryableDatatype<?> existing = updatedProps.get(i).getQueryableDatatype();
+					if (upserted != null
+							&& !upsertedProps.get(i).isPrimaryKey()
+							&& chunk.columnNames.contains(upsertedProps.get(i).columnName())
+							&& !Objects.equals(upserted.getValue(), existing.getValue())) {
+						setValue(existing, upserted);
+					}
+				}
+				if (updatedRow.hasChangedSimpleTypes()) {
+					updatedRows.add(updatedRow);
+				}
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> void setValue(QueryableDatatype<T> target, QueryableDatatype<?> source) {
+		target.setValue((T) source.getValue());
+	}
+
+	/**
+	 * Returns the actions required to delete the inserted rows and return the
+	 * updated rows to their previous values.
+	 *
+	 * @return the deletes and updates that revert this upsert
+	 * @throws UnsupportedOperationException if the bulk upsert was not
+	 * {@link #setRevertable(boolean) revertable}
+	 */
+	@Override
+	protected DBActionList getRevertDBActionList() {
+		if (!revertable) {
+			throw new UnsupportedOperationException("The existing rows were not captured: use setRevertable(true) to allow reverting a DBBulkUpsert");
+		}
+		DBActionList reverts = new DBActionList();
+		for (DBRow updatedRow : updatedRows) {
+			reverts.add(new DBUpdateToPreviousValues(updatedRow));
+		}
+		for (DBRow insertedRow : insertedRows) {
+			reverts.add(new DBDeleteByPrimaryKey(insertedRow));
+		}
+		return reverts;
+	}
+
+	private List<Chunk> getChunks(DBDefinition defn) {
+		final Map<Class<?>, Map<BitSet, List<DBRow>>> rowsByColumns = new LinkedHashMap<>();
+		final Map<Class<?>, List<String>> columnNamesByTable = new LinkedHashMap<>();
+		for (DBRow row : rows) {
+			final List<String> columnNames = columnNamesByTable.computeIfAbsent(row.getClass(), (key) -> new ArrayList<>());
+			final BitSet setColumns = new BitSet();
+			int index = 0;
+			for (var prop : row.getColumnPropertyWrappers()) {
+				final QueryableDatatype<?> qdt = prop.getQueryableDatatype();
+				if (prop.isColumn() && !prop.hasColumnExpression() && qdt != null && !(qdt instanceof DBLargeObject) && qdt.hasBeenSet()) {
+					setColumns.set(index);
+				}
+				if (columnNames.size() == index) {
+					columnNames.add(prop.columnName());
+				}
+				index++;
+			}
+			rowsByColumns.computeIfAbsent(row.getClass(), (key) -> new LinkedHashMap<>())
+					.computeIfAbsent(setColumns, (key) -> new ArrayList<>())
+					.add(row);
+		}
+		final int maximumRows = getRowsPerStatement(defn);
+		final List<Chunk> chunks = new ArrayList<>();
+		for (var tableEntry : rowsByColumns.entrySet()) {
+			final List<String> allColumnNames = columnNamesByTable.get(tableEntry.getKey());
+			for (var columnsEntry : tableEntry.getValue().entrySet()) {
+				final List<String> columnNames = new ArrayList<>();
+				columnsEntry.getKey().stream().forEach((index) -> columnNames.add(allColumnNames.get(index)));
+				final List<DBRow> groupRows = columnsEntry.getValue();
+				final int chunkSize = maximumRows > 0 ? maximumRows : groupRows.size();
+				for (int start = 0; start < groupRows.size(); start += chunkSize) {
+					chunks.add(new Chunk(groupRows.subList(start, Math.min(groupRows.size(), start + chunkSize)), columnNames));
+				}
+			}
+		}
+		return chunks;
+	}
+
+	/**
+	 * The rows of one table, with values for the same columns, inserted or
+	 * updated by a single statement.
+	 */
+	private static class Chunk {
+
+		private final List<DBRow> rows;
+		private final List<String> columnNames;
+
+		Chunk(List<DBRow> rows, List<String> columnNames) {
+			this.rows = rows;
+			this.columnNames = columnNames;
+		}
+	}
+}
@@ -16,6 +16,8 @@
 package nz.co.gregs.dbvolution.actions;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import nz.co.gregs.dbvolution.databases.DBDatabase;
@@ -109,23 +111,7 @@ public abstract class DBDelete extends DBAction {
 	 * @throws SQLException Database actions can throw SQLException
 	 */
 	public static DBActionList getDeletes(DBDatabase db, DBRow... rows) throws SQLException {
-		DBActionList actions = new DBActionList();
-		for (DBRow row : rows) {
-			if (row.getDefined()) {
-				final List<QueryableDatatype<?>> primaryKeys = row.getPrimaryKeys();
-				if (primaryKeys == null || primaryKeys.isEmpty()) {
-					DBDeleteUsingAllColumns allCols = new DBDeleteUsingAllColumns(row);
-					actions.addAll(allCols.getActions(db, row));
-				} else {
-					DBDeleteByPrimaryKey pk = new DBDeleteByPrimaryKey(row);
-					actions.addAll(pk.getActions(db, row));
-				}
-			} else {
-				DBDeleteByExample example = new DBDeleteByExample(row);
-				actions.addAll(example.getActions(db, row));
-			}
-		}
-		return actions;
+		return getDeletes(db, Arrays.asList(rows));
 	}
 
 	/**
@@ -136,7 +122,10 @@ public abstract class DBDelete extends DBAction {
 	 * {@link DBActionList#execute(nz.co.gregs.dbvolution.databases.DBDatabase)}
 	 *
 	 * <p>
-	 * The DBDatabase instance will be used to create DBInsert actions for the
+	 * Defined rows with primary keys are deleted together by a revertable
+	 * {@link DBBulkDelete}, which captures the deleted rows as it deletes them.
+	 * Examples and rows without primary keys are deleted individually and the
+	 * DBDatabase instance will be used to create DBInsert actions for their
 	 * revert action list.
 	 *
 	 *
@@ -147,8 +136,23 @@ public abstract class DBDelete extends DBAction {
 	 * @throws SQLException Database actions can throw SQLException
 	 */
 	public static DBActionList getDeletes(DBDatabase db, Collection<? extends DBRow> rows) throws SQLException {
-		DBActionList actions = new DBActionList();
+		final List<DBRow> bulkRows = new ArrayList<>();
+		final List<DBRow> individualRows = new ArrayList<>();
 		for (DBRow row : rows) {
+			if (DBBulkDelete.canBeBulkDeleted(row)) {
+				bulkRows.add(row);
+			} else {
+				individualRows.add(row);
+			}
+		}
+		DBActionList actions = new DBActionList();
+		if (bulkRows.size() < 2) {
+			individualRows.clear();
+			individualRows.addAll(rows);
+		} else {
+			actions.add(new DBBulkDelete().setRevertable(true).addAll(bulkRows));
+		}
+		for (DBRow row : individualRows) {
 			if (row.getDefined()) {
 				final List<QueryableDatatype<?>> primaryKeys = row.getPrimaryKeys();
 				if (primaryKeys == null || primaryKeys.isEmpty()) {
@@ -143,6 +143,17 @@ public class DBMigrationAction<R extends DBRow> extends DBAction {
 		}
 	}
 
+	/**
+	 * Returns NULL because the inserted rows depend on the contents of other
+	 * tables.
+	 *
+	 * @return NULL
+	 */
+	@Override
+	public String getOrderingTableName() {
+		return null;
+	}
+
 	@Override
 	public DBActionList execute(DBDatabase db) throws SQLException {
 		DBActionList actions = new DBActionList(new DBMigrationAction<>(sourceMigration, getRow(), extraExamples));
@@ -88,6 +88,17 @@ public class DBQueryInsertAction<R extends DBRow> extends DBAction {
 		return strs;
 	}
 
+	/**
+	 * Returns NULL because the inserted rows depend on the contents of other
+	 * tables.
+	 *
+	 * @return NULL
+	 */
+	@Override
+	public String getOrderingTableName() {
+		return null;
+	}
+
 	@Override
 	public DBActionList execute(DBDatabase db) throws SQLException {
 		DBActionList actions = new DBActionList(new DBQueryInsertAction<>(sourceMigration, getRow(), extraExamples));
@@ -16,6 +16,7 @@
 package nz.co.gregs.dbvolution.actions;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import nz.co.gregs.dbvolution.databases.DBDatabase;
@@ -81,9 +82,14 @@ public abstract class DBUpdate extends DBAction {
 	}
 
 	/**
-	 * Executes required update actions for the row and returns a
+	 * Executes required update actions for the rows and returns a
 	 * {@link DBActionList} of those actions.
 	 *
+	 * <p>
+	 * Rows that {@link DBBulkUpdate#canBeBulkUpdated(nz.co.gregs.dbvolution.DBRow) can be bulk updated}
+	 * are updated together by a {@link DBBulkUpdate}, the remaining rows are
+	 * updated individually.
+	 *
 	 * The original rows are not changed by this method, or any DBUpdate method.
 	 * Use {@link DBRow#setSimpleTypesToUnchanged() } if you need to ignore the
 	 * changes to the row.
@@ -94,7 +100,30 @@ public abstract class DBUpdate extends DBAction {
 	 * @throws SQLException database exceptions
 	 */
 	public static DBActionList update(DBDatabase db, Collection<? extends DBRow> rows) throws SQLException {
-		return update(db, rows.toArray(new DBRow[0]));
+		final List<DBRow> bulkRows = new ArrayList<>();
+		final List<DBRow> individualRows = new ArrayList<>();
+		for (DBRow row : rows) {
+			if (!row.isDefined()) {
+				throw new AccidentalUpdateOfUndefinedRowException(row);
+			} else if (DBBulkUpdate.canBeBulkUpdated(row)) {
+				bulkRows.add(row);
+			} else {
+				individualRows.add(row);
+			}
+		}
+		if (bulkRows.size() < 2) {
+			return update(db, rows.toArray(new DBRow[0]));
+		}
+		DBActionList actions = new DBActionList();
+		actions.addAll(db.executeDBAction(new DBBulkUpdate().addAll(bulkRows)));
+		for (DBRow row : bulkRows) {
+			if (hasChangedLargeObjects(row)) {
+				actions.addAll(db.executeDBAction(new DBUpdateLargeObjects(row)));
+			}
+			row.setSimpleTypesToUnchanged();
+		}
+		actions.addAll(update(db, individualRows.toArray(new DBRow[0])));
+		return actions;
 	}
 
 	/**
@@ -15,16 +15,16 @@
  */
 package nz.co.gregs.dbvolution.actions;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedReader;
-import java.io.CharArrayReader;
 import java.io.IOError;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.nio.charset.Charset;
+import java.io.Reader;
+import java.io.StringReader;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -36,7 +36,9 @@ import nz.co.gregs.dbvolution.databases.DBStatement;
 import nz.co.gregs.dbvolution.databases.QueryIntention;
 import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.internal.query.LargeObjectHandlerType;
+import nz.co.gregs.dbvolution.datatypes.DBLargeBinary;
 import nz.co.gregs.dbvolution.datatypes.DBLargeObject;
+import nz.co.gregs.dbvolution.datatypes.DBLargeText;
 import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
 import nz.co.gregs.dbvolution.exceptions.DBRuntimeException;
 import nz.co.gregs.dbvolution.internal.properties.PropertyWrapper;
@@ -179,17 +181,20 @@ public class DBUpdateLargeObjects extends DBUpdate {
 				+ defn.endSQLStatement();
 		db.printSQLIfRequested(sqlString);
 		LOG.debug(sqlString);
-		try (PreparedStatement prep = statement.getConnection().prepareStatement(sqlString)) {
+		try (PreparedStatement prep = statement.getConnection().prepareStatement(sqlString);
+				InputStream input = largeObject.getInputStream()) {
 			try {
-				prep.setBinaryStream(1, largeObject.getInputStream());
+				prep.setBinaryStream(1, input);
 			} catch (SQLException exp) {
 				try {
-					prep.setBinaryStream(1, largeObject.getInputStream(), largeObject.getSize());
+					prep.setBinaryStream(1, input, largeObject.getSize());
 				} catch (Exception exp2) {
 					throw new DBRuntimeException("Failed to set binary stream", exp);
 				}
 			}
 			prep.execute();
+		} catch (IOException ex) {
+			throw new DBRuntimeException("Failed to close binary stream", ex);
 		}
 	}
 
@@ -204,8 +209,9 @@ public class DBUpdateLargeObjects extends DBUpdate {
 				+ getPrimaryKeySQL(db, row)
 				+ defn.endSQLStatement();
 		LOG.debug(sqlString);
-		try (PreparedStatement prep = statement.getConnection().prepareStatement(sqlString)) {
-			prep.setBlob(1, largeObject.getInputStream(), largeObject.getSize());
+		try (PreparedStatement prep = statement.getConnection().prepareStatement(sqlString);
+				InputStream input = largeObject.getInputStream()) {
+			prep.setBlob(1, input, largeObject.getSize());
 			prep.execute();
 		}
 	}
@@ -221,8 +227,13 @@ public class DBUpdateLargeObjects extends DBUpdate {
 				+ getPrimaryKeySQL(db, row)
 				+ defn.endSQLStatement();
 		LOG.debug(sqlString);
-		try (PreparedStatement prep = statement.getConnection().prepareStatement(sqlString)) {
-			prep.setClob(1, new InputStreamReader(largeObject.getInputStream(), Charset.forName("UTF-8")), largeObject.getSize());
+		try (PreparedStatement prep = statement.getConnection().prepareStatement(sqlString);
+				Reader input = new InputStreamReader(largeObject.getInputStream(), UTF_8)) {
+			try {
+				prep.setClob(1, input);
+			} catch (SQLException exp) {
+				prep.setClob(1, input, largeObject.getSize());
+			}
 			prep.execute();
 		}
 	}
@@ -239,31 +250,8 @@ public class DBUpdateLargeObjects extends DBUpdate {
 				+ defn.endSQLStatement();
 		LOG.debug(sqlString);
 		try (PreparedStatement prep = statement.getConnection().prepareStatement(sqlString)) {
-			InputStream inputStream = largeObject.getInputStream();
-
-			try (InputStream input = new BufferedInputStream(inputStream)) {
-				List<byte[]> byteArrays = new ArrayList<>();
-
-				int totalBytesRead = 0;
-				byte[] resultSetBytes;
-				resultSetBytes = new byte[100000];
-				int bytesRead = input.read(resultSetBytes);
-				while (bytesRead > 0) {
-					totalBytesRead += bytesRead;
-					byteArrays.add(resultSetBytes);
-					resultSetBytes = new byte[100000];
-					bytesRead = input.read(resultSetBytes);
-				}
-				byte[] bytes = new byte[totalBytesRead];
-				int bytesAdded = 0;
-				for (byte[] someBytes : byteArrays) {
-					System.arraycopy(someBytes, 0, bytes, bytesAdded, Math.min(someBytes.length, bytes.length - bytesAdded));
-					bytesAdded += someBytes.length;
-				}
-				String b64encoded = Base64.encodeBase64String(bytes);
-				prep.setString(1, b64encoded);
-				prep.execute();
-			}
+			prep.setString(1, Base64.encodeBase64String(getBytes(largeObject)));
+			prep.execute();
 		}
 	}
 
@@ -280,28 +268,12 @@ public class DBUpdateLargeObjects extends DBUpdate {
 		db.printSQLIfRequested(sqlString);
 		LOG.debug(sqlString);
 		try (PreparedStatement prep = statement.getConnection().prepareStatement(sqlString)) {
-			InputStream inputStream = largeObject.getInputStream();
-
-			try (InputStreamReader input = new InputStreamReader(inputStream, "UTF-8")) {
-				List<char[]> byteArrays = new ArrayList<>();
-
-				int totalBytesRead = 0;
-				char[] resultSetBytes;
-				resultSetBytes = new char[100000];
-				int bytesRead = input.read(resultSetBytes);
-				while (bytesRead > 0) {
-					totalBytesRead += bytesRead;
-					byteArrays.add(resultSetBytes);
-					resultSetBytes = new char[100000];
-					bytesRead = input.read(resultSetBytes);
-				}
-				char[] bytes = new char[totalBytesRead];
-				int bytesAdded = 0;
-				for (char[] someBytes : byteArrays) {
-					System.arraycopy(someBytes, 0, bytes, bytesAdded, Math.min(someBytes.length, bytes.length - bytesAdded));
-					bytesAdded += someBytes.length;
-				}
-				prep.setCharacterStream(1, new BufferedReader(new CharArrayReader(bytes)), bytes.length);
+			try (Reader input = new InputStreamReader(largeObject.getInputStream(), UTF_8)) {
+				prep.setCharacterStream(1, input);
+				prep.execute();
+			} catch (SQLFeatureNotSupportedException | AbstractMethodError exp) {
+				String text = new String(getBytes(largeObject), UTF_8);
+				prep.setCharacterStream(1, new StringReader(text), text.length());
 				prep.execute();
 			}
 		}
@@ -375,30 +347,23 @@ public class DBUpdateLargeObjects extends DBUpdate {
 				+ defn.endSQLStatement();
 		LOG.debug(sqlString);
 		try (PreparedStatement prep = statement.getConnection().prepareStatement(sqlString)) {
-			InputStream inputStream = largeObject.getInputStream();
-
-			try (InputStream input = new BufferedInputStream(inputStream)) {
-				List<byte[]> byteArrays = new ArrayList<>();
+			prep.setBytes(1, getBytes(largeObject));
+			prep.execute();
+		}
+	}
 
-				int totalBytesRead = 0;
-				byte[] resultSetBytes;
-				resultSetBytes = new byte[100000];
-				int bytesRead = input.read(resultSetBytes);
-				while (bytesRead > 0) {
-					totalBytesRead += bytesRead;
-					byteArrays.add(resultSetBytes);
-					resultSetBytes = new byte[100000];
-					bytesRead = input.read(resultSetBytes);
-				}
-				byte[] bytes = new byte[totalBytesRead];
-				int bytesAdded = 0;
-				for (byte[] someBytes : byteArrays) {
-					System.arraycopy(someBytes, 0, bytes, bytesAdded, Math.min(someBytes.length, bytes.length - bytesAdded));
-					bytesAdded += someBytes.length;
-				}
-				prep.setBytes(1, bytes);
-				prep.execute();
+	private static byte[] getBytes(DBLargeObject<?> largeObject) throws IOException {
+		byte[] bytes = null;
+		if (largeObject instanceof DBLargeBinary) {
+			bytes = ((DBLargeBinary) largeObject).getBytes();
+		} else if (largeObject instanceof DBLargeText) {
+			bytes = ((DBLargeText) largeObject).getBytes();
+		}
+		if (bytes == null) {
+			try (InputStream input = largeObject.getInputStream()) {
+				bytes = input.readAllBytes();
 			}
 		}
+		return bytes;
 	}
 }
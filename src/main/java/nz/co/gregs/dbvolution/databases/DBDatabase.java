@@ -422,6 +422,28 @@ public interface DBDatabase extends Serializable {
 
 	boolean getQuietExceptionsPreference();
 
+	/**
+	 * Sets whether queries should be executed as PreparedStatements with the
+	 * literal values of the conditions supplied as bind parameters.
+	 *
+	 * <p>
+	 * Using bind parameters allows the database to reuse the query plan for
+	 * queries that only differ by their values. Queries that cannot be prepared
+	 * are executed with the values inlined as usual.
+	 *
+	 * @param b TRUE to use PreparedStatements for queries, FALSE to inline all
+	 * values
+	 */
+	void setPreparedStatementsPreference(boolean b);
+
+	/**
+	 * Indicates whether queries are executed as PreparedStatements with bind
+	 * parameters.
+	 *
+	 * @return TRUE if PreparedStatements are used for queries
+	 */
+	boolean getPreparedStatementsPreference();
+
 	String getSQLForDBQuery(DBQueryable query) throws NoAvailableDatabaseException;
 
 	/**
@@ -32,7 +32,9 @@ import java.io.Serializable;
 import java.lang.ref.Cleaner;
 import nz.co.gregs.dbvolution.utility.ReconnectionProcess;
 import java.lang.reflect.InvocationTargetException;
+import nz.co.gregs.dbvolution.internal.database.ActionOrdering;
 import nz.co.gregs.dbvolution.internal.database.ClusterDetails;
+import nz.co.gregs.dbvolution.internal.database.ReadStatistics;
 import nz.co.gregs.dbvolution.exceptions.UnableToRemoveLastDatabaseFromClusterException;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -104,6 +106,7 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 
 	private ClusterDetails details;
 	private transient final ExecutorService ACTION_THREAD_POOL;
+	private transient final ActionOrdering actionOrdering = new ActionOrdering();
 	private boolean requeryPermitted = true;
 	private boolean startupIsNeeded = true;
 	private boolean failOnQuarantine = false;
@@ -263,6 +266,47 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 		}
 	}
 
+	/**
+	 * How many members must apply an action before the cluster returns.
+	 *
+	 * <p>
+	 * Members that have not applied the action when the cluster returns apply it
+	 * in the background, in the order the actions were executed. Queries sent to
+	 * those members may not see the latest changes until they catch up.
+	 */
+	public static enum WriteConsistency {
+		/**
+		 * Every ready member applies the action before the cluster returns.
+		 */
+		ALL,
+		/**
+		 * A majority of the ready members apply the action before the cluster
+		 * returns.
+		 */
+		QUORUM,
+		/**
+		 * One member applies the action before the cluster returns.
+		 */
+		FIRST;
+
+		/**
+		 * The number of members that must apply an action.
+		 *
+		 * @param members the number of ready members
+		 * @return the number of acknowledgements required
+		 */
+		public int getRequiredAcknowledgements(int members) {
+			switch (this) {
+				case FIRST:
+					return Math.min(1, members);
+				case QUORUM:
+					return members / 2 + 1;
+				default:
+					return members;
+			}
+		}
+	}
+
 	public DBDatabaseCluster() throws SQLException {
 		this("", Configuration.autoRebuildReconnectAndStart());
 	}
@@ -514,9 +558,15 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 	}
 
 	private synchronized boolean addDatabaseWithWaiting(DBDatabase database, boolean wait) throws SQLException {
-		boolean add = addDatabaseWithoutWaiting(database);
-		synchronizeAddedDatabases(wait);
-		return add;
+		// no action may be part way through the members while one is added
+		final ActionOrdering.Permit permit = actionOrdering.acquireExclusive();
+		try {
+			boolean add = addDatabaseWithoutWaiting(database);
+			synchronizeAddedDatabases(wait);
+			return add;
+		} finally {
+			permit.close();
+		}
 	}
 
 	private boolean addDatabaseWithoutWaiting(DBDatabase database) {
@@ -913,6 +963,7 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 		V result = null;
 		boolean rollbackAll = false;
 		List<IncompleteTransaction<V>> partials = new ArrayList<>();
+		final ActionOrdering.Permit permit = actionOrdering.acquireExclusive();
 		try {
 			final DBDatabase[] readyDatabases = getDetails().getReadyDatabases();
 			for (DBDatabase database : readyDatabases) {
@@ -929,14 +980,18 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 		} catch (Exception exc) {
 			rollbackAll = true;
 		} finally {
-			for (IncompleteTransaction<V> partial : partials) {
-				if (commit) {
-					if (rollbackAll) {
-						partial.rollback();
-					} else {
-						partial.commit();
+			try {
+				for (IncompleteTransaction<V> partial : partials) {
+					if (commit) {
+						if (rollbackAll) {
+							partial.rollback();
+						} else {
+							partial.commit();
+						}
 					}
 				}
+			} finally {
+				permit.close();
 			}
 		}
 		return result;
@@ -963,19 +1018,29 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 	}
 
 	@Override
-	public synchronized DBActionList executeDBAction(DBAction action) throws SQLException, NoAvailableDatabaseException {
+	public DBActionList executeDBAction(DBAction action) throws SQLException, NoAvailableDatabaseException {
 		if (!details.isShuttingDown()) {
 			failOnQuarantine();
 			preventAccidentalDDLDuringTransaction(action);
 			preventAccidentalDroppingOfDatabases(action);
 			preventAccidentalDroppingOfTables(action);
-			return executeDBActionOnClusterMembers(action);
+			// actions on other tables may run at the same time
+			final ActionOrdering.Permit permit = actionOrdering.acquire(action);
+			try {
+				return executeDBActionOnClusterMembers(action);
+			} finally {
+				permit.close();
+			}
 		}
 		return new DBActionList();
 	}
 
-	private synchronized DBActionList executeDBActionOnClusterMembers(DBAction action) throws NoAvailableDatabaseException, SQLException {
+	private DBActionList executeDBActionOnClusterMembers(DBAction action) throws NoAvailableDatabaseException, SQLException {
 		LOG.debug("EXECUTING ACTION: " + action.getSQLStatements(this));
+		final WriteConsistency consistency = getDetails().getWriteConsistency();
+		if (!WriteConsistency.ALL.equals(consistency)) {
+			return getDetails().getReplicator().execute(action, consistency, getDetails().getMaximumReplicationLag());
+		}
 		addActionToQueue(action);
 		List<ActionTask> tasks = new ArrayList<ActionTask>();
 		DBActionList actionsPerformed = new DBActionList();
@@ -1039,22 +1104,32 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 			workingDB = getReadyDatabase();
 		}
 		workingDB.setQuietExceptionsPreference(this.getQuietExceptionsPreference());
+		workingDB.setPreparedStatementsPreference(this.getPreparedStatementsPreference());
 		HandlerAdvice advice;
+		final ReadStatistics statistics = getDetails().getReadStatistics(workingDB);
+		final long startTime = statistics.started();
+		boolean failed = true;
 		try {
 			// set oracle compatibility 
 			query.setReturnEmptyStringForNullString(query.getReturnEmptyStringForNullString() || !workingDB.getDefinition().canProduceNullStrings());
 			// hand the job down to the next layer
-			return workingDB.executeDBQuery(query);
+			final DBQueryable result = workingDB.executeDBQuery(query);
+			failed = false;
+			return result;
 		} catch (AccidentalBlankQueryException | AccidentalCartesianJoinException | NoAvailableDatabaseException errorWithTheQueryException) {
 			throw errorWithTheQueryException;
 		} catch (SQLException e) {
 			advice = handleExceptionDuringQuery(e, workingDB);
 			if (advice.equals(HandlerAdvice.REQUERY) && requeryPermitted()) {
-				return workingDB.executeDBQuery(query);
+				final DBQueryable result = workingDB.executeDBQuery(query);
+				failed = false;
+				return result;
 			} else {
 				getDetails().quarantineDatabaseAutomatically(workingDB, e);
 				throw e;
 			}
+		} finally {
+			statistics.finished(startTime, failed);
 		}
 	}
 
@@ -1107,7 +1182,7 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 			return HandlerAdvice.ABORT;
 		} else {
 			if (quarantineAllowed) {
-				getDetails().quarantineDatabaseAutomatically(readyDatabase, e);
+				getDetails().quarantineDatabaseAutomatically(readyDatabase, e, action);
 			}
 			return HandlerAdvice.REQUERY;
 		}
@@ -1600,16 +1675,37 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 		 * the members in a code or configurations files.
 		 */
 		private final boolean useAutoConnect;
+		/**
+		 * Write consistency controls how many members must apply an action before
+		 * the cluster returns. The remaining members apply it in the background.
+		 */
+		private final WriteConsistency writeConsistency;
+		/**
+		 * The maximum number of actions a member may have waiting to be applied in
+		 * the background before new actions wait for it to catch up.
+		 */
+		private final int maximumReplicationLag;
+
+		/**
+		 * The default maximum replication lag.
+		 */
+		public static final int DEFAULT_MAXIMUM_REPLICATION_LAG = 1000;
 
 		public Configuration() {
 			this(false, false, false, false);
 		}
 
 		public Configuration(boolean useAutoRebuild, boolean useAutoReconnect, boolean useAutoStart, boolean useAutoConnect) {
+			this(useAutoRebuild, useAutoReconnect, useAutoStart, useAutoConnect, WriteConsistency.ALL, DEFAULT_MAXIMUM_REPLICATION_LAG);
+		}
+
+		public Configuration(boolean useAutoRebuild, boolean useAutoReconnect, boolean useAutoStart, boolean useAutoConnect, WriteConsistency writeConsistency, int maximumReplicationLag) {
 			this.useAutoRebuild = useAutoRebuild;
 			this.useAutoReconnect = useAutoReconnect;
 			this.useAutoStart = useAutoStart;
 			this.useAutoConnect = useAutoConnect;
+			this.writeConsistency = writeConsistency == null ? WriteConsistency.ALL : writeConsistency;
+			this.maximumReplicationLag = maximumReplicationLag;
 		}
 
 		/**
@@ -1799,7 +1895,7 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 		 * version of the cluster.
 		 */
 		public Configuration withAutoRebuild() {
-			return new Configuration(true, this.useAutoReconnect, this.useAutoStart, this.useAutoConnect);
+			return new Configuration(true, this.useAutoReconnect, this.useAutoStart, this.useAutoConnect, this.writeConsistency, this.maximumReplicationLag);
 		}
 
 		/**
@@ -1813,7 +1909,7 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 		 * synchronize database while running.
 		 */
 		public Configuration withAutoReconnect() {
-			return new Configuration(this.useAutoRebuild, true, this.useAutoStart, this.useAutoConnect);
+			return new Configuration(this.useAutoRebuild, true, this.useAutoStart, this.useAutoConnect, this.writeConsistency, this.maximumReplicationLag);
 		}
 
 		/**
@@ -1827,7 +1923,7 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 		 * @return the useAutoStart
 		 */
 		public Configuration withAutoStart() {
-			return new Configuration(this.useAutoRebuild, this.useAutoReconnect, true, this.useAutoConnect);
+			return new Configuration(this.useAutoRebuild, this.useAutoReconnect, true, this.useAutoConnect, this.writeConsistency, this.maximumReplicationLag);
 		}
 
 		/**
@@ -1840,7 +1936,61 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 		 * @return the useAutoConnect
 		 */
 		public Configuration withAutoConnect() {
-			return new Configuration(this.useAutoRebuild, this.useAutoReconnect, this.useAutoStart, true);
+			return new Configuration(this.useAutoRebuild, this.useAutoReconnect, this.useAutoStart, true, this.writeConsistency, this.maximumReplicationLag);
+		}
+
+		/**
+		 * Write consistency controls how many members must apply an action before
+		 * the cluster returns.
+		 *
+		 * <p>
+		 * The remaining members apply the action in the background, in order, so
+		 * queries sent to them may briefly return out of date results.
+		 *
+		 * @return the write consistency, {@link WriteConsistency#ALL} by default
+		 */
+		public WriteConsistency getWriteConsistency() {
+			return writeConsistency;
+		}
+
+		/**
+		 * The maximum number of actions a member may have waiting to be applied in
+		 * the background.
+		 *
+		 * <p>
+		 * When a member reaches the limit new actions wait until it catches up.
+		 * Only used when the write consistency is not {@link WriteConsistency#ALL}.
+		 *
+		 * @return the maximum replication lag, 0 or less for no limit
+		 */
+		public int getMaximumReplicationLag() {
+			return maximumReplicationLag;
+		}
+
+		/**
+		 * Write consistency controls how many members must apply an action before
+		 * the cluster returns.
+		 *
+		 * <p>
+		 * The remaining members apply the action in the background, in order, so
+		 * queries sent to them may briefly return out of date results.
+		 *
+		 * @param consistency the write consistency to use
+		 * @return a copy of this configuration using the write consistency
+		 */
+		public Configuration withWriteConsistency(WriteConsistency consistency) {
+			return new Configuration(this.useAutoRebuild, this.useAutoReconnect, this.useAutoStart, this.useAutoConnect, consistency, this.maximumReplicationLag);
+		}
+
+		/**
+		 * The maximum number of actions a member may have waiting to be applied in
+		 * the background before new actions wait for it to catch up.
+		 *
+		 * @param maximumLag the maximum replication lag, 0 or less for no limit
+		 * @return a copy of this configuration using the maximum replication lag
+		 */
+		public Configuration withMaximumReplicationLag(int maximumLag) {
+			return new Configuration(this.useAutoRebuild, this.useAutoReconnect, this.useAutoStart, this.useAutoConnect, this.writeConsistency, maximumLag);
 		}
 	}
 
@@ -440,6 +440,16 @@ public class DBDatabaseHandle implements DBDatabase {
 		return wrappedDatabase.getQuietExceptionsPreference();
 	}
 
+	@Override
+	public void setPreparedStatementsPreference(boolean b) {
+		wrappedDatabase.setPreparedStatementsPreference(b);
+	}
+
+	@Override
+	public boolean getPreparedStatementsPreference() {
+		return wrappedDatabase.getPreparedStatementsPreference();
+	}
+
 	@Override
 	public String getSQLForDBQuery(DBQueryable query) throws NoAvailableDatabaseException {
 		return wrappedDatabase.getSQLForDBQuery(query);
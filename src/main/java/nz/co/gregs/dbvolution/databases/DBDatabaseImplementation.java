@@ -28,6 +28,7 @@ import java.sql.*;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -46,6 +47,7 @@ import nz.co.gregs.dbvolution.DBTable;
 import nz.co.gregs.dbvolution.actions.*;
 import nz.co.gregs.dbvolution.columns.ColumnProvider;
 import nz.co.gregs.dbvolution.databases.connections.DBConnection;
+import nz.co.gregs.dbvolution.databases.connections.DBConnectionPool;
 import nz.co.gregs.dbvolution.databases.connections.DBConnectionSingle;
 import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.databases.metadata.DBDatabaseMetaData;
@@ -91,29 +93,29 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	private static final long serialVersionUID = 1l;
 	static final private Log LOG = LogFactory.getLog(DBDatabaseImplementation.class);
 
-	private String driverName = "";
-	private boolean printSQLBeforeExecuting = false;
-	boolean isInATransaction = false;
-	transient DBTransactionStatement transactionStatement;
-	private DBDefinition definition = null;
-	private boolean batchIfPossible = true;
-	private boolean preventAccidentalDroppingOfTables = true;
-	private boolean preventAccidentalDroppingDatabase = true;
+	private volatile String driverName = "";
+	private volatile boolean printSQLBeforeExecuting = false;
+	volatile boolean isInATransaction = false;
+	transient volatile DBTransactionStatement transactionStatement;
+	private volatile DBDefinition definition = null;
+	private volatile boolean batchIfPossible = true;
+	private volatile boolean preventAccidentalDroppingOfTables = true;
+	private volatile boolean preventAccidentalDroppingDatabase = true;
 	private transient final Object getStatementSynchronizeObject = new Object();
 	private transient final Object getConnectionSynchronizeObject = new Object();
-	transient DBConnection transactionConnection;
-	private static final transient Map<String, List<DBConnection>> BUSY_CONNECTIONS = new HashMap<>();
-	private static final transient Map<String, List<DBConnection>> FREE_CONNECTIONS = new HashMap<>();
-	private Boolean needToAddDatabaseSpecificFeatures = true;
+	transient volatile DBConnection transactionConnection;
+	private static final transient Map<String, DBConnectionPool> CONNECTION_POOLS = new ConcurrentHashMap<>();
+	private volatile boolean needToAddDatabaseSpecificFeatures = true;
 	private final DatabaseConnectionSettings settings = new DatabaseConnectionSettings();
-	private boolean terminated = false;
+	private volatile boolean terminated = false;
 	private transient final List<RegularProcess> REGULAR_PROCESSORS = new ArrayList<>();
 	private static final ScheduledExecutorService REGULAR_THREAD_POOL = Executors.newSingleThreadScheduledExecutor();
 	private Throwable exception = null;
 	private transient ScheduledFuture<?> regularThreadPoolFuture;
 	private boolean hasCreatedRequiredTables = false;
-	private boolean quietExceptionsPreference = false;
-	private boolean preventAccidentalDeletingAllRowFromTable = true;
+	private volatile boolean quietExceptionsPreference = false;
+	private volatile boolean preparedStatementsPreference = false;
+	private volatile boolean preventAccidentalDeletingAllRowFromTable = true;
 
 	{
 		Runtime.getRuntime().addShutdownHook(new StopDatabase(this));
@@ -167,7 +169,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	}
 
 	@Override
-	public synchronized int hashCode() {
+	public int hashCode() {
 		int hash = 7;
 		hash = 29 * hash + (getDriverName() != null ? getDriverName().hashCode() : 0);
 		hash = 29 * hash + (getJdbcURL() != null ? getJdbcURL().hashCode() : 0);
@@ -179,7 +181,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	}
 
 	@Override
-	public synchronized boolean equals(Object obj) {
+	public boolean equals(Object obj) {
 		if (obj == null) {
 			return false;
 		}
@@ -334,22 +336,26 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 */
 	@Override
 	public DBStatement getDBStatement() throws SQLException {
-		DBStatement statement;
-		synchronized (getStatementSynchronizeObject) {
-			if (isInATransaction) {
-				statement = transactionStatement;
-				if (statement.isClosed()) {
-					transactionStatement = new DBTransactionStatement(this, getLowLevelStatement());
+		DBStatement statement = null;
+		if (isInATransaction) {
+			synchronized (getStatementSynchronizeObject) {
+				if (isInATransaction) {
+					statement = transactionStatement;
+					if (statement.isClosed()) {
+						transactionStatement = new DBTransactionStatement(this, getLowLevelStatement());
+					}
+					/* TODO: this looks like it can return a closed statement unnecessarily */
 				}
-				/* TODO: this looks like it can return a closed statement unnecessarily */
-			} else {
-				statement = getLowLevelStatement();
 			}
 		}
+		if (statement == null) {
+			// waiting for a pooled connection must not block the other threads
+			statement = getLowLevelStatement();
+		}
 		return statement;
 	}
 
-	protected synchronized DBStatement getLowLevelStatement() throws UnableToCreateDatabaseConnectionException, UnableToFindJDBCDriver, SQLException {
+	protected DBStatement getLowLevelStatement() throws UnableToCreateDatabaseConnectionException, UnableToFindJDBCDriver, SQLException {
 		if (!terminated) {
 			DBConnection connection = getConnection();
 			try {
@@ -383,21 +389,18 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * to work with those databases.
 	 */
 	@Override
-	public synchronized DBConnection getConnection() throws UnableToCreateDatabaseConnectionException, UnableToFindJDBCDriver, SQLException {
+	public DBConnection getConnection() throws UnableToCreateDatabaseConnectionException, UnableToFindJDBCDriver, SQLException {
 		if (terminated) {
 			return null;
 		} else {
-			if (isInATransaction && !transactionConnection.isClosed()) {
-				return transactionConnection;
+			final DBConnection currentTransactionConnection = transactionConnection;
+			if (isInATransaction && currentTransactionConnection != null && !currentTransactionConnection.isClosed()) {
+				return currentTransactionConnection;
 			}
 			DBConnection conn = null;
 			while (conn == null) {
 				if (supportsPooledConnections()) {
-					if (FREE_CONNECTIONS.isEmpty() || getFreeConnections().isEmpty()) {
-						conn = getRawConnection();
-					} else {
-						conn = getFreeConnections().get(0);
-					}
+					conn = getConnectionPool().borrow(this::getRawConnection);
 				} else {
 					conn = getRawConnection();
 				}
@@ -409,16 +412,36 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 				} catch (SQLException ex) {
 					Logger.getLogger(DBDatabase.class.getName()).log(Level.FINEST, null, ex);
 				}
-				if (connectionUsedForPersistentConnection(conn)) {
-          usedConnection(conn);
+				if (conn != null && connectionUsedForPersistentConnection(conn)) {
 					conn = null;
 				}
 			}
-			usedConnection(conn);
 			return conn;
 		}
 	}
 
+	/**
+	 * The pool of connections used by this database.
+	 *
+	 * <p>
+	 * The pool is shared by all DBDatabase instances with the same connection
+	 * settings and pool settings, see
+	 * {@link DatabaseConnectionSettings#encodeConnectionPoolKey() }. The pool
+	 * provides metrics, like the number of active and idle connections and the
+	 * time spent waiting for a connection, to help tune the pool.
+	 *
+	 * @return the connection pool for this database
+	 * @see DatabaseConnectionSettings#setPoolMaximumSize(int)
+	 */
+	public final DBConnectionPool getConnectionPool() {
+		return CONNECTION_POOLS.computeIfAbsent(getSettings().encodeConnectionPoolKey(),
+				key -> new DBConnectionPool(toString(), getSettings(), this::getRawConnection));
+	}
+
+	private DBConnectionPool getExistingConnectionPool() {
+		return CONNECTION_POOLS.get(getSettings().encodeConnectionPoolKey());
+	}
+
 	@edu.umd.cs.findbugs.annotations.SuppressFBWarnings(
 			value = {"OBL_UNSATISFIED_OBLIGATION_EXCEPTION_EDGE", "ODR_OPEN_DATABASE_RESOURCE"},
 			justification = "Raw connections are pooled and closed  in discardConnection()")
@@ -465,19 +488,20 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 					}
 				}
 			}
-			synchronized (this) {
-				if (needToAddDatabaseSpecificFeatures) {
-					try (DBStatement createStatement = connection.createDBStatement()) {
-						try {
-							addDatabaseSpecificFeatures(createStatement.getInternalStatement());
-						} catch (ExceptionDuringDatabaseFeatureSetup exceptionDuringDBCreation) {
-							System.out.println("AN EXCEPTION OCCURRED DURING DATABASE SETUP: " + exceptionDuringDBCreation.getMessage());
+			if (needToAddDatabaseSpecificFeatures) {
+				synchronized (this) {
+					if (needToAddDatabaseSpecificFeatures) {
+						try (DBStatement createStatement = connection.createDBStatement()) {
+							try {
+								addDatabaseSpecificFeatures(createStatement.getInternalStatement());
+							} catch (ExceptionDuringDatabaseFeatureSetup exceptionDuringDBCreation) {
+								System.out.println("AN EXCEPTION OCCURRED DURING DATABASE SETUP: " + exceptionDuringDBCreation.getMessage());
+							}
+							needToAddDatabaseSpecificFeatures = false;
 						}
-						needToAddDatabaseSpecificFeatures = false;
 					}
 				}
 			}
-			getFreeConnections().add(connection);
 			return connection;
 		}
 		return null;
@@ -494,7 +518,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * Used to hold the database open if required by the database.
 	 *
 	 */
-	protected transient DBConnection storedConnection;
+	protected transient volatile DBConnection storedConnection;
 
 	@edu.umd.cs.findbugs.annotations.SuppressFBWarnings(
 			value = {"OBL_UNSATISFIED_OBLIGATION", "ODR_OPEN_DATABASE_RESOURCE"},
@@ -502,9 +526,18 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	private boolean connectionUsedForPersistentConnection(DBConnection connection) throws DBRuntimeException, SQLException {
 		if (getDefinition().persistentConnectionRequired()) {
 			if (storedConnection == null) {
-				storedConnection = connection;
-				storedConnection.createDBStatement();
-        usedConnection(connection);
+				synchronized (this) {
+					if (storedConnection == null) {
+						connection.createDBStatement();
+						storedConnection = connection;
+						// held open forever so it is not part of the pool
+						final DBConnectionPool pool = getExistingConnectionPool();
+						if (pool != null) {
+							pool.detach(connection);
+						}
+						return true;
+					}
+				}
 			}
 			if (storedConnection.equals(connection)) {
 				return true;
@@ -612,7 +645,15 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 
 	/**
 	 *
-	 * Inserts DBRows and Lists of DBRows into the correct tables automatically
+	 * Inserts DBRows and Lists of DBRows into the correct tables automatically,
+	 * updating the rows that already exist.
+	 *
+	 * <p>
+	 * When the database {@link DBDefinition#supportsBulkUpserts() supports bulk
+	 * upserts} the rows that
+	 * {@link DBBulkUpsert#canBeBulkUpserted(nz.co.gregs.dbvolution.DBRow) can be bulk upserted}
+	 * are inserted or updated together by a {@link DBBulkUpsert}, the remaining
+	 * rows are inserted, or updated, individually.
 	 *
 	 * @param listOfRowsToInsert a List of DBRows
 	 * @return a DBActionList of all the actions performed
@@ -622,7 +663,26 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	public DBActionList insertOrUpdate(Collection<? extends DBRow> listOfRowsToInsert) throws SQLException {
 		DBActionList changes = new DBActionList();
 		if (listOfRowsToInsert.size() > 0) {
+			final boolean supportsBulkUpserts = getDefinition().supportsBulkUpserts();
+			final List<DBRow> upsertRows = new ArrayList<>();
+			final List<DBRow> individualRows = new ArrayList<>();
 			for (DBRow row : listOfRowsToInsert) {
+				if (supportsBulkUpserts && DBBulkUpsert.canBeBulkUpserted(row)) {
+					upsertRows.add(row);
+				} else {
+					individualRows.add(row);
+				}
+			}
+			if (upsertRows.size() > 1) {
+				changes.addAll(executeDBAction(new DBBulkUpsert().addAll(upsertRows)));
+				for (DBRow row : upsertRows) {
+					row.setDefined();
+					row.setSimpleTypesToUnchanged();
+				}
+			} else {
+				individualRows.addAll(0, upsertRows);
+			}
+			for (DBRow row : individualRows) {
 				changes.addAll(insertOrUpdate(row));
 			}
 		}
@@ -646,11 +706,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 
 	@Override
 	public DBActionList insertOrUpdate(DBRow... rows) throws SQLException {
-		DBActionList changes = new DBActionList();
-		for (DBRow row : rows) {
-			changes.addAll(insertOrUpdate(row));
-		}
-		return changes;
+		return insertOrUpdate(Arrays.asList(rows));
 	}
 
 	/**
@@ -682,9 +738,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	public final DBActionList delete(Collection<? extends DBRow> list) throws SQLException {
 		DBActionList changes = new DBActionList();
 		if (list.size() > 0) {
-			for (DBRow row : list) {
-				changes.addAll(getDBTable(row).delete(row));
-			}
+			changes.addAll(DBDelete.delete(this, list));
 		}
 		return changes;
 	}
@@ -1072,7 +1126,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @return the driverName
 	 */
 	@Override
-	public synchronized String getDriverName() {
+	public String getDriverName() {
 		return driverName;
 	}
 
@@ -1081,7 +1135,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 *
 	 * @param driver the name of the JDBC Drive class for this DBDatabase.
 	 */
-	protected synchronized void setDriverName(String driver) {
+	protected void setDriverName(String driver) {
 		driverName = driver;
 	}
 
@@ -1091,7 +1145,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @return the jdbcURL
 	 */
 	@Override
-	public final synchronized String getJdbcURL() {
+	public final String getJdbcURL() {
 		return getUrlFromSettings(getSettings());
 	}
 
@@ -1101,7 +1155,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @return the username
 	 */
 	@Override
-	final public synchronized String getUsername() {
+	final public String getUsername() {
 		return settings.getUsername();
 	}
 
@@ -1111,7 +1165,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @return the password
 	 */
 	@Override
-	final public synchronized String getPassword() {
+	final public String getPassword() {
 		return settings.getPassword();
 	}
 
@@ -1210,7 +1264,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @param b TRUE to print SQL before execution, FALSE otherwise.
 	 */
 	@Override
-	public synchronized void setPrintSQLBeforeExecuting(boolean b) {
+	public void setPrintSQLBeforeExecuting(boolean b) {
 		printSQLBeforeExecuting = b;
 	}
 
@@ -1237,7 +1291,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	}
 
 	@Override
-	public synchronized void printSQLIfRequested(String sqlString, PrintStream out) {
+	public void printSQLIfRequested(String sqlString, PrintStream out) {
 		if (printSQLBeforeExecuting) {
 			out.println(sqlString);
 		}
@@ -1622,7 +1676,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @return the DBDefinition used by this DBDatabase instance
 	 */
 	@Override
-	public synchronized DBDefinition getDefinition() throws NoAvailableDatabaseException {
+	public DBDefinition getDefinition() throws NoAvailableDatabaseException {
 		return definition;
 	}
 
@@ -1708,7 +1762,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @return the database name
 	 */
 	@Override
-	final public synchronized String getDatabaseName() {
+	final public String getDatabaseName() {
 		return settings.getDatabaseName();
 	}
 
@@ -1765,7 +1819,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * otherwise
 	 */
 	@Override
-	public synchronized boolean batchSQLStatementsWhenPossible() {
+	public boolean batchSQLStatementsWhenPossible() {
 		return batchIfPossible;
 	}
 
@@ -1784,11 +1838,11 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * batch SQL statements, FALSE otherwise
 	 */
 	@Override
-	public synchronized void setBatchSQLStatementsWhenPossible(boolean batchSQLStatementsWhenPossible) {
+	public void setBatchSQLStatementsWhenPossible(boolean batchSQLStatementsWhenPossible) {
 		batchIfPossible = batchSQLStatementsWhenPossible;
 	}
 
-	public synchronized void preventAccidentalDDLDuringTransaction(DBAction action) throws AutoCommitActionDuringTransactionException {
+	public void preventAccidentalDDLDuringTransaction(DBAction action) throws AutoCommitActionDuringTransactionException {
 		if (isInATransaction && action.getIntent().isDDL()) {
 			throw new AutoCommitActionDuringTransactionException(action.getClass().getSimpleName());
 		}
@@ -1813,7 +1867,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 		preventAccidentalDroppingOfTables = droppingTablesIsAMistake;
 	}
 
-	protected synchronized boolean getPreventAccidentalDroppingOfTables() {
+	protected boolean getPreventAccidentalDroppingOfTables() {
 		return preventAccidentalDroppingOfTables;
 	}
 
@@ -1836,7 +1890,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 		preventAccidentalDroppingDatabase = justLeaveThisAtTrue;
 	}
 
-	public synchronized boolean getPreventAccidentalDroppingOfDatabases() {
+	public boolean getPreventAccidentalDroppingOfDatabases() {
 		return preventAccidentalDroppingDatabase;
 	}
 
@@ -1923,7 +1977,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @param jdbcURL the jdbcURL to set
 	 */
 	final protected synchronized void setJdbcURL(String jdbcURL) {
-		if (FREE_CONNECTIONS.isEmpty()) {
+		if (CONNECTION_POOLS.isEmpty()) {
 			settings.setUrl(jdbcURL);
 		}
 	}
@@ -1932,7 +1986,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @param username the username to set
 	 */
 	final protected synchronized void setUsername(String username) {
-		if (FREE_CONNECTIONS.isEmpty()) {
+		if (CONNECTION_POOLS.isEmpty()) {
 			getSettings().setUsername(username);
 		}
 	}
@@ -1941,7 +1995,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @param password the password to set
 	 */
 	final protected synchronized void setPassword(String password) {
-		if (FREE_CONNECTIONS.isEmpty()) {
+		if (CONNECTION_POOLS.isEmpty()) {
 			getSettings().setPassword(password);
 		}
 	}
@@ -1957,19 +2011,15 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @throws java.sql.SQLException java.sql.SQLException
 	 */
 	@Override
-	public synchronized void unusedConnection(DBConnection connection) throws SQLException {
-		if (supportsPooledConnections()) {
-			getBusyConnections().remove(connection);
-			getFreeConnections().add(connection);
+	public void unusedConnection(DBConnection connection) throws SQLException {
+		final DBConnectionPool pool = getExistingConnectionPool();
+		if (supportsPooledConnections() && pool != null) {
+			pool.release(connection);
 		} else {
 			discardConnection(connection);
 		}
 	}
 
-	private List<DBConnection> getBusyConnections() {
-		return getConnectionList(BUSY_CONNECTIONS);
-	}
-
 	/**
 	 * Used to indicate that the DBDatabase class supports Connection Pooling.
 	 *
@@ -1984,17 +2034,6 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 		return true;
 	}
 
-	private synchronized void usedConnection(DBConnection connection) {
-		if (supportsPooledConnections()) {
-			getFreeConnections().remove(connection);
-			getBusyConnections().add(connection);
-		}
-	}
-
-	private List<DBConnection> getFreeConnections() {
-		return getConnectionList(FREE_CONNECTIONS);
-	}
-
 	/**
 	 * Removes a connection from the available pool.
 	 *
@@ -2004,10 +2043,14 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @param connection the JDBC connection to be removed
 	 */
 	@Override
-	public synchronized void discardConnection(DBConnection connection) {
+	public void discardConnection(DBConnection connection) {
 		if (connection != null) {
-			getBusyConnections().remove(connection);
-			getFreeConnections().remove(connection);
+			final DBConnectionPool pool = getExistingConnectionPool();
+			if (pool != null) {
+				pool.discard(connection);
+			}
+			// statements prepared on a discarded connection must not be reused
+			connection.getPreparedStatementCache().clear();
 			try {
 				connection.close();
 			} catch (SQLException ex) {
@@ -2017,16 +2060,6 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 		}
 	}
 
-	private synchronized List<DBConnection> getConnectionList(Map<String, List<DBConnection>> connectionMap) {
-		final String key = getSettings().encode();
-		List<DBConnection> connList = connectionMap.get(key);
-		if (connList == null) {
-			connList = new ArrayList<>();
-			connectionMap.put(key, connList);
-		}
-		return connList;
-	}
-
 	/**
 	 * Used to add features in a just-in-time manner.
 	 *
@@ -2265,6 +2298,16 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 		return quietExceptionsPreference;
 	}
 
+	@Override
+	public void setPreparedStatementsPreference(boolean b) {
+		preparedStatementsPreference = b;
+	}
+
+	@Override
+	public boolean getPreparedStatementsPreference() {
+		return preparedStatementsPreference;
+	}
+
 	@Override
 	public DBQueryable executeDBQuery(DBQueryable query) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException, NoAvailableDatabaseException {
 		query.setDatabaseQuietExceptionsPreference(getQuietExceptionsPreference());
@@ -2509,21 +2552,11 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 				} catch (Exception ex) {
 				}
 			}
-			final List<DBConnection> freeConnections = getFreeConnections();
-			synchronized (freeConnections) {
-				final DBConnection[] free = freeConnections.toArray(new DBConnection[]{});
-				for (DBConnection connection : free) {
-					LOG.info(stopping+ " free connection");
-					discardConnection(connection);
-				}
-			}
-			final List<DBConnection> busyConnections = getBusyConnections();
-			synchronized (busyConnections) {
-				final DBConnection[] busy = busyConnections.toArray(new DBConnection[]{});
-				for (DBConnection connection : busy) {
-					LOG.info(stopping+ " busy connection");
-					discardConnection(connection);
-				}
+			final DBConnectionPool pool = getExistingConnectionPool();
+			if (pool != null) {
+				LOG.info(stopping + " connection pool: " + pool);
+				CONNECTION_POOLS.remove(getSettings().encodeConnectionPoolKey(), pool);
+				pool.closeAll();
 			}
 			try {
 				if (storedConnection != null) {
@@ -2537,12 +2570,12 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	}
 
 	@Override
-	public synchronized boolean getPrintSQLBeforeExecuting() {
+	public boolean getPrintSQLBeforeExecuting() {
 		return printSQLBeforeExecuting;
 	}
 
 	@Override
-	public synchronized boolean getBatchSQLStatementsWhenPossible() {
+	public boolean getBatchSQLStatementsWhenPossible() {
 		return batchIfPossible;
 	}
 
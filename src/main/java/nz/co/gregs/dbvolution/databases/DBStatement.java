@@ -20,6 +20,7 @@ import java.sql.*;
 import nz.co.gregs.dbvolution.exceptions.LoopDetectedInRecursiveSQL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import nz.co.gregs.dbvolution.databases.DBDatabaseImplementation.ResponseToException;
 import static nz.co.gregs.dbvolution.databases.DBDatabaseImplementation.ResponseToException.*;
 import nz.co.gregs.dbvolution.databases.connections.DBConnection;
@@ -27,6 +28,7 @@ import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.exceptions.UnableToCreateDatabaseConnectionException;
 import nz.co.gregs.dbvolution.exceptions.UnableToFindJDBCDriver;
 import nz.co.gregs.dbvolution.internal.query.QueryTimeout;
+import nz.co.gregs.dbvolution.internal.query.ParameterisedSQL;
 import nz.co.gregs.dbvolution.internal.query.StatementDetails;
 import nz.co.gregs.dbvolution.utility.StringCheck;
 import nz.co.gregs.regexi.Regex;
@@ -58,6 +60,9 @@ public class DBStatement implements AutoCloseable {
 	static final private Log LOG = LogFactory.getLog(DBStatement.class);
 
 	private Statement internalStatement;
+	private PreparedStatement preparedStatement;
+	private String preparedSQL;
+	private DBConnection preparedConnection;
 	final DBDatabase database;
 	private DBConnection connection;
 	private boolean isClosed = false;
@@ -127,9 +132,57 @@ public class DBStatement implements AutoCloseable {
 	}
 
 	private ResultSet executeQueryWithInternalStatement(StatementDetails details) throws SQLException {
+		final ParameterisedSQL parameterisedSQL = details.getParameterisedSQL();
+		if (parameterisedSQL != null && parameterisedSQL.hasParameters()) {
+			final PreparedStatement prepared = prepareStatementForQuery(parameterisedSQL);
+			if (prepared != null) {
+				// failures during execution are real errors and are handled like any other query
+				return prepared.executeQuery();
+			}
+		}
 		return getInternalStatement().executeQuery(details.getSql());
 	}
 
+	/**
+	 * Prepares and binds the parameterised SQL.
+	 *
+	 * <p>
+	 * Some SQL can't be parameterised so, outside of a transaction, failing to
+	 * prepare or bind the statement returns null to use the literal SQL instead.
+	 * Inside a transaction the failure may have already affected the transaction
+	 * so the exception is thrown.
+	 *
+	 * @param parameterisedSQL the SQL and its values
+	 * @return the prepared statement ready to execute, or null if the literal SQL
+	 * should be used
+	 * @throws SQLException database errors
+	 */
+	private synchronized PreparedStatement prepareStatementForQuery(ParameterisedSQL parameterisedSQL) throws SQLException {
+		closePreparedStatement();
+		if (connection == null || connection.isClosed()) {
+			replaceBrokenConnection();
+		}
+		final String sql = parameterisedSQL.getParameterisedSQL();
+		try {
+			final PreparedStatement prepared = connection.getCachedPreparedStatement(sql);
+			preparedStatement = prepared;
+			preparedSQL = sql;
+			preparedConnection = connection;
+			// cached statements keep their settings so always set them
+			prepared.setFetchSize(internalStatement == null ? 0 : internalStatement.getFetchSize());
+			prepared.setMaxRows(internalStatement == null ? 0 : internalStatement.getMaxRows());
+			parameterisedSQL.setParameters(prepared);
+			return prepared;
+		} catch (SQLException exp) {
+			if (!connection.getAutoCommit()) {
+				throw exp;
+			}
+			LOG.warn("Unable to prepare parameterised SQL, using literal SQL instead: " + exp.getMessage());
+			closePreparedStatement();
+			return null;
+		}
+	}
+
 	private ResultSet addFeatureAndAttemptQueryAgain(StatementDetails details) throws SQLException, Exception, LoopDetectedInRecursiveSQL {
 		ResultSet executeQuery;
 		final Exception exp = details.getException();
@@ -206,6 +259,7 @@ public class DBStatement implements AutoCloseable {
 	@Override
 	public void close() throws SQLException {
 		isClosed = true;
+		closePreparedStatement();
 		try {
 			database.unusedConnection(getConnection());
 		} catch (SQLException e) {
@@ -216,6 +270,27 @@ public class DBStatement implements AutoCloseable {
 		closeInternalStatement();
 	}
 
+	/**
+	 * Returns the PreparedStatement used for the last parameterised query, if
+	 * any, to the statement cache of its connection.
+	 */
+	protected void closePreparedStatement() {
+		PreparedStatement statementToRelease;
+		String sqlToRelease;
+		DBConnection connectionToReleaseTo;
+		synchronized (this) {
+			statementToRelease = preparedStatement;
+			sqlToRelease = preparedSQL;
+			connectionToReleaseTo = preparedConnection;
+			preparedStatement = null;
+			preparedSQL = null;
+			preparedConnection = null;
+		}
+		if (statementToRelease != null) {
+			connectionToReleaseTo.releaseCachedPreparedStatement(sqlToRelease, statementToRelease);
+		}
+	}
+
 	private void closeInternalStatement() {
 		Statement statementToClose;
 		synchronized (this) {
@@ -356,6 +431,9 @@ public class DBStatement implements AutoCloseable {
 	 */
 	public synchronized void cancel() throws SQLException {
 		try {
+			if (preparedStatement != null) {
+				preparedStatement.cancel();
+			}
 			getInternalStatement().cancel();
 			if (database.getDefinition().willCloseConnectionOnStatementCancel()) {
 				replaceBrokenConnection();
@@ -556,8 +634,79 @@ public class DBStatement implements AutoCloseable {
 	}
 
 	private void executeOnInternalStatement(StatementDetails details) throws UnableToCreateDatabaseConnectionException, SQLException, UnableToFindJDBCDriver {
-		Statement stmt = getInternalStatement();
-		details.execute(stmt);
+		if (details.isBatch()) {
+			executeBatchOnInternalStatement(details.getBatch());
+		} else {
+			Statement stmt = getInternalStatement();
+			details.execute(stmt);
+		}
+	}
+
+	private void executeBatchOnInternalStatement(List<ParameterisedSQL> batch) throws SQLException {
+		int start = 0;
+		while (start < batch.size()) {
+			final ParameterisedSQL first = batch.get(start);
+			int end = start + 1;
+			while (end < batch.size() && canShareBatch(first, batch.get(end))) {
+				end++;
+			}
+			if (first.hasParameters()) {
+				executePreparedBatch(batch.subList(start, end));
+			} else {
+				executeLiteralBatch(batch.subList(start, end));
+			}
+			start = end;
+		}
+	}
+
+	private static boolean canShareBatch(ParameterisedSQL first, ParameterisedSQL next) {
+		if (first.hasParameters()) {
+			return next.hasParameters() && first.getParameterisedSQL().equals(next.getParameterisedSQL());
+		} else {
+			return !next.hasParameters();
+		}
+	}
+
+	private void executeLiteralBatch(List<ParameterisedSQL> statements) throws SQLException {
+		final Statement stmt = getInternalStatement();
+		try {
+			for (ParameterisedSQL statement : statements) {
+				stmt.addBatch(statement.getLiteralSQL());
+			}
+			stmt.executeBatch();
+		} finally {
+			stmt.clearBatch();
+		}
+	}
+
+	private void executePreparedBatch(List<ParameterisedSQL> statements) throws SQLException {
+		final String sql = statements.get(0).getParameterisedSQL();
+		final PreparedStatement prepared;
+		synchronized (this) {
+			closePreparedStatement();
+			if (connection == null || connection.isClosed()) {
+				replaceBrokenConnection();
+			}
+			prepared = connection.getCachedPreparedStatement(sql);
+			// remember the statement so that cancel() can reach it
+			preparedStatement = prepared;
+			preparedSQL = sql;
+			preparedConnection = connection;
+		}
+		try {
+			for (ParameterisedSQL statement : statements) {
+				statement.setParameters(prepared);
+				prepared.addBatch();
+			}
+			prepared.executeBatch();
+		} finally {
+			try {
+				prepared.clearBatch();
+			} catch (SQLException ex) {
+				LOG.debug("Unable to clear batch: " + ex.getMessage());
+			}
+			closePreparedStatement();
+		}
 	}
 
 	static final Regex DROP_INTENTION_MATCHER = Regex.startingAnywhere().literal("DROP").toRegex();
@@ -848,6 +997,31 @@ public class DBStatement implements AutoCloseable {
 		return getInternalStatement().executeBatch();
 	}
 
+	/**
+	 * Executes the statements as JDBC batches.
+	 *
+	 * <p>
+	 * The batch is executed like any other statement, with the same logging,
+	 * timeout, and recovery. Consecutive statements with the same
+	 * {@link ParameterisedSQL#getParameterisedSQL() parameterised SQL} are sent
+	 * as one batch of bound values on a cached PreparedStatement, statements
+	 * without parameters are sent as a batch of literal SQL.
+	 *
+	 * @param label the display name for this execution
+	 * @param queryIntention the expected outcome of this execution
+	 * @param statements the SQL and values to execute, in order
+	 * @throws java.sql.SQLException database errors
+	 */
+	public void executeBatch(String label, QueryIntention queryIntention, List<ParameterisedSQL> statements) throws SQLException {
+		if (statements.isEmpty()) {
+			return;
+		}
+		final String sql = statements.stream()
+				.map(ParameterisedSQL::getLiteralSQL)
+				.collect(Collectors.joining("\n"));
+		execute(new StatementDetails(label, queryIntention, sql, this).withBatch(statements));
+	}
+
 	/**
 	 * Retrieves the Connection object that produced this Statement object.
 	 *
@@ -87,6 +87,7 @@ public class DBTransactionStatement extends DBStatement {
 				LOG.info("Exception while closing transaction, continuing regardless.");
 			}
 		}
+		closePreparedStatement();
 		if (database.getDefinition().willCloseConnectionOnStatementCancel()) {
 			this.replaceBrokenConnection();
 		} else {
@@ -116,6 +117,7 @@ public class DBTransactionStatement extends DBStatement {
 				LOG.info("Exception while closing transaction, continuing regardless.");
 			}
 		}
+		closePreparedStatement();
 		if (database.getDefinition().willCloseConnectionOnStatementCancel()) {
 			this.replaceBrokenConnection();
 		} else {
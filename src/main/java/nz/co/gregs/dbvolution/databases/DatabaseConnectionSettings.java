@@ -132,11 +132,17 @@ public class DatabaseConnectionSettings implements Serializable {
 	private static final String FIELD_SEPARATOR = "<DCS FIELD>";
 	private static final String TOSTRING_SEPARATOR = ", ";
 	private String filename = "";
+	private int poolMinimumSize = 0;
+	private int poolMaximumSize = 0;
+	private long poolAcquisitionTimeout = 30000;
+	private long poolIdleTimeout = 0;
+	private boolean poolValidateOnBorrow = false;
+	private long poolLeakDetectionThreshold = 0;
 
 	public static DatabaseConnectionSettings newSettings() {
 		return new DatabaseConnectionSettings();
 	}
-	private String encoded;
+	private volatile String encoded;
 
 	public DatabaseConnectionSettings() {
 		super();
@@ -176,7 +182,15 @@ public class DatabaseConnectionSettings implements Serializable {
 	 *
 	 * @return encoded settings suitable for decoding.
 	 */
-	public synchronized String encode() {
+	public String encode() {
+		final String cached = encoded;
+		if (StringCheck.isEmptyOrNull(cached)) {
+			return encodeAndCache();
+		}
+		return cached;
+	}
+
+	private synchronized String encodeAndCache() {
 		if (StringCheck.isEmptyOrNull(encoded)) {
 
 			List<DatabaseConnectionSettings> hosts = getClusterHosts();
@@ -664,6 +678,12 @@ public class DatabaseConnectionSettings implements Serializable {
 		this.setUrl(newSettings.getUrl());
 		this.setUsername(newSettings.getUsername());
 		this.setClusterHosts(newSettings.getClusterHosts());
+		this.setPoolMinimumSize(newSettings.getPoolMinimumSize());
+		this.setPoolMaximumSize(newSettings.getPoolMaximumSize());
+		this.setPoolAcquisitionTimeout(newSettings.getPoolAcquisitionTimeout());
+		this.setPoolIdleTimeout(newSettings.getPoolIdleTimeout());
+		this.setPoolValidateOnBorrow(newSettings.getPoolValidateOnBorrow());
+		this.setPoolLeakDetectionThreshold(newSettings.getPoolLeakDetectionThreshold());
 	}
 
 	/**
@@ -1089,6 +1109,140 @@ public class DatabaseConnectionSettings implements Serializable {
 		return this.extras.remove(key);
 	}
 
+	/**
+	 * The number of connections the connection pool keeps open.
+	 *
+	 * <p>
+	 * The pool settings do not change which database is connected to and are
+	 * not included in {@link #encode() }. They are included in the
+	 * {@link #encodeConnectionPoolKey() connection pool key} so databases only
+	 * share a pool when their pool settings match as well.
+	 *
+	 * @param minimumSize the minimum size of the pool, defaults to 0
+	 * @return this instance
+	 */
+	public final DatabaseConnectionSettings setPoolMinimumSize(int minimumSize) {
+		this.poolMinimumSize = minimumSize;
+		return this;
+	}
+
+	public final int getPoolMinimumSize() {
+		return poolMinimumSize;
+	}
+
+	/**
+	 * The maximum number of connections that can be in use at once.
+	 *
+	 * <p>
+	 * Once the maximum is reached, requests for a connection wait for the
+	 * {@link #setPoolAcquisitionTimeout(long) acquisition timeout} for another
+	 * connection to be released.
+	 *
+	 * @param maximumSize the maximum size of the pool, defaults to 0 which
+	 * means there is no limit
+	 * @return this instance
+	 */
+	public final DatabaseConnectionSettings setPoolMaximumSize(int maximumSize) {
+		this.poolMaximumSize = maximumSize;
+		return this;
+	}
+
+	public final int getPoolMaximumSize() {
+		return poolMaximumSize;
+	}
+
+	/**
+	 * The time to wait for a connection when the pool is at its maximum size.
+	 *
+	 * @param milliseconds the acquisition timeout, defaults to 30 seconds
+	 * @return this instance
+	 */
+	public final DatabaseConnectionSettings setPoolAcquisitionTimeout(long milliseconds) {
+		this.poolAcquisitionTimeout = milliseconds;
+		return this;
+	}
+
+	public final long getPoolAcquisitionTimeout() {
+		return poolAcquisitionTimeout;
+	}
+
+	/**
+	 * The time an unused connection is kept open before it is closed.
+	 *
+	 * <p>
+	 * Connections are only closed while the pool is larger than its
+	 * {@link #setPoolMinimumSize(int) minimum size}.
+	 *
+	 * @param milliseconds the idle timeout, defaults to 0 which keeps idle
+	 * connections indefinitely
+	 * @return this instance
+	 */
+	public final DatabaseConnectionSettings setPoolIdleTimeout(long milliseconds) {
+		this.poolIdleTimeout = milliseconds;
+		return this;
+	}
+
+	public final long getPoolIdleTimeout() {
+		return poolIdleTimeout;
+	}
+
+	/**
+	 * Check that pooled connections are still valid before reusing them.
+	 *
+	 * @param validate TRUE to validate connections when they are borrowed,
+	 * defaults to FALSE
+	 * @return this instance
+	 */
+	public final DatabaseConnectionSettings setPoolValidateOnBorrow(boolean validate) {
+		this.poolValidateOnBorrow = validate;
+		return this;
+	}
+
+	public final boolean getPoolValidateOnBorrow() {
+		return poolValidateOnBorrow;
+	}
+
+	/**
+	 * The time a connection can be in use before it is reported as a possible
+	 * leak.
+	 *
+	 * @param milliseconds the leak detection threshold, defaults to 0 which
+	 * disables leak detection
+	 * @return this instance
+	 */
+	public final DatabaseConnectionSettings setPoolLeakDetectionThreshold(long milliseconds) {
+		this.poolLeakDetectionThreshold = milliseconds;
+		return this;
+	}
+
+	public final long getPoolLeakDetectionThreshold() {
+		return poolLeakDetectionThreshold;
+	}
+
+	/**
+	 * The key used to share connection pools between databases.
+	 *
+	 * <p>
+	 * Combines the {@link #encode() encoded settings} with the pool settings so
+	 * that databases connecting to the same database with different pool
+	 * settings each get a pool configured with their own settings.
+	 *
+	 * <p>
+	 * The pool settings should not be changed once the database has started
+	 * using the pool.
+	 *
+	 * @return the key identifying the connection pool for these settings
+	 */
+	public String encodeConnectionPoolKey() {
+		return encode()
+				+ FIELD_SEPARATOR + poolMinimumSize
+				+ FIELD_SEPARATOR + poolMaximumSize
+				+ FIELD_SEPARATOR + poolAcquisitionTimeout
+				+ FIELD_SEPARATOR + poolIdleTimeout
+				+ FIELD_SEPARATOR + poolValidateOnBorrow
+				+ FIELD_SEPARATOR + poolLeakDetectionThreshold;
+	}
+
 	private void clearCachedValues() {
 		encoded = null;
 	}
@@ -58,6 +58,8 @@ public enum QueryIntention {
 	ADD_COLUMN_TO_TABLE(true),
 	BULK_INSERT,
 	BULK_DELETE,
+	BULK_UPDATE,
+	BULK_UPSERT,
 	INSERT_ROW,
 	INSERT_ROW_WITH_LARGE_OBJECT,
 	RETRIEVE_LAST_INSERT,
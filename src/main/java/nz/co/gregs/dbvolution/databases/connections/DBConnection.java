@@ -57,6 +57,36 @@ public interface DBConnection {
 
 	public PreparedStatement prepareStatement(String sql) throws SQLException;
 
+	/**
+	 * Returns a PreparedStatement for the SQL, reusing a cached statement if
+	 * possible.
+	 *
+	 * <p>
+	 * Return the statement using {@link #releaseCachedPreparedStatement(java.lang.String, java.sql.PreparedStatement)
+	 * } rather than closing it.
+	 *
+	 * @param sql the SQL to prepare
+	 * @return a PreparedStatement for the SQL
+	 * @throws SQLException database errors
+	 */
+	public PreparedStatement getCachedPreparedStatement(String sql) throws SQLException;
+
+	/**
+	 * Returns a PreparedStatement obtained from {@link #getCachedPreparedStatement(java.lang.String)
+	 * } to the cache.
+	 *
+	 * @param sql the SQL used to prepare the statement
+	 * @param statement the statement to return to the cache
+	 */
+	public void releaseCachedPreparedStatement(String sql, PreparedStatement statement);
+
+	/**
+	 * The cache of PreparedStatements used by this connection.
+	 *
+	 * @return the statement cache, which provides hit and miss counts
+	 */
+	public PreparedStatementCache getPreparedStatementCache();
+
 	public CallableStatement prepareCall(String sql) throws SQLException;
 
 	public String nativeSQL(String sql) throws SQLException;
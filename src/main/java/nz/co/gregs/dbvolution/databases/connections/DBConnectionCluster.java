@@ -54,6 +54,8 @@ import java.util.concurrent.Executor;
 public class DBConnectionCluster implements DBConnection {
 
 	private final DBDatabaseCluster databaseCluster;
+	// the cluster doesn't prepare statements itself so the cache never retains any
+	private final PreparedStatementCache statementCache = new PreparedStatementCache(0);
 	
 	public DBConnectionCluster(DBDatabaseCluster cluster) {
 		this.databaseCluster = cluster;
@@ -69,6 +71,21 @@ public class DBConnectionCluster implements DBConnection {
 		throw new UnsupportedOperationException("DBConnectionCluster does not support prepareStatement(String) yet."); //To change body of generated methods, choose Tools | Templates.
 	}
 
+	@Override
+	public PreparedStatement getCachedPreparedStatement(String sql) throws SQLException {
+		return prepareStatement(sql);
+	}
+
+	@Override
+	public void releaseCachedPreparedStatement(String sql, PreparedStatement statement) {
+		statementCache.release(sql, statement);
+	}
+
+	@Override
+	public PreparedStatementCache getPreparedStatementCache() {
+		return statementCache;
+	}
+
 	@Override
 	public CallableStatement prepareCall(String sql) throws SQLException {
 		throw new UnsupportedOperationException("DBConnectionCluster does not support prepareCall(String) yet."); //To change body of generated methods, choose Tools | Templates.
@@ -0,0 +1,713 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.databases.connections;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import nz.co.gregs.dbvolution.databases.DatabaseConnectionSettings;
+
+/**
+ * A bounded pool of connections to a single database.
+ *
+ * <p>
+ * Idle connections are kept in a lock-free deque and reused most recently used
+ * first, so the least used connections age out and can be reaped. When a
+ * maximum size is set, checkout is limited by a fair semaphore and waits at most
+ * the acquisition timeout before failing with a
+ * {@link SQLTransientConnectionException}.
+ *
+ * <p>
+ * The pool is maintained in the background: idle connections older than the
+ * idle timeout are closed, down to the minimum size, the pool is topped up to
+ * the minimum size, and connections held longer than the leak detection
+ * threshold are reported with the stack trace of the code that borrowed them.
+ *
+ * <p>
+ * The size of the pool and the time spent waiting for connections are
+ * available to help tune the settings.
+ *
+ * @author Gregory Graham
+ * @see DatabaseConnectionSettings#setPoolMaximumSize(int)
+ */
+public class DBConnectionPool {
+
+	private static final Logger LOG = Logger.getLogger(DBConnectionPool.class.getName());
+
+	private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+	private static final long MINIMUM_MAINTENANCE_INTERVAL_MILLIS = 1000;
+	private static final long MAXIMUM_MAINTENANCE_INTERVAL_MILLIS = 30000;
+
+	private static final ScheduledExecutorService MAINTENANCE_THREAD = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "DBvolution connection pool maintenance");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Creates the raw connections for the pool.
+	 */
+	@FunctionalInterface
+	public static interface ConnectionFactory {
+
+		/**
+		 * Creates a new connection to the database.
+		 *
+		 * @return a new connection
+		 * @throws SQLException database errors
+		 */
+		DBConnection newConnection() throws SQLException;
+	}
+
+	private final String name;
+	private final ConnectionFactory factory;
+	private final int minimumSize;
+	private final int maximumSize;
+	private final long acquisitionTimeout;
+	private final long idleTimeout;
+	private final boolean validateOnBorrow;
+	private final long leakDetectionThreshold;
+	private final Semaphore permits;
+
+	private final ConcurrentLinkedDeque<IdleConnection> idleConnections = new ConcurrentLinkedDeque<>();
+	private final Map<DBConnection, Borrowed> busyConnections = new ConcurrentHashMap<>();
+	private final AtomicInteger idleCount = new AtomicInteger(0);
+	private final AtomicInteger totalCount = new AtomicInteger(0);
+
+	private final AtomicLong borrowCount = new AtomicLong(0);
+	private final AtomicLong totalWaitNanos = new AtomicLong(0);
+	private final AtomicLong maximumWaitNanos = new AtomicLong(0);
+	private final AtomicLong timeoutCount = new AtomicLong(0);
+	private final AtomicLong createdCount = new AtomicLong(0);
+	private final AtomicLong discardedCount = new AtomicLong(0);
+	private final AtomicLong validationFailureCount = new AtomicLong(0);
+	private final AtomicLong leakCount = new AtomicLong(0);
+
+	private volatile boolean closed = false;
+	private ScheduledFuture<?> maintenanceFuture = null;
+
+	/**
+	 * Creates a pool configured by the pool settings of the
+	 * DatabaseConnectionSettings.
+	 *
+	 * @param name a name for the pool used in log messages
+	 * @param settings the settings of the database
+	 * @param factory creates new connections for the pool
+	 */
+	public DBConnectionPool(String name, DatabaseConnectionSettings settings, ConnectionFactory factory) {
+		this(name, factory,
+				settings.getPoolMinimumSize(),
+				settings.getPoolMaximumSize(),
+				settings.getPoolAcquisitionTimeout(),
+				settings.getPoolIdleTimeout(),
+				settings.getPoolValidateOnBorrow(),
+				settings.getPoolLeakDetectionThreshold());
+	}
+
+	/**
+	 * Creates a pool.
+	 *
+	 * @param name a name for the pool used in log messages
+	 * @param factory creates new connections for the pool
+	 * @param minimumSize the number of connections the pool maintains
+	 * @param maximumSize the maximum number of connections in use at once, 0 or
+	 * less for no limit
+	 * @param acquisitionTimeout the maximum milliseconds to wait for a
+	 * connection
+	 * @param idleTimeout the milliseconds an unused connection is kept, 0 or less
+	 * to keep connections indefinitely
+	 * @param validateOnBorrow TRUE if connections should be checked with
+	 * {@link DBConnection#isValid(int)} before they are reused
+	 * @param leakDetectionThreshold the milliseconds a connection can be held
+	 * before it is reported as a possible leak, 0 or less to disable leak
+	 * detection
+	 */
+	public DBConnectionPool(String name, ConnectionFactory factory, int minimumSize, int maximumSize, long acquisitionTimeout, long idleTimeout, boolean validateOnBorrow, long leakDetectionThreshold) {
+		this.name = name;
+		this.factory = factory;
+		this.maximumSize = Math.max(maximumSize, 0);
+		this.minimumSize = this.maximumSize > 0 ? Math.min(Math.max(minimumSize, 0), this.maximumSize) : Math.max(minimumSize, 0);
+		this.acquisitionTimeout = Math.max(acquisitionTimeout, 0);
+		this.idleTimeout = Math.max(idleTimeout, 0);
+		this.validateOnBorrow = validateOnBorrow;
+		this.leakDetectionThreshold = Math.max(leakDetectionThreshold, 0);
+		this.permits = this.maximumSize > 0 ? new Semaphore(this.maximumSize, true) : null;
+	}
+
+	/**
+	 * Takes a connection from the pool, creating a new connection if none are
+	 * available.
+	 *
+	 * <p>
+	 * The connection must be returned with {@link #release(DBConnection) } or
+	 * {@link #discard(DBConnection) }.
+	 *
+	 * @return a connection to the database
+	 * @throws SQLTransientConnectionException if the pool is at its maximum size
+	 * and no connection became available within the acquisition timeout
+	 * @throws SQLException if the pool is closed or a connection could not be
+	 * created
+	 */
+	public DBConnection borrow() throws SQLException {
+		return borrow(factory);
+	}
+
+	/**
+	 * Takes a connection from the pool, using the supplied factory if a new
+	 * connection is required.
+	 *
+	 * @param connectionFactory creates the connection if none are available
+	 * @return a connection to the database
+	 * @throws SQLTransientConnectionException if the pool is at its maximum size
+	 * and no connection became available within the acquisition timeout
+	 * @throws SQLException if the pool is closed or a connection could not be
+	 * created
+	 * @see #borrow()
+	 */
+	public DBConnection borrow(ConnectionFactory connectionFactory) throws SQLException {
+		final long startTime = System.nanoTime();
+		acquirePermit();
+		boolean borrowed = false;
+		try {
+			if (closed) {
+				throw new SQLException("Connection pool " + name + " has been closed");
+			}
+			DBConnection connection = null;
+			while (connection == null) {
+				final IdleConnection idle = idleConnections.pollFirst();
+				if (idle == null) {
+					connection = createConnection(connectionFactory);
+				} else {
+					idleCount.decrementAndGet();
+					if (isUsable(idle.connection)) {
+						connection = idle.connection;
+					} else {
+						closeConnection(idle.connection);
+					}
+				}
+			}
+			busyConnections.put(connection, new Borrowed(leakDetectionThreshold > 0));
+			recordWait(System.nanoTime() - startTime);
+			borrowed = true;
+			startMaintenance();
+			return connection;
+		} finally {
+			if (!borrowed) {
+				releasePermit();
+			}
+		}
+	}
+
+	/**
+	 * Returns a borrowed connection to the pool.
+	 *
+	 * <p>
+	 * Closed connections, and all connections once the pool is closed, are
+	 * discarded instead. Connections that do not belong to the pool are closed.
+	 *
+	 * @param connection a connection taken from this pool
+	 */
+	public void release(DBConnection connection) {
+		if (connection == null) {
+			return;
+		}
+		final Borrowed borrowed = busyConnections.remove(connection);
+		if (borrowed == null) {
+			if (!isIdle(connection)) {
+				closeQuietly(connection);
+			}
+			return;
+		}
+		if (closed || isClosed(connection)) {
+			closeConnection(connection);
+		} else {
+			idleConnections.offerFirst(new IdleConnection(connection));
+			idleCount.incrementAndGet();
+			if (closed) {
+				closeIdleConnections();
+			}
+		}
+		releasePermit();
+	}
+
+	/**
+	 * Removes the connection from the pool and closes it.
+	 *
+	 * @param connection a connection that should no longer be used
+	 */
+	public void discard(DBConnection connection) {
+		if (connection == null) {
+			return;
+		}
+		if (busyConnections.remove(connection) != null) {
+			totalCount.decrementAndGet();
+			discardedCount.incrementAndGet();
+			releasePermit();
+		} else if (removeIdle(connection)) {
+			totalCount.decrementAndGet();
+			discardedCount.incrementAndGet();
+		}
+		closeQuietly(connection);
+	}
+
+	/**
+	 * Removes a borrowed connection from the pool without closing it.
+	 *
+	 * <p>
+	 * The connection no longer counts towards the size of the pool and is not
+	 * subject to leak detection. This is used for connections that are held
+	 * open for the lifetime of the database.
+	 *
+	 * @param connection a connection taken from this pool
+	 * @return TRUE if the connection was borrowed from this pool, otherwise
+	 * FALSE
+	 */
+	public boolean detach(DBConnection connection) {
+		if (connection != null && busyConnections.remove(connection) != null) {
+			totalCount.decrementAndGet();
+			releasePermit();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Closes idle connections that have exceeded the idle timeout, tops the pool
+	 * up to its minimum size, and reports connections that have exceeded the
+	 * leak detection threshold.
+	 *
+	 * <p>
+	 * This is performed regularly in the background but may be called at any
+	 * time.
+	 */
+	public void maintain() {
+		if (closed) {
+			return;
+		}
+		reapIdleConnections();
+		fillToMinimumSize();
+		detectLeaks();
+	}
+
+	/**
+	 * Closes all the connections, including those currently borrowed, and stops
+	 * the pool from lending any more.
+	 */
+	public void closeAll() {
+		closed = true;
+		synchronized (this) {
+			if (maintenanceFuture != null) {
+				maintenanceFuture.cancel(false);
+				maintenanceFuture = null;
+			}
+		}
+		closeIdleConnections();
+		final List<DBConnection> busy = new ArrayList<>(busyConnections.keySet());
+		for (DBConnection connection : busy) {
+			if (busyConnections.remove(connection) != null) {
+				closeConnection(connection);
+				releasePermit();
+			}
+		}
+	}
+
+	/**
+	 * Indicates whether {@link #closeAll() } has been called.
+	 *
+	 * @return TRUE if the pool is closed
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * The name used for the pool in log messages.
+	 *
+	 * @return the pool's name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * The number of connections currently borrowed from the pool.
+	 *
+	 * @return the number of active connections
+	 */
+	public int getActiveCount() {
+		return busyConnections.size();
+	}
+
+	/**
+	 * The number of connections waiting in the pool to be borrowed.
+	 *
+	 * @return the number of idle connections
+	 */
+	public int getIdleCount() {
+		return idleCount.get();
+	}
+
+	/**
+	 * The number of open connections managed by the pool, both active and idle.
+	 *
+	 * @return the size of the pool
+	 */
+	public int getTotalCount() {
+		return totalCount.get();
+	}
+
+	/**
+	 * The number of threads currently waiting for a connection.
+	 *
+	 * @return the number of waiting threads
+	 */
+	public int getWaitingThreadCount() {
+		return permits == null ? 0 : permits.getQueueLength();
+	}
+
+	/**
+	 * The number of connections the pool maintains.
+	 *
+	 * @return the minimum size of the pool
+	 */
+	public int getMinimumSize() {
+		return minimumSize;
+	}
+
+	/**
+	 * The maximum number of connections that can be borrowed at once.
+	 *
+	 * @return the maximum size of the pool, 0 for no limit
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * The number of connections successfully borrowed from the pool.
+	 *
+	 * @return the borrow count
+	 */
+	public long getBorrowCount() {
+		return borrowCount.get();
+	}
+
+	/**
+	 * The total time spent by all threads waiting to borrow a connection.
+	 *
+	 * @return the total wait time in milliseconds
+	 */
+	public long getTotalWaitTime() {
+		return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get());
+	}
+
+	/**
+	 * The average time spent waiting to borrow a connection.
+	 *
+	 * @return the average wait time in milliseconds
+	 */
+	public double getAverageWaitTime() {
+		final long borrows = borrowCount.get();
+		return borrows == 0 ? 0.0 : totalWaitNanos.get() / 1000000.0 / borrows;
+	}
+
+	/**
+	 * The longest time spent waiting to borrow a connection.
+	 *
+	 * @return the maximum wait time in milliseconds
+	 */
+	public long getMaximumWaitTime() {
+		return TimeUnit.NANOSECONDS.toMillis(maximumWaitNanos.get());
+	}
+
+	/**
+	 * The number of times a connection could not be borrowed within the
+	 * acquisition timeout.
+	 *
+	 * @return the timeout count
+	 */
+	public long getTimeoutCount() {
+		return timeoutCount.get();
+	}
+
+	/**
+	 * The number of connections created by the pool.
+	 *
+	 * @return the created count
+	 */
+	public long getCreatedCount() {
+		return createdCount.get();
+	}
+
+	/**
+	 * The number of connections closed by the pool.
+	 *
+	 * @return the discarded count
+	 */
+	public long getDiscardedCount() {
+		return discardedCount.get();
+	}
+
+	/**
+	 * The number of idle connections that failed validation when borrowed.
+	 *
+	 * @return the validation failure count
+	 */
+	public long getValidationFailureCount() {
+		return validationFailureCount.get();
+	}
+
+	/**
+	 * The number of connections reported as possible leaks.
+	 *
+	 * @return the leak count
+	 */
+	public long getLeakCount() {
+		return leakCount.get();
+	}
+
+	@Override
+	public String toString() {
+		return "DBConnectionPool{" + name
+				+ ", active=" + getActiveCount()
+				+ ", idle=" + getIdleCount()
+				+ ", waiting=" + getWaitingThreadCount()
+				+ ", averageWait=" + getAverageWaitTime() + "ms"
+				+ ", timeouts=" + getTimeoutCount() + "}";
+	}
+
+	private void acquirePermit() throws SQLException {
+		if (permits != null) {
+			try {
+				if (!permits.tryAcquire(acquisitionTimeout, TimeUnit.MILLISECONDS)) {
+					timeoutCount.incrementAndGet();
+					throw new SQLTransientConnectionException(
+							"Unable to get a connection from pool " + name + " within " + acquisitionTimeout
+							+ "ms: " + getActiveCount() + " of " + maximumSize + " connections are in use");
+				}
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new SQLTransientConnectionException("Interrupted while waiting for a connection from pool " + name, ex);
+			}
+		}
+	}
+
+	private void releasePermit() {
+		if (permits != null) {
+			permits.release();
+		}
+	}
+
+	private DBConnection createConnection(ConnectionFactory connectionFactory) throws SQLException {
+		final DBConnection connection = connectionFactory.newConnection();
+		if (connection == null) {
+			throw new SQLException("Unable to create a connection for pool " + name);
+		}
+		totalCount.incrementAndGet();
+		createdCount.incrementAndGet();
+		return connection;
+	}
+
+	private boolean isUsable(DBConnection connection) {
+		if (isClosed(connection)) {
+			return false;
+		}
+		if (validateOnBorrow) {
+			try {
+				if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+					return true;
+				}
+			} catch (SQLException ex) {
+				LOG.log(Level.FINE, "Validation of pooled connection failed", ex);
+			}
+			validationFailureCount.incrementAndGet();
+			return false;
+		}
+		return true;
+	}
+
+	private void recordWait(long waitNanos) {
+		borrowCount.incrementAndGet();
+		totalWaitNanos.addAndGet(waitNanos);
+		maximumWaitNanos.accumulateAndGet(waitNanos, Math::max);
+	}
+
+	private boolean isIdle(DBConnection connection) {
+		for (IdleConnection idle : idleConnections) {
+			if (idle.connection.equals(connection)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean removeIdle(DBConnection connection) {
+		for (IdleConnection idle : idleConnections) {
+			if (idle.connection.equals(connection) && idleConnections.removeFirstOccurrence(idle)) {
+				idleCount.decrementAndGet();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void reapIdleConnections() {
+		if (idleTimeout > 0) {
+			final long now = System.currentTimeMillis();
+			final Iterator<IdleConnection> oldestFirst = idleConnections.descendingIterator();
+			while (oldestFirst.hasNext() && totalCount.get() > minimumSize) {
+				final IdleConnection idle = oldestFirst.next();
+				if (now - idle.idleSince >= idleTimeout && idleConnections.removeFirstOccurrence(idle)) {
+					idleCount.decrementAndGet();
+					closeConnection(idle.connection);
+				}
+			}
+		}
+	}
+
+	private void fillToMinimumSize() {
+		while (!closed && totalCount.get() < minimumSize) {
+			try {
+				final DBConnection connection = createConnection(factory);
+				idleConnections.offerLast(new IdleConnection(connection));
+				idleCount.incrementAndGet();
+			} catch (SQLException | RuntimeException ex) {
+				LOG.log(Level.WARNING, "Unable to fill connection pool " + name + " to its minimum size", ex);
+				return;
+			}
+		}
+	}
+
+	private void detectLeaks() {
+		if (leakDetectionThreshold > 0) {
+			final long now = System.currentTimeMillis();
+			for (Borrowed borrowed : busyConnections.values()) {
+				if (!borrowed.reportedAsLeak && now - borrowed.borrowedAt >= leakDetectionThreshold) {
+					borrowed.reportedAsLeak = true;
+					leakCount.incrementAndGet();
+					LOG.log(Level.WARNING,
+							"Possible connection leak in pool " + name + ": connection held by " + borrowed.threadName
+							+ " for more than " + leakDetectionThreshold + "ms",
+							borrowed.borrowedFrom);
+				}
+			}
+		}
+	}
+
+	private void closeIdleConnections() {
+		IdleConnection idle = idleConnections.pollFirst();
+		while (idle != null) {
+			idleCount.decrementAndGet();
+			closeConnection(idle.connection);
+			idle = idleConnections.pollFirst();
+		}
+	}
+
+	private void closeConnection(DBConnection connection) {
+		totalCount.decrementAndGet();
+		discardedCount.incrementAndGet();
+		closeQuietly(connection);
+	}
+
+	private static boolean isClosed(DBConnection connection) {
+		try {
+			return connection.isClosed();
+		} catch (SQLException ex) {
+			return true;
+		}
+	}
+
+	private static void closeQuietly(DBConnection connection) {
+		try {
+			connection.close();
+		} catch (SQLException ex) {
+			LOG.log(Level.FINE, "Unable to close pooled connection", ex);
+		}
+	}
+
+	private synchronized void startMaintenance() {
+		if (maintenanceFuture == null && !closed && (minimumSize > 0 || idleTimeout > 0 || leakDetectionThreshold > 0)) {
+			long interval = MAXIMUM_MAINTENANCE_INTERVAL_MILLIS;
+			if (idleTimeout > 0) {
+				interval = Math.min(interval, idleTimeout / 2);
+			}
+			if (leakDetectionThreshold > 0) {
+				interval = Math.min(interval, leakDetectionThreshold / 2);
+			}
+			interval = Math.max(interval, MINIMUM_MAINTENANCE_INTERVAL_MILLIS);
+			maintenanceFuture = MAINTENANCE_THREAD.scheduleWithFixedDelay(this::runMaintenance, interval, interval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void runMaintenance() {
+		try {
+			maintain();
+		} catch (RuntimeException ex) {
+			LOG.log(Level.WARNING, "Exception during maintenance of connection pool " + name, ex);
+		}
+	}
+
+	private static class IdleConnection {
+
+		private final DBConnection connection;
+		private final long idleSince = System.currentTimeMillis();
+
+		IdleConnection(DBConnection connection) {
+			this.connection = connection;
+		}
+	}
+
+	private static class Borrowed {
+
+		private final long borrowedAt = System.currentTimeMillis();
+		private final String threadName = Thread.currentThread().getName();
+		private final Throwable borrowedFrom;
+		private volatile boolean reportedAsLeak = false;
+
+		Borrowed(boolean recordStack) {
+			this.borrowedFrom = recordStack ? new Throwable("Connection borrowed here") : null;
+		}
+	}
+}
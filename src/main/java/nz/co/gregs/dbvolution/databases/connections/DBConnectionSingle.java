@@ -56,6 +56,7 @@ public class DBConnectionSingle implements DBConnection {
 
 	private final Connection connection;
 	private final DBDatabase database;
+	private final PreparedStatementCache statementCache = new PreparedStatementCache();
 
 	public DBConnectionSingle(DBDatabase database, Connection connection) {
 		this.database = database; 
@@ -76,6 +77,25 @@ public class DBConnectionSingle implements DBConnection {
 		return connection.prepareStatement(sql);
 	}
 
+	@Override
+	public PreparedStatement getCachedPreparedStatement(String sql) throws SQLException {
+		final PreparedStatement cached = statementCache.take(sql);
+		if (cached != null) {
+			return cached;
+		}
+		return connection.prepareStatement(sql);
+	}
+
+	@Override
+	public void releaseCachedPreparedStatement(String sql, PreparedStatement statement) {
+		statementCache.release(sql, statement);
+	}
+
+	@Override
+	public PreparedStatementCache getPreparedStatementCache() {
+		return statementCache;
+	}
+
 	@Override
 	public CallableStatement prepareCall(String sql) throws SQLException {
 		return connection.prepareCall(sql);
@@ -108,6 +128,7 @@ public class DBConnectionSingle implements DBConnection {
 
 	@Override
 	public void close() throws SQLException {
+		statementCache.clear();
 		connection.close();
 	}
 
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.databases.connections;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A bounded, least recently used, cache of PreparedStatements for a single
+ * connection.
+ *
+ * <p>
+ * Statements are taken out of the cache while they are in use and released
+ * back into it afterwards, so a statement is never shared by two queries at the
+ * same time. When the cache is full the least recently used statement is
+ * closed.
+ *
+ * <p>
+ * The hit, miss, and eviction counts are available to help tune the capacity.
+ *
+ * @author Gregory Graham
+ */
+public class PreparedStatementCache {
+
+	private static final Logger LOG = Logger.getLogger(PreparedStatementCache.class.getName());
+
+	/**
+	 * The number of statements retained by default.
+	 */
+	public static final int DEFAULT_CAPACITY = 50;
+
+	private final int capacity;
+	private final LinkedHashMap<String, PreparedStatement> statements;
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	/**
+	 * Creates a cache with the {@link #DEFAULT_CAPACITY default capacity}.
+	 */
+	public PreparedStatementCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a cache that retains at most the specified number of statements.
+	 *
+	 * @param capacity the maximum number of statements retained, 0 or less
+	 * disables caching
+	 */
+	public PreparedStatementCache(int capacity) {
+		this.capacity = capacity;
+		this.statements = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Removes the statement for the SQL from the cache.
+	 *
+	 * <p>
+	 * The statement should be returned with {@link #release(java.lang.String, java.sql.PreparedStatement)
+	 * } when it is no longer in use.
+	 *
+	 * @param sql the SQL of the statement
+	 * @return the cached statement or NULL if there is no usable statement cached
+	 */
+	public synchronized PreparedStatement take(String sql) {
+		final PreparedStatement statement = statements.remove(sql);
+		if (statement != null && isOpen(statement)) {
+			hits++;
+			return statement;
+		}
+		misses++;
+		return null;
+	}
+
+	/**
+	 * Returns a statement to the cache.
+	 *
+	 * <p>
+	 * Closed statements are ignored and the statement is closed if the cache
+	 * already holds a statement for the SQL or caching is disabled.
+	 *
+	 * @param sql the SQL of the statement
+	 * @param statement the statement to be cached
+	 */
+	public void release(String sql, PreparedStatement statement) {
+		final List<PreparedStatement> toClose = new ArrayList<>(1);
+		synchronized (this) {
+			if (statement == null || !isOpen(statement)) {
+				return;
+			}
+			if (capacity <= 0 || statements.containsKey(sql)) {
+				toClose.add(statement);
+			} else {
+				clearParameters(statement);
+				statements.put(sql, statement);
+				while (statements.size() > capacity) {
+					final Map.Entry<String, PreparedStatement> eldest = statements.entrySet().iterator().next();
+					statements.remove(eldest.getKey());
+					toClose.add(eldest.getValue());
+					evictions++;
+				}
+			}
+		}
+		closeAll(toClose);
+	}
+
+	/**
+	 * Closes and removes all the cached statements.
+	 *
+	 * <p>
+	 * The counters are retained.
+	 */
+	public void clear() {
+		final List<PreparedStatement> toClose;
+		synchronized (this) {
+			toClose = new ArrayList<>(statements.values());
+			statements.clear();
+		}
+		closeAll(toClose);
+	}
+
+	/**
+	 * The number of times a statement was found in the cache.
+	 *
+	 * @return the hit count
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * The number of times a statement was not found in the cache.
+	 *
+	 * @return the miss count
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * The number of statements closed to keep the cache within its capacity.
+	 *
+	 * @return the eviction count
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * The number of statements currently cached.
+	 *
+	 * @return the size of the cache
+	 */
+	public synchronized int size() {
+		return statements.size();
+	}
+
+	/**
+	 * The maximum number of statements retained.
+	 *
+	 * @return the capacity of the cache
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	private static boolean isOpen(PreparedStatement statement) {
+		try {
+			return !statement.isClosed();
+		} catch (SQLException ex) {
+			return false;
+		}
+	}
+
+	private static void clearParameters(PreparedStatement statement) {
+		try {
+			statement.clearParameters();
+		} catch (SQLException ex) {
+			LOG.log(Level.FINE, "Unable to clear parameters of cached statement", ex);
+		}
+	}
+
+	private static void closeAll(List<PreparedStatement> toClose) {
+		for (PreparedStatement statement : toClose) {
+			try {
+				statement.close();
+			} catch (SQLException ex) {
+				LOG.log(Level.FINE, "Unable to close cached statement", ex);
+			}
+		}
+	}
+}
@@ -19,12 +19,12 @@ import nz.co.gregs.dbvolution.internal.query.LargeObjectHandlerType;
 import com.vividsolutions.jts.geom.*;
 import java.io.Serializable;
 import java.sql.ResultSet;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
 import nz.co.gregs.dbvolution.databases.DBDatabase;
 import nz.co.gregs.dbvolution.DBRecursiveQuery;
@@ -64,7 +64,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import nz.co.gregs.dbvolution.DBTable;
 import nz.co.gregs.dbvolution.datatypes.DBDuration;
@@ -73,7 +72,7 @@ import nz.co.gregs.dbvolution.generation.DataRepo;
 import nz.co.gregs.dbvolution.generation.deprecated.DBTableClassGenerator;
 import nz.co.gregs.dbvolution.results.StringResult;
 import nz.co.gregs.dbvolution.utility.StringCheck;
-import nz.co.gregs.dbvolution.utility.TemporalStringParser;
+import nz.co.gregs.dbvolution.utility.TemporalStringDecoder;
 import nz.co.gregs.regexi.Match;
 import nz.co.gregs.regexi.Regex;
 import nz.co.gregs.separatedstring.Builder;
@@ -1714,6 +1713,35 @@ public abstract class DBDefinition implements Serializable {
 		return " " + getStringLengthFunctionName() + "( " + enclosedValue + " ) ";
 	}
 
+	/**
+	 * Wraps the provided SQL snippet in a function that hashes the string to an
+	 * integer.
+	 *
+	 * <p>
+	 * The hash only needs to be consistent for databases of the same type, it is
+	 * used to compare tables on different cluster members without retrieving
+	 * their rows.
+	 *
+	 * <p>
+	 * Only used if {@link #supportsStringHashTransform() } returns TRUE.
+	 *
+	 * @param enclosedValue	enclosedValue
+	 * @return SQL snippet
+	 */
+	public String doStringHashTransform(String enclosedValue) {
+		throw new UnsupportedOperationException("Hashing strings is not supported by " + this.getClass().getSimpleName());
+	}
+
+	/**
+	 * Indicates whether the database implements
+	 * {@link #doStringHashTransform(java.lang.String) }.
+	 *
+	 * @return the default implementation returns FALSE.
+	 */
+	public boolean supportsStringHashTransform() {
+		return false;
+	}
+
 	/**
 	 * Wraps the provided SQL snippet in a statement that performs trims all
 	 * spaces from the left and right of the value of the snippet.
@@ -2821,16 +2849,28 @@ public abstract class DBDefinition implements Serializable {
 	 * @see #prefersDatesReadAsStrings()
 	 */
 	public Date parseDateFromGetString(String getStringDate) throws DateTimeParseException {
-		try {
-			return getSimpleDateFormat().parse(getStringDate);
-		} catch (ParseException parse) {
-			return TemporalStringParser.toDate(getStringDate, STANDARD_DATETIME_PARSER_FORMATS);
-		}
+		return getTemporalStringDecoder().toDate(getStringDate);
 	}
 	private static final String[] STANDARD_DATETIME_PARSER_FORMATS = new String[]{"uuuu-MM-dd[ ]['T'][HH:mm:ss][.][S][S][S][S][S][S][S][S][S][ ][VV]", "uuuu-MM-dd HH:mm:ss.SSSSSS[ ]VV", "uuuu-MM-dd HH:mm:ss.SSSSSSX"};
 
-	private static SimpleDateFormat getSimpleDateFormat() {
-		return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+	private transient TemporalStringDecoder temporalStringDecoder;
+
+	/**
+	 * The decoder used to read dates and times that are retrieved as strings.
+	 *
+	 * <p>
+	 * The decoder is created once per definition so that its formats are only
+	 * compiled once.
+	 *
+	 * @return the decoder for text mode dates
+	 */
+	protected TemporalStringDecoder getTemporalStringDecoder() {
+		TemporalStringDecoder decoder = temporalStringDecoder;
+		if (decoder == null) {
+			decoder = new TemporalStringDecoder(STANDARD_DATETIME_PARSER_FORMATS);
+			temporalStringDecoder = decoder;
+		}
+		return decoder;
 	}
 
 	/**
@@ -2850,12 +2890,7 @@ public abstract class DBDefinition implements Serializable {
 	 * @see #prefersDatesReadAsStrings()
 	 */
 	public LocalDate parseLocalDateFromGetString(String getStringDate) throws DateTimeParseException {
-		String parsableString = getStringDate.replaceAll(" ", "T");
-		try {
-			return LocalDate.parse(parsableString, DateTimeFormatter.ISO_DATE);
-		} catch (Exception parse) {
-			return TemporalStringParser.toLocalDate(getStringDate, STANDARD_DATETIME_PARSER_FORMATS);
-		}
+		return getTemporalStringDecoder().toLocalDate(getStringDate);
 	}
 
 	/**
@@ -2875,12 +2910,7 @@ public abstract class DBDefinition implements Serializable {
 	 * @see #prefersDatesReadAsStrings()
 	 */
 	public LocalDateTime parseLocalDateTimeFromGetString(String inputFromResultSet) throws DateTimeParseException {
-		String parsableString = inputFromResultSet.replaceAll(" ", "T");
-		try {
-			return LocalDateTime.parse(parsableString, DateTimeFormatter.ISO_DATE_TIME);
-		} catch (Exception parse) {
-			return TemporalStringParser.toLocalDateTime(inputFromResultSet, STANDARD_DATETIME_PARSER_FORMATS);
-		}
+		return getTemporalStringDecoder().toLocalDateTime(inputFromResultSet);
 	}
 
 	/**
@@ -2901,16 +2931,7 @@ public abstract class DBDefinition implements Serializable {
 	 * @see #prefersDatesReadAsStrings()
 	 */
 	public Instant parseInstantFromGetString(String inputFromResultSet) throws DateTimeParseException {
-		Instant toInstant;
-		String temp = inputFromResultSet.replaceAll(" ", "T") + "Z";
-		ZonedDateTime parse;
-		try {
-			parse = ZonedDateTime.parse(temp, DateTimeFormatter.ISO_DATE_TIME);
-		} catch (Exception except) {
-			return TemporalStringParser.toInstant(inputFromResultSet, STANDARD_DATETIME_PARSER_FORMATS);
-		}
-		toInstant = parse.toInstant();
-		return toInstant;
+		return getTemporalStringDecoder().toInstant(inputFromResultSet);
 	}
 
 	/**
@@ -6793,6 +6814,448 @@ public abstract class DBDefinition implements Serializable {
 		return true;
 	}
 
+	/**
+	 * The maximum number of rows DBBulkInsert will put in one INSERT statement.
+	 *
+	 * <p>
+	 * Databases that limit the size of a multi-row VALUES clause, or do not
+	 * support multi-row VALUES clauses, should override this method.
+	 *
+	 * @return the default implementation returns 1000.
+	 */
+	public int getBulkInsertRowsPerStatement() {
+		return 1000;
+	}
+
+	/**
+	 * The approximate maximum size, in bytes, of the INSERT statements generated
+	 * by DBBulkInsert.
+	 *
+	 * <p>
+	 * The size is estimated from the length of the SQL.
+	 *
+	 * @return the default implementation returns 1000000.
+	 */
+	public int getBulkInsertBytesPerStatement() {
+		return 1000000;
+	}
+
+	/**
+	 * The maximum number of bind parameters DBvolution will use in one
+	 * PreparedStatement.
+	 *
+	 * <p>
+	 * DBBulkInsert starts a new statement rather than exceed this limit.
+	 * Databases with a lower limit should override this method.
+	 *
+	 * @return the default implementation returns 2000.
+	 */
+	public int getMaximumBindParametersPerStatement() {
+		return 2000;
+	}
+
+	/**
+	 * The maximum number of rows DBBulkDelete will identify in one DELETE
+	 * statement.
+	 *
+	 * <p>
+	 * Databases that limit the length of IN lists, or the depth of OR
+	 * expressions, should override this method.
+	 *
+	 * @return the default implementation returns 500.
+	 */
+	public int getBulkDeleteRowsPerStatement() {
+		return 500;
+	}
+
+	/**
+	 * Indicates whether the database can return the rows removed by a DELETE
+	 * statement as a ResultSet.
+	 *
+	 * <p>
+	 * DBBulkDelete uses this to capture the deleted rows for reverting without
+	 * querying them first.
+	 *
+	 * @return the default implementation returns FALSE.
+	 * @see #getDeleteReturningDeletedRowsSQL(nz.co.gregs.dbvolution.DBRow,
+	 * java.lang.String)
+	 */
+	public boolean supportsReturningDeletedRows() {
+		return false;
+	}
+
+	/**
+	 * Creates a DELETE statement that also returns all the columns of the rows
+	 * it removes.
+	 *
+	 * <p>
+	 * Each column is returned using the alias provided by
+	 * {@link #formatForColumnAlias(java.lang.String) the column alias} of the
+	 * column name.
+	 *
+	 * @param table the table to delete from
+	 * @param whereCondition the condition identifying the rows to delete
+	 * @return the SQL for the DELETE statement
+	 * @see #supportsReturningDeletedRows()
+	 */
+	public String getDeleteReturningDeletedRowsSQL(DBRow table, String whereCondition) {
+		throw new UnsupportedOperationException("The database does not support returning deleted rows");
+	}
+
+	/**
+	 * Formats the columns of the table for the column list of a SELECT or
+	 * RETURNING clause, using the column name's alias for each column.
+	 *
+	 * @param table the table
+	 * @param columnPrefix the prefix to add to each column name, for instance
+	 * "DELETED."
+	 * @return the columns and aliases separated by commas
+	 */
+	public String formatColumnsWithAliases(DBRow table, String columnPrefix) {
+		StringBuilder columns = new StringBuilder();
+		String separator = "";
+		for (var prop : table.getColumnPropertyWrappers()) {
+			final String columnName = prop.columnName();
+			columns.append(separator)
+					.append(columnPrefix)
+					.append(formatColumnName(columnName))
+					.append(" AS ")
+					.append(formatForColumnAlias(columnName));
+			separator = ", ";
+		}
+		return columns.toString();
+	}
+
+	/**
+	 * The maximum number of rows DBBulkUpdate will update with one statement.
+	 *
+	 * @return the default implementation returns 500.
+	 */
+	public int getBulkUpdateRowsPerStatement() {
+		return 500;
+	}
+
+	/**
+	 * Indicates whether the database can update many rows, each to its own
+	 * values, with a single statement.
+	 *
+	 * <p>
+	 * DBBulkUpdate sends batches of individual UPDATE statements to databases
+	 * that do not support bulk updates.
+	 *
+	 * @return the default implementation returns FALSE.
+	 * @see #getBulkUpdateSQL(java.util.List, java.util.List)
+	 */
+	public boolean supportsBulkUpdates() {
+		return false;
+	}
+
+	/**
+	 * Creates a single statement that sets the columns of each row, identified
+	 * by its primary key, to the row's current values.
+	 *
+	 * <p>
+	 * All the rows belong to the same table, and none of their primary keys have
+	 * been changed.
+	 *
+	 * @param rows the rows to update
+	 * @param columnNames the columns to set
+	 * @return the SQL for the update statement
+	 * @see #supportsBulkUpdates()
+	 */
+	public String getBulkUpdateSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		throw new UnsupportedOperationException("The database does not support bulk updates");
+	}
+
+	/**
+	 * Creates a MERGE statement that updates the rows from a VALUES table of
+	 * their primary keys and new values.
+	 *
+	 * <p>
+	 * Suitable for databases that support MERGE ... USING (VALUES ...).
+	 *
+	 * @param rows the rows to update
+	 * @param columnNames the columns to set
+	 * @return the SQL for the MERGE statement
+	 */
+	protected String getBulkUpdateUsingMergeSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		final List<String> keyColumnNames = getPrimaryKeyColumnNames(rows.get(0));
+		StringBuilder sql = new StringBuilder("MERGE INTO ")
+				.append(formatTableName(rows.get(0)))
+				.append(" AS DBT USING ")
+				.append(formatBulkUpdateValues(rows, keyColumnNames, columnNames))
+				.append(" ON ");
+		String separator = "";
+		for (String keyColumnName : keyColumnNames) {
+			final String column = formatColumnName(keyColumnName);
+			sql.append(separator).append("DBT.").append(column).append(getEqualsComparator()).append("DBV.").append(column);
+			separator = beginAndLine();
+		}
+		sql.append(" WHEN MATCHED THEN UPDATE SET ");
+		separator = "";
+		for (String columnName : columnNames) {
+			final String column = formatColumnName(columnName);
+			sql.append(separator).append(column).append(getEqualsComparator()).append("DBV.").append(column);
+			separator = ", ";
+		}
+		return sql.append(endSQLStatement()).toString();
+	}
+
+	/**
+	 * Formats the primary keys and new values of the rows as a VALUES table
+	 * aliased as DBV, with the same column names as the table being updated.
+	 *
+	 * @param rows the rows to update
+	 * @param keyColumnNames the primary key columns of the table
+	 * @param columnNames the columns to set
+	 * @return the VALUES table for a bulk update
+	 */
+	protected String formatBulkUpdateValues(List<? extends DBRow> rows, List<String> keyColumnNames, List<String> columnNames) {
+		final List<String> allColumnNames = new ArrayList<>(keyColumnNames);
+		allColumnNames.addAll(columnNames);
+		StringBuilder sql = new StringBuilder("(VALUES ")
+				.append(formatValuesRows(rows, allColumnNames))
+				.append(") AS DBV(");
+		String separator = "";
+		for (String columnName : allColumnNames) {
+			sql.append(separator).append(formatColumnName(columnName));
+			separator = ", ";
+		}
+		return sql.append(")").toString();
+	}
+
+	/**
+	 * Formats the values of the columns of each row as a bracketed row of a
+	 * VALUES clause.
+	 *
+	 * @param rows the rows
+	 * @param columnNames the columns to include, in order
+	 * @return the rows of the VALUES clause separated by commas
+	 */
+	protected String formatValuesRows(List<? extends DBRow> rows, List<String> columnNames) {
+		StringBuilder sql = new StringBuilder();
+		String rowSeparator = "";
+		for (DBRow row : rows) {
+			final Map<String, QueryableDatatype<?>> values = new HashMap<>();
+			for (var prop : row.getColumnPropertyWrappers()) {
+				values.put(prop.columnName(), prop.getQueryableDatatype());
+			}
+			sql.append(rowSeparator).append("(");
+			String separator = "";
+			for (String columnName : columnNames) {
+				sql.append(separator).append(values.get(columnName).toSQLString(this));
+				separator = ", ";
+			}
+			sql.append(")");
+			rowSeparator = ", ";
+		}
+		return sql.toString();
+	}
+
+	/**
+	 * Returns the unformatted names of the primary key columns of the row.
+	 *
+	 * @param row the row
+	 * @return the primary key column names
+	 */
+	protected List<String> getPrimaryKeyColumnNames(DBRow row) {
+		final List<String> keyColumnNames = new ArrayList<>();
+		for (var prop : row.getPrimaryKeyPropertyWrappers()) {
+			keyColumnNames.add(prop.columnName());
+		}
+		return keyColumnNames;
+	}
+
+	/**
+	 * The maximum number of rows DBBulkUpsert will insert or update with one
+	 * statement.
+	 *
+	 * @return the default implementation returns 500.
+	 */
+	public int getBulkUpsertRowsPerStatement() {
+		return 500;
+	}
+
+	/**
+	 * Indicates whether the database can insert many rows, updating the rows
+	 * that already exist, with a single statement.
+	 *
+	 * <p>
+	 * DBBulkUpsert inserts, or updates, each row individually on databases that
+	 * do not support bulk upserts.
+	 *
+	 * @return the default implementation returns FALSE.
+	 * @see #getBulkUpsertSQL(java.util.List, java.util.List)
+	 */
+	public boolean supportsBulkUpserts() {
+		return false;
+	}
+
+	/**
+	 * Creates the statements that insert the rows, or update the columns of the
+	 * rows whose primary keys already exist.
+	 *
+	 * <p>
+	 * All the rows belong to the same table and the columns include all the
+	 * primary key columns. Most databases need only one statement.
+	 *
+	 * @param rows the rows to insert or update
+	 * @param columnNames the columns to insert, or set
+	 * @return the SQL statements for the upsert, to be executed in order
+	 * @see #supportsBulkUpserts()
+	 */
+	public List<String> getBulkUpsertSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		throw new UnsupportedOperationException("The database does not support bulk upserts");
+	}
+
+	/**
+	 * Creates an INSERT ... ON CONFLICT statement that upserts the rows.
+	 *
+	 * <p>
+	 * Suitable for databases that support INSERT ... ON CONFLICT (...) DO UPDATE
+	 * with an EXCLUDED pseudo-table.
+	 *
+	 * @param rows the rows to insert or update
+	 * @param columnNames the columns to insert, or set
+	 * @return the SQL for the upsert statement
+	 */
+	protected String getBulkUpsertUsingOnConflictSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		final List<String> keyColumnNames = getPrimaryKeyColumnNames(rows.get(0));
+		StringBuilder sql = new StringBuilder(getBulkUpsertInsertClause(rows, columnNames))
+				.append(" ON CONFLICT (");
+		String separator = "";
+		for (String keyColumnName : keyColumnNames) {
+			sql.append(separator).append(formatColumnName(keyColumnName));
+			separator = ", ";
+		}
+		sql.append(")");
+		separator = " DO UPDATE SET ";
+		for (String columnName : columnNames) {
+			if (!keyColumnNames.contains(columnName)) {
+				final String column = formatColumnName(columnName);
+				sql.append(separator).append(column).append(getEqualsComparator()).append("EXCLUDED.").append(column);
+				separator = ", ";
+			}
+		}
+		if (separator.equals(" DO UPDATE SET ")) {
+			sql.append(" DO NOTHING");
+		}
+		return sql.append(endSQLStatement()).toString();
+	}
+
+	/**
+	 * Creates an INSERT ... ON DUPLICATE KEY UPDATE statement that upserts the
+	 * rows.
+	 *
+	 * <p>
+	 * Suitable for MySQL and MariaDB. Note that the update is triggered by any
+	 * unique key of the table, not only the primary key.
+	 *
+	 * @param rows the rows to insert or update
+	 * @param columnNames the columns to insert, or set
+	 * @return the SQL for the upsert statement
+	 */
+	protected String getBulkUpsertUsingOnDuplicateKeySQL(List<? extends DBRow> rows, List<String> columnNames) {
+		final List<String> keyColumnNames = getPrimaryKeyColumnNames(rows.get(0));
+		StringBuilder sql = new StringBuilder(getBulkUpsertInsertClause(rows, columnNames))
+				.append(" ON DUPLICATE KEY UPDATE ");
+		String separator = "";
+		for (String columnName : columnNames) {
+			if (!keyColumnNames.contains(columnName)) {
+				final String column = formatColumnName(columnName);
+				sql.append(separator).append(column).append(getEqualsComparator()).append("VALUES(").append(column).append(")");
+				separator = ", ";
+			}
+		}
+		if (separator.isEmpty()) {
+			final String column = formatColumnName(keyColumnNames.get(0));
+			sql.append(column).append(getEqualsComparator()).append(column);
+		}
+		return sql.append(endSQLStatement()).toString();
+	}
+
+	/**
+	 * Creates a MERGE statement that updates the rows that already exist and
+	 * inserts the others, from a VALUES table of the rows.
+	 *
+	 * <p>
+	 * Suitable for databases that support MERGE ... USING (VALUES ...) with WHEN
+	 * NOT MATCHED clauses.
+	 *
+	 * @param rows the rows to insert or update
+	 * @param columnNames the columns to insert, or set
+	 * @return the SQL for the MERGE statement
+	 */
+	protected String getBulkUpsertUsingMergeSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		final List<String> keyColumnNames = getPrimaryKeyColumnNames(rows.get(0));
+		StringBuilder sql = new StringBuilder("MERGE INTO ")
+				.append(formatTableName(rows.get(0)))
+				.append(" AS DBT USING ")
+				.append(formatBulkUpdateValues(rows, new ArrayList<>(), columnNames))
+				.append(" ON ");
+		String separator = "";
+		for (String keyColumnName : keyColumnNames) {
+			final String column = formatColumnName(keyColumnName);
+			sql.append(separator).append("DBT.").append(column).append(getEqualsComparator()).append("DBV.").append(column);
+			separator = beginAndLine();
+		}
+		separator = " WHEN MATCHED THEN UPDATE SET ";
+		for (String columnName : columnNames) {
+			if (!keyColumnNames.contains(columnName)) {
+				final String column = formatColumnName(columnName);
+				sql.append(separator).append(column).append(getEqualsComparator()).append("DBV.").append(column);
+				separator = ", ";
+			}
+		}
+		StringBuilder columns = new StringBuilder();
+		StringBuilder values = new StringBuilder();
+		separator = "";
+		for (String columnName : columnNames) {
+			final String column = formatColumnName(columnName);
+			columns.append(separator).append(column);
+			values.append(separator).append("DBV.").append(column);
+			separator = ", ";
+		}
+		return sql.append(" WHEN NOT MATCHED THEN INSERT (").append(columns)
+				.append(") VALUES (").append(values).append(")")
+				.append(endSQLStatement()).toString();
+	}
+
+	/**
+	 * Creates the multi-row INSERT statement, without its terminator, that bulk
+	 * upserts are built from.
+	 *
+	 * @param rows the rows to insert
+	 * @param columnNames the columns to insert
+	 * @return the INSERT clause of a bulk upsert
+	 */
+	protected String getBulkUpsertInsertClause(List<? extends DBRow> rows, List<String> columnNames) {
+		return getBulkUpsertInsertHeader(rows.get(0), columnNames)
+				+ " VALUES "
+				+ formatValuesRows(rows, columnNames);
+	}
+
+	/**
+	 * Creates the start of an INSERT statement, up to and including the column
+	 * list, for bulk upserts.
+	 *
+	 * @param table the table to insert into
+	 * @param columnNames the columns to insert
+	 * @return the INSERT INTO clause and column list
+	 */
+	protected String getBulkUpsertInsertHeader(DBRow table, List<String> columnNames) {
+		StringBuilder sql = new StringBuilder(beginInsertLine())
+				.append(formatTableName(table))
+				.append(" ")
+				.append(beginInsertColumnList());
+		String separator = "";
+		for (String columnName : columnNames) {
+			sql.append(separator).append(formatColumnName(columnName));
+			separator = ", ";
+		}
+		return sql.append(endInsertColumnList()).toString();
+	}
+
 	public boolean supportsWindowingFunctionsInTheHavingClause() {
 		return false;
 	}
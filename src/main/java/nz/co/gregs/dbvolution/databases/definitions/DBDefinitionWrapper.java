@@ -630,6 +630,16 @@ class DBDefinitionWrapper extends DBDefinition {
 		return base.doStringLengthTransform(enclosedValue);
 	}
 
+	@Override
+	public String doStringHashTransform(String enclosedValue) {
+		return base.doStringHashTransform(enclosedValue);
+	}
+
+	@Override
+	public boolean supportsStringHashTransform() {
+		return base.supportsStringHashTransform();
+	}
+
 	@Override
 	public String doTrimFunction(String enclosedValue) {
 		return base.doTrimFunction(enclosedValue);
@@ -2352,6 +2362,66 @@ class DBDefinitionWrapper extends DBDefinition {
 		return base.supportsBulkInserts();
 	}
 
+	@Override
+	public int getBulkInsertRowsPerStatement() {
+		return base.getBulkInsertRowsPerStatement();
+	}
+
+	@Override
+	public int getBulkInsertBytesPerStatement() {
+		return base.getBulkInsertBytesPerStatement();
+	}
+
+	@Override
+	public int getMaximumBindParametersPerStatement() {
+		return base.getMaximumBindParametersPerStatement();
+	}
+
+	@Override
+	public int getBulkDeleteRowsPerStatement() {
+		return base.getBulkDeleteRowsPerStatement();
+	}
+
+	@Override
+	public boolean supportsReturningDeletedRows() {
+		return base.supportsReturningDeletedRows();
+	}
+
+	@Override
+	public String getDeleteReturningDeletedRowsSQL(DBRow table, String whereCondition) {
+		return base.getDeleteReturningDeletedRowsSQL(table, whereCondition);
+	}
+
+	@Override
+	public int getBulkUpdateRowsPerStatement() {
+		return base.getBulkUpdateRowsPerStatement();
+	}
+
+	@Override
+	public boolean supportsBulkUpdates() {
+		return base.supportsBulkUpdates();
+	}
+
+	@Override
+	public String getBulkUpdateSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		return base.getBulkUpdateSQL(rows, columnNames);
+	}
+
+	@Override
+	public int getBulkUpsertRowsPerStatement() {
+		return base.getBulkUpsertRowsPerStatement();
+	}
+
+	@Override
+	public boolean supportsBulkUpserts() {
+		return base.supportsBulkUpserts();
+	}
+
+	@Override
+	public List<String> getBulkUpsertSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		return base.getBulkUpsertSQL(rows, columnNames);
+	}
+
 	@Override
 	public boolean supportsWindowingFunctionsInTheHavingClause() {
 		return base.supportsWindowingFunctionsInTheHavingClause();
@@ -19,6 +19,7 @@ import nz.co.gregs.dbvolution.internal.query.LargeObjectHandlerType;
 import com.vividsolutions.jts.geom.Polygon;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 import java.util.TimeZone;
 import nz.co.gregs.dbvolution.DBRow;
 import nz.co.gregs.dbvolution.databases.H2DB;
@@ -136,6 +137,16 @@ public class H2DBDefinition extends DBDefinition implements SupportsPolygonDatat
 		return " CAST(" + getStringLengthFunctionName() + "( " + enclosedValue + " ) as NUMERIC(" + getNumericPrecision() + "," + getNumericScale() + "))";
 	}
 
+	@Override
+	public String doStringHashTransform(String enclosedValue) {
+		return " ORA_HASH(" + enclosedValue + ") ";
+	}
+
+	@Override
+	public boolean supportsStringHashTransform() {
+		return true;
+	}
+
 	@Override
 	public String doDateAtTimeZoneTransform(String dateSQL, TimeZone timeZone) throws UnsupportedOperationException {
 		throw new UnsupportedOperationException("H2DBDefinition does not support doDateAtTimeZoneTransform(String, TimeZone) yet.");
@@ -759,4 +770,50 @@ public class H2DBDefinition extends DBDefinition implements SupportsPolygonDatat
 		return "ALTER TABLE IF EXISTS " + tableName + " ON COLUMN IF EXISTS " + columnName + " RESTART WITH " + (primaryKeyGenerated + 1);
 		
 	}
+
+	@Override
+	public boolean supportsReturningDeletedRows() {
+		return true;
+	}
+
+	@Override
+	public String getDeleteReturningDeletedRowsSQL(DBRow table, String whereCondition) {
+		return "SELECT " + formatColumnsWithAliases(table, "")
+				+ " FROM OLD TABLE (" + beginDeleteLine() + formatTableName(table) + beginWhereClause() + whereCondition + ")";
+	}
+
+	@Override
+	public boolean supportsBulkUpdates() {
+		return true;
+	}
+
+	@Override
+	public String getBulkUpdateSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		return getBulkUpdateUsingMergeSQL(rows, columnNames);
+	}
+
+	@Override
+	public boolean supportsBulkUpserts() {
+		return true;
+	}
+
+	@Override
+	public List<String> getBulkUpsertSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		final DBRow table = rows.get(0);
+		StringBuilder sql = new StringBuilder("MERGE INTO ")
+				.append(formatTableName(table))
+				.append(" (");
+		String separator = "";
+		for (String columnName : columnNames) {
+			sql.append(separator).append(formatColumnName(columnName));
+			separator = ", ";
+		}
+		sql.append(") KEY (");
+		separator = "";
+		for (String keyColumnName : getPrimaryKeyColumnNames(table)) {
+			sql.append(separator).append(formatColumnName(keyColumnName));
+			separator = ", ";
+		}
+		return List.of(sql.append(") VALUES ").append(formatValuesRows(rows, columnNames)).toString());
+	}
 }
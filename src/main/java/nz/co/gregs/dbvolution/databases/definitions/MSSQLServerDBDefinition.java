@@ -307,6 +307,16 @@ public class MSSQLServerDBDefinition extends DBDefinition {
 		return " CAST(" + getStringLengthFunctionName() + "( " + enclosedValue + " ) as NUMERIC(" + getNumericPrecision() + "," + getNumericScale() + "))";
 	}
 
+	@Override
+	public String doStringHashTransform(String enclosedValue) {
+		return " CAST(BINARY_CHECKSUM(" + enclosedValue + ") AS BIGINT) ";
+	}
+
+	@Override
+	public boolean supportsStringHashTransform() {
+		return true;
+	}
+
 	@Override
 	public String getColumnAutoIncrementSuffix() {
 		return " IDENTITY ";
@@ -1393,4 +1403,35 @@ public class MSSQLServerDBDefinition extends DBDefinition {
 		return DUPLICATE_COLUMN_EXCEPTION.matchesWithinString(exc.getMessage());
 	}
 
+	@Override
+	public boolean supportsReturningDeletedRows() {
+		return true;
+	}
+
+	@Override
+	public String getDeleteReturningDeletedRowsSQL(DBRow table, String whereCondition) {
+		return beginDeleteLine() + formatTableName(table)
+				+ " OUTPUT " + formatColumnsWithAliases(table, "DELETED.")
+				+ beginWhereClause() + whereCondition + endDeleteLine();
+	}
+
+	@Override
+	public boolean supportsBulkUpdates() {
+		return true;
+	}
+
+	@Override
+	public String getBulkUpdateSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		return getBulkUpdateUsingMergeSQL(rows, columnNames);
+	}
+
+	@Override
+	public boolean supportsBulkUpserts() {
+		return true;
+	}
+
+	@Override
+	public List<String> getBulkUpsertSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		return List.of(getBulkUpsertUsingMergeSQL(rows, columnNames));
+	}
 }
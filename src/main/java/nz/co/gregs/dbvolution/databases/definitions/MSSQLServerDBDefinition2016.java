@@ -277,6 +277,16 @@ public class MSSQLServerDBDefinition2016 extends DBDefinition {
 		return " CAST(" + getStringLengthFunctionName() + "( " + enclosedValue + " ) as NUMERIC(" + getNumericPrecision() + "," + getNumericScale() + "))";
 	}
 
+	@Override
+	public String doStringHashTransform(String enclosedValue) {
+		return " CAST(BINARY_CHECKSUM(" + enclosedValue + ") AS BIGINT) ";
+	}
+
+	@Override
+	public boolean supportsStringHashTransform() {
+		return true;
+	}
+
 	@Override
 	public boolean supportsPagingNatively(QueryOptions options) {
 		return false;
@@ -1201,4 +1211,36 @@ public class MSSQLServerDBDefinition2016 extends DBDefinition {
 	public boolean requiresReversingLineStringsFromDatabase() {
 		return false;
 	}
+
+	@Override
+	public boolean supportsReturningDeletedRows() {
+		return true;
+	}
+
+	@Override
+	public String getDeleteReturningDeletedRowsSQL(DBRow table, String whereCondition) {
+		return beginDeleteLine() + formatTableName(table)
+				+ " OUTPUT " + formatColumnsWithAliases(table, "DELETED.")
+				+ beginWhereClause() + whereCondition + endDeleteLine();
+	}
+
+	@Override
+	public boolean supportsBulkUpdates() {
+		return true;
+	}
+
+	@Override
+	public String getBulkUpdateSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		return getBulkUpdateUsingMergeSQL(rows, columnNames);
+	}
+
+	@Override
+	public boolean supportsBulkUpserts() {
+		return true;
+	}
+
+	@Override
+	public List<String> getBulkUpsertSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		return List.of(getBulkUpsertUsingMergeSQL(rows, columnNames));
+	}
 }
@@ -18,6 +18,8 @@ package nz.co.gregs.dbvolution.databases.definitions;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
+import nz.co.gregs.dbvolution.DBRow;
 import nz.co.gregs.dbvolution.databases.MariaClusterDB;
 import nz.co.gregs.dbvolution.databases.MariaDB;
 import nz.co.gregs.dbvolution.datatypes.DBLargeBinary;
@@ -144,4 +146,23 @@ public class MariaDBDefinition extends DBDefinition {
 		return false;
 	}
 
+	@Override
+	public boolean supportsBulkUpserts() {
+		return true;
+	}
+
+	@Override
+	public List<String> getBulkUpsertSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		return List.of(getBulkUpsertUsingOnDuplicateKeySQL(rows, columnNames));
+	}
+
+	@Override
+	public String doStringHashTransform(String enclosedValue) {
+		return " CRC32(" + enclosedValue + ") ";
+	}
+
+	@Override
+	public boolean supportsStringHashTransform() {
+		return true;
+	}
 }
@@ -823,4 +823,24 @@ public class MySQLDBDefinition extends DBDefinition {
 	public String wrapNameForDatabase(String objectName) {
 		return "`"+objectName+"`";
 	}
+
+	@Override
+	public boolean supportsBulkUpserts() {
+		return true;
+	}
+
+	@Override
+	public List<String> getBulkUpsertSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		return List.of(getBulkUpsertUsingOnDuplicateKeySQL(rows, columnNames));
+	}
+
+	@Override
+	public String doStringHashTransform(String enclosedValue) {
+		return " CRC32(" + enclosedValue + ") ";
+	}
+
+	@Override
+	public boolean supportsStringHashTransform() {
+		return true;
+	}
 }
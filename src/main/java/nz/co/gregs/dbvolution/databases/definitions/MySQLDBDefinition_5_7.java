@@ -26,6 +26,7 @@ import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.List;
 import java.util.TimeZone;
+import nz.co.gregs.dbvolution.DBRow;
 import nz.co.gregs.dbvolution.databases.MySQLDB;
 import nz.co.gregs.dbvolution.datatypes.*;
 import nz.co.gregs.dbvolution.datatypes.spatial2D.DBLine2D;
@@ -720,4 +721,24 @@ public class MySQLDBDefinition_5_7 extends DBDefinition {
 	public String doStringAccumulateTransform(String accumulateColumn, String separator, String orderByColumnName, String referencedTable) {
 		return "GROUP_CONCAT("+accumulateColumn+" ORDER BY "+orderByColumnName+" SEPARATOR "+doStringLiteralWrapping(separator)+")";
 	}
+
+	@Override
+	public boolean supportsBulkUpserts() {
+		return true;
+	}
+
+	@Override
+	public List<String> getBulkUpsertSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		return List.of(getBulkUpsertUsingOnDuplicateKeySQL(rows, columnNames));
+	}
+
+	@Override
+	public String doStringHashTransform(String enclosedValue) {
+		return " CRC32(" + enclosedValue + ") ";
+	}
+
+	@Override
+	public boolean supportsStringHashTransform() {
+		return true;
+	}
 }
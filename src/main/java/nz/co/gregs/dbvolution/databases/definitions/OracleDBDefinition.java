@@ -180,6 +180,12 @@ public class OracleDBDefinition extends DBDefinition {
 		return "";
 	}
 
+	@Override
+	public int getBulkInsertRowsPerStatement() {
+		// Oracle does not support multi-row VALUES clauses
+		return 1;
+	}
+
 	@Override
 	public String endDeleteLine() {
 		return "";
@@ -927,4 +933,13 @@ public class OracleDBDefinition extends DBDefinition {
 		return result;
 	}
 
+	@Override
+	public String doStringHashTransform(String enclosedValue) {
+		return " ORA_HASH(" + enclosedValue + ") ";
+	}
+
+	@Override
+	public boolean supportsStringHashTransform() {
+		return true;
+	}
 }
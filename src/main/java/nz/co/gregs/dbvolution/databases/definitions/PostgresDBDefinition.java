@@ -1141,4 +1141,80 @@ public class PostgresDBDefinition extends DBDefinition {
 	public String getAlterTableAddColumnSQL(DBRow existingTable, PropertyWrapper<?, ?, ?> columnPropertyWrapper) {
 		return "ALTER TABLE IF EXISTS " + formatTableName(existingTable) + " ADD COLUMN IF NOT EXISTS " + getAddColumnColumnSQL(columnPropertyWrapper) + endSQLStatement();
 	}
+
+	@Override
+	public boolean supportsReturningDeletedRows() {
+		return true;
+	}
+
+	@Override
+	public String getDeleteReturningDeletedRowsSQL(DBRow table, String whereCondition) {
+		return beginDeleteLine() + formatTableName(table) + beginWhereClause() + whereCondition
+				+ " RETURNING " + formatColumnsWithAliases(table, "") + endDeleteLine();
+	}
+
+	@Override
+	public boolean supportsBulkUpdates() {
+		return true;
+	}
+
+	/**
+	 * Creates an UPDATE ... FROM (VALUES ...) statement for the rows.
+	 *
+	 * <p>
+	 * PostgreSQL types the VALUES table from the literals, so each value is cast
+	 * back to the type of its column.
+	 *
+	 * @param rows the rows to update
+	 * @param columnNames the columns to set
+	 * @return the SQL for the update statement
+	 */
+	@Override
+	public String getBulkUpdateSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		final DBRow table = rows.get(0);
+		final Map<String, String> columnTypes = new HashMap<>();
+		for (var prop : table.getColumnPropertyWrappers()) {
+			columnTypes.put(prop.columnName(), getDatabaseDataTypeOfQueryableDatatype(prop.getQueryableDatatype()).trim());
+		}
+		final List<String> keyColumnNames = getPrimaryKeyColumnNames(table);
+		StringBuilder sql = new StringBuilder(beginUpdateLine())
+				.append(formatTableName(table))
+				.append(" AS DBT SET ");
+		String separator = "";
+		for (String columnName : columnNames) {
+			final String column = formatColumnName(columnName);
+			sql.append(separator).append(column).append(getEqualsComparator())
+					.append("CAST(DBV.").append(column).append(" AS ").append(columnTypes.get(columnName)).append(")");
+			separator = ", ";
+		}
+		sql.append(" FROM ").append(formatBulkUpdateValues(rows, keyColumnNames, columnNames)).append(beginWhereClause());
+		separator = "";
+		for (String keyColumnName : keyColumnNames) {
+			final String column = formatColumnName(keyColumnName);
+			sql.append(separator).append("DBT.").append(column).append(getEqualsComparator())
+					.append("CAST(DBV.").append(column).append(" AS ").append(columnTypes.get(keyColumnName)).append(")");
+			separator = beginAndLine();
+		}
+		return sql.append(endSQLStatement()).toString();
+	}
+
+	@Override
+	public boolean supportsBulkUpserts() {
+		return true;
+	}
+
+	@Override
+	public List<String> getBulkUpsertSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		return List.of(getBulkUpsertUsingOnConflictSQL(rows, columnNames));
+	}
+
+	@Override
+	public String doStringHashTransform(String enclosedValue) {
+		return " ('x' || SUBSTR(MD5(" + enclosedValue + "), 1, 8))::BIT(32)::INT ";
+	}
+
+	@Override
+	public boolean supportsStringHashTransform() {
+		return true;
+	}
 }
@@ -20,6 +20,7 @@ import com.vividsolutions.jts.geom.*;
 import com.vividsolutions.jts.io.WKTReader;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -1114,4 +1115,71 @@ public class SQLiteDefinition extends DBDefinition implements SupportsPolygonDat
 		}
 	}
 
+	@Override
+	public boolean supportsBulkUpserts() {
+		return true;
+	}
+
+	/**
+	 * SQLite versions before 3.32 allow at most 999 bind parameters.
+	 *
+	 * @return 999
+	 */
+	@Override
+	public int getMaximumBindParametersPerStatement() {
+		return 999;
+	}
+
+	/**
+	 * Creates an UPDATE ... FROM and an INSERT ... WHERE NOT EXISTS statement for
+	 * the rows.
+	 *
+	 * <p>
+	 * Tables created by DBvolution on SQLite have no PRIMARY KEY constraint, so
+	 * neither ON CONFLICT nor INSERT OR REPLACE can find the existing rows. The
+	 * existing rows are updated first and the remaining rows inserted.
+	 *
+	 * @param rows the rows to insert or update
+	 * @param columnNames the columns to insert, or set
+	 * @return the SQL for the update and the insert
+	 */
+	@Override
+	public List<String> getBulkUpsertSQL(List<? extends DBRow> rows, List<String> columnNames) {
+		final DBRow table = rows.get(0);
+		final String tableName = formatTableName(table);
+		final List<String> keyColumnNames = getPrimaryKeyColumnNames(table);
+		StringBuilder values = new StringBuilder("WITH DBV(");
+		StringBuilder columns = new StringBuilder();
+		String separator = "";
+		for (String columnName : columnNames) {
+			values.append(separator).append(formatColumnName(columnName));
+			columns.append(separator).append("DBV.").append(formatColumnName(columnName));
+			separator = ", ";
+		}
+		values.append(") AS (VALUES ").append(formatValuesRows(rows, columnNames)).append(") ");
+		StringBuilder matchesKeys = new StringBuilder();
+		separator = "";
+		for (String keyColumnName : keyColumnNames) {
+			final String column = formatColumnName(keyColumnName);
+			matchesKeys.append(separator).append(tableName).append(".").append(column).append(getEqualsComparator()).append("DBV.").append(column);
+			separator = beginAndLine();
+		}
+		final List<String> statements = new ArrayList<>();
+		StringBuilder update = new StringBuilder(values).append(beginUpdateLine()).append(tableName);
+		separator = beginSetClause();
+		for (String columnName : columnNames) {
+			if (!keyColumnNames.contains(columnName)) {
+				final String column = formatColumnName(columnName);
+				update.append(separator).append(column).append(getEqualsComparator()).append("DBV.").append(column);
+				separator = ", ";
+			}
+		}
+		if (!separator.equals(beginSetClause())) {
+			statements.add(update.append(" FROM DBV").append(beginWhereClause()).append(matchesKeys).append(endSQLStatement()).toString());
+		}
+		statements.add(values + getBulkUpsertInsertHeader(table, columnNames)
+				+ " SELECT " + columns + " FROM DBV WHERE NOT EXISTS (SELECT 1 FROM " + tableName + beginWhereClause() + matchesKeys + ")"
+				+ endSQLStatement());
+		return statements;
+	}
 }
@@ -45,7 +45,7 @@ import nz.co.gregs.separatedstring.Encoder;
  * @param <SELF> the class of the object returned by most methods, this should be the Class of "this"
  * @param <DATABASE> the class returned by {@link SettingsBuilder#getDBDatabase}
  */
-public abstract class AbstractSettingsBuilder<SELF extends AbstractSettingsBuilder<SELF, DATABASE>, DATABASE extends DBDatabase> implements SettingsBuilder<SELF, DATABASE>, Serializable {
+public abstract class AbstractSettingsBuilder<SELF extends AbstractSettingsBuilder<SELF, DATABASE>, DATABASE extends DBDatabase> implements SettingsBuilder<SELF, DATABASE>, ConnectionPoolCapableSettingsBuilder<SELF, DATABASE>, Serializable {
 
 	private static final long serialVersionUID = 1L;
 
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.databases.settingsbuilders;
+
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+
+/**
+ * Configures the connection pool used by the database.
+ *
+ * @author gregorygraham
+ * @param <SELF> the class of the object returned by most methods, this should be the Class of "this"
+ * @param <DATABASE> the class returned by {@link #getDBDatabase}
+ * @see nz.co.gregs.dbvolution.databases.connections.DBConnectionPool
+ */
+public interface ConnectionPoolCapableSettingsBuilder<SELF extends ConnectionPoolCapableSettingsBuilder<SELF, DATABASE>, DATABASE extends DBDatabase> extends SettingsBuilder<SELF, DATABASE> {
+
+	public default int getPoolMinimumSize() {
+		return getStoredSettings().getPoolMinimumSize();
+	}
+
+	@SuppressWarnings("unchecked")
+	public default SELF setPoolMinimumSize(int minimumSize) {
+		getStoredSettings().setPoolMinimumSize(minimumSize);
+		return (SELF) this;
+	}
+
+	public default int getPoolMaximumSize() {
+		return getStoredSettings().getPoolMaximumSize();
+	}
+
+	@SuppressWarnings("unchecked")
+	public default SELF setPoolMaximumSize(int maximumSize) {
+		getStoredSettings().setPoolMaximumSize(maximumSize);
+		return (SELF) this;
+	}
+
+	public default long getPoolAcquisitionTimeout() {
+		return getStoredSettings().getPoolAcquisitionTimeout();
+	}
+
+	@SuppressWarnings("unchecked")
+	public default SELF setPoolAcquisitionTimeout(long milliseconds) {
+		getStoredSettings().setPoolAcquisitionTimeout(milliseconds);
+		return (SELF) this;
+	}
+
+	public default long getPoolIdleTimeout() {
+		return getStoredSettings().getPoolIdleTimeout();
+	}
+
+	@SuppressWarnings("unchecked")
+	public default SELF setPoolIdleTimeout(long milliseconds) {
+		getStoredSettings().setPoolIdleTimeout(milliseconds);
+		return (SELF) this;
+	}
+
+	public default boolean getPoolValidateOnBorrow() {
+		return getStoredSettings().getPoolValidateOnBorrow();
+	}
+
+	@SuppressWarnings("unchecked")
+	public default SELF setPoolValidateOnBorrow(boolean validate) {
+		getStoredSettings().setPoolValidateOnBorrow(validate);
+		return (SELF) this;
+	}
+
+	public default long getPoolLeakDetectionThreshold() {
+		return getStoredSettings().getPoolLeakDetectionThreshold();
+	}
+
+	@SuppressWarnings("unchecked")
+	public default SELF setPoolLeakDetectionThreshold(long milliseconds) {
+		getStoredSettings().setPoolLeakDetectionThreshold(milliseconds);
+		return (SELF) this;
+	}
+
+}
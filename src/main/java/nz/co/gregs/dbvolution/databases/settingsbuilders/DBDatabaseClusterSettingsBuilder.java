@@ -52,6 +52,8 @@ public class DBDatabaseClusterSettingsBuilder extends AbstractSettingsBuilder<DB
 	private boolean useAutoReconnect = false;
 	private boolean useAutoStart = false;
 	private boolean useAutoConnect = false;
+	private DBDatabaseCluster.WriteConsistency writeConsistency = DBDatabaseCluster.WriteConsistency.ALL;
+	private int maximumReplicationLag = DBDatabaseCluster.Configuration.DEFAULT_MAXIMUM_REPLICATION_LAG;
 	private DBDefinition defn;
 
 	@Override
@@ -119,6 +121,8 @@ public class DBDatabaseClusterSettingsBuilder extends AbstractSettingsBuilder<DB
 		this.useAutoConnect = config.isUseAutoConnect();
 		this.useAutoReconnect = config.isUseAutoReconnect();
 		this.useAutoStart = config.isUseAutoStart();
+		this.writeConsistency = config.getWriteConsistency();
+		this.maximumReplicationLag = config.getMaximumReplicationLag();
 		return this;
 	}
 
@@ -142,6 +146,24 @@ public class DBDatabaseClusterSettingsBuilder extends AbstractSettingsBuilder<DB
 		return this;
 	}
 
+	public DBDatabaseClusterSettingsBuilder setWriteConsistency(DBDatabaseCluster.WriteConsistency writeConsistency) {
+		this.writeConsistency = writeConsistency;
+		return this;
+	}
+
+	public DBDatabaseClusterSettingsBuilder setMaximumReplicationLag(int maximumReplicationLag) {
+		this.maximumReplicationLag = maximumReplicationLag;
+		return this;
+	}
+
+	public DBDatabaseCluster.WriteConsistency getWriteConsistency() {
+		return this.writeConsistency;
+	}
+
+	public int getMaximumReplicationLag() {
+		return this.maximumReplicationLag;
+	}
+
 	public boolean getAutoRebuild() {
 		return this.useAutoRebuild;
 	}
@@ -151,7 +173,7 @@ public class DBDatabaseClusterSettingsBuilder extends AbstractSettingsBuilder<DB
 	}
 
 	public DBDatabaseCluster.Configuration getConfiguration() {
-		return new DBDatabaseCluster.Configuration(this.useAutoRebuild, useAutoReconnect, useAutoStart, useAutoConnect);
+		return new DBDatabaseCluster.Configuration(this.useAutoRebuild, useAutoReconnect, useAutoStart, useAutoConnect, writeConsistency, maximumReplicationLag);
 	}
 
 	@Override
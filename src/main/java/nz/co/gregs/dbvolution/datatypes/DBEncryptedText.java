@@ -30,6 +30,10 @@
  */
 package nz.co.gregs.dbvolution.datatypes;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import nz.co.gregs.dbvolution.exceptions.CannotEncryptInputException;
 import nz.co.gregs.dbvolution.exceptions.UnableToDecryptInput;
 import nz.co.gregs.dbvolution.results.EncryptedTextResult;
@@ -80,6 +84,38 @@ public class DBEncryptedText extends DBLargeText implements EncryptedTextResult
 		return getEncryptedValue().decrypt(passPhrase);
 	}
 
+	/**
+	 * Uses the provided passphrase to decrypt many values and returns the
+	 * plaintext results.
+	 *
+	 * <p>
+	 * Use this when decrypting the values of a query's rows: the key is derived
+	 * once for each distinct salt rather than once for each value. NULL values
+	 * produce NULL results.</p>
+	 *
+	 * <p>
+	 * The passphrase is never stored during any DBvolution processing.</p>
+	 *
+	 * @param passPhrase the pass phrase to use to decrypt the cipher text
+	 * @param values the encrypted values
+	 * @return the unencrypted values in the same order as the encrypted values
+	 * @throws UnableToDecryptInput if any value cannot be deciphered
+	 */
+	public static List<String> getDecryptedValues(String passPhrase, Collection<? extends DBEncryptedText> values) throws UnableToDecryptInput {
+		final List<Encrypted> encrypted = new ArrayList<>(values.size());
+		for (DBEncryptedText value : values) {
+			if (!value.isNull()) {
+				encrypted.add(value.getEncryptedValue());
+			}
+		}
+		final Iterator<String> decrypted = Encrypted.decrypt(passPhrase, encrypted).iterator();
+		final List<String> results = new ArrayList<>(values.size());
+		for (DBEncryptedText value : values) {
+			results.add(value.isNull() ? null : decrypted.next());
+		}
+		return results;
+	}
+
 	/**
 	 * Uses the provided passphrase to encrypt the value and set the ciphertext
 	 * that will be stored.
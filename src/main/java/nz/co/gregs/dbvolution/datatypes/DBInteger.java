@@ -742,6 +742,11 @@ public class DBInteger extends QueryableDatatype<Long> implements IntegerResult
 		return resultSet.getLong(fullColumnName);
 	}
 
+	@Override
+	protected Long getFromResultSet(DBDefinition database, ResultSet resultSet, int columnIndex, String columnLabel) throws SQLException {
+		return resultSet.getLong(columnIndex);
+	}
+
 	@Override
 	public DBInteger copy() {
 		return (DBInteger) super.copy();
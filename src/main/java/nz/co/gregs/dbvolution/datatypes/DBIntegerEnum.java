@@ -739,6 +739,11 @@ public class DBIntegerEnum<E extends Enum<E> & DBEnumValue<Long>> extends DBEnum
 		return resultSet.getLong(fullColumnName);
 	}
 
+	@Override
+	protected Long getFromResultSet(DBDefinition database, ResultSet resultSet, int columnIndex, String columnLabel) throws SQLException {
+		return resultSet.getLong(columnIndex);
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public DBIntegerEnum<E> copy() {
@@ -16,6 +16,7 @@
 package nz.co.gregs.dbvolution.datatypes;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import java.sql.*;
 import java.util.*;
@@ -28,7 +29,6 @@ import nz.co.gregs.dbvolution.exceptions.DBRuntimeException;
 import nz.co.gregs.dbvolution.exceptions.IncorrectRowProviderInstanceSuppliedException;
 import nz.co.gregs.dbvolution.query.RowDefinition;
 import nz.co.gregs.dbvolution.utility.comparators.ByteArrayComparator;
-import org.apache.commons.codec.binary.Base64;
 
 /**
  *
@@ -116,8 +116,9 @@ public class DBLargeBinary extends DBLargeObject<byte[]> implements LargeBinaryR
 	 * Sets the value of this DBLargeBinary to the InputStream supplied.
 	 *
 	 * <p>
-	 * The input stream will not be read until the containing DBRow is
-	 * saved/inserted.
+	 * The input stream is read and closed immediately. Streams larger than the
+	 * {@link #getSpillThreshold() spill threshold} are copied to a temporary
+	 * file and streamed from there when the containing DBRow is saved/inserted.
 	 *
 	 * @param inputViaStream	inputViaStream
 	 */
@@ -176,48 +177,22 @@ public class DBLargeBinary extends DBLargeObject<byte[]> implements LargeBinaryR
 		if (blob == null) {
 			this.setToNull();
 		} else {
-			InputStream inputStream = blob.getBinaryStream();
-			bytes = getBytesFromInputStream(inputStream);
-			try {
-				inputStream.close();
-			} catch (IOException ex) {
-				Logger.getLogger(DBLargeBinary.class.getName()).log(Level.SEVERE, null, ex);
-			}
+			bytes = getBytesFromInputStream(blob.getBinaryStream(), blob.length());
 		}
 		return bytes;
 	}
 
 	private byte[] getBytesFromInputStream(InputStream inputStream) {
-		InputStream input = new BufferedInputStream(inputStream);
-		List<byte[]> byteArrays = new ArrayList<>();
-		try {
-			byte[] resultSetBytes;
-			final int byteArrayDefaultSize = 100000;
-			resultSetBytes = new byte[byteArrayDefaultSize];
-			int bytesRead = input.read(resultSetBytes);
-			while (bytesRead > 0) {
-				if (bytesRead == byteArrayDefaultSize) {
-					byteArrays.add(resultSetBytes);
-				} else {
-					byte[] shortBytes = new byte[bytesRead];
-					System.arraycopy(resultSetBytes, 0, shortBytes, 0, bytesRead);
-					byteArrays.add(shortBytes);
-				}
-				resultSetBytes = new byte[byteArrayDefaultSize];
-				bytesRead = input.read(resultSetBytes);
-			}
+		return getBytesFromInputStream(inputStream, -1);
+	}
+
+	private byte[] getBytesFromInputStream(InputStream inputStream, long knownLength) {
+		try (InputStream input = inputStream) {
+			return readSpillableValue(input, knownLength);
 		} catch (IOException ex) {
 			Logger.getLogger(DBLargeBinary.class.getName()).log(Level.SEVERE, null, ex);
 			throw new DBRuntimeException("Failed to read input", ex);
-		} finally {
-			try {
-				input.close();
-			} catch (IOException ex) {
-				Logger.getLogger(DBLargeBinary.class.getName()).log(Level.SEVERE, null, ex);
-				throw new DBRuntimeException("Failed to close input", ex);
-			}
 		}
-		return concatAllByteArrays(byteArrays);
 	}
 
 	public static byte[] concatAllByteArrays(List<byte[]> bytes) {
@@ -258,38 +233,12 @@ public class DBLargeBinary extends DBLargeObject<byte[]> implements LargeBinaryR
 			if (resultSet.wasNull()) {
 				this.setToNull();
 			} else {
-				BufferedReader input = new BufferedReader(inputReader);
-				List<byte[]> byteArrays = new ArrayList<>();
-
-				try {
-					char[] resultSetBytes;
-					final int byteArrayDefaultSize = 100000;
-					resultSetBytes = new char[byteArrayDefaultSize];
-					int bytesRead = input.read(resultSetBytes);
-					while (bytesRead > 0) {
-						if (bytesRead == byteArrayDefaultSize) {
-							byteArrays.add(String.valueOf(resultSetBytes).getBytes(UTF_8));
-						} else {
-							char[] shortBytes = new char[bytesRead];
-							System.arraycopy(resultSetBytes, 0, shortBytes, 0, bytesRead);
-							byteArrays.add(String.valueOf(shortBytes).getBytes(UTF_8));
-						}
-						resultSetBytes = new char[byteArrayDefaultSize];
-						bytesRead = input.read(resultSetBytes);
-					}
+				try (Reader input = inputReader) {
+					decodeBuffer = readSpillableBase64Value(input);
 				} catch (IOException ex) {
 					Logger.getLogger(DBLargeBinary.class.getName()).log(Level.SEVERE, null, ex);
 					throw new DBRuntimeException("Failed to read input", ex);
-				} finally {
-					try {
-						input.close();
-					} catch (IOException ex) {
-						Logger.getLogger(DBLargeBinary.class.getName()).log(Level.SEVERE, null, ex);
-						throw new DBRuntimeException("Failed to close input", ex);
-					}
 				}
-				byte[] bytes = concatAllByteArrays(byteArrays);
-				decodeBuffer = Base64.decodeBase64(bytes);
 			}
 		}
 		return decodeBuffer;
@@ -301,45 +250,11 @@ public class DBLargeBinary extends DBLargeObject<byte[]> implements LargeBinaryR
 		if (resultSet.wasNull() || clob == null) {
 			this.setToNull();
 		} else {
-			final Reader characterStream = clob.getCharacterStream();
-			try {
-				BufferedReader input = new BufferedReader(characterStream);
-				List<byte[]> byteArrays = new ArrayList<>();
-
-				try {
-					char[] resultSetBytes;
-					final int byteArrayDefaultSize = 100000;
-					resultSetBytes = new char[byteArrayDefaultSize];
-					int bytesRead = input.read(resultSetBytes);
-					while (bytesRead > 0) {
-						if (bytesRead == byteArrayDefaultSize) {
-							byteArrays.add(String.valueOf(resultSetBytes).getBytes(UTF_8));
-						} else {
-							char[] shortBytes = new char[bytesRead];
-							System.arraycopy(resultSetBytes, 0, shortBytes, 0, bytesRead);
-							byteArrays.add(String.valueOf(shortBytes).getBytes(UTF_8));
-						}
-						resultSetBytes = new char[byteArrayDefaultSize];
-						bytesRead = input.read(resultSetBytes);
-					}
-				} catch (IOException ex) {
-					Logger.getLogger(DBLargeBinary.class.getName()).log(Level.SEVERE, null, ex);
-					throw new DBRuntimeException("Failed to read input", ex);
-				} finally {
-					try {
-						input.close();
-					} catch (IOException ex) {
-						Logger.getLogger(DBLargeBinary.class.getName()).log(Level.SEVERE, null, ex);
-					}
-				}
-				bytes = concatAllByteArrays(byteArrays);
-			} finally {
-				try {
-					characterStream.close();
-				} catch (IOException ex) {
-					Logger.getLogger(DBLargeBinary.class.getName()).log(Level.SEVERE, null, ex);
-					throw new DBRuntimeException("Failed to close input", ex);
-				}
+			try (Reader input = clob.getCharacterStream()) {
+				bytes = readSpillableValue(input);
+			} catch (IOException ex) {
+				Logger.getLogger(DBLargeBinary.class.getName()).log(Level.SEVERE, null, ex);
+				throw new DBRuntimeException("Failed to read input", ex);
 			}
 		}
 		return bytes;
@@ -400,29 +315,9 @@ public class DBLargeBinary extends DBLargeObject<byte[]> implements LargeBinaryR
 	 *
 	 */
 	private void setFromFileSystem(File originalFile) throws FileNotFoundException, IOException {
-		byte[] bytes = new byte[(int) originalFile.length()];
-		InputStream input = null;
-		try {
-			int totalBytesRead = 0;
-			input = new BufferedInputStream(new FileInputStream(originalFile));
-			while (totalBytesRead < bytes.length) {
-				int bytesRemaining = bytes.length - totalBytesRead;
-				int bytesRead = input.read(bytes, totalBytesRead, bytesRemaining);
-				if (bytesRead > 0) {
-					totalBytesRead += bytesRead;
-				}
-			}
-			/*
-			 the above style is a bit tricky: it places bytes into the 'result' array;
-			 'result' is an output parameter;
-			 the while loop usually has a single iteration only.
-			 */
-		} finally {
-			if (input != null) {
-				input.close();
-			}
+		try (InputStream input = new FileInputStream(originalFile)) {
+			setValue(readSpillableValue(input, originalFile.length()));
 		}
-		setValue(bytes);
 	}
 
 	/**
@@ -480,9 +375,13 @@ public class DBLargeBinary extends DBLargeObject<byte[]> implements LargeBinaryR
 				}
 			}
 			if (originalFile.exists()) {
-				try (BufferedOutputStream output = new BufferedOutputStream(new FileOutputStream(originalFile))) {
-					output.write(getBytes());
-					output.flush();
+				if (isSpilledToFile()) {
+					getSpilledValue().copyTo(originalFile.toPath());
+				} else {
+					try (BufferedOutputStream output = new BufferedOutputStream(new FileOutputStream(originalFile))) {
+						output.write(getBytes());
+						output.flush();
+					}
 				}
 			} else {
 				throw new FileNotFoundException("Unable Create File: the file \"" + originalFile.getAbsolutePath() + " could not be found or created.");
@@ -496,6 +395,10 @@ public class DBLargeBinary extends DBLargeObject<byte[]> implements LargeBinaryR
 	 * <p>
 	 * Remember to close the InputStream.
 	 *
+	 * <p>
+	 * Values that have been {@link #isSpilledToFile() spilled to a temporary file}
+	 * are streamed from the file without being read onto the heap.
+	 *
 	 * <p style="color: #F90;">Support DBvolution at
 	 * <a href="http://patreon.com/dbvolution" target=new>Patreon</a></p>
 	 *
@@ -503,9 +406,36 @@ public class DBLargeBinary extends DBLargeObject<byte[]> implements LargeBinaryR
 	 */
 	@Override
 	public InputStream getInputStream() {
+		if (isSpilledToFile()) {
+			try {
+				return getSpilledValue().getInputStream();
+			} catch (IOException ex) {
+				throw new DBRuntimeException("Failed to open large object file", ex);
+			}
+		}
 		return new BufferedInputStream(new ByteArrayInputStream(getBytes()));
 	}
 
+	/**
+	 * Returns a read-only view of the value of this DBLargeBinary.
+	 *
+	 * <p>
+	 * Values that have been {@link #isSpilledToFile() spilled to a temporary file}
+	 * are memory-mapped rather than read onto the heap.
+	 *
+	 * <p style="color: #F90;">Support DBvolution at
+	 * <a href="http://patreon.com/dbvolution" target=new>Patreon</a></p>
+	 *
+	 * @return a read-only ByteBuffer containing the value
+	 * @throws IOException if the temporary file cannot be mapped
+	 */
+	public ByteBuffer getByteBuffer() throws IOException {
+		if (isSpilledToFile()) {
+			return getSpilledValue().map();
+		}
+		return ByteBuffer.wrap(getBytes()).asReadOnlyBuffer();
+	}
+
 	/**
 	 * Returns the byte[] used internally to store the value of this
 	 * DBLargeBinary.
@@ -513,9 +443,21 @@ public class DBLargeBinary extends DBLargeObject<byte[]> implements LargeBinaryR
 	 * <p style="color: #F90;">Support DBvolution at
 	 * <a href="http://patreon.com/dbvolution" target=new>Patreon</a></p>
 	 *
+	 * <p>
+	 * Values that have been {@link #isSpilledToFile() spilled to a temporary file}
+	 * are read onto the heap by this method, prefer {@link #getInputStream() }
+	 * or {@link #getByteBuffer() } for them.
+	 *
 	 * @return the byte[] value of this DBLargeBinary.
 	 */
 	public byte[] getBytes() {
+		if (isSpilledToFile()) {
+			try {
+				return getSpilledValue().readAllBytes();
+			} catch (IOException ex) {
+				throw new DBRuntimeException("Failed to read large object file", ex);
+			}
+		}
 		final byte[] litVal = this.getLiteralValue();
 		if (litVal != null) {
 			return litVal;
@@ -535,6 +477,9 @@ public class DBLargeBinary extends DBLargeObject<byte[]> implements LargeBinaryR
 
 	@Override
 	public int getSize() {
+		if (isSpilledToFile()) {
+			return (int) Math.min(getSpilledValue().length(), Integer.MAX_VALUE);
+		}
 		final byte[] bytes = getBytes();
 		if (bytes != null) {
 			return bytes.length;
@@ -15,9 +15,16 @@
  */
 package nz.co.gregs.dbvolution.datatypes;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import java.text.DecimalFormat;
+import nz.co.gregs.dbvolution.operators.DBOperator;
 import nz.co.gregs.dbvolution.results.LargeObjectResult;
+import org.apache.commons.codec.binary.Base64OutputStream;
 
 /**
  * Encapsulates database values that are large, vague objects.
@@ -41,6 +48,18 @@ public abstract class DBLargeObject<T> extends QueryableDatatype<T> implements L
 
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * The size, in bytes, above which retrieved values are kept in a temporary
+	 * file rather than on the heap.
+	 */
+	public static final long DEFAULT_SPILL_THRESHOLD = 16L * 1024 * 1024;
+
+	private long spillThreshold = DEFAULT_SPILL_THRESHOLD;
+	private SpilledLargeObject spilledValue = null;
+	private Object spillPlaceholder = null;
+	private SpilledLargeObject pendingSpilledValue = null;
+	private Object pendingSpillPlaceholder = null;
+
 	/**
 	 * The default constructor for DBLargeObject.
 	 *
@@ -106,15 +125,207 @@ public abstract class DBLargeObject<T> extends QueryableDatatype<T> implements L
 				+ " " + units[digitGroups];
 	}
 
+	/**
+	 * Sets the size, in bytes, above which values read by this QDT are kept in
+	 * a temporary file rather than on the heap.
+	 *
+	 * <p>
+	 * Only {@link DBLargeBinary} and {@link DBLargeText} move their values to
+	 * temporary files. Values below the threshold are kept in an exactly sized
+	 * byte[]. Use {@link Long#MAX_VALUE} to keep all values on the heap.
+	 *
+	 * <p>
+	 * Set the threshold in the field declaration of your DBRow so that rows
+	 * retrieved from the database use it as well.
+	 *
+	 * @param bytes the largest value to keep on the heap
+	 */
+	public void setSpillThreshold(long bytes) {
+		this.spillThreshold = bytes;
+	}
+
+	/**
+	 * The size, in bytes, above which values read by this QDT are kept in a
+	 * temporary file rather than on the heap.
+	 *
+	 * @return the spill threshold, {@link #DEFAULT_SPILL_THRESHOLD} by default
+	 */
+	public long getSpillThreshold() {
+		return spillThreshold;
+	}
+
+	/**
+	 * Indicates whether the value of this QDT is being kept in a temporary file.
+	 *
+	 * <p>
+	 * Spilled values are streamed from the file by {@link #getInputStream() }
+	 * and only read onto the heap when the value is requested as a byte[].
+	 *
+	 * @return TRUE if the value is in a temporary file, otherwise FALSE
+	 */
+	public boolean isSpilledToFile() {
+		return spilledValue != null;
+	}
+
+	SpilledLargeObject getSpilledValue() {
+		return spilledValue;
+	}
+
+	/**
+	 * Reads the stream into an exactly sized byte[], or into a temporary file if
+	 * it is larger than the spill threshold.
+	 *
+	 * <p>
+	 * When the value is spilled the method returns an empty placeholder array.
+	 * The spilled value replaces the current value when the placeholder is set
+	 * as the literal value of this QDT.
+	 *
+	 * @param input the stream to read, it is not closed
+	 * @param knownLength the length of the stream, or a negative number if
+	 * unknown
+	 * @return the bytes read or the placeholder for the spilled value
+	 * @throws IOException if reading or spilling fails
+	 */
+	byte[] readSpillableValue(InputStream input, long knownLength) throws IOException {
+		SpillingOutputStream output = new SpillingOutputStream(spillThreshold, knownLength);
+		try {
+			input.transferTo(output);
+			return completeSpillableValue(output);
+		} catch (IOException | RuntimeException ex) {
+			output.discard();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Reads the characters as UTF-8 into an exactly sized byte[], or into a
+	 * temporary file if they are larger than the spill threshold.
+	 *
+	 * @param input the characters to read, they are not closed
+	 * @return the bytes read or the placeholder for the spilled value
+	 * @throws IOException if reading or spilling fails
+	 */
+	byte[] readSpillableValue(Reader input) throws IOException {
+		SpillingOutputStream output = new SpillingOutputStream(spillThreshold, -1);
+		try {
+			Writer writer = new OutputStreamWriter(output, UTF_8);
+			input.transferTo(writer);
+			writer.flush();
+			return completeSpillableValue(output);
+		} catch (IOException | RuntimeException ex) {
+			output.discard();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Decodes the Base64 characters into an exactly sized byte[], or into a
+	 * temporary file if they are larger than the spill threshold.
+	 *
+	 * @param input the Base64 encoded characters, they are not closed
+	 * @return the decoded bytes or the placeholder for the spilled value
+	 * @throws IOException if reading or spilling fails
+	 */
+	byte[] readSpillableBase64Value(Reader input) throws IOException {
+		SpillingOutputStream output = new SpillingOutputStream(spillThreshold, -1);
+		try {
+			Base64OutputStream decoder = new Base64OutputStream(output, false);
+			Writer writer = new OutputStreamWriter(decoder, UTF_8);
+			input.transferTo(writer);
+			writer.flush();
+			decoder.eof();
+			decoder.flush();
+			return completeSpillableValue(output);
+		} catch (IOException | RuntimeException ex) {
+			output.discard();
+			throw ex;
+		}
+	}
+
+	private byte[] completeSpillableValue(SpillingOutputStream output) throws IOException {
+		if (output.isSpilled()) {
+			final byte[] placeholder = new byte[]{};
+			pendingSpilledValue = output.toSpilledLargeObject();
+			pendingSpillPlaceholder = placeholder;
+			return placeholder;
+		} else {
+			return output.toByteArray();
+		}
+	}
+
+	/**
+	 * Indicates whether the value is the placeholder returned for a spilled
+	 * value.
+	 *
+	 * @param value a potential literal value
+	 * @return TRUE if the value stands for the temporary file, otherwise FALSE
+	 */
+	boolean isSpillPlaceholder(Object value) {
+		return value != null
+				&& ((spilledValue != null && value == spillPlaceholder) || value == pendingSpillPlaceholder);
+	}
+
+	private void clearSpilledValue() {
+		spilledValue = null;
+		spillPlaceholder = null;
+	}
+
+	private void useSpilledValueFor(Object newLiteralValue) {
+		if (newLiteralValue != null && newLiteralValue == pendingSpillPlaceholder) {
+			spilledValue = pendingSpilledValue;
+			spillPlaceholder = pendingSpillPlaceholder;
+			pendingSpilledValue = null;
+			pendingSpillPlaceholder = null;
+		} else if (!isSpillPlaceholder(newLiteralValue)) {
+			clearSpilledValue();
+		}
+	}
+
+	@Override
+	protected synchronized void setLiteralValue(T newLiteralValue) {
+		super.setLiteralValue(newLiteralValue);
+		useSpilledValueFor(newLiteralValue);
+	}
+
+	/**
+	 * Copies the current value to the previous value, including the temporary
+	 * file of a spilled value, before the spilled value is replaced.
+	 *
+	 * @param newLiteralValue the value that will replace the current value
+	 */
+	@Override
+	protected synchronized void moveCurrentValueToPreviousValue(T newLiteralValue) {
+		super.moveCurrentValueToPreviousValue(newLiteralValue);
+		final QueryableDatatype<T> previous = getPreviousValueAsQDT();
+		if (spilledValue != null && previous instanceof DBLargeObject && previous.getLiteralValue() == spillPlaceholder) {
+			final DBLargeObject<?> previousLargeObject = (DBLargeObject<?>) previous;
+			previousLargeObject.spilledValue = spilledValue;
+			previousLargeObject.spillPlaceholder = spillPlaceholder;
+		}
+		useSpilledValueFor(newLiteralValue);
+	}
+
+	@Override
+	protected synchronized DBOperator setToNull() {
+		clearSpilledValue();
+		return super.setToNull();
+	}
+
 	@Override
 	public String toString() {
 		return "/*BINARY DATA*/";
 	}
 
-//	@Override
-//	public DBLargeObject<T> copy() {
-//		return (DBLargeObject<T>) super.copy();
-//	}
+	@Override
+	@SuppressWarnings("unchecked")
+	public synchronized DBLargeObject<T> copy() {
+		DBLargeObject<T> copy = (DBLargeObject<T>) super.copy();
+		copy.spillThreshold = this.spillThreshold;
+		copy.spilledValue = this.spilledValue;
+		copy.spillPlaceholder = this.spillPlaceholder;
+		return copy;
+	}
+
 	@Override
 	public boolean isLargeObject() {
 		return true;
@@ -16,6 +16,7 @@
 package nz.co.gregs.dbvolution.datatypes;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import java.sql.*;
 import java.util.*;
@@ -105,13 +106,19 @@ public class DBLargeText extends DBLargeObject<byte[]> implements LargeTextResul
 	 * Sets the value of this DBByteObject to the InputStream supplied.
 	 *
 	 * <p>
-	 * The input stream will not be read until the containing DBRow is
-	 * saved/inserted.
+	 * The input stream is read and closed immediately. Streams larger than the
+	 * {@link #getSpillThreshold() spill threshold} are copied to a temporary
+	 * file and streamed from there when the containing DBRow is saved/inserted.
 	 *
 	 * @param inputViaStream	inputViaStream
 	 */
 	public void setValue(InputStream inputViaStream) {
-		super.setLiteralValue(null);
+		try (InputStream input = inputViaStream) {
+			setValue(getBytesFromInputStream(input, -1));
+		} catch (IOException ex) {
+			Logger.getLogger(DBLargeText.class.getName()).log(Level.SEVERE, null, ex);
+			throw new DBRuntimeException("Failed to read input", ex);
+		}
 	}
 
 	/**
@@ -157,7 +164,7 @@ public class DBLargeText extends DBLargeObject<byte[]> implements LargeTextResul
 				this.setToNull();
 				return bytes;
 			} else {
-				bytes = getBytesFromInputStream(inputStream);
+				bytes = getBytesFromInputStream(inputStream, -1);
 			}
 		} catch (IOException ex) {
 			Logger.getLogger(DBLargeText.class.getName()).log(Level.SEVERE, null, ex);
@@ -175,7 +182,7 @@ public class DBLargeText extends DBLargeObject<byte[]> implements LargeTextResul
 			this.setToNull();
 		} else {
 			try ( InputStream inputStream = blob.getBinaryStream()) {
-				bytes = getBytesFromInputStream(inputStream);
+				bytes = getBytesFromInputStream(inputStream, blob.length());
 			} catch (IOException ex) {
 				Logger.getLogger(DBLargeText.class.getName()).log(Level.SEVERE, null, ex);
 			}
@@ -204,34 +211,10 @@ public class DBLargeText extends DBLargeObject<byte[]> implements LargeTextResul
 		}
 	}
 
-	private byte[] getBytesFromInputStream(InputStream inputStream) throws IOException {
-		byte[] bytes;
-		List<byte[]> byteArrays = new ArrayList<>();
-		try ( InputStream input = new BufferedInputStream(inputStream)) {
-
-			try {
-				byte[] resultSetBytes;
-				final int byteArrayDefaultSize = 100000;
-				resultSetBytes = new byte[byteArrayDefaultSize];
-				int bytesRead = input.read(resultSetBytes);
-				while (bytesRead > 0) {
-					if (bytesRead == byteArrayDefaultSize) {
-						byteArrays.add(resultSetBytes);
-					} else {
-						byte[] shortBytes = new byte[bytesRead];
-						System.arraycopy(resultSetBytes, 0, shortBytes, 0, bytesRead);
-						byteArrays.add(shortBytes);
-					}
-					resultSetBytes = new byte[byteArrayDefaultSize];
-					bytesRead = input.read(resultSetBytes);
-				}
-			} catch (IOException ex) {
-				Logger.getLogger(DBLargeBinary.class.getName()).log(Level.SEVERE, null, ex);
-				throw new DBRuntimeException("Failed to read input", ex);
-			}
+	private byte[] getBytesFromInputStream(InputStream inputStream, long knownLength) throws IOException {
+		try ( InputStream input = inputStream) {
+			return readSpillableValue(input, knownLength);
 		}
-		bytes = concatAllByteArrays(byteArrays);
-		return bytes;
 	}
 
 	private byte[] getFromString(ResultSet resultSet, String fullColumnName) throws SQLException {
@@ -255,38 +238,12 @@ public class DBLargeText extends DBLargeObject<byte[]> implements LargeTextResul
 			if (resultSet.wasNull()) {
 				this.setToNull();
 			} else {
-				BufferedReader input = new BufferedReader(inputReader);
-				List<byte[]> byteArrays = new ArrayList<>();
-
-				try {
-					char[] resultSetBytes;
-					final int byteArrayDefaultSize = 100000;
-					resultSetBytes = new char[byteArrayDefaultSize];
-					int bytesRead = input.read(resultSetBytes);
-					while (bytesRead > 0) {
-						if (bytesRead == byteArrayDefaultSize) {
-							byteArrays.add(transformToStandardCharset(String.valueOf(resultSetBytes)));
-						} else {
-							char[] shortBytes = new char[bytesRead];
-							System.arraycopy(resultSetBytes, 0, shortBytes, 0, bytesRead);
-							byteArrays.add(transformToStandardCharset(String.valueOf(shortBytes)));
-						}
-						resultSetBytes = new char[byteArrayDefaultSize];
-						bytesRead = input.read(resultSetBytes);
-					}
+				try ( Reader input = inputReader) {
+					decodeBuffer = readSpillableBase64Value(input);
 				} catch (IOException ex) {
-					Logger.getLogger(DBLargeBinary.class.getName()).log(Level.SEVERE, null, ex);
+					Logger.getLogger(DBLargeText.class.getName()).log(Level.SEVERE, null, ex);
 					throw new DBRuntimeException("Failed to read input", ex);
-				} finally {
-					try {
-						input.close();
-					} catch (IOException ex) {
-						Logger.getLogger(DBLargeBinary.class.getName()).log(Level.SEVERE, null, ex);
-						throw new DBRuntimeException("Failed to close input", ex);
-					}
 				}
-				byte[] bytes = concatAllByteArrays(byteArrays);
-				decodeBuffer = Base64.decodeBase64(bytes);
 			}
 		}
 		return decodeBuffer;
@@ -298,38 +255,12 @@ public class DBLargeText extends DBLargeObject<byte[]> implements LargeTextResul
 		if (resultSet.wasNull() || clob == null) {
 			this.setToNull();
 		} else {
-			final Reader characterStream = clob.getCharacterStream();
-			BufferedReader input = new BufferedReader(characterStream);
-			List<byte[]> byteArrays = new ArrayList<>();
-			try {
-
-				char[] resultSetBytes;
-				final int byteArrayDefaultSize = 100000;
-				resultSetBytes = new char[byteArrayDefaultSize];
-				int bytesRead = input.read(resultSetBytes);
-				while (bytesRead > 0) {
-					if (bytesRead == byteArrayDefaultSize) {
-						byteArrays.add(transformToStandardCharset(String.valueOf(resultSetBytes)));
-					} else {
-						char[] shortBytes = new char[bytesRead];
-						System.arraycopy(resultSetBytes, 0, shortBytes, 0, bytesRead);
-						byteArrays.add(transformToStandardCharset(String.valueOf(shortBytes)));
-					}
-					resultSetBytes = new char[byteArrayDefaultSize];
-					bytesRead = input.read(resultSetBytes);
-				}
+			try ( Reader input = clob.getCharacterStream()) {
+				bytes = readSpillableValue(input);
 			} catch (IOException ex) {
-				Logger.getLogger(DBLargeBinary.class.getName()).log(Level.SEVERE, null, ex);
+				Logger.getLogger(DBLargeText.class.getName()).log(Level.SEVERE, null, ex);
 				throw new DBRuntimeException("Failed to read input", ex);
-			} finally {
-				try {
-					input.close();
-				} catch (IOException ex) {
-					Logger.getLogger(DBLargeBinary.class.getName()).log(Level.SEVERE, null, ex);
-					throw new DBRuntimeException("Failed to CLOSE input", ex);
-				}
 			}
-			bytes = concatAllByteArrays(byteArrays);
 		}
 		return bytes;
 	}
@@ -456,7 +387,9 @@ public class DBLargeText extends DBLargeObject<byte[]> implements LargeTextResul
 					}
 				}
 			}
-			if (originalFile.exists()) {
+			if (originalFile.exists() && isSpilledToFile()) {
+				getSpilledValue().copyTo(originalFile.toPath());
+			} else if (originalFile.exists()) {
 				OutputStream output = null;
 				try {
 					output = new BufferedOutputStream(new FileOutputStream(originalFile));
@@ -478,19 +411,60 @@ public class DBLargeText extends DBLargeObject<byte[]> implements LargeTextResul
 	/**
 	 * Returns the internal InputStream.
 	 *
+	 * <p>
+	 * Values that have been {@link #isSpilledToFile() spilled to a temporary file}
+	 * are streamed from the file without being read onto the heap.
+	 *
 	 * @return an InputStream to read the bytes.
 	 */
 	@Override
 	public InputStream getInputStream() {
+		if (isSpilledToFile()) {
+			try {
+				return getSpilledValue().getInputStream();
+			} catch (IOException ex) {
+				throw new DBRuntimeException("Failed to open large object file", ex);
+			}
+		}
 		return new BufferedInputStream(new ByteArrayInputStream(getBytes()));
 	}
 
+	/**
+	 * Returns a read-only view of the UTF-8 bytes of this DBLargeText.
+	 *
+	 * <p>
+	 * Values that have been {@link #isSpilledToFile() spilled to a temporary file}
+	 * are memory-mapped rather than read onto the heap.
+	 *
+	 * @return a read-only ByteBuffer containing the value
+	 * @throws IOException if the temporary file cannot be mapped
+	 */
+	public ByteBuffer getByteBuffer() throws IOException {
+		if (isSpilledToFile()) {
+			return getSpilledValue().map();
+		}
+		final byte[] bytes = getBytes();
+		return ByteBuffer.wrap(bytes == null ? new byte[]{} : bytes).asReadOnlyBuffer();
+	}
+
 	/**
 	 * Returns the byte[] used internally to store the value of this DBByteObject.
 	 *
+	 * <p>
+	 * Values that have been {@link #isSpilledToFile() spilled to a temporary file}
+	 * are read onto the heap by this method, prefer {@link #getInputStream() }
+	 * or {@link #getByteBuffer() } for them.
+	 *
 	 * @return the byte[] value of this DBByteObject.
 	 */
 	public byte[] getBytes() {
+		if (isSpilledToFile()) {
+			try {
+				return getSpilledValue().readAllBytes();
+			} catch (IOException ex) {
+				throw new DBRuntimeException("Failed to read large object file", ex);
+			}
+		}
 		return this.getLiteralValue();
 	}
 
@@ -511,6 +485,9 @@ public class DBLargeText extends DBLargeObject<byte[]> implements LargeTextResul
 
 	@Override
 	public int getSize() {
+		if (isSpilledToFile()) {
+			return (int) Math.min(getSpilledValue().length(), Integer.MAX_VALUE);
+		}
 		final byte[] bytes = getBytes();
 		if (bytes != null) {
 			return bytes.length;
@@ -607,7 +584,8 @@ public class DBLargeText extends DBLargeObject<byte[]> implements LargeTextResul
 
 	@Override
 	protected synchronized void setLiteralValue(byte[] newLiteralValue) {
-		if ((!hasBeenSet() && newLiteralValue != null)
+		if (isSpilledToFile() || isSpillPlaceholder(newLiteralValue)
+				|| (!hasBeenSet() && newLiteralValue != null)
 				|| (hasBeenSet() && getLiteralValue() != null && !(new String(getLiteralValue())).equals(new String(newLiteralValue, UTF_8)))
 				|| (hasBeenSet() && getLiteralValue() == null && newLiteralValue != null && newLiteralValue.length > 0)) {
 			super.setLiteralValue(newLiteralValue);
@@ -719,6 +719,19 @@ public class DBNumber extends QueryableDatatype<Number> implements NumberResult
 		}
 	}
 
+	@Override
+	protected Number getFromResultSet(DBDefinition defn, ResultSet resultSet, int columnIndex, String columnLabel) throws SQLException {
+		try {
+			return resultSet.getBigDecimal(columnIndex);
+		} catch (SQLException ex) {
+			try {
+				return resultSet.getLong(columnIndex);
+			} catch (SQLException ex2) {
+				return null;
+			}
+		}
+	}
+
 	@Override
 	public StringExpression stringResult() {
 		return NumberExpression.value(this).stringResult();
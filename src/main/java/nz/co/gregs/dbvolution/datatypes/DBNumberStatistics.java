@@ -292,6 +292,16 @@ public class DBNumberStatistics extends DBNumber {
 		propertyWrapperDefn = null;
 	}
 
+	@Override
+	public void setFromResultSet(DBDefinition database, ResultSet resultSet, int resultSetColumnIndex, String resultSetColumnLabel) throws SQLException {
+		// the value needs more than one column so use the column name
+		if (resultSet == null || resultSetColumnIndex < 1) {
+			setFromResultSet(database, resultSet, (String) null);
+		} else {
+			setFromResultSet(database, resultSet, resultSetColumnLabel);
+		}
+	}
+
 	@Override
 	public String toString() {
 		return (averageNumber == null ? "" : "count=" + countOfRows + "sum=" + sumNumber + "ave=" + averageNumber + "stdDev=" + stdDev + ":max=" + maxNumber + ":min=" + minNumber + ":stdev=" + stdDev);
@@ -234,6 +234,16 @@ public class DBStatistics<B, R extends EqualResult<B>, D extends QueryableDataty
 		propertyWrapperDefn = null;
 	}
 
+	@Override
+	public void setFromResultSet(DBDefinition database, ResultSet resultSet, int resultSetColumnIndex, String resultSetColumnLabel) throws SQLException {
+		// the value needs more than one column so use the column name
+		if (resultSet == null || resultSetColumnIndex < 1) {
+			setFromResultSet(database, resultSet, (String) null);
+		} else {
+			setFromResultSet(database, resultSet, resultSetColumnLabel);
+		}
+	}
+
 	@Override
 	public String toString() {
 		return ("count=" + countOfRows);
@@ -753,6 +753,20 @@ public class DBString extends QueryableDatatype<String> implements StringResult
 		}
 	}
 
+	@Override
+	protected String getFromResultSet(DBDefinition defn, ResultSet resultSet, int columnIndex, String columnLabel) throws SQLException {
+		String gotString = resultSet.getString(columnIndex);
+		if (resultSet.wasNull() || gotString == null) {
+			if (defn.requiredToProduceEmptyStringsForNull()) {
+				return "";
+			} else {
+				return null;
+			}
+		} else {
+			return gotString;
+		}
+	}
+
 	/**
 	 * Perform case-insensitive searches based on using database compatible
 	 * pattern matching.
@@ -105,6 +105,16 @@ public class DBUUID extends QueryableDatatype<UUID> implements UUIDResult {
 		}
 	}
 
+	@Override
+	protected UUID getFromResultSet(DBDefinition database, ResultSet resultSet, int columnIndex, String columnLabel) throws SQLException {
+		String gotString = resultSet.getString(columnIndex);
+		if (resultSet.wasNull() || gotString == null) {
+			return null;
+		} else {
+			return UUID.fromString(gotString);
+		}
+	}
+
 	@Override
 	public ColumnProvider getColumn(RowDefinition row) throws IncorrectRowProviderInstanceSuppliedException {
 		return new UUIDColumn(row, this);
@@ -39,6 +39,7 @@ import nz.co.gregs.dbvolution.results.LargeObjectResult;
 import nz.co.gregs.dbvolution.results.NumberResult;
 import nz.co.gregs.dbvolution.results.StringResult;
 import nz.co.gregs.dbvolution.internal.properties.PropertyWrapperDefinition;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
 import nz.co.gregs.dbvolution.operators.DBEqualsOperator;
 import nz.co.gregs.dbvolution.operators.DBIsNullOperator;
 import nz.co.gregs.dbvolution.operators.DBOperator;
@@ -93,6 +94,7 @@ public abstract class QueryableDatatype<T> extends Object implements Serializabl
 	private Boolean sort = SORT_ASCENDING;
 	transient PropertyWrapperDefinition<?, T> propertyWrapperDefn; // no guarantees whether this gets set
 	private DBExpression[] columnExpression = new DBExpression[]{};
+	private transient long version = 0;
 	private boolean setValueHasBeenCalled = false;
 	private T defaultInsertValue = null;
 	private AnyResult<T> defaultInsertExpression;
@@ -367,6 +369,7 @@ public abstract class QueryableDatatype<T> extends Object implements Serializabl
 	public QueryableDatatype<T> removeConstraints() {
 		isDBNull = false;
 		this.operator = null;
+		version++;
 		return this;
 	}
 
@@ -385,6 +388,7 @@ public abstract class QueryableDatatype<T> extends Object implements Serializabl
 	public void negateOperator() {
 		if (getOperator() != null) {
 			getOperator().invertOperator(true);
+			version++;
 		} else {
 			throw new RuntimeException("No Operator Has Been Defined Yet: please use the permitted/excluded methods before negating the operation");
 		}
@@ -660,6 +664,7 @@ public abstract class QueryableDatatype<T> extends Object implements Serializabl
 	 */
 	public void includingNulls() {
 		this.operator.includeNulls();
+		version++;
 	}
 
 	/**
@@ -705,7 +710,7 @@ public abstract class QueryableDatatype<T> extends Object implements Serializabl
 		} else if (getLiteralValue() instanceof DBExpression) {
 			return "(" + ((HasSQLString) getLiteralValue()).toSQLString(defn) + ")";
 		} else {
-			return formatValueForSQLStatement(defn);
+			return BindParameters.placeholderFor(defn, this, getLiteralValue(), formatValueForSQLStatement(defn));
 		}
 	}
 
@@ -833,7 +838,80 @@ public abstract class QueryableDatatype<T> extends Object implements Serializabl
 	 */
 	abstract protected T getFromResultSet(DBDefinition database, ResultSet resultSet, String fullColumnName) throws SQLException;
 
-	private synchronized void moveCurrentValueToPreviousValue(T newLiteralValue) {
+	/**
+	 * Sets the value of this QDT to the value contained in the specified column
+	 * of the ResultSet.
+	 *
+	 * <p>
+	 * Identical to {@link #setFromResultSet(nz.co.gregs.dbvolution.databases.definitions.DBDefinition, java.sql.ResultSet, java.lang.String)
+	 * } but uses the column's position in the ResultSet so that the driver does
+	 * not need to find the column by name for every row. The column label is
+	 * resolved once by the caller and used by datatypes that read by name.
+	 *
+	 * <p>
+	 * A column index less than 1 indicates the column was not returned and sets
+	 * the QDT to NULL.
+	 *
+	 * @param defn database
+	 * @param resultSet resultSet
+	 * @param resultSetColumnIndex the position of the column in the ResultSet,
+	 * starting from 1
+	 * @param resultSetColumnLabel the label of the same column
+	 * @throws java.sql.SQLException Database exceptions may be thrown
+	 */
+	public void setFromResultSet(DBDefinition defn, ResultSet resultSet, int resultSetColumnIndex, String resultSetColumnLabel) throws SQLException {
+		removeConstraints();
+		if (resultSet == null || resultSetColumnIndex < 1) {
+			this.setToNull(defn);
+		} else {
+			T dbValue;
+			try {
+				dbValue = getFromResultSet(defn, resultSet, resultSetColumnIndex, resultSetColumnLabel);
+				if (checkForNullDuringSetFromResultSet() && resultSet.wasNull()) {
+					dbValue = null;
+				}
+			} catch (SQLException ex) {
+				// Probably means the column wasn't selected.
+				dbValue = null;
+			}
+			if (dbValue == null) {
+				this.setToNull(defn);
+			} else {
+				this.setLiteralValue(dbValue);
+			}
+		}
+		setUnchanged();
+		setDefined(true);
+	}
+
+	/**
+	 * Returns the correct object from the specified column of the ResultSet for
+	 * the QueryableDatatype to handle.
+	 *
+	 * <p>
+	 * The default implementation uses the column label with
+	 * {@link #getFromResultSet(nz.co.gregs.dbvolution.databases.definitions.DBDefinition, java.sql.ResultSet, java.lang.String)
+	 * }. Override this method to read the column directly.
+	 *
+	 * @param database database
+	 * @param resultSet resultSet
+	 * @param columnIndex the position of the column in the ResultSet, starting
+	 * from 1
+	 * @param columnLabel the label of the same column
+	 * @return the expected object from the ResultSet.
+	 * @throws java.sql.SQLException Database exceptions may be thrown
+	 */
+	protected T getFromResultSet(DBDefinition database, ResultSet resultSet, int columnIndex, String columnLabel) throws SQLException {
+		return getFromResultSet(database, resultSet, columnLabel);
+	}
+
+	/**
+	 * Copies the current value to the previous value when the new value is
+	 * different from the current value.
+	 *
+	 * @param newLiteralValue the value that will replace the current value
+	 */
+	protected synchronized void moveCurrentValueToPreviousValue(T newLiteralValue) {
 		if ((this.isDBNull && newLiteralValue != null)
 				|| (!this.isDBNull && (newLiteralValue == null || !newLiteralValue.equals(literalValue)))) {
 			changed = true;
@@ -938,6 +1016,7 @@ public abstract class QueryableDatatype<T> extends Object implements Serializabl
 	 */
 	private QueryableDatatype<T> setSortOrder(Boolean order) {
 		sort = order;
+		version++;
 		return this;
 	}
 
@@ -1054,6 +1133,19 @@ public abstract class QueryableDatatype<T> extends Object implements Serializabl
 		this.undefined = !defined;
 	}
 
+	/**
+	 * Used internally.
+	 *
+	 * <p>
+	 * Counts the changes to the operator, sort order, and column expression of
+	 * this QDT so that SQL generated from it can be reused until it changes.
+	 *
+	 * @return a number that changes whenever the criteria of this QDT change
+	 */
+	public long getVersion() {
+		return version;
+	}
+
 	/**
 	 * Sets the internal reference the property wrapper of the field or bean
 	 * property that references this QueryableDatatype. Supports QDT types that
@@ -1240,6 +1332,7 @@ public abstract class QueryableDatatype<T> extends Object implements Serializabl
 	 */
 	protected final void setColumnExpression(DBExpression... columnExpression) {
 		this.columnExpression = Arrays.copyOf(columnExpression, columnExpression.length);
+		version++;
 	}
 
 	/**
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.datatypes;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Holds the value of a large object that was too big to keep on the heap.
+ *
+ * <p>
+ * The value is kept in a temporary file which is deleted once no
+ * {@link DBLargeObject} refers to this holder any more. Copies of the QDT share
+ * the holder, so the file lives as long as the last copy. Files that are still
+ * in use when the JVM exits are deleted by a shutdown hook.
+ *
+ * <p>
+ * Serializing the holder writes the file's contents into the stream and
+ * deserializing it creates a new temporary file, so spilled values survive
+ * serialization without being read onto the heap.
+ *
+ * @author Gregory Graham
+ */
+final class SpilledLargeObject implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Log LOG = LogFactory.getLog(SpilledLargeObject.class);
+	private static final Cleaner CLEANER = Cleaner.create();
+	private static final int COPY_BUFFER_SIZE = 64 * 1024;
+	private static final Set<Path> LIVE_FILES = ConcurrentHashMap.newKeySet();
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			for (Path file : LIVE_FILES) {
+				deleteTemporaryFile(file);
+			}
+		}, "DBvolution large object cleanup"));
+	}
+
+	private transient Path path;
+	private transient long length;
+	private transient Cleaner.Cleanable cleanable;
+
+	SpilledLargeObject(Path path, long length) {
+		this.path = path;
+		this.length = length;
+		this.cleanable = CLEANER.register(this, new DeleteTemporaryFile(path));
+	}
+
+	static Path createTemporaryFile() throws IOException {
+		Path file = Files.createTempFile("dbvolution-", ".lob");
+		LIVE_FILES.add(file);
+		return file;
+	}
+
+	static void deleteTemporaryFile(Path file) {
+		try {
+			Files.deleteIfExists(file);
+			LIVE_FILES.remove(file);
+		} catch (IOException ex) {
+			LOG.warn("Unable to delete temporary large object file " + file, ex);
+		}
+	}
+
+	/**
+	 * The number of bytes in the value.
+	 *
+	 * @return the length of the temporary file
+	 */
+	long length() {
+		return length;
+	}
+
+	/**
+	 * Opens a new stream over the value.
+	 *
+	 * @return a buffered stream over the temporary file
+	 * @throws IOException if the file cannot be opened
+	 */
+	InputStream getInputStream() throws IOException {
+		return new BufferedInputStream(Files.newInputStream(path), COPY_BUFFER_SIZE);
+	}
+
+	/**
+	 * Reads the entire value onto the heap.
+	 *
+	 * @return the value as an exactly sized byte[]
+	 * @throws IOException if the file cannot be read or is too large for an
+	 * array
+	 */
+	byte[] readAllBytes() throws IOException {
+		if (length > SpillingOutputStream.MAXIMUM_ARRAY_SIZE) {
+			throw new IOException("Large object of " + length + " bytes is too large to be returned as a byte[], use getInputStream() instead");
+		}
+		return Files.readAllBytes(path);
+	}
+
+	/**
+	 * Maps the temporary file into memory.
+	 *
+	 * @return a read-only buffer backed by the temporary file
+	 * @throws IOException if the file cannot be mapped
+	 */
+	ByteBuffer map() throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+		}
+	}
+
+	/**
+	 * Copies the value to the file supplied, replacing its contents.
+	 *
+	 * @param target the file to write
+	 * @throws IOException if the copy fails
+	 */
+	void copyTo(Path target) throws IOException {
+		Files.copy(path, target, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeLong(length);
+		try (InputStream input = getInputStream()) {
+			input.transferTo(out);
+		}
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		length = in.readLong();
+		path = createTemporaryFile();
+		cleanable = CLEANER.register(this, new DeleteTemporaryFile(path));
+		try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(path), COPY_BUFFER_SIZE)) {
+			byte[] buffer = new byte[COPY_BUFFER_SIZE];
+			long remaining = length;
+			while (remaining > 0) {
+				int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+				if (read < 0) {
+					throw new EOFException("Large object ended after " + (length - remaining) + " of " + length + " bytes");
+				}
+				output.write(buffer, 0, read);
+				remaining -= read;
+			}
+		}
+	}
+
+	private static class DeleteTemporaryFile implements Runnable {
+
+		private final Path path;
+
+		DeleteTemporaryFile(Path path) {
+			this.path = path;
+		}
+
+		@Override
+		public void run() {
+			deleteTemporaryFile(path);
+		}
+	}
+}
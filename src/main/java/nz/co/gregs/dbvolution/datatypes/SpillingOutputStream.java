@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.datatypes;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Collects the bytes of a large object on the heap until they pass a threshold
+ * and then moves them to a temporary file.
+ *
+ * <p>
+ * When the expected length is known the heap buffer is allocated at exactly
+ * that size, so reading a value that stays on the heap copies it only once.
+ *
+ * @author Gregory Graham
+ */
+final class SpillingOutputStream extends OutputStream {
+
+	static final int MAXIMUM_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+	private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+	private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+	private final long threshold;
+	private byte[] buffer;
+	private int count = 0;
+	private Path file = null;
+	private OutputStream fileOutput = null;
+	private long length = 0;
+
+	/**
+	 * Creates a stream that keeps at most {@code threshold} bytes on the heap.
+	 *
+	 * @param threshold the largest value kept on the heap
+	 * @param expectedLength the length of the value if known, otherwise a
+	 * negative number
+	 */
+	SpillingOutputStream(long threshold, long expectedLength) {
+		this.threshold = Math.max(0, Math.min(threshold, MAXIMUM_ARRAY_SIZE));
+		if (expectedLength >= 0 && expectedLength <= this.threshold) {
+			buffer = new byte[(int) expectedLength];
+		} else {
+			buffer = new byte[(int) Math.min(INITIAL_BUFFER_SIZE, this.threshold)];
+		}
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[]{(byte) b}, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] bytes, int offset, int len) throws IOException {
+		if (fileOutput == null && count + (long) len > threshold) {
+			spill();
+		}
+		if (fileOutput != null) {
+			fileOutput.write(bytes, offset, len);
+		} else {
+			if (count + len > buffer.length) {
+				long newSize = Math.max(count + (long) len, buffer.length * 2L);
+				buffer = Arrays.copyOf(buffer, (int) Math.min(newSize, threshold));
+			}
+			System.arraycopy(bytes, offset, buffer, count, len);
+			count += len;
+		}
+		length += len;
+	}
+
+	private void spill() throws IOException {
+		file = SpilledLargeObject.createTemporaryFile();
+		fileOutput = new BufferedOutputStream(Files.newOutputStream(file), FILE_BUFFER_SIZE);
+		fileOutput.write(buffer, 0, count);
+		buffer = null;
+		count = 0;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (fileOutput != null) {
+			fileOutput.flush();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (fileOutput != null) {
+			fileOutput.close();
+		}
+	}
+
+	/**
+	 * Indicates whether the bytes written have been moved to a temporary file.
+	 *
+	 * @return TRUE if the value is too large for the heap, otherwise FALSE
+	 */
+	boolean isSpilled() {
+		return file != null;
+	}
+
+	/**
+	 * Returns the bytes written as an exactly sized array.
+	 *
+	 * @return the value kept on the heap
+	 */
+	byte[] toByteArray() {
+		return buffer.length == count ? buffer : Arrays.copyOf(buffer, count);
+	}
+
+	/**
+	 * Closes the temporary file and hands it to a new holder.
+	 *
+	 * @return the holder that owns the temporary file
+	 * @throws IOException if the file cannot be closed
+	 */
+	SpilledLargeObject toSpilledLargeObject() throws IOException {
+		close();
+		return new SpilledLargeObject(file, length);
+	}
+
+	/**
+	 * Closes and removes any temporary file after a failed read.
+	 */
+	void discard() {
+		try {
+			close();
+		} catch (IOException ex) {
+			// the read has already failed, report that instead
+		}
+		if (file != null) {
+			SpilledLargeObject.deleteTemporaryFile(file);
+		}
+	}
+}
@@ -211,6 +211,16 @@ public class DBLineSegment2D extends QueryableDatatype<LineSegment> implements L
 //		propertyWrapperDefn = null;
 	}
 
+	@Override
+	public void setFromResultSet(DBDefinition defn, ResultSet resultSet, int resultSetColumnIndex, String resultSetColumnLabel) throws SQLException {
+		// line segments may need reversing so use the column name
+		if (resultSet == null || resultSetColumnIndex < 1) {
+			setFromResultSet(defn, resultSet, (String) null);
+		} else {
+			setFromResultSet(defn, resultSet, resultSetColumnLabel);
+		}
+	}
+
 	@Override
 	public String getSQLDatatype() {
 		return " LINESTRING ";
@@ -2481,6 +2481,25 @@ public class StringExpression extends RangeExpression<String, StringResult, DBSt
 				new IntegerLengthExpression(this));
 	}
 
+	/**
+	 * Create a expression that hashes the current expression to an integer.
+	 *
+	 * <p>
+	 * The hash function is database specific so the results can only be
+	 * compared between databases of the same type. Check
+	 * {@link DBDefinition#supportsStringHashTransform() } before using this
+	 * expression.
+	 *
+	 * <p style="color: #F90;">Support DBvolution at
+	 * <a href="http://patreon.com/dbvolution" target=new>Patreon</a></p>
+	 *
+	 * @return an IntegerExpression of the expression's hash.
+	 */
+	public IntegerExpression hash() {
+		return new IntegerExpression(
+				new IntegerHashExpression(this));
+	}
+
 	/**
 	 * Create a {@link StringExpression} that returns the name of the current
 	 * user.
@@ -4107,6 +4126,24 @@ public class StringExpression extends RangeExpression<String, StringResult, DBSt
 		}
 	}
 
+	protected static class IntegerHashExpression extends IntegerExpression {
+
+		public IntegerHashExpression(AnyResult<?> only) {
+			super(only);
+		}
+		private final static long serialVersionUID = 1l;
+
+		@Override
+		public String toSQLString(DBDefinition db) {
+			return db.doStringHashTransform(getInnerResult().toSQLString(db));
+		}
+
+		@Override
+		public IntegerHashExpression copy() {
+			return new IntegerHashExpression((AnyResult<?>) (getInnerResult() == null ? null : getInnerResult().copy()));
+		}
+	}
+
 	protected static class StringCurrentUserExpression extends StringExpression {
 
 		public StringCurrentUserExpression() {
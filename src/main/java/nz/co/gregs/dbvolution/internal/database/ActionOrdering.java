@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import nz.co.gregs.dbvolution.actions.DBAction;
+
+/**
+ * Orders the actions executed on a cluster.
+ *
+ * <p>
+ * Actions on the same table are executed one at a time, in the order they
+ * arrive, so every member applies them in the same order. Actions on different
+ * tables are executed at the same time.
+ *
+ * <p>
+ * Actions that are not limited to one table, like schema changes and
+ * transactions, wait for all other actions to finish and run on their own.
+ *
+ * @author Gregory Graham
+ */
+public class ActionOrdering {
+
+	private final ReentrantReadWriteLock clusterLock = new ReentrantReadWriteLock(true);
+	private final Map<String, ReentrantLock> tableLocks = new ConcurrentHashMap<>();
+
+	/**
+	 * Waits until the action may be executed.
+	 *
+	 * <p>
+	 * The permit must be closed when the action has finished.
+	 *
+	 * @param action the action to be executed
+	 * @return the permit to execute the action
+	 */
+	public Permit acquire(DBAction action) {
+		final String tableName = action.getOrderingTableName();
+		if (tableName == null) {
+			return acquireExclusive();
+		}
+		final Lock sharedLock = clusterLock.readLock();
+		sharedLock.lock();
+		final Lock tableLock = tableLocks.computeIfAbsent(tableName, name -> new ReentrantLock(true));
+		try {
+			tableLock.lock();
+		} catch (RuntimeException | Error ex) {
+			sharedLock.unlock();
+			throw ex;
+		}
+		return new Permit(tableLock, sharedLock);
+	}
+
+	/**
+	 * Waits until all other actions have finished and prevents new actions from
+	 * starting.
+	 *
+	 * <p>
+	 * The permit must be closed when the work has finished.
+	 *
+	 * @return the permit to work on the whole cluster
+	 */
+	public Permit acquireExclusive() {
+		if (clusterLock.getReadHoldCount() > 0 && !clusterLock.isWriteLockedByCurrentThread()) {
+			// nested inside a table action: the lock can not be upgraded so
+			// continue under the permit already held
+			return new Permit();
+		}
+		final Lock exclusiveLock = clusterLock.writeLock();
+		exclusiveLock.lock();
+		return new Permit(exclusiveLock);
+	}
+
+	/**
+	 * Permission to execute an action, released by {@link #close() }.
+	 */
+	public static class Permit implements AutoCloseable {
+
+		private final Lock[] locks;
+		private boolean released = false;
+
+		private Permit(Lock... locks) {
+			this.locks = locks;
+		}
+
+		@Override
+		public synchronized void close() {
+			if (!released) {
+				released = true;
+				for (Lock lock : locks) {
+					lock.unlock();
+				}
+			}
+		}
+	}
+}
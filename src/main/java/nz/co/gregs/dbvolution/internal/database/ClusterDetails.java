@@ -36,6 +36,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.sql.SQLException;
 import java.util.*;
 import nz.co.gregs.dbvolution.exceptions.NoAvailableDatabaseException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
@@ -93,6 +94,17 @@ public class ClusterDetails implements Serializable {
 	private boolean preferredDatabaseRequired;
 	private boolean stillRunning = true;
 	private final PropertyChangeSupport propertyChangeSupport;
+	private int synchronisationChunkSize = 1000;
+	private int synchronisationParallelismPerTemplate = 0;
+	private int synchronisationParallelismPerSecondary = 1;
+	private transient final Map<String, Map<String, TableCopyProgress>> synchronisationProgress = new ConcurrentHashMap<>();
+	private transient final Set<String> interruptedSynchronisations = ConcurrentHashMap.newKeySet();
+	private boolean incrementalResynchronisation = true;
+	private transient final Set<String> previouslySynchronisedMembers = ConcurrentHashMap.newKeySet();
+	private transient final Set<String> membersWithCompleteQueues = ConcurrentHashMap.newKeySet();
+	private ReadRoutingStrategy readRoutingStrategy = ReadRoutingStrategy.random();
+	private transient final Map<String, ReadStatistics> readStatistics = new ConcurrentHashMap<>();
+	private transient final ClusterReplicator replicator = new ClusterReplicator(this);
 
 	public ClusterDetails(String label) {
 		this.clusterLabel = label;
@@ -182,8 +194,17 @@ public class ClusterDetails implements Serializable {
 				}
 			}
 			database.setLastException(except);
+			final String synchronisationKey = getSynchronisationKey(database);
+			if (members.isReady(database)) {
+				// every later action will be queued so the member can be resynchronised by replaying them
+				membersWithCompleteQueues.add(synchronisationKey);
+			}
 			members.setQuarantined(database);
-			queuedActions.remove(database);
+			if (!interruptedSynchronisations.contains(synchronisationKey)
+					&& !membersWithCompleteQueues.contains(synchronisationKey)) {
+				// an interrupted synchronisation needs the queued actions to resume
+				queuedActions.remove(database);
+			}
 			propertyChangeSupport.firePropertyChange("quarantined member", null, database);
 			setAuthoritativeDatabase();
 			if (database instanceof DBDatabaseCluster) {
@@ -209,6 +230,7 @@ public class ClusterDetails implements Serializable {
 			}
 			database.setLastException(except);
 			members.setDead(database);
+			membersWithCompleteQueues.remove(getSynchronisationKey(database));
 			queuedActions.remove(database);
 			propertyChangeSupport.firePropertyChange("member has died", null, database);
 			setAuthoritativeDatabase();
@@ -222,6 +244,13 @@ public class ClusterDetails implements Serializable {
 			throw new UnableToRemoveLastDatabaseFromClusterException();
 		} else {
 			members.remove(database);
+			final String synchronisationKey = getSynchronisationKey(database);
+			interruptedSynchronisations.remove(synchronisationKey);
+			synchronisationProgress.remove(synchronisationKey);
+			previouslySynchronisedMembers.remove(synchronisationKey);
+			membersWithCompleteQueues.remove(synchronisationKey);
+			readStatistics.remove(synchronisationKey);
+			replicator.remove(database);
 			propertyChangeSupport.firePropertyChange("removed database", null, database);
 			setAuthoritativeDatabase();
 			saveClusterSettingsToPrefs();
@@ -311,6 +340,7 @@ public class ClusterDetails implements Serializable {
 
 	private synchronized void readyDatabase(DBDatabase databaseToReady) {
 		members.setReady(databaseToReady);
+		previouslySynchronisedMembers.add(getSynchronisationKey(databaseToReady));
 		setAuthoritativeDatabase();
 		signalThatADatabaseHasBeenSynchronised();
 		signalReadyDatabaseIsAvailable();
@@ -336,11 +366,13 @@ public class ClusterDetails implements Serializable {
 	public synchronized DBDatabase getPausedDatabase() throws NoAvailableDatabaseException {
 		DBDatabase template = getRandomReadyDatabase();
 		members.setPaused(template);
+		replicator.awaitIdle(template);
 		return template;
 	}
 
 	public synchronized DBDatabase getPausedDatabase(DBDatabase db) throws NoAvailableDatabaseException {
 		members.setPaused(db);
+		replicator.awaitIdle(db);
 		return db;
 	}
 
@@ -351,11 +383,26 @@ public class ClusterDetails implements Serializable {
 			waitUntilDatabaseHasSynchronised(preferredDatabase);
 			return preferredDatabase;
 		} else {
-			return getRandomReadyDatabase();
+			return getRoutedReadyDatabase();
+		}
+	}
+
+	private DBDatabase getRoutedReadyDatabase() throws NoAvailableDatabaseException {
+		final DBDatabase[] dbs = getReadyDatabasesOrWait();
+		if (dbs.length == 1) {
+			return dbs[0];
 		}
+		return readRoutingStrategy.select(dbs, this::getReadStatistics);
 	}
 
 	private DBDatabase getRandomReadyDatabase() throws NoAvailableDatabaseException {
+		DBDatabase[] dbs = getReadyDatabasesOrWait();
+		final int randNumber = RANDOM.nextInt(dbs.length);
+		DBDatabase randomElement = dbs[randNumber];
+		return randomElement;
+	}
+
+	private DBDatabase[] getReadyDatabasesOrWait() throws NoAvailableDatabaseException {
 		DBDatabase[] dbs = getReadyDatabases();
 		int tries = 0;
 		while (dbs.length < 1 && members.countPausedDatabases() > 0 && tries <= 10) {
@@ -364,9 +411,7 @@ public class ClusterDetails implements Serializable {
 			tries++;
 		}
 		if (dbs.length > 0) {
-			final int randNumber = RANDOM.nextInt(dbs.length);
-			DBDatabase randomElement = dbs[randNumber];
-			return randomElement;
+			return dbs;
 		}
 		throw new NoAvailableDatabaseException();
 	}
@@ -595,6 +640,34 @@ public class ClusterDetails implements Serializable {
 		return configuration.isUseAutoRebuild();
 	}
 
+	public DBDatabaseCluster.WriteConsistency getWriteConsistency() {
+		return configuration.getWriteConsistency();
+	}
+
+	public int getMaximumReplicationLag() {
+		return configuration.getMaximumReplicationLag();
+	}
+
+	/**
+	 * Returns the object that applies actions to the members in the background
+	 * when the write consistency is not {@link DBDatabaseCluster.WriteConsistency#ALL}.
+	 *
+	 * @return the replicator of this cluster
+	 */
+	public ClusterReplicator getReplicator() {
+		return replicator;
+	}
+
+	/**
+	 * Returns how far the member is behind the actions executed on the cluster.
+	 *
+	 * @param database a member of the cluster
+	 * @return the replication statistics of the member
+	 */
+	public ReplicationStatistics getReplicationStatistics(DBDatabase database) {
+		return replicator.getStatistics(database);
+	}
+
 	public boolean hasAuthoritativeDatabase() {
 		return this.getAuthoritativeDatabaseConnectionSettings() != null;
 	}
@@ -765,61 +838,37 @@ public class ClusterDetails implements Serializable {
 					// Check that we're not synchronising the reference database
 					if (!template.getSettings().equals(secondary.getSettings())) {
 						LOG.log(Level.FINEST, "{0} CAN SYNCHRONISE: {1}", new Object[]{clusterLabel, secondaryLabel});
-						copyTemplateActionQueueToSecondary(template, secondary);
-						// TODO change to use a queue of tables so we can re-try tables that require another table to exist
-						for (DBRow table : getRequiredAndTrackedTables()) {
-							final String tableName = table.getTableName();
-							if (proceedWithSynchronization) {
-								LOG.log(Level.FINEST, "{0} CHECKING TABLE: {1}", new Object[]{clusterLabel, tableName});
-								// make sure the table exists in the cluster already
-								if (template.tableExists(table)) {
-									LOG.log(Level.FINEST, "{0} INCLUDES TABLE: {1}", new Object[]{clusterLabel, tableName});
-									// Make sure it exists in the new database
-									if (secondary.tableExists(table) == true) {
-										LOG.log(Level.FINEST, "{0} REMOVING DATA FROM {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
-										secondary.preventDroppingOfTables(false);
-										secondary.dropTable(table);
-										LOG.log(Level.FINEST, "{0} REMOVED DATA FROM {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
-									}
-									LOG.log(Level.FINEST, "{0} CREATING ON {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
-									secondary.createTable(table);
-									LOG.log(Level.FINEST, "{0} CREATED ON {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
-									// Check that the table has data
-									final DBTable<DBRow> primaryTable = template.getDBTable(table);
-									try {
-										final Long primaryTableCount = primaryTable.count();
-										try {
-											if (primaryTableCount > 0) {
-												final DBTable<DBRow> primaryData = primaryTable.setBlankQueryAllowed(true).setTimeoutToForever();
-												// Check that the new database has data
-												LOG.log(Level.FINEST, "{0} CLUSTER FILLING TABLE ON {1}:{2}", new Object[]{clusterLabel, secondaryLabel, tableName});
-												List<DBRow> allRows = primaryData.getAllRows();
-												LOG.log(Level.FINEST, "{0} CLUSTER FILLING TABLE ON {1}:{2} with {3} rows", new Object[]{clusterLabel, secondaryLabel, tableName, allRows.size()});
-												final DBTable<DBRow> secondaryTable = secondary.getDBTable(table);
-												try {
-													secondaryTable.insert(allRows);
-													LOG.log(Level.FINEST, "{0} FILLED TABLE ON {1}:{2}", new Object[]{clusterLabel, secondaryLabel, tableName});
-												} catch (SQLException ex) {
-													proceedWithSynchronization = false;
-													LOG.log(Level.SEVERE, "QUARANTINING DATABASE {0}: {1}", new Object[]{secondaryLabel, ex.getLocalizedMessage()});
-													quarantineDatabaseAutomatically(secondary, ex);
-													//exit the loop, to avoid unnecessary tests
-													break;
-												}
-											}
-										} catch (SQLException exceptionGettingData) {
-											LOG.log(Level.WARNING, "FAIL TO RETREIVE TABLE DATA: {0} - {1}", new Object[]{tableName, exceptionGettingData.getLocalizedMessage()});
-											LOG.log(Level.WARNING, "SKIPPING TABLE: {0} - {1}", new Object[]{tableName, exceptionGettingData.getLocalizedMessage()});
-											// lets just skip this table since it seems to be broken
-										}
-									} catch (SQLException exceptionCountingPrimaryTable) {
-										LOG.log(Level.WARNING, "FAILED TO COUNT TABLE: {0} - {1}", new Object[]{tableName, exceptionCountingPrimaryTable.getLocalizedMessage()});
-										LOG.log(Level.WARNING, "SKIPPING TABLE: {0} - {1}", new Object[]{tableName, exceptionCountingPrimaryTable.getLocalizedMessage()});
-										// lets just skip this table since it seems to be broken
-									}
-								}
+						if (resynchroniseIncrementally(template, secondary)) {
+							LOG.log(Level.INFO, "{0} INCREMENTALLY RESYNCHRONISED: {1}", new Object[]{clusterLabel, secondaryLabel});
+						} else {
+							final String synchronisationKey = getSynchronisationKey(secondary);
+							final boolean resuming = interruptedSynchronisations.contains(synchronisationKey) && synchronisationProgress.containsKey(synchronisationKey);
+							final Map<String, TableCopyProgress> progressOfTables;
+							if (resuming) {
+								LOG.log(Level.INFO, "{0} RESUMING SYNCHRONISATION OF: {1}", new Object[]{clusterLabel, secondaryLabel});
+								progressOfTables = synchronisationProgress.get(synchronisationKey);
+							} else {
+								copyTemplateActionQueueToSecondary(template, secondary);
+								progressOfTables = Collections.synchronizedMap(new LinkedHashMap<>());
+								synchronisationProgress.put(synchronisationKey, progressOfTables);
+								interruptedSynchronisations.add(synchronisationKey);
+							}
+							final TableSynchronisationScheduler scheduler = new TableSynchronisationScheduler(
+									getSynchronisationKey(template),
+									synchronisationParallelismPerTemplate,
+									synchronisationParallelismPerSecondary,
+									progress -> propertyChangeSupport.firePropertyChange("synchronisation progress", null, progress));
+							final TableCopier copier = new TableCopier(template, secondary, synchronisationChunkSize, scheduler.getProgressListener());
+							final DBDatabase templateDatabase = template;
+							try {
+								// TODO change to use a queue of tables so we can re-try tables that require another table to exist
+								scheduler.run(Arrays.asList(getRequiredAndTrackedTables()),
+										table -> synchroniseTable(templateDatabase, secondary, table, progressOfTables, copier));
+							} catch (TableCopier.TableCopyInsertException ex) {
+								proceedWithSynchronization = false;
+								LOG.log(Level.SEVERE, "QUARANTINING DATABASE {0}: {1}", new Object[]{secondaryLabel, ex.getCause().getLocalizedMessage()});
+								quarantineDatabaseAutomatically(secondary, ex.getCause());
 							}
-							LOG.log(Level.FINEST, "{0} FINISHED WITH TABLE: {1}", new Object[]{clusterLabel, tableName});
 						}
 					}
 				}
@@ -834,6 +883,7 @@ public class ClusterDetails implements Serializable {
 			}
 			if (proceedWithSynchronization) {
 				LOG.log(Level.FINEST, "{0} START SYNCHRONISING ACTIONS ON: {1}", new Object[]{clusterLabel, secondaryLabel});
+				interruptedSynchronisations.remove(getSynchronisationKey(secondary));
 				synchronizeActions(secondary);
 			}
 		} catch (Exception exc) {
@@ -844,6 +894,292 @@ public class ClusterDetails implements Serializable {
 		// Successfully synchronised the new database :)
 	}
 
+	/**
+	 * Recreates the table on the secondary and copies the template's rows into
+	 * it, or resumes an earlier copy.
+	 *
+	 * <p>
+	 * Tables are synchronised concurrently so this method must not use the
+	 * cluster's monitor.
+	 */
+	private void synchroniseTable(DBDatabase template, DBDatabase secondary, DBRow table, Map<String, TableCopyProgress> progressOfTables, TableCopier copier) throws SQLException, TableCopier.TableCopyInsertException {
+		final String tableName = table.getTableName();
+		final String secondaryLabel = secondary.getLabel();
+		LOG.log(Level.FINEST, "{0} CHECKING TABLE: {1}", new Object[]{clusterLabel, tableName});
+		// make sure the table exists in the cluster already
+		if (template.tableExists(table)) {
+			LOG.log(Level.FINEST, "{0} INCLUDES TABLE: {1}", new Object[]{clusterLabel, tableName});
+			TableCopyProgress progress = progressOfTables.get(tableName);
+			if (progress != null && !canResumeCopy(secondary, table, progress)) {
+				progress = null;
+			}
+			if (progress != null && progress.isComplete()) {
+				LOG.log(Level.FINEST, "{0} ALREADY COPIED TO {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
+			} else {
+				if (progress == null) {
+					// Make sure it exists in the new database
+					if (secondary.tableExists(table) == true) {
+						LOG.log(Level.FINEST, "{0} REMOVING DATA FROM {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
+						secondary.preventDroppingOfTables(false);
+						secondary.dropTable(table);
+						LOG.log(Level.FINEST, "{0} REMOVED DATA FROM {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
+					}
+					LOG.log(Level.FINEST, "{0} CREATING ON {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
+					secondary.createTable(table);
+					LOG.log(Level.FINEST, "{0} CREATED ON {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
+					progress = new TableCopyProgress(tableName);
+					progressOfTables.put(tableName, progress);
+				} else {
+					LOG.log(Level.FINEST, "{0} RESUMING COPY TO {1}: {2}", new Object[]{clusterLabel, secondaryLabel, progress});
+				}
+				// Check that the table has data
+				final DBTable<DBRow> primaryTable = template.getDBTable(table);
+				try {
+					final Long primaryTableCount = primaryTable.count();
+					progress.setTotalRows(primaryTableCount);
+					try {
+						LOG.log(Level.FINEST, "{0} CLUSTER FILLING TABLE ON {1}:{2} with {3} rows", new Object[]{clusterLabel, secondaryLabel, tableName, primaryTableCount});
+						copier.copy(table, progress);
+						LOG.log(Level.FINEST, "{0} FILLED TABLE ON {1}:{2}", new Object[]{clusterLabel, secondaryLabel, tableName});
+					} catch (SQLException exceptionGettingData) {
+						LOG.log(Level.WARNING, "FAIL TO RETREIVE TABLE DATA: {0} - {1}", new Object[]{tableName, exceptionGettingData.getLocalizedMessage()});
+						LOG.log(Level.WARNING, "SKIPPING TABLE: {0} - {1}", new Object[]{tableName, exceptionGettingData.getLocalizedMessage()});
+						// lets just skip this table since it seems to be broken
+					}
+				} catch (SQLException exceptionCountingPrimaryTable) {
+					LOG.log(Level.WARNING, "FAILED TO COUNT TABLE: {0} - {1}", new Object[]{tableName, exceptionCountingPrimaryTable.getLocalizedMessage()});
+					LOG.log(Level.WARNING, "SKIPPING TABLE: {0} - {1}", new Object[]{tableName, exceptionCountingPrimaryTable.getLocalizedMessage()});
+					// lets just skip this table since it seems to be broken
+				}
+			}
+		}
+		LOG.log(Level.FINEST, "{0} FINISHED WITH TABLE: {1}", new Object[]{clusterLabel, tableName});
+	}
+
+	/**
+	 * Attempts to bring a returning member up to date without rebuilding its
+	 * tables.
+	 *
+	 * <p>
+	 * If every action since the member left the cluster has been queued, the
+	 * queue is replayed and the row counts checked. Otherwise, or if that fails,
+	 * each table is compared with the template and only the differing rows are
+	 * replaced. Tables that can not be compared are rebuilt individually.
+	 *
+	 * @return TRUE if the member is now up to date, FALSE if it needs to be
+	 * rebuilt completely
+	 */
+	private boolean resynchroniseIncrementally(DBDatabase template, DBDatabase secondary) {
+		final String synchronisationKey = getSynchronisationKey(secondary);
+		final boolean queueIsComplete = membersWithCompleteQueues.remove(synchronisationKey);
+		if (!incrementalResynchronisation
+				|| !previouslySynchronisedMembers.contains(synchronisationKey)
+				|| interruptedSynchronisations.contains(synchronisationKey)) {
+			return false;
+		}
+		final String secondaryLabel = secondary.getLabel();
+		try {
+			final List<DBRow> tables = new ArrayList<>();
+			for (DBRow table : getRequiredAndTrackedTables()) {
+				if (template.tableExists(table)) {
+					if (!secondary.tableExists(table)) {
+						return false;
+					}
+					tables.add(table);
+				}
+			}
+			final IncrementalResynchroniser resynchroniser = new IncrementalResynchroniser(template, secondary, synchronisationChunkSize);
+			final boolean replayed = queueIsComplete && resynchroniser.replay(getActionQueue(secondary));
+			for (DBRow table : tables) {
+				if (!replayed || !resynchroniser.rowCountsMatch(table)) {
+					if (IncrementalResynchroniser.canRepair(table)) {
+						LOG.log(Level.FINEST, "{0} REPAIRING TABLE ON {1}: {2}", new Object[]{clusterLabel, secondaryLabel, table.getTableName()});
+						resynchroniser.repair(table);
+					} else {
+						LOG.log(Level.FINEST, "{0} REBUILDING TABLE ON {1}: {2}", new Object[]{clusterLabel, secondaryLabel, table.getTableName()});
+						synchroniseTable(template, secondary, table, new HashMap<>(), new TableCopier(template, secondary, synchronisationChunkSize, progress -> {
+						}));
+					}
+				}
+			}
+			copyTemplateActionQueueToSecondary(template, secondary);
+			LOG.log(Level.FINE, "{0} RESYNCHRONISED {1}: replayed {2} actions, deleted {3} rows, inserted {4} rows",
+					new Object[]{clusterLabel, secondaryLabel, resynchroniser.getReplayedActions(), resynchroniser.getDeletedRows(), resynchroniser.getInsertedRows()});
+			return true;
+		} catch (Exception ex) {
+			LOG.log(Level.WARNING, "{0} INCREMENTAL RESYNCHRONISATION OF {1} FAILED, REBUILDING: {2}", new Object[]{clusterLabel, secondaryLabel, ex.getLocalizedMessage()});
+			return false;
+		}
+	}
+
+	/**
+	 * Sets whether returning members are resynchronised incrementally.
+	 *
+	 * <p>
+	 * When enabled, a member that was synchronised before it was quarantined is
+	 * brought up to date by replaying the actions queued while it was away, or by
+	 * replacing only the rows that differ from the template. The member is only
+	 * rebuilt completely if that fails.
+	 *
+	 * @param incremental TRUE to resynchronise incrementally, FALSE to always
+	 * rebuild
+	 */
+	public void setIncrementalResynchronisation(boolean incremental) {
+		this.incrementalResynchronisation = incremental;
+	}
+
+	/**
+	 * Indicates whether returning members are resynchronised incrementally.
+	 *
+	 * @return TRUE if incremental resynchronisation is enabled
+	 */
+	public boolean getIncrementalResynchronisation() {
+		return incrementalResynchronisation;
+	}
+
+	/**
+	 * Sets the strategy used to choose the member that runs each query.
+	 *
+	 * <p>
+	 * The preferred database, if any, is still used while it is ready. Actions
+	 * are always sent to every member.
+	 *
+	 * @param strategy the read routing strategy, for instance
+	 * {@link ReadRoutingStrategy#powerOfTwoChoices() }
+	 */
+	public void setReadRoutingStrategy(ReadRoutingStrategy strategy) {
+		if (strategy == null) {
+			throw new IllegalArgumentException("Read routing strategy must not be null");
+		}
+		this.readRoutingStrategy = strategy;
+	}
+
+	/**
+	 * The strategy used to choose the member that runs each query.
+	 *
+	 * @return the read routing strategy
+	 */
+	public ReadRoutingStrategy getReadRoutingStrategy() {
+		return readRoutingStrategy;
+	}
+
+	/**
+	 * Returns the load and latency statistics of the queries run by a member.
+	 *
+	 * @param database a member of the cluster
+	 * @return the statistics of the member
+	 */
+	public ReadStatistics getReadStatistics(DBDatabase database) {
+		return readStatistics.computeIfAbsent(getSynchronisationKey(database), k -> new ReadStatistics());
+	}
+
+	String getSynchronisationKey(DBDatabase database) {
+		return database.getSettings().encode();
+	}
+
+	/**
+	 * Checks that the rows already copied to the member are still there.
+	 *
+	 * <p>
+	 * Rows are only added to the member's table by the copy so the row count
+	 * will match the progress unless the member has lost its data.
+	 */
+	private boolean canResumeCopy(DBDatabase secondary, DBRow table, TableCopyProgress progress) {
+		if (!progress.isComplete() && table.getPrimaryKeysAsArray().length == 0) {
+			// tables without a primary key are copied in a single pass
+			return false;
+		}
+		try {
+			return secondary.tableExists(table)
+					&& secondary.getDBTable(table).count() == progress.getCopiedRows();
+		} catch (SQLException ex) {
+			return false;
+		}
+	}
+
+	/**
+	 * Sets the number of rows copied at a time while synchronising a member.
+	 *
+	 * @param chunkSize the number of rows read from the template database and
+	 * inserted into the member in each step
+	 */
+	public void setSynchronisationChunkSize(int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("Chunk size must be at least 1: " + chunkSize);
+		}
+		this.synchronisationChunkSize = chunkSize;
+	}
+
+	/**
+	 * The number of rows copied at a time while synchronising a member.
+	 *
+	 * @return the synchronisation chunk size
+	 */
+	public int getSynchronisationChunkSize() {
+		return synchronisationChunkSize;
+	}
+
+	/**
+	 * Sets how many tables are synchronised at the same time.
+	 *
+	 * <p>
+	 * Tables are still synchronised after the tables they reference. The number
+	 * of tables read from each template database at the same time is limited
+	 * across all the members being synchronised from it, while the number of
+	 * tables written to each member is limited separately. Both limits apply.
+	 *
+	 * @param perTemplate the maximum number of tables read from a template
+	 * database at once, 0 or less for no limit
+	 * @param perSecondary the maximum number of tables synchronised at once for a
+	 * member, 1 synchronises one table at a time
+	 */
+	public void setSynchronisationParallelism(int perTemplate, int perSecondary) {
+		if (perSecondary < 1) {
+			throw new IllegalArgumentException("Parallelism per secondary must be at least 1: " + perSecondary);
+		}
+		this.synchronisationParallelismPerTemplate = perTemplate;
+		this.synchronisationParallelismPerSecondary = perSecondary;
+	}
+
+	/**
+	 * The maximum number of tables read from a template database at once.
+	 *
+	 * @return the parallelism per template, 0 or less for no limit
+	 */
+	public int getSynchronisationParallelismPerTemplate() {
+		return synchronisationParallelismPerTemplate;
+	}
+
+	/**
+	 * The maximum number of tables synchronised at once for a member.
+	 *
+	 * @return the parallelism per secondary
+	 */
+	public int getSynchronisationParallelismPerSecondary() {
+		return synchronisationParallelismPerSecondary;
+	}
+
+	/**
+	 * Returns the progress of copying each table to the member during its most
+	 * recent synchronisation.
+	 *
+	 * <p>
+	 * Progress is also reported to the property change listeners as a
+	 * "synchronisation progress" event after every chunk.
+	 *
+	 * @param secondary a member of the cluster
+	 * @return the progress of each table copied so far, in the order copied
+	 */
+	public List<TableCopyProgress> getSynchronisationProgress(DBDatabase secondary) {
+		final Map<String, TableCopyProgress> progress = synchronisationProgress.get(getSynchronisationKey(secondary));
+		if (progress == null) {
+			return new ArrayList<>(0);
+		}
+		synchronized (progress) {
+			return new ArrayList<>(progress.values());
+		}
+	}
+
 	private synchronized void releaseTemplateDatabase(DBDatabase primary) throws NoAvailableDatabaseException {
 		if (primary != null) {
 			if (clusterContains(primary)) {
@@ -888,6 +1224,32 @@ public class ClusterDetails implements Serializable {
 		}
 	}
 
+	/**
+	 * Quarantines the member after an action failed on it.
+	 *
+	 * <p>
+	 * The action is returned to the front of the member's queue so that it is
+	 * replayed if the member is resynchronised incrementally.
+	 *
+	 * @param suspectDatabase the member that failed
+	 * @param sqlException the cause of the failure
+	 * @param failedAction the action that failed
+	 */
+	public void quarantineDatabaseAutomatically(DBDatabase suspectDatabase, Throwable sqlException, DBAction failedAction) {
+		quarantineDatabaseAutomatically(suspectDatabase, sqlException);
+		if (failedAction != null && membersWithCompleteQueues.contains(getSynchronisationKey(suspectDatabase))) {
+			final Queue<DBAction> queue = getActionQueue(suspectDatabase);
+			synchronized (queue) {
+				if (!queue.contains(failedAction)) {
+					final List<DBAction> laterActions = new ArrayList<>(queue);
+					queue.clear();
+					queue.add(failedAction);
+					queue.addAll(laterActions);
+				}
+			}
+		}
+	}
+
 	public void quarantineDatabaseAutomatically(DBDatabase suspectDatabase, Throwable sqlException) {
 		try {
 			quarantineDatabase(suspectDatabase, sqlException);
@@ -951,6 +1313,7 @@ public class ClusterDetails implements Serializable {
 
 	public void shutdown() {
 		this.stillRunning = false;
+		replicator.shutdown();
 	}
 
 	public boolean isShuttingDown() {
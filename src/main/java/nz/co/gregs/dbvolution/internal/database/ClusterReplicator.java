@@ -0,0 +1,499 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import nz.co.gregs.dbvolution.actions.DBAction;
+import nz.co.gregs.dbvolution.actions.DBActionList;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.DBDatabaseCluster;
+import nz.co.gregs.dbvolution.databases.QueryIntention;
+import nz.co.gregs.dbvolution.exceptions.NoAvailableDatabaseException;
+
+/**
+ * Applies actions to the members of a cluster in the background.
+ *
+ * <p>
+ * Each action is added to the action queue of every member, as usual, and the
+ * cluster waits only until the number of members required by the
+ * {@link DBDatabaseCluster.WriteConsistency write consistency} have applied it.
+ * A worker for each ready member applies the actions in its queue in order,
+ * removing each action once it has been applied, so the queue always describes
+ * what the member still has to do. A member that stops being ready keeps its
+ * queue for synchronisation.
+ *
+ * <p>
+ * Actions that must run on one database before the others, like inserts with
+ * generated keys, are applied by a single member first and only queued for the
+ * other members once they have succeeded.
+ *
+ * @author Gregory Graham
+ */
+public class ClusterReplicator {
+
+	private static final Logger LOG = Logger.getLogger(ClusterReplicator.class.getName());
+
+	private final ClusterDetails details;
+	private final Map<String, MemberReplication> memberReplications = new ConcurrentHashMap<>();
+	private final Lock lock = new ReentrantLock();
+	private final Condition progress = lock.newCondition();
+	private final ExecutorService workers = Executors.newCachedThreadPool(runnable -> {
+		final Thread thread = new Thread(runnable, "DBvolution cluster replication");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	ClusterReplicator(ClusterDetails details) {
+		this.details = details;
+	}
+
+	/**
+	 * Executes the action on the ready members of the cluster.
+	 *
+	 * @param action the action to execute
+	 * @param consistency the number of members that must apply the action
+	 * before returning
+	 * @param maximumLag the maximum number of actions waiting for any member, 0
+	 * or less for no limit
+	 * @return the actions performed by the first member to apply the action
+	 * @throws SQLException if no member could apply the action
+	 */
+	public DBActionList execute(DBAction action, DBDatabaseCluster.WriteConsistency consistency, int maximumLag) throws SQLException {
+		DBDatabase[] readyDatabases = details.getReadyDatabases();
+		if (readyDatabases.length == 0) {
+			throw new NoAvailableDatabaseException();
+		}
+		awaitCapacity(readyDatabases, maximumLag);
+		readyDatabases = details.getReadyDatabases();
+		if (readyDatabases.length == 0) {
+			throw new NoAvailableDatabaseException();
+		}
+		final int required = consistency.getRequiredAcknowledgements(readyDatabases.length);
+		DBDatabase firstDatabase = null;
+		PendingWrite firstWrite = null;
+		Exception firstException = null;
+		if (action.requiresRunOnIndividualDatabaseBeforeCluster()) {
+			// the member with the fewest waiting actions will apply the action soonest
+			final DBDatabase[] leastBusyFirst = Arrays.copyOf(readyDatabases, readyDatabases.length);
+			Arrays.sort(leastBusyFirst, Comparator.comparingInt(db -> details.getActionQueue(db).size()));
+			for (DBDatabase database : leastBusyFirst) {
+				final PendingWrite write = new PendingWrite(1);
+				queue(database, action, write, false);
+				await(write, new DBDatabase[]{database}, 1);
+				if (write.acknowledged > 0) {
+					firstDatabase = database;
+					firstWrite = write;
+					break;
+				} else if (firstException == null) {
+					firstException = write.firstException;
+				}
+			}
+			if (firstDatabase == null) {
+				throw asSQLException(firstException);
+			}
+		}
+		final List<DBDatabase> targets = new ArrayList<>(readyDatabases.length);
+		for (DBDatabase database : readyDatabases) {
+			if (firstDatabase == null || !database.equals(firstDatabase)) {
+				if (action.runOnDatabaseDuringCluster(firstDatabase, database)) {
+					targets.add(database);
+				}
+			}
+		}
+		final PendingWrite write = new PendingWrite(targets.size());
+		final List<DBDatabase> ready = Arrays.asList(readyDatabases);
+		for (DBDatabase database : details.getAllDatabases()) {
+			if (targets.contains(database)) {
+				queue(database, action, write, true);
+			} else if (!ready.contains(database)) {
+				// members that are not ready apply the action when they are synchronised
+				details.getActionQueue(database).add(action);
+			}
+		}
+		if (firstWrite != null) {
+			await(write, targets.toArray(new DBDatabase[]{}), required - 1);
+			return firstWrite.result;
+		}
+		await(write, targets.toArray(new DBDatabase[]{}), required);
+		if (write.acknowledged == 0 && !targets.isEmpty()) {
+			throw asSQLException(write.firstException);
+		}
+		return write.result == null ? new DBActionList() : write.result;
+	}
+
+	/**
+	 * Returns the replication statistics of a member.
+	 *
+	 * @param database a member of the cluster
+	 * @return the current statistics of the member
+	 */
+	public ReplicationStatistics getStatistics(DBDatabase database) {
+		final MemberReplication member = getMemberReplication(database);
+		final Replication oldest = member.replications.peekFirst();
+		final long lag = oldest == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.queuedAt);
+		return new ReplicationStatistics(
+				details.getActionQueue(database).size(),
+				member.applied.get(),
+				member.failed.get(),
+				lag,
+				member.lastDelayMillis.get());
+	}
+
+	/**
+	 * Waits until the member has finished applying the current action.
+	 *
+	 * <p>
+	 * Used after the member has been paused so that it does not change while it
+	 * is used as a template.
+	 */
+	void awaitIdle(DBDatabase database) {
+		final MemberReplication member = getMemberReplication(database);
+		lock.lock();
+		try {
+			while (member.busy) {
+				progress.await(100, TimeUnit.MILLISECONDS);
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	void remove(DBDatabase database) {
+		memberReplications.remove(details.getSynchronisationKey(database));
+	}
+
+	void shutdown() {
+		workers.shutdownNow();
+	}
+
+	private MemberReplication getMemberReplication(DBDatabase database) {
+		return memberReplications.computeIfAbsent(details.getSynchronisationKey(database), k -> new MemberReplication());
+	}
+
+	private void queue(DBDatabase database, DBAction action, PendingWrite write, boolean quarantineAllowed) {
+		final MemberReplication member = getMemberReplication(database);
+		member.add(new Replication(action, write, quarantineAllowed), details.getActionQueue(database));
+		start(database);
+	}
+
+	private void start(DBDatabase database) {
+		final MemberReplication member = getMemberReplication(database);
+		if (member.running.compareAndSet(false, true)) {
+			try {
+				workers.submit(() -> applyQueuedActions(database, member));
+			} catch (RejectedExecutionException ex) {
+				member.running.set(false);
+			}
+		}
+	}
+
+	private void applyQueuedActions(DBDatabase database, MemberReplication member) {
+		final Queue<DBAction> queue = details.getActionQueue(database);
+		try {
+			while (true) {
+				setBusy(member, true);
+				final DBAction action = queue.peek();
+				if (action == null || !DBDatabaseCluster.Status.READY.equals(details.getStatusOf(database))) {
+					setBusy(member, false);
+					break;
+				}
+				final Replication replication = member.take(action);
+				DBActionList result = null;
+				Exception failure = null;
+				try {
+					result = database.executeDBAction(action);
+					queue.remove(action);
+				} catch (SQLException | RuntimeException ex) {
+					failure = ex;
+				}
+				setBusy(member, false);
+				if (failure == null) {
+					member.applied(replication);
+					acknowledge(replication, result);
+				} else {
+					handleFailure(database, member, queue, action, replication, failure);
+				}
+			}
+		} finally {
+			member.running.set(false);
+		}
+		if (!queue.isEmpty() && DBDatabaseCluster.Status.READY.equals(details.getStatusOf(database))) {
+			start(database);
+		} else if (!DBDatabaseCluster.Status.READY.equals(details.getStatusOf(database))) {
+			member.abandon();
+			signalProgress();
+		}
+	}
+
+	private void handleFailure(DBDatabase database, MemberReplication member, Queue<DBAction> queue, DBAction action, Replication replication, Exception failure) {
+		if (QueryIntention.DROP_TABLE.equals(action.getIntent()) && isTableNotFound(database, failure)) {
+			queue.remove(action);
+			member.applied(replication);
+			acknowledge(replication, new DBActionList());
+			return;
+		}
+		member.failed.incrementAndGet();
+		if (replication == null || replication.quarantineAllowed) {
+			LOG.log(Level.WARNING, "REPLICATION FAILED ON {0}: {1}", new Object[]{database.getLabel(), failure.getLocalizedMessage()});
+			details.quarantineDatabaseAutomatically(database, failure, action);
+		}
+		if (DBDatabaseCluster.Status.READY.equals(details.getStatusOf(database))) {
+			// the member is still in use so the action is not retried
+			queue.remove(action);
+		}
+		fail(replication, failure);
+	}
+
+	private static boolean isTableNotFound(DBDatabase database, Exception failure) {
+		try {
+			return database.getDefinition().exceptionIsTableNotFound(failure);
+		} catch (NoAvailableDatabaseException ex) {
+			return false;
+		}
+	}
+
+	private void setBusy(MemberReplication member, boolean busy) {
+		lock.lock();
+		try {
+			member.busy = busy;
+			progress.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void signalProgress() {
+		lock.lock();
+		try {
+			progress.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void acknowledge(Replication replication, DBActionList result) {
+		if (replication != null) {
+			lock.lock();
+			try {
+				replication.write.acknowledged++;
+				if (replication.write.result == null) {
+					replication.write.result = result;
+				}
+				progress.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	private void fail(Replication replication, Exception failure) {
+		if (replication != null) {
+			lock.lock();
+			try {
+				replication.write.failed++;
+				if (replication.write.firstException == null) {
+					replication.write.firstException = failure;
+				}
+				progress.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Waits until enough members have applied the write, or until enough
+	 * members have failed or left that it can never happen.
+	 */
+	private void await(PendingWrite write, DBDatabase[] targets, int required) {
+		lock.lock();
+		try {
+			while (write.acknowledged < required
+					&& write.acknowledged + countPossibleAcknowledgements(write, targets) >= required) {
+				progress.await(100, TimeUnit.MILLISECONDS);
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private int countPossibleAcknowledgements(PendingWrite write, DBDatabase[] targets) {
+		int possible = 0;
+		for (DBDatabase target : targets) {
+			if (DBDatabaseCluster.Status.READY.equals(details.getStatusOf(target))) {
+				possible++;
+			}
+		}
+		return Math.min(possible, write.targets - write.acknowledged - write.failed);
+	}
+
+	private void awaitCapacity(DBDatabase[] readyDatabases, int maximumLag) {
+		if (maximumLag <= 0) {
+			return;
+		}
+		for (DBDatabase database : readyDatabases) {
+			final Queue<DBAction> queue = details.getActionQueue(database);
+			if (queue.size() >= maximumLag) {
+				lock.lock();
+				try {
+					while (queue.size() >= maximumLag
+							&& DBDatabaseCluster.Status.READY.equals(details.getStatusOf(database))) {
+						start(database);
+						progress.await(100, TimeUnit.MILLISECONDS);
+					}
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+	}
+
+	private static SQLException asSQLException(Exception exception) {
+		if (exception instanceof SQLException) {
+			return (SQLException) exception;
+		} else if (exception instanceof RuntimeException) {
+			throw (RuntimeException) exception;
+		} else if (exception != null) {
+			return new SQLException(exception);
+		}
+		throw new NoAvailableDatabaseException();
+	}
+
+	private static class PendingWrite {
+
+		private final int targets;
+		private int acknowledged = 0;
+		private int failed = 0;
+		private DBActionList result = null;
+		private Exception firstException = null;
+
+		PendingWrite(int targets) {
+			this.targets = targets;
+		}
+	}
+
+	private static class Replication {
+
+		private final DBAction action;
+		private final PendingWrite write;
+		private final boolean quarantineAllowed;
+		private final long queuedAt = System.nanoTime();
+
+		Replication(DBAction action, PendingWrite write, boolean quarantineAllowed) {
+			this.action = action;
+			this.write = write;
+			this.quarantineAllowed = quarantineAllowed;
+		}
+	}
+
+	private static class MemberReplication {
+
+		private final Deque<Replication> replications = new ConcurrentLinkedDeque<>();
+		private final AtomicBoolean running = new AtomicBoolean(false);
+		private final AtomicLong applied = new AtomicLong(0);
+		private final AtomicLong failed = new AtomicLong(0);
+		private final AtomicLong lastDelayMillis = new AtomicLong(0);
+		private volatile boolean busy = false;
+
+		/**
+		 * Adds the replication and its action to the member as one step.
+		 *
+		 * <p>
+		 * Actions are queued for a member by several threads at once, the
+		 * replications must stay in the same order as the action queue or
+		 * {@link #take(nz.co.gregs.dbvolution.actions.DBAction) } will discard
+		 * replications that are still waiting.
+		 */
+		synchronized void add(Replication replication, Queue<DBAction> actionQueue) {
+			replications.addLast(replication);
+			actionQueue.add(replication.action);
+		}
+
+		/**
+		 * Finds the replication of the action, discarding any replications of
+		 * actions that are no longer queued for the member.
+		 */
+		synchronized Replication take(DBAction action) {
+			Replication found = null;
+			for (Replication replication : replications) {
+				if (replication.action == action) {
+					found = replication;
+					break;
+				}
+			}
+			if (found != null) {
+				Replication head = replications.pollFirst();
+				while (head != null && head != found) {
+					head = replications.pollFirst();
+				}
+			}
+			return found;
+		}
+
+		void applied(Replication replication) {
+			applied.incrementAndGet();
+			if (replication != null) {
+				lastDelayMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - replication.queuedAt));
+			}
+		}
+
+		synchronized void abandon() {
+			replications.clear();
+		}
+	}
+}
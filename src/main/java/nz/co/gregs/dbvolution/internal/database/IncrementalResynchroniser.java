@@ -0,0 +1,358 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import nz.co.gregs.dbvolution.DBQuery;
+import nz.co.gregs.dbvolution.DBQueryRow;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.actions.DBAction;
+import nz.co.gregs.dbvolution.columns.ColumnProvider;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.datatypes.DBInteger;
+import nz.co.gregs.dbvolution.datatypes.DBLargeObject;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.expressions.StringExpression;
+import nz.co.gregs.dbvolution.internal.properties.PropertyWrapper;
+import nz.co.gregs.dbvolution.operators.DBBetweenInclusiveExclusiveOperator;
+import nz.co.gregs.dbvolution.operators.DBGreaterThanOperator;
+import nz.co.gregs.dbvolution.operators.DBGreaterThanOrEqualsOperator;
+import nz.co.gregs.dbvolution.operators.DBLessThanOperator;
+import nz.co.gregs.dbvolution.results.ExpressionHasStandardStringResult;
+
+/**
+ * Brings a returning cluster member up to date without rebuilding its tables.
+ *
+ * <p>
+ * The actions queued while the member was away can be replayed, and each table
+ * can be compared with the template database a chunk of keys at a time. When
+ * both databases can hash strings, the row count and a checksum of each chunk
+ * are calculated by the databases and only the chunks that differ are
+ * retrieved. Only the rows whose values differ are deleted from or inserted
+ * into the member.
+ *
+ * @author Gregory Graham
+ */
+class IncrementalResynchroniser {
+
+	private static final Logger LOG = Logger.getLogger(IncrementalResynchroniser.class.getName());
+	private static final String ROW_COUNT = "IncrementalResynchroniser row count";
+	private static final String CHECKSUM = "IncrementalResynchroniser checksum";
+	private static final String NULL_VALUE = "\u0001";
+	private static final String COLUMN_SEPARATOR = "\u001F";
+
+	private final DBDatabase template;
+	private final DBDatabase secondary;
+	private final int chunkSize;
+	private long replayedActions = 0;
+	private long insertedRows = 0;
+	private long deletedRows = 0;
+	private long comparedRanges = 0;
+	private long repairedRanges = 0;
+
+	IncrementalResynchroniser(DBDatabase template, DBDatabase secondary, int chunkSize) {
+		this.template = template;
+		this.secondary = secondary;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Executes the queued actions on the member, removing each as it succeeds.
+	 *
+	 * @param queue the actions queued for the member
+	 * @return TRUE if all the actions succeeded, otherwise FALSE
+	 */
+	boolean replay(Queue<DBAction> queue) {
+		try {
+			DBAction action;
+			while ((action = queue.peek()) != null) {
+				secondary.executeDBAction(action);
+				queue.remove();
+				replayedActions++;
+			}
+			return true;
+		} catch (SQLException | RuntimeException ex) {
+			LOG.log(Level.WARNING, "UNABLE TO REPLAY ACTIONS ON {0}: {1}", new Object[]{secondary.getLabel(), ex.getLocalizedMessage()});
+			return false;
+		}
+	}
+
+	/**
+	 * Compares the number of rows in the template and the member.
+	 *
+	 * @param table the table to count
+	 * @return TRUE if both databases have the same number of rows
+	 * @throws SQLException database errors
+	 */
+	boolean rowCountsMatch(DBRow table) throws SQLException {
+		return template.getDBTable(table).count().equals(secondary.getDBTable(table).count());
+	}
+
+	/**
+	 * Indicates whether the table can be compared a chunk of keys at a time.
+	 *
+	 * <p>
+	 * The table needs a single primary key and no large objects, which are not
+	 * copied by bulk inserts.
+	 *
+	 * @param table the table to check
+	 * @return TRUE if {@link #repair(nz.co.gregs.dbvolution.DBRow) } can be used
+	 */
+	static boolean canRepair(DBRow table) {
+		if (table.getPrimaryKeysAsArray().length != 1) {
+			return false;
+		}
+		for (PropertyWrapper<?, ?, ?> prop : table.getColumnPropertyWrappers()) {
+			if (prop.getQueryableDatatype() instanceof DBLargeObject) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Makes the member's table match the template's by replacing only the rows
+	 * that differ.
+	 *
+	 * <p>
+	 * The table is divided into ranges of keys, each starting at every
+	 * chunkSize'th key of the template. The checksums of each range are compared
+	 * first, when possible, and the rows are only retrieved for the ranges that
+	 * differ.
+	 *
+	 * @param table the table to repair, which must be
+	 * {@link #canRepair(nz.co.gregs.dbvolution.DBRow) repairable}
+	 * @throws SQLException database errors
+	 */
+	void repair(DBRow table) throws SQLException {
+		final boolean useChecksums = canCompareChecksums(table);
+		QueryableDatatype<?> lowerKey = null;
+		QueryableDatatype<?> upperKey;
+		do {
+			upperKey = getNextRangeStart(table, lowerKey);
+			comparedRanges++;
+			if (!useChecksums || !getChecksum(template, table, lowerKey, upperKey).equals(getChecksum(secondary, table, lowerKey, upperKey))) {
+				repairedRanges++;
+				repairRange(table, getRows(template, table, lowerKey, upperKey), getRows(secondary, table, lowerKey, upperKey));
+			}
+			lowerKey = upperKey;
+		} while (upperKey != null);
+	}
+
+	/**
+	 * Finds the key that starts the range after the range starting at the lower
+	 * key.
+	 *
+	 * @return the first key of the next range, or NULL if this is the last range
+	 */
+	private QueryableDatatype<?> getNextRangeStart(DBRow table, QueryableDatatype<?> lowerKey) throws SQLException {
+		final DBRow example = DBRow.getDBRow(table.getClass());
+		final QueryableDatatype<?> pk = example.getPrimaryKeysAsArray()[0];
+		if (lowerKey != null) {
+			pk.setOperator(new DBGreaterThanOrEqualsOperator(lowerKey));
+		}
+		example.setReturnFields(pk);
+		final List<DBRow> keys = template.getDBTable(example)
+				.setBlankQueryAllowed(true)
+				.setTimeoutToForever()
+				.setSortOrder(example.column(pk))
+				.setRowLimit(chunkSize + 1)
+				.getAllRows();
+		return keys.size() > chunkSize ? getKey(keys.get(chunkSize)).copy() : null;
+	}
+
+	/**
+	 * Restricts the primary key to the keys from the lower key, inclusive, up
+	 * to the upper key, exclusive.
+	 */
+	private static DBRow getExampleForRange(DBRow table, QueryableDatatype<?> lowerKey, QueryableDatatype<?> upperKey) {
+		final DBRow example = DBRow.getDBRow(table.getClass());
+		final QueryableDatatype<?> pk = example.getPrimaryKeysAsArray()[0];
+		if (lowerKey != null && upperKey != null) {
+			pk.setOperator(new DBBetweenInclusiveExclusiveOperator(lowerKey, upperKey));
+		} else if (lowerKey != null) {
+			pk.setOperator(new DBGreaterThanOrEqualsOperator(lowerKey));
+		} else if (upperKey != null) {
+			pk.setOperator(new DBLessThanOperator(upperKey));
+		}
+		return example;
+	}
+
+	private List<DBRow> getRows(DBDatabase database, DBRow table, QueryableDatatype<?> lowerKey, QueryableDatatype<?> upperKey) throws SQLException {
+		return database.getDBTable(getExampleForRange(table, lowerKey, upperKey))
+				.setBlankQueryAllowed(true)
+				.setTimeoutToForever()
+				.getAllRows();
+	}
+
+	/**
+	 * Indicates whether the databases can calculate comparable checksums for the
+	 * table.
+	 *
+	 * <p>
+	 * The hash functions are database specific so both databases need the same
+	 * definition, and every column must be expressible as a string.
+	 */
+	private boolean canCompareChecksums(DBRow table) {
+		final DBDefinition templateDefinition = template.getDefinition();
+		if (!templateDefinition.supportsStringHashTransform()
+				|| !templateDefinition.getClass().equals(secondary.getDefinition().getClass())) {
+			return false;
+		}
+		return getRowAsString(DBRow.getDBRow(table.getClass())) != null;
+	}
+
+	/**
+	 * Creates an expression that changes whenever any column of the row changes.
+	 *
+	 * @return the expression or NULL if a column can not be converted to a
+	 * string
+	 */
+	private static StringExpression getRowAsString(DBRow example) {
+		StringExpression rowAsString = StringExpression.value("");
+		for (PropertyWrapper<?, ?, ?> prop : example.getColumnPropertyWrappers()) {
+			if (prop.isColumn() && !prop.hasColumnExpression()) {
+				final ColumnProvider column = example.column(prop.getQueryableDatatype());
+				if (!(column instanceof ExpressionHasStandardStringResult)) {
+					return null;
+				}
+				rowAsString = rowAsString
+						.append(((ExpressionHasStandardStringResult) column).stringResult().ifDBNull(NULL_VALUE))
+						.append(COLUMN_SEPARATOR);
+			}
+		}
+		return rowAsString;
+	}
+
+	/**
+	 * Calculates the number of rows and the sum of the row hashes within the
+	 * range.
+	 */
+	private List<Long> getChecksum(DBDatabase database, DBRow table, QueryableDatatype<?> lowerKey, QueryableDatatype<?> upperKey) throws SQLException {
+		final DBRow example = getExampleForRange(table, lowerKey, upperKey);
+		final StringExpression rowAsString = getRowAsString(example);
+		final DBQuery query = database.getDBQuery(example)
+				.setBlankQueryAllowed(true)
+				.setTimeoutToForever()
+				.setReturnFieldsToNone()
+				.addExpressionColumn(ROW_COUNT, rowAsString.count().asExpressionColumn())
+				.addExpressionColumn(CHECKSUM, rowAsString.hash().sum().asExpressionColumn());
+		final List<Long> checksum = new ArrayList<>(2);
+		for (DBQueryRow row : query.getAllRows()) {
+			checksum.add(((DBInteger) row.getExpressionColumnValue(ROW_COUNT)).getValue());
+			checksum.add(((DBInteger) row.getExpressionColumnValue(CHECKSUM)).getValue());
+		}
+		return checksum;
+	}
+
+	private void repairRange(DBRow table, List<DBRow> templateRows, List<DBRow> secondaryRows) throws SQLException {
+		final Map<String, String> secondarySignatures = new HashMap<>(secondaryRows.size());
+		final Map<String, DBRow> secondaryByKey = new HashMap<>(secondaryRows.size());
+		for (DBRow row : secondaryRows) {
+			final String key = getKey(row).stringValue();
+			secondarySignatures.put(key, getSignature(row));
+			secondaryByKey.put(key, row);
+		}
+		final List<DBRow> toInsert = new ArrayList<>();
+		final List<DBRow> toDelete = new ArrayList<>();
+		for (DBRow row : templateRows) {
+			final String key = getKey(row).stringValue();
+			final String secondarySignature = secondarySignatures.remove(key);
+			if (secondarySignature == null || !secondarySignature.equals(getSignature(row))) {
+				if (secondarySignature != null) {
+					toDelete.add(secondaryByKey.get(key));
+				}
+				toInsert.add(row);
+			}
+		}
+		for (String extraKey : secondarySignatures.keySet()) {
+			toDelete.add(secondaryByKey.get(extraKey));
+		}
+		if (!toDelete.isEmpty()) {
+			secondary.delete(toDelete);
+			deletedRows += toDelete.size();
+		}
+		if (!toInsert.isEmpty()) {
+			secondary.getDBTable(table).insert(toInsert);
+			insertedRows += toInsert.size();
+		}
+	}
+
+	private static QueryableDatatype<?> getKey(DBRow row) {
+		return row.getPrimaryKeysAsArray()[0];
+	}
+
+	/**
+	 * Produces a value that changes whenever any column of the row changes.
+	 */
+	private static String getSignature(DBRow row) {
+		final StringBuilder signature = new StringBuilder();
+		for (PropertyWrapper<?, ?, ?> prop : row.getColumnPropertyWrappers()) {
+			final QueryableDatatype<?> qdt = prop.getQueryableDatatype();
+			if (qdt.isNull()) {
+				signature.append("\u0000");
+			} else {
+				final String value = qdt.stringValue();
+				signature.append(value.length()).append(':').append(value);
+			}
+			signature.append('|');
+		}
+		return signature.toString();
+	}
+
+	long getReplayedActions() {
+		return replayedActions;
+	}
+
+	long getInsertedRows() {
+		return insertedRows;
+	}
+
+	long getDeletedRows() {
+		return deletedRows;
+	}
+
+	long getComparedRanges() {
+		return comparedRanges;
+	}
+
+	long getRepairedRanges() {
+		return repairedRanges;
+	}
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+
+/**
+ * Chooses the member of a cluster that will run a query.
+ *
+ * <p>
+ * The strategy is given the members that are ready and the
+ * {@link ReadStatistics} of each member. Use
+ * {@link ClusterDetails#setReadRoutingStrategy(nz.co.gregs.dbvolution.internal.database.ReadRoutingStrategy) }
+ * to change the strategy used by a cluster.
+ *
+ * <p>
+ * {@link #powerOfTwoChoices() } is the best general choice when members differ
+ * in load or response time. {@link #random() } is the default.
+ *
+ * @author Gregory Graham
+ */
+public interface ReadRoutingStrategy extends Serializable {
+
+	/**
+	 * Chooses a member to run the next query.
+	 *
+	 * @param readyDatabases the members that are ready, never empty
+	 * @param statistics the statistics of each member
+	 * @return one of the ready databases
+	 */
+	DBDatabase select(DBDatabase[] readyDatabases, Function<DBDatabase, ReadStatistics> statistics);
+
+	/**
+	 * Chooses a member uniformly at random, ignoring load and latency.
+	 *
+	 * @return the random strategy
+	 */
+	public static ReadRoutingStrategy random() {
+		return new Uniform();
+	}
+
+	/**
+	 * Chooses the member with the fewest queries in progress.
+	 *
+	 * <p>
+	 * Ties are broken randomly.
+	 *
+	 * @return the least outstanding requests strategy
+	 */
+	public static ReadRoutingStrategy leastOutstanding() {
+		return new LeastOutstanding();
+	}
+
+	/**
+	 * Chooses the member with the lowest average latency.
+	 *
+	 * <p>
+	 * Members that have not run a query are tried first. Note that a member is
+	 * only measured when it is used, so a member that was slow once may not be
+	 * chosen again until the others become slower.
+	 *
+	 * @return the lowest average latency strategy
+	 */
+	public static ReadRoutingStrategy lowestLatency() {
+		return new LowestLatency();
+	}
+
+	/**
+	 * Picks two members at random and chooses the less loaded one.
+	 *
+	 * <p>
+	 * The load of a member is its average latency multiplied by the number of
+	 * queries in progress plus one. Because every member keeps being picked
+	 * occasionally, their statistics stay current and a slow member recovers its
+	 * share of the queries once it speeds up again.
+	 *
+	 * @return the power of two choices strategy
+	 */
+	public static ReadRoutingStrategy powerOfTwoChoices() {
+		return new PowerOfTwoChoices();
+	}
+
+	/**
+	 * Chooses a member at random in proportion to its weight.
+	 *
+	 * <p>
+	 * Members have a weight of 1 unless changed with
+	 * {@link Weighted#setWeight(nz.co.gregs.dbvolution.databases.DBDatabase, int) }.
+	 *
+	 * @return the weighted strategy
+	 */
+	public static Weighted weighted() {
+		return new Weighted();
+	}
+
+	/**
+	 * Chooses a member uniformly at random.
+	 */
+	public static class Uniform implements ReadRoutingStrategy {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public DBDatabase select(DBDatabase[] readyDatabases, Function<DBDatabase, ReadStatistics> statistics) {
+			return readyDatabases[ThreadLocalRandom.current().nextInt(readyDatabases.length)];
+		}
+	}
+
+	/**
+	 * Chooses the member with the fewest queries in progress.
+	 */
+	public static class LeastOutstanding implements ReadRoutingStrategy {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public DBDatabase select(DBDatabase[] readyDatabases, Function<DBDatabase, ReadStatistics> statistics) {
+			final int offset = ThreadLocalRandom.current().nextInt(readyDatabases.length);
+			DBDatabase best = null;
+			int bestInFlight = Integer.MAX_VALUE;
+			for (int i = 0; i < readyDatabases.length; i++) {
+				final DBDatabase db = readyDatabases[(offset + i) % readyDatabases.length];
+				final int inFlight = statistics.apply(db).getInFlight();
+				if (inFlight < bestInFlight) {
+					best = db;
+					bestInFlight = inFlight;
+				}
+			}
+			return best;
+		}
+	}
+
+	/**
+	 * Chooses the member with the lowest average latency.
+	 */
+	public static class LowestLatency implements ReadRoutingStrategy {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public DBDatabase select(DBDatabase[] readyDatabases, Function<DBDatabase, ReadStatistics> statistics) {
+			final int offset = ThreadLocalRandom.current().nextInt(readyDatabases.length);
+			DBDatabase best = null;
+			double bestLatency = Double.MAX_VALUE;
+			for (int i = 0; i < readyDatabases.length; i++) {
+				final DBDatabase db = readyDatabases[(offset + i) % readyDatabases.length];
+				final double latency = statistics.apply(db).getAverageLatencyNanos();
+				if (latency < bestLatency) {
+					best = db;
+					bestLatency = latency;
+				}
+			}
+			return best;
+		}
+	}
+
+	/**
+	 * Chooses the less loaded of two randomly picked members.
+	 */
+	public static class PowerOfTwoChoices implements ReadRoutingStrategy {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public DBDatabase select(DBDatabase[] readyDatabases, Function<DBDatabase, ReadStatistics> statistics) {
+			if (readyDatabases.length == 1) {
+				return readyDatabases[0];
+			}
+			final ThreadLocalRandom random = ThreadLocalRandom.current();
+			final int first = random.nextInt(readyDatabases.length);
+			final int second = (first + 1 + random.nextInt(readyDatabases.length - 1)) % readyDatabases.length;
+			final DBDatabase firstDB = readyDatabases[first];
+			final DBDatabase secondDB = readyDatabases[second];
+			return getLoad(statistics.apply(secondDB)) < getLoad(statistics.apply(firstDB)) ? secondDB : firstDB;
+		}
+
+		private static double getLoad(ReadStatistics stats) {
+			return stats.getAverageLatencyNanos() * (stats.getInFlight() + 1);
+		}
+	}
+
+	/**
+	 * Chooses a member at random in proportion to its weight.
+	 */
+	public static class Weighted implements ReadRoutingStrategy {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Map<String, Integer> weights = new HashMap<>();
+
+		/**
+		 * Sets the weight of a member.
+		 *
+		 * <p>
+		 * A member with a weight of 2 receives twice as many queries as a member
+		 * with a weight of 1. A member with a weight of 0 is only used when no
+		 * other member is ready.
+		 *
+		 * @param database a member of the cluster
+		 * @param weight the relative share of queries sent to the member, 0 or
+		 * more
+		 * @return this strategy
+		 */
+		public synchronized Weighted setWeight(DBDatabase database, int weight) {
+			if (weight < 0) {
+				throw new IllegalArgumentException("Weight must not be negative: " + weight);
+			}
+			weights.put(database.getSettings().encode(), weight);
+			return this;
+		}
+
+		/**
+		 * The weight of a member.
+		 *
+		 * @param database a member of the cluster
+		 * @return the weight of the member, 1 if no weight has been set
+		 */
+		public synchronized int getWeight(DBDatabase database) {
+			return weights.getOrDefault(database.getSettings().encode(), 1);
+		}
+
+		@Override
+		public DBDatabase select(DBDatabase[] readyDatabases, Function<DBDatabase, ReadStatistics> statistics) {
+			final int[] memberWeights = new int[readyDatabases.length];
+			long total = 0;
+			for (int i = 0; i < readyDatabases.length; i++) {
+				memberWeights[i] = getWeight(readyDatabases[i]);
+				total += memberWeights[i];
+			}
+			if (total == 0) {
+				return readyDatabases[ThreadLocalRandom.current().nextInt(readyDatabases.length)];
+			}
+			long chosen = ThreadLocalRandom.current().nextLong(total);
+			for (int i = 0; i < readyDatabases.length; i++) {
+				chosen -= memberWeights[i];
+				if (chosen < 0) {
+					return readyDatabases[i];
+				}
+			}
+			return readyDatabases[readyDatabases.length - 1];
+		}
+	}
+}
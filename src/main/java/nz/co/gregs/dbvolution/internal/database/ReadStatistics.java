@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The load and response time of queries sent to one member of a cluster.
+ *
+ * <p>
+ * The cluster records every query it routes to the member so that a
+ * {@link ReadRoutingStrategy} can prefer members that are less busy or
+ * respond faster.
+ *
+ * <p>
+ * The latency is an exponentially weighted moving average, so recent queries
+ * count for more than older ones. A member that has not completed a query has
+ * an average latency of zero.
+ *
+ * @author Gregory Graham
+ */
+public class ReadStatistics {
+
+	/**
+	 * The weight given to the latest query when updating the average latency.
+	 */
+	public static final double DEFAULT_SMOOTHING = 0.2;
+
+	private final double smoothing;
+	private final AtomicInteger inFlight = new AtomicInteger(0);
+	private final AtomicLong completed = new AtomicLong(0);
+	private final AtomicLong failures = new AtomicLong(0);
+	private volatile double averageLatencyNanos = 0.0;
+	private volatile long lastLatencyNanos = 0;
+
+	/**
+	 * Creates statistics that use the {@link #DEFAULT_SMOOTHING default smoothing}.
+	 */
+	public ReadStatistics() {
+		this(DEFAULT_SMOOTHING);
+	}
+
+	/**
+	 * Creates statistics that use the specified smoothing.
+	 *
+	 * @param smoothing the weight given to the latest query, greater than 0 and
+	 * at most 1
+	 */
+	public ReadStatistics(double smoothing) {
+		if (smoothing <= 0 || smoothing > 1) {
+			throw new IllegalArgumentException("Smoothing must be greater than 0 and at most 1: " + smoothing);
+		}
+		this.smoothing = smoothing;
+	}
+
+	/**
+	 * Records the start of a query.
+	 *
+	 * <p>
+	 * Every call must be followed by a call to {@link #finished(long, boolean) }.
+	 *
+	 * @return the start time to pass to {@link #finished(long, boolean) }
+	 */
+	public long started() {
+		inFlight.incrementAndGet();
+		return System.nanoTime();
+	}
+
+	/**
+	 * Records the end of a query.
+	 *
+	 * <p>
+	 * Failed queries are included in the average latency because a member that
+	 * fails slowly is still slow.
+	 *
+	 * @param startTime the value returned by {@link #started() }
+	 * @param failed TRUE if the query threw an exception
+	 */
+	public void finished(long startTime, boolean failed) {
+		final long latency = Math.max(0, System.nanoTime() - startTime);
+		inFlight.decrementAndGet();
+		if (failed) {
+			failures.incrementAndGet();
+		}
+		synchronized (this) {
+			if (completed.getAndIncrement() == 0) {
+				averageLatencyNanos = latency;
+			} else {
+				averageLatencyNanos += smoothing * (latency - averageLatencyNanos);
+			}
+			lastLatencyNanos = latency;
+		}
+	}
+
+	/**
+	 * The number of queries currently running on the member.
+	 *
+	 * @return the queries started but not finished
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	/**
+	 * The number of queries the member has finished, including failures.
+	 *
+	 * @return the completed query count
+	 */
+	public long getCompleted() {
+		return completed.get();
+	}
+
+	/**
+	 * The number of queries that threw an exception.
+	 *
+	 * @return the failed query count
+	 */
+	public long getFailures() {
+		return failures.get();
+	}
+
+	/**
+	 * The exponentially weighted moving average of the query latency.
+	 *
+	 * @return the average latency in nanoseconds, 0 if no queries have finished
+	 */
+	public double getAverageLatencyNanos() {
+		return averageLatencyNanos;
+	}
+
+	/**
+	 * The latency of the most recently finished query.
+	 *
+	 * @return the latency in nanoseconds, 0 if no queries have finished
+	 */
+	public long getLastLatencyNanos() {
+		return lastLatencyNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "ReadStatistics{inFlight=" + getInFlight()
+				+ ", completed=" + getCompleted()
+				+ ", failures=" + getFailures()
+				+ ", averageLatencyNanos=" + Math.round(getAverageLatencyNanos()) + "}";
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+/**
+ * How far a member of a cluster is behind the actions executed on the cluster.
+ *
+ * <p>
+ * Only relevant when the cluster's
+ * {@link nz.co.gregs.dbvolution.databases.DBDatabaseCluster.WriteConsistency write consistency}
+ * allows members to apply actions in the background.
+ *
+ * @author Gregory Graham
+ */
+public class ReplicationStatistics {
+
+	private final int pendingActions;
+	private final long appliedActions;
+	private final long failedActions;
+	private final long lagMillis;
+	private final long lastDelayMillis;
+
+	ReplicationStatistics(int pendingActions, long appliedActions, long failedActions, long lagMillis, long lastDelayMillis) {
+		this.pendingActions = pendingActions;
+		this.appliedActions = appliedActions;
+		this.failedActions = failedActions;
+		this.lagMillis = lagMillis;
+		this.lastDelayMillis = lastDelayMillis;
+	}
+
+	/**
+	 * The number of actions waiting to be applied to the member.
+	 *
+	 * @return the pending action count
+	 */
+	public int getPendingActions() {
+		return pendingActions;
+	}
+
+	/**
+	 * The number of actions the member has applied in the background.
+	 *
+	 * @return the applied action count
+	 */
+	public long getAppliedActions() {
+		return appliedActions;
+	}
+
+	/**
+	 * The number of actions that failed on the member in the background.
+	 *
+	 * @return the failed action count
+	 */
+	public long getFailedActions() {
+		return failedActions;
+	}
+
+	/**
+	 * How long the oldest pending action has been waiting.
+	 *
+	 * @return the lag in milliseconds, 0 if the member is up to date
+	 */
+	public long getLagMillis() {
+		return lagMillis;
+	}
+
+	/**
+	 * How long the most recently applied action waited before it was applied.
+	 *
+	 * @return the delay in milliseconds
+	 */
+	public long getLastDelayMillis() {
+		return lastDelayMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "ReplicationStatistics{pendingActions=" + pendingActions
+				+ ", appliedActions=" + appliedActions
+				+ ", failedActions=" + failedActions
+				+ ", lagMillis=" + lagMillis
+				+ ", lastDelayMillis=" + lastDelayMillis + "}";
+	}
+}
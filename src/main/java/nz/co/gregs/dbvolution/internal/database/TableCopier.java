@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.DBTable;
+import nz.co.gregs.dbvolution.columns.ColumnProvider;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.operators.DBGreaterThanOperator;
+
+/**
+ * Copies the rows of a table from the template database to a cluster member in
+ * chunks.
+ *
+ * <p>
+ * Tables with a single primary key are read in primary key order, each chunk
+ * starting after the last key copied, so only one chunk is held in memory at a
+ * time and the copy can resume from the last key. Tables with a composite
+ * primary key are read in pages of the same size, ordered by the primary key.
+ *
+ * <p>
+ * Tables without a primary key have no stable order to page through, so they
+ * are read in a single pass through a cursor and inserted in chunks. Such a
+ * copy cannot be resumed and must be restarted from an empty table.
+ *
+ * @author Gregory Graham
+ */
+class TableCopier {
+
+	private static final Logger LOG = Logger.getLogger(TableCopier.class.getName());
+
+	private final DBDatabase template;
+	private final DBDatabase secondary;
+	private final int chunkSize;
+	private final Consumer<TableCopyProgress> progressListener;
+
+	TableCopier(DBDatabase template, DBDatabase secondary, int chunkSize, Consumer<TableCopyProgress> progressListener) {
+		this.template = template;
+		this.secondary = secondary;
+		this.chunkSize = chunkSize;
+		this.progressListener = progressListener;
+	}
+
+	/**
+	 * Copies the rows not yet recorded in the progress.
+	 *
+	 * @param table an example of the table to copy
+	 * @param progress the progress of the copy so far, updated after every chunk
+	 * @throws SQLException SQL exceptions from reading the template database
+	 * @throws TableCopyInsertException if a chunk could not be inserted
+	 */
+	void copy(DBRow table, TableCopyProgress progress) throws SQLException, TableCopyInsertException {
+		final int primaryKeys = DBRow.getDBRow(table.getClass()).getPrimaryKeysAsArray().length;
+		if (primaryKeys == 1) {
+			copyByKey(table, progress);
+		} else if (primaryKeys > 1) {
+			copyByPage(table, progress);
+		} else {
+			copyByCursor(table, progress);
+		}
+		progress.setComplete();
+		LOG.log(Level.FINE, "COPIED TABLE TO {0}: {1}", new Object[]{secondary.getLabel(), progress});
+		progressListener.accept(progress);
+	}
+
+	private void copyByKey(DBRow table, TableCopyProgress progress) throws SQLException, TableCopyInsertException {
+		List<DBRow> chunk;
+		do {
+			final DBRow example = DBRow.getDBRow(table.getClass());
+			final QueryableDatatype<?> pk = example.getPrimaryKeysAsArray()[0];
+			final QueryableDatatype<?> lastKey = progress.getLastCopiedKeyQDT();
+			if (lastKey != null) {
+				pk.setOperator(new DBGreaterThanOperator(lastKey));
+			}
+			chunk = getSourceTable(example)
+					.setSortOrder(example.column(pk))
+					.getAllRows();
+			if (!chunk.isEmpty()) {
+				insert(table, chunk);
+				progress.chunkCopied(chunk.size(), chunk.get(chunk.size() - 1).getPrimaryKeysAsArray()[0].copy());
+				reportProgress(progress);
+			}
+		} while (chunk.size() >= chunkSize);
+	}
+
+	private void copyByPage(DBRow table, TableCopyProgress progress) throws SQLException, TableCopyInsertException {
+		final DBRow example = DBRow.getDBRow(table.getClass());
+		final DBTable<DBRow> source = getSourceTable(example);
+		final QueryableDatatype<?>[] pks = example.getPrimaryKeysAsArray();
+		final ColumnProvider[] sortOrder = new ColumnProvider[pks.length];
+		for (int i = 0; i < pks.length; i++) {
+			sortOrder[i] = example.column(pks[i]);
+		}
+		source.setSortOrder(sortOrder);
+		List<DBRow> chunk;
+		do {
+			chunk = source.getPage(progress.getCopiedChunks());
+			if (!chunk.isEmpty()) {
+				insert(table, chunk);
+				progress.chunkCopied(chunk.size(), null);
+				reportProgress(progress);
+			}
+		} while (chunk.size() >= chunkSize);
+	}
+
+	private void copyByCursor(DBRow table, TableCopyProgress progress) throws SQLException, TableCopyInsertException {
+		final DBRow example = DBRow.getDBRow(table.getClass());
+		final DBTable<DBRow> source = template.getDBTable(example)
+				.setBlankQueryAllowed(true)
+				.setTimeoutToForever()
+				.setFetchSize(chunkSize);
+		try (Stream<DBRow> rows = source.stream()) {
+			final Iterator<DBRow> iterator = rows.iterator();
+			final List<DBRow> chunk = new ArrayList<>(chunkSize);
+			while (iterator.hasNext()) {
+				chunk.add(iterator.next());
+				if (chunk.size() >= chunkSize || !iterator.hasNext()) {
+					insert(table, chunk);
+					progress.chunkCopied(chunk.size(), null);
+					reportProgress(progress);
+					chunk.clear();
+				}
+			}
+		}
+	}
+
+	private DBTable<DBRow> getSourceTable(DBRow example) {
+		return template.getDBTable(example)
+				.setBlankQueryAllowed(true)
+				.setTimeoutToForever()
+				.setRowLimit(chunkSize);
+	}
+
+	private void insert(DBRow table, List<DBRow> chunk) throws TableCopyInsertException {
+		try {
+			secondary.getDBTable(table).insert(chunk);
+		} catch (SQLException ex) {
+			throw new TableCopyInsertException(ex);
+		}
+	}
+
+	private void reportProgress(TableCopyProgress progress) {
+		LOG.log(Level.FINEST, "COPYING TABLE TO {0}: {1}", new Object[]{secondary.getLabel(), progress});
+		progressListener.accept(progress);
+	}
+
+	/**
+	 * Distinguishes failures writing to the cluster member from failures reading
+	 * the template database.
+	 */
+	static class TableCopyInsertException extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		TableCopyInsertException(SQLException cause) {
+			super(cause);
+		}
+
+		@Override
+		public synchronized SQLException getCause() {
+			return (SQLException) super.getCause();
+		}
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.io.Serializable;
+import java.time.Instant;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+
+/**
+ * Records how much of a table has been copied to a cluster member during
+ * synchronisation.
+ *
+ * <p>
+ * The progress also remembers the last key copied so that an interrupted copy
+ * can be resumed without copying the earlier rows again.
+ *
+ * @author Gregory Graham
+ */
+public class TableCopyProgress implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String tableName;
+	private volatile long totalRows = 0;
+	private volatile long copiedRows = 0;
+	private volatile int copiedChunks = 0;
+	private volatile QueryableDatatype<?> lastCopiedKey = null;
+	private volatile boolean complete = false;
+	private final Instant started = Instant.now();
+	private volatile Instant lastUpdated = started;
+
+	TableCopyProgress(String tableName) {
+		this.tableName = tableName;
+	}
+
+	/**
+	 * The name of the table being copied.
+	 *
+	 * @return the table name
+	 */
+	public String getTableName() {
+		return tableName;
+	}
+
+	/**
+	 * The number of rows in the template database when the copy started.
+	 *
+	 * @return the rows to be copied
+	 */
+	public long getTotalRows() {
+		return totalRows;
+	}
+
+	/**
+	 * The number of rows copied so far.
+	 *
+	 * @return the rows copied
+	 */
+	public long getCopiedRows() {
+		return copiedRows;
+	}
+
+	/**
+	 * The number of chunks copied so far.
+	 *
+	 * @return the chunks copied
+	 */
+	public int getCopiedChunks() {
+		return copiedChunks;
+	}
+
+	/**
+	 * The primary key value of the last row copied.
+	 *
+	 * @return the last key copied, or NULL if no rows have been copied or the
+	 * table does not have a single primary key
+	 */
+	public Object getLastCopiedKey() {
+		final QueryableDatatype<?> key = lastCopiedKey;
+		return key == null ? null : key.getValue();
+	}
+
+	QueryableDatatype<?> getLastCopiedKeyQDT() {
+		return lastCopiedKey;
+	}
+
+	/**
+	 * Indicates whether all the rows of the table have been copied.
+	 *
+	 * @return TRUE if the copy has finished, otherwise FALSE
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * The proportion of the table copied so far.
+	 *
+	 * @return a value between 0 and 1
+	 */
+	public double getFractionComplete() {
+		if (complete) {
+			return 1.0;
+		}
+		final long total = totalRows;
+		return total <= 0 ? 0.0 : Math.min(1.0, ((double) copiedRows) / total);
+	}
+
+	/**
+	 * The time the copy started.
+	 *
+	 * @return the start time
+	 */
+	public Instant getStarted() {
+		return started;
+	}
+
+	/**
+	 * The time the progress was last updated.
+	 *
+	 * @return the time of the last update
+	 */
+	public Instant getLastUpdated() {
+		return lastUpdated;
+	}
+
+	void setTotalRows(long totalRows) {
+		this.totalRows = totalRows;
+		this.lastUpdated = Instant.now();
+	}
+
+	synchronized void chunkCopied(int rows, QueryableDatatype<?> lastKey) {
+		this.copiedRows += rows;
+		this.copiedChunks++;
+		this.lastCopiedKey = lastKey;
+		this.lastUpdated = Instant.now();
+	}
+
+	void setComplete() {
+		this.complete = true;
+		this.lastUpdated = Instant.now();
+	}
+
+	@Override
+	public String toString() {
+		return tableName + ": " + copiedRows + "/" + totalRows + " rows in " + copiedChunks + " chunks"
+				+ (complete ? " (complete)" : lastCopiedKey == null ? "" : " up to " + getLastCopiedKey());
+	}
+}
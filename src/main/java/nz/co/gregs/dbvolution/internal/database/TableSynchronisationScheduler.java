@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.internal.properties.PropertyWrapper;
+
+/**
+ * Runs the synchronisation of each table of a cluster member, several at a
+ * time, while respecting the foreign keys between the tables.
+ *
+ * <p>
+ * A table is only started once every other table it references has finished,
+ * unless the references form a cycle. The number of tables synchronised at the
+ * same time is limited for the member being synchronised, and the number of
+ * tables read at the same time is limited for each template database across
+ * all synchronisations.
+ *
+ * <p>
+ * Progress reports and failures are returned to the thread calling
+ * {@link #run(java.util.List, nz.co.gregs.dbvolution.internal.database.TableSynchronisationScheduler.TableTask) }
+ * so that it can update the cluster safely. Once a table fails no more tables
+ * are started.
+ *
+ * @author Gregory Graham
+ */
+class TableSynchronisationScheduler {
+
+	private static final Map<String, TemplatePermits> TEMPLATE_PERMITS = new ConcurrentHashMap<>();
+
+	private final int parallelism;
+	private final Semaphore templatePermits;
+	private final Consumer<TableCopyProgress> progressListener;
+	private final ConcurrentLinkedQueue<TableCopyProgress> progressReports = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Creates a scheduler for synchronising one member.
+	 *
+	 * @param templateKey identifies the template database
+	 * @param parallelismPerTemplate the maximum tables read from the template at
+	 * once, 0 or less for no limit
+	 * @param parallelismPerSecondary the maximum tables synchronised at once for
+	 * this member
+	 * @param progressListener receives the progress of the tables on the calling
+	 * thread
+	 */
+	TableSynchronisationScheduler(String templateKey, int parallelismPerTemplate, int parallelismPerSecondary, Consumer<TableCopyProgress> progressListener) {
+		this.parallelism = Math.max(1, parallelismPerSecondary);
+		this.templatePermits = getTemplatePermits(templateKey, parallelismPerTemplate);
+		this.progressListener = progressListener;
+	}
+
+	private static Semaphore getTemplatePermits(String templateKey, int permits) {
+		if (permits <= 0) {
+			return null;
+		}
+		return TEMPLATE_PERMITS.compute(templateKey,
+				(key, existing) -> existing != null && existing.size == permits ? existing : new TemplatePermits(permits)
+		).semaphore;
+	}
+
+	/**
+	 * The listener to give to the tasks so that their progress reaches the
+	 * calling thread.
+	 *
+	 * @return a progress listener for the tasks
+	 */
+	Consumer<TableCopyProgress> getProgressListener() {
+		return parallelism == 1 ? progressListener : progressReports::add;
+	}
+
+	/**
+	 * Synchronises all the tables and waits for them to finish.
+	 *
+	 * @param tables the tables to synchronise in their preferred order
+	 * @param task synchronises a single table
+	 * @throws Exception the first exception thrown by a task
+	 */
+	void run(List<DBRow> tables, TableTask task) throws Exception {
+		final List<DBRow> pending = new ArrayList<>(tables);
+		final Set<DBRow> inProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+		if (parallelism == 1) {
+			while (!pending.isEmpty()) {
+				final DBRow table = nextTable(pending, inProgress, true);
+				synchronise(task, table);
+			}
+			return;
+		}
+		final ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+			final Thread thread = new Thread(runnable, "DBvolution table synchronisation");
+			thread.setDaemon(true);
+			return thread;
+		});
+		final CompletionService<FinishedTable> completion = new ExecutorCompletionService<>(executor);
+		Exception failure = null;
+		try {
+			while (!pending.isEmpty() || !inProgress.isEmpty()) {
+				DBRow next;
+				while (failure == null && inProgress.size() < parallelism
+						&& (next = nextTable(pending, inProgress, inProgress.isEmpty())) != null) {
+					final DBRow table = next;
+					inProgress.add(table);
+					completion.submit(() -> {
+						try {
+							synchronise(task, table);
+							return new FinishedTable(table, null);
+						} catch (Exception ex) {
+							return new FinishedTable(table, ex);
+						}
+					});
+				}
+				if (inProgress.isEmpty()) {
+					break;
+				}
+				final Future<FinishedTable> future = completion.poll(100, TimeUnit.MILLISECONDS);
+				reportProgress();
+				if (future != null) {
+					final FinishedTable finished = future.get();
+					inProgress.remove(finished.table);
+					if (failure == null && finished.failure != null) {
+						failure = finished.failure;
+					}
+				}
+			}
+		} finally {
+			executor.shutdown();
+			reportProgress();
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private void synchronise(TableTask task, DBRow table) throws Exception {
+		if (templatePermits != null) {
+			templatePermits.acquire();
+		}
+		try {
+			task.synchronise(table);
+		} finally {
+			if (templatePermits != null) {
+				templatePermits.release();
+			}
+		}
+	}
+
+	/**
+	 * Finds the first pending table that does not reference any other table
+	 * still to be synchronised.
+	 *
+	 * @param breakCycles when TRUE and no table is ready, the first pending table
+	 * is returned
+	 */
+	private static DBRow nextTable(List<DBRow> pending, Set<DBRow> inProgress, boolean breakCycles) {
+		for (DBRow candidate : pending) {
+			if (!referencesAnyOf(candidate, pending) && !referencesAnyOf(candidate, inProgress)) {
+				pending.remove(candidate);
+				return candidate;
+			}
+		}
+		if (breakCycles && !pending.isEmpty()) {
+			return pending.remove(0);
+		}
+		return null;
+	}
+
+	private static boolean referencesAnyOf(DBRow table, Iterable<DBRow> others) {
+		for (PropertyWrapper<?, ?, ?> fk : table.getForeignKeyPropertyWrappers()) {
+			final Class<? extends DBRow> referencedClass = fk.referencedClass();
+			for (DBRow other : others) {
+				if (other != table && !other.getClass().equals(table.getClass()) && referencedClass.isAssignableFrom(other.getClass())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private void reportProgress() {
+		TableCopyProgress progress;
+		while ((progress = progressReports.poll()) != null) {
+			progressListener.accept(progress);
+		}
+	}
+
+	/**
+	 * Synchronises one table.
+	 */
+	@FunctionalInterface
+	static interface TableTask {
+
+		void synchronise(DBRow table) throws Exception;
+	}
+
+	private static class FinishedTable {
+
+		private final DBRow table;
+		private final Exception failure;
+
+		FinishedTable(DBRow table, Exception failure) {
+			this.table = table;
+			this.failure = failure;
+		}
+	}
+
+	private static class TemplatePermits {
+
+		private final int size;
+		private final Semaphore semaphore;
+
+		TemplatePermits(int size) {
+			this.size = size;
+			this.semaphore = new Semaphore(size, true);
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import nz.co.gregs.dbvolution.DBQueryRow;
+import nz.co.gregs.dbvolution.DBRow;
+
+/**
+ * An index from each row in a query's results to the instances of another
+ * table that share a {@link DBQueryRow} with it.
+ *
+ * <p>
+ * Auto-filling a field requires the related instances of every row in the
+ * results. Scanning the results for each row makes auto-filling quadratic in
+ * the size of the results, so the index is built with a single pass over the
+ * results for each pair of tables and then consulted for every row.
+ *
+ * <p>
+ * Rows are identified by instance, as the query reuses existing instances for
+ * rows that appear more than once.
+ *
+ * @author Gregory Graham
+ */
+class AutoFillIndex {
+
+	private final List<DBQueryRow> allRows;
+	private final Map<Class<?>, Map<Class<?>, Map<DBRow, List<DBRow>>>> indexes = new HashMap<>();
+
+	/**
+	 * Creates an index of the results provided.
+	 *
+	 * @param allRows the results of the query
+	 */
+	AutoFillIndex(List<DBQueryRow> allRows) {
+		this.allRows = allRows;
+	}
+
+	/**
+	 * Finds all instances of {@code example} that share a {@link DBQueryRow}
+	 * with the row.
+	 *
+	 * @param <R> DBRow
+	 * @param row the instance that the examples connect to
+	 * @param example an example of the required table
+	 * @return all instances of {@code example} that are connected to the row, in
+	 * the order they appear in the results
+	 */
+	@SuppressWarnings("unchecked")
+	<R extends DBRow> List<R> getRelatedInstances(DBRow row, R example) {
+		final Map<DBRow, List<DBRow>> index = getIndex(row.getClass(), example.getClass());
+		final List<DBRow> found = index.get(row);
+		if (found == null) {
+			return new ArrayList<>();
+		}
+		return (List<R>) new ArrayList<>(found);
+	}
+
+	private Map<DBRow, List<DBRow>> getIndex(Class<? extends DBRow> rowClass, Class<? extends DBRow> relatedClass) {
+		final Map<Class<?>, Map<DBRow, List<DBRow>>> indexesForRow = indexes.computeIfAbsent(rowClass, (key) -> new HashMap<>());
+		Map<DBRow, List<DBRow>> index = indexesForRow.get(relatedClass);
+		if (index == null) {
+			index = new IdentityHashMap<>();
+			for (DBQueryRow qrow : allRows) {
+				final DBRow versionOfThis = qrow.get(rowClass);
+				final DBRow versionOfThat = qrow.get(relatedClass);
+				if (versionOfThis != null && versionOfThat != null) {
+					index.computeIfAbsent(versionOfThis, (key) -> new ArrayList<>()).add(versionOfThat);
+				}
+			}
+			indexesForRow.put(relatedClass, index);
+		}
+		return index;
+	}
+}
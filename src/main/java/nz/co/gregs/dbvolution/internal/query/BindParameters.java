@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.datatypes.DBInteger;
+import nz.co.gregs.dbvolution.datatypes.DBNumber;
+import nz.co.gregs.dbvolution.datatypes.DBString;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+
+/**
+ * Collects the literal values used in the conditions of a query so that they
+ * can be supplied as bind parameters to a PreparedStatement.
+ *
+ * <p>
+ * While {@link #collect(java.util.function.Supplier) } is running, literal
+ * values produced by {@link QueryableDatatype#toSQLString(DBDefinition) } are
+ * replaced by a marker and remembered. {@link #bind(java.lang.String) } then
+ * turns the generated SQL into both the literal SQL and the SQL with "?"
+ * placeholders.
+ *
+ * <p>
+ * Only strings and numbers without any database specific formatting are
+ * collected, every other value stays inlined in the SQL.
+ *
+ * @author Gregory Graham
+ */
+public class BindParameters {
+
+	private static final ThreadLocal<BindParameters> COLLECTING = new ThreadLocal<>();
+	private static final AtomicLong MARKER_COUNTER = new AtomicLong(0);
+	private static final String MARKER_END = "}";
+	private static final BindParameters NONE = new BindParameters(false);
+
+	private final boolean enabled;
+	private final String markerStart;
+	private final List<Object> values = new ArrayList<>();
+	private final List<String> literals = new ArrayList<>();
+
+	private BindParameters(boolean enabled) {
+		this.enabled = enabled;
+		this.markerStart = "{DBV_BIND_" + MARKER_COUNTER.incrementAndGet() + "_";
+	}
+
+	/**
+	 * Creates a new, active, collection of parameters.
+	 *
+	 * @return a BindParameters ready to collect values
+	 */
+	public static BindParameters create() {
+		return new BindParameters(true);
+	}
+
+	/**
+	 * The inactive BindParameters that leaves all values inlined in the SQL.
+	 *
+	 * @return the inactive BindParameters
+	 */
+	public static BindParameters none() {
+		return NONE;
+	}
+
+	/**
+	 * Indicates whether this instance collects values.
+	 *
+	 * @return TRUE if values will be collected, otherwise FALSE
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Generates SQL while collecting the bindable values used within it.
+	 *
+	 * @param <T> the type of the generated SQL
+	 * @param generator the code that generates the SQL
+	 * @return the generated SQL, with markers in place of the collected values
+	 */
+	public <T> T collect(Supplier<T> generator) {
+		if (!enabled) {
+			return generator.get();
+		}
+		final BindParameters previous = COLLECTING.get();
+		COLLECTING.set(this);
+		try {
+			return generator.get();
+		} finally {
+			if (previous == null) {
+				COLLECTING.remove();
+			} else {
+				COLLECTING.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Returns the SQL to use for the QDT's value.
+	 *
+	 * <p>
+	 * If parameters are being collected and the value can be bound, the value is
+	 * remembered and a marker returned, otherwise the literal SQL is returned
+	 * unchanged.
+	 *
+	 * @param defn the database definition
+	 * @param qdt the QDT that produced the literal
+	 * @param value the value of the QDT
+	 * @param literalSQL the literal value formatted for the database
+	 * @return the literal or a marker for the collected value
+	 */
+	public static String placeholderFor(DBDefinition defn, QueryableDatatype<?> qdt, Object value, String literalSQL) {
+		final BindParameters current = COLLECTING.get();
+		if (current == null) {
+			return literalSQL;
+		}
+		final Object bindableValue = getBindableValue(defn, qdt, value);
+		if (bindableValue == null) {
+			return literalSQL;
+		}
+		return current.add(bindableValue, literalSQL);
+	}
+
+	private static Object getBindableValue(DBDefinition defn, QueryableDatatype<?> qdt, Object value) {
+		final Class<?> qdtClass = qdt.getClass();
+		if (qdtClass.equals(DBString.class)) {
+			final String stringValue = (String) value;
+			final String beginString = defn.beginStringValue().trim();
+			if (!stringValue.isEmpty()
+					&& (beginString.equals("'") || beginString.equals("N'"))
+					&& defn.endStringValue().equals("'")) {
+				return stringValue;
+			}
+		} else if (qdtClass.equals(DBInteger.class) || qdtClass.equals(DBNumber.class)) {
+			if (defn.beginNumberValue().isEmpty() && defn.endNumberValue().isEmpty()) {
+				return value;
+			}
+		}
+		return null;
+	}
+
+	private synchronized String add(Object value, String literalSQL) {
+		final int index = values.size();
+		values.add(value);
+		literals.add(literalSQL);
+		return markerStart + index + MARKER_END;
+	}
+
+	/**
+	 * Converts SQL generated with this BindParameters into literal and
+	 * parameterised forms.
+	 *
+	 * @param sql SQL that may contain markers created by this BindParameters
+	 * @return the literal SQL, the SQL with placeholders, and the values for the
+	 * placeholders
+	 */
+	public synchronized ParameterisedSQL bind(String sql) {
+		if (!enabled || values.isEmpty()) {
+			return new ParameterisedSQL(sql, sql, new ArrayList<>(0));
+		}
+		final StringBuilder literalSQL = new StringBuilder(sql.length());
+		final StringBuilder parameterisedSQL = new StringBuilder(sql.length());
+		final List<Object> boundValues = new ArrayList<>();
+		int start = 0;
+		int found = sql.indexOf(markerStart);
+		while (found >= 0) {
+			final int indexStart = found + markerStart.length();
+			final int end = sql.indexOf(MARKER_END, indexStart);
+			final int index = Integer.parseInt(sql.substring(indexStart, end));
+			literalSQL.append(sql, start, found).append(literals.get(index));
+			parameterisedSQL.append(sql, start, found).append("?");
+			boundValues.add(values.get(index));
+			start = end + MARKER_END.length();
+			found = sql.indexOf(markerStart, start);
+		}
+		literalSQL.append(sql, start, sql.length());
+		parameterisedSQL.append(sql, start, sql.length());
+		return new ParameterisedSQL(literalSQL.toString(), parameterisedSQL.toString(), boundValues);
+	}
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import nz.co.gregs.dbvolution.DBQueryRow;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.internal.properties.PropertyWrapper;
+import nz.co.gregs.dbvolution.internal.properties.PropertyWrapperDefinition;
+
+/**
+ * Describes how to transfer each column of a ResultSet into the DBRows of a
+ * query.
+ *
+ * <p>
+ * The plan is created once per ResultSet and then reused for every row. It
+ * matches the selected properties of each table to the positions of their
+ * column aliases in the ResultSet so that hydrating a row does not need to
+ * compare every property with every selected property, re-format the column
+ * aliases, or look up each column by name. The aliases are kept with the
+ * positions for the datatypes that can only read by name.
+ *
+ * @author Gregory Graham
+ */
+public class HydrationPlan {
+
+	private final List<TablePlan> tablePlans;
+	private final List<ExpressionColumnPlan> expressionPlans;
+
+	private HydrationPlan(List<TablePlan> tablePlans, List<ExpressionColumnPlan> expressionPlans) {
+		this.tablePlans = tablePlans;
+		this.expressionPlans = expressionPlans;
+	}
+
+	/**
+	 * Creates the plan for the query and the columns actually returned in the
+	 * ResultSet.
+	 *
+	 * @param defn the database definition used to generate the query
+	 * @param details the query being processed
+	 * @param resultSet the results of the query, only the metadata is used
+	 * @return a plan for hydrating all the rows of the ResultSet
+	 * @throws SQLException database errors
+	 */
+	public static HydrationPlan create(DBDefinition defn, QueryDetails details, ResultSet resultSet) throws SQLException {
+		List<TablePlan> tables = new ArrayList<>();
+		for (DBRow tableRow : details.getAllQueryTables()) {
+			tables.add(new TablePlan(defn, tableRow, resultSet));
+		}
+		List<ExpressionColumnPlan> expressions = new ArrayList<>();
+		for (Map.Entry<Object, QueryableDatatype<?>> entry : details.getExpressionColumnsCopy().entrySet()) {
+			final String columnAlias = defn.formatExpressionAlias(entry.getKey());
+			expressions.add(new ExpressionColumnPlan(entry.getKey(), entry.getValue(), findColumn(resultSet, columnAlias), columnAlias));
+		}
+		return new HydrationPlan(tables, expressions);
+	}
+
+	private static int findColumn(ResultSet resultSet, String columnAlias) {
+		try {
+			return resultSet.findColumn(columnAlias);
+		} catch (SQLException ex) {
+			// the column was not returned by the query
+			return 0;
+		}
+	}
+
+	/**
+	 * The plans for each table of the query in the same order as
+	 * {@link QueryDetails#getAllQueryTables() }.
+	 *
+	 * @return the table plans
+	 */
+	public List<TablePlan> getTablePlans() {
+		return tablePlans;
+	}
+
+	/**
+	 * Adds the expression columns from the current row of the ResultSet to the
+	 * DBQueryRow.
+	 *
+	 * @param defn the database definition
+	 * @param resultSet the ResultSet positioned on the current row
+	 * @param queryRow the query row being hydrated
+	 * @throws SQLException database errors
+	 */
+	public void setExpressionColumns(DBDefinition defn, ResultSet resultSet, DBQueryRow queryRow) throws SQLException {
+		for (ExpressionColumnPlan expressionPlan : expressionPlans) {
+			QueryableDatatype<?> expressionQDT = expressionPlan.expression.getQueryableDatatypeForExpressionValue();
+			expressionQDT.setFromResultSet(defn, resultSet, expressionPlan.columnIndex, expressionPlan.columnLabel);
+			queryRow.addExpressionColumnValue(expressionPlan.key, expressionQDT);
+		}
+	}
+
+	/**
+	 * The column mapping for one table in the query.
+	 */
+	public static class TablePlan {
+
+		private final DBRow table;
+		private final int[] columnForProperty;
+		private final String[] labelForProperty;
+		private final boolean[] propertyIsSelected;
+
+		private TablePlan(DBDefinition defn, DBRow table, ResultSet resultSet) throws SQLException {
+			this.table = table;
+			final DBRow template = DBRow.getDBRow(table.getClass());
+			final var properties = template.getColumnPropertyWrappers();
+			final List<PropertyWrapperDefinition<?, ?>> selected = new ArrayList<>();
+			for (var selectedProperty : table.getSelectedProperties()) {
+				selected.add(selectedProperty.getPropertyWrapperDefinition());
+			}
+			columnForProperty = new int[properties.size()];
+			labelForProperty = new String[properties.size()];
+			propertyIsSelected = new boolean[properties.size()];
+			for (int i = 0; i < properties.size(); i++) {
+				PropertyWrapper<?, ?, ?> property = properties.get(i);
+				if (selected.contains(property.getPropertyWrapperDefinition())) {
+					final String[] columnAliases = property.getColumnAlias(defn);
+					if (columnAliases.length > 0) {
+						propertyIsSelected[i] = true;
+						columnForProperty[i] = findColumn(resultSet, columnAliases[0]);
+						labelForProperty[i] = columnAliases[0];
+					}
+				}
+			}
+		}
+
+		/**
+		 * The table of the query that this plan hydrates.
+		 *
+		 * @return the example row from the query
+		 */
+		public DBRow getTable() {
+			return table;
+		}
+
+		/**
+		 * Fills all the selected fields of the new instance with data from the
+		 * current row of the ResultSet.
+		 *
+		 * @param defn the database definition
+		 * @param newInstance a new instance of the table's class
+		 * @param resultSet the ResultSet positioned on the current row
+		 * @throws SQLException database errors
+		 */
+		public void setFieldsFromColumns(DBDefinition defn, DBRow newInstance, ResultSet resultSet) throws SQLException {
+			final var newProperties = newInstance.getColumnPropertyWrappers();
+			for (int i = 0; i < columnForProperty.length; i++) {
+				final var newProp = newProperties.get(i);
+				QueryableDatatype<?> qdt = newProp.getQueryableDatatype();
+				if (propertyIsSelected[i]) {
+					// a zero column index sets the QDT to NULL, just like a missing column
+					qdt.setFromResultSet(defn, resultSet, columnForProperty[i], labelForProperty[i]);
+
+					if (newInstance.isEmptyRow() && !qdt.isConsistentWithEmptyRow(defn)) {
+						newInstance.setEmptyRow(false);
+					}
+				}
+				// ensure field set when using type adaptors
+				newProp.setQueryableDatatype(qdt);
+			}
+		}
+	}
+
+	private static class ExpressionColumnPlan {
+
+		private final Object key;
+		private final QueryableDatatype<?> expression;
+		private final int columnIndex;
+		private final String columnLabel;
+
+		ExpressionColumnPlan(Object key, QueryableDatatype<?> expression, int columnIndex, String columnLabel) {
+			this.key = key;
+			this.expression = expression;
+			this.columnIndex = columnIndex;
+			this.columnLabel = columnLabel;
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A piece of SQL with its literal values separated out as bind parameters.
+ *
+ * <p>
+ * The literal SQL is the same as the SQL DBvolution would normally execute and
+ * is used for logging and as the fallback when the PreparedStatement cannot be
+ * used.
+ *
+ * @author Gregory Graham
+ */
+public class ParameterisedSQL {
+
+	private final String literalSQL;
+	private final String parameterisedSQL;
+	private final List<Object> values;
+
+	ParameterisedSQL(String literalSQL, String parameterisedSQL, List<Object> values) {
+		this.literalSQL = literalSQL;
+		this.parameterisedSQL = parameterisedSQL;
+		this.values = Collections.unmodifiableList(values);
+	}
+
+	/**
+	 * Joins several pieces of SQL, and their values, into one piece of SQL.
+	 *
+	 * <p>
+	 * Used to build statements, like multi-row INSERTs, from parts that were
+	 * generated separately.
+	 *
+	 * @param parts the pieces of SQL in the order they should appear
+	 * @return the combined SQL and values
+	 */
+	public static ParameterisedSQL concatenate(List<ParameterisedSQL> parts) {
+		final StringBuilder literal = new StringBuilder();
+		final StringBuilder parameterised = new StringBuilder();
+		final List<Object> allValues = new ArrayList<>();
+		for (ParameterisedSQL part : parts) {
+			literal.append(part.literalSQL);
+			parameterised.append(part.parameterisedSQL);
+			allValues.addAll(part.values);
+		}
+		return new ParameterisedSQL(literal.toString(), parameterised.toString(), allValues);
+	}
+
+	/**
+	 * The SQL with all values inlined.
+	 *
+	 * @return the literal SQL
+	 */
+	public String getLiteralSQL() {
+		return literalSQL;
+	}
+
+	/**
+	 * The SQL with "?" placeholders in place of the bound values.
+	 *
+	 * @return the SQL for a PreparedStatement
+	 */
+	public String getParameterisedSQL() {
+		return parameterisedSQL;
+	}
+
+	/**
+	 * The values for the placeholders in the order they appear in the SQL.
+	 *
+	 * @return the bound values
+	 */
+	public List<Object> getValues() {
+		return values;
+	}
+
+	/**
+	 * Indicates whether any values have been separated from the SQL.
+	 *
+	 * @return TRUE if the parameterised SQL has placeholders
+	 */
+	public boolean hasParameters() {
+		return !values.isEmpty();
+	}
+
+	/**
+	 * Sets the bound values on the PreparedStatement.
+	 *
+	 * @param statement a PreparedStatement created from
+	 * {@link #getParameterisedSQL() }
+	 * @throws SQLException database errors
+	 */
+	public void setParameters(PreparedStatement statement) throws SQLException {
+		int index = 1;
+		for (Object value : values) {
+			if (value instanceof String) {
+				statement.setString(index, (String) value);
+			} else if (value instanceof Long) {
+				statement.setLong(index, (Long) value);
+			} else if (value instanceof Integer) {
+				statement.setInt(index, (Integer) value);
+			} else if (value instanceof Double) {
+				statement.setDouble(index, (Double) value);
+			} else if (value instanceof BigDecimal) {
+				statement.setBigDecimal(index, (BigDecimal) value);
+			} else {
+				statement.setObject(index, value);
+			}
+			index++;
+		}
+	}
+}
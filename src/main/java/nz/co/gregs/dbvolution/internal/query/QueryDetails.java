@@ -26,6 +26,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -80,7 +81,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 	private final List<BooleanExpression> conditions = Collections.synchronizedList(new ArrayList<>());
 	private final Map<Object, QueryableDatatype<?>> expressionColumns = Collections.synchronizedMap(new LinkedHashMap<>());
 	private final Map<Object, DBExpression> dbReportGroupByColumns = Collections.synchronizedMap(new LinkedHashMap<>());
-	private final Map<Class<?>, Map<String, DBRow>> existingInstances = Collections.synchronizedMap(new HashMap<>());
+	private final Map<Class<?>, RowIdentityMap> existingInstances = Collections.synchronizedMap(new HashMap<>());
 	private boolean groupByRequiredByAggregator = false;
 	private String selectSQLClause = null;
 	private final ArrayList<BooleanExpression> havingColumns = new ArrayList<>();
@@ -96,6 +97,9 @@ public class QueryDetails implements DBQueryable, Serializable {
 	private String label = "UNLABELLED";
 	private boolean quietExceptions = false;
 	private boolean databaseQuietExceptionsPreference = false;
+	private transient QueryResultCursor resultCursor;
+	private transient SQLGenerationCache<String> literalSQLCache;
+	private transient SQLGenerationCache<ParameterisedSQL> parameterisedSQLCache;
 
 	/**
 	 *
@@ -218,8 +222,8 @@ public class QueryDetails implements DBQueryable, Serializable {
 	 *
 	 * @return the existingInstances
 	 */
-	public Map<Class<?>, Map<String, DBRow>> getExistingInstances() {
-		HashMap<Class<?>, Map<String, DBRow>> hashMap = new HashMap<Class<?>, Map<String, DBRow>>();
+	public Map<Class<?>, RowIdentityMap> getExistingInstances() {
+		HashMap<Class<?>, RowIdentityMap> hashMap = new HashMap<Class<?>, RowIdentityMap>();
 		hashMap.putAll(existingInstances);
 		return hashMap;
 	}
@@ -285,6 +289,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 	 */
 	public synchronized void setHavingColumns(BooleanExpression... havingColumns) {
 		Collections.addAll(this.havingColumns, havingColumns);
+		clearSQLCache();
 	}
 
 	public void setQueryType(QueryType queryType) {
@@ -308,6 +313,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 	public synchronized void setRawSQLClause(String rawSQLClause) {
 		this.rawSQLClause = rawSQLClause;
 		this.options.setRawSQL(rawSQLClause);
+		clearSQLCache();
 	}
 
 	/**
@@ -426,7 +432,33 @@ public class QueryDetails implements DBQueryable, Serializable {
 		}
 	}
 
+	/**
+	 * Returns the SQL for the query, reusing the SQL generated earlier if the
+	 * query has not changed.
+	 *
+	 * <p>
+	 * SQL with bind parameters is always generated as the parameters need to be
+	 * collected into the query state.
+	 *
+	 * @param queryState the state of the query
+	 * @param queryType the type of SQL required
+	 * @param options the options for the query
+	 * @return the SQL variations for the query
+	 */
 	protected synchronized List<String> getSQLForQueryInternal(QueryState queryState, QueryType queryType, QueryOptions options) {
+		if (queryState.getBindParameters().isEnabled() || options.getQueryDefinition() == null) {
+			return generateSQLForQueryInternal(queryState, queryType, options);
+		}
+		final SQLGenerationCache.Fingerprint fingerprint = getSQLFingerprint(queryType, options, false);
+		List<String> sql = getLiteralSQLCache().get(fingerprint);
+		if (sql == null) {
+			sql = generateSQLForQueryInternal(queryState, queryType, options);
+			getLiteralSQLCache().put(fingerprint, sql);
+		}
+		return sql;
+	}
+
+	private synchronized List<String> generateSQLForQueryInternal(QueryState queryState, QueryType queryType, QueryOptions options) {
 		try {
 			List<String> sqlList = new ArrayList<>();
 			final int allQueryTablesListSize = allQueryTables.size();
@@ -544,12 +576,12 @@ public class QueryDetails implements DBQueryable, Serializable {
 						fromClause.append(fromClauseTableSeparator).append(tableName);
 						queryState.addedInnerJoinToQuery();
 					} else {
-						fromClause.append(getANSIJoinClause(defn, queryState, tabRow, options));
+						fromClause.append(queryState.getBindParameters().collect(() -> getANSIJoinClause(defn, queryState, tabRow, options)));
 					}
 					queryState.addJoinedTable(tabRow);
 
 					if (!options.isUseANSISyntax()) {
-						List<String> tabRowCriteria = tabRow.getWhereClausesWithAliases(defn);
+						List<String> tabRowCriteria = queryState.getBindParameters().collect(() -> tabRow.getWhereClausesWithAliases(defn));
 						if (tabRowCriteria != null && !tabRowCriteria.isEmpty()) {
 							for (String clause : tabRowCriteria) {
 								whereClause.append(LINE_SEP).append(defn.beginConditionClauseLine(options)).append(clause);
@@ -570,7 +602,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 			}
 
 			for (DBRow extra : extraExamples) {
-				List<String> extraCriteria = extra.getWhereClausesWithAliases(defn);
+				List<String> extraCriteria = queryState.getBindParameters().collect(() -> extra.getWhereClausesWithAliases(defn));
 				if (extraCriteria != null && !extraCriteria.isEmpty()) {
 					for (String clause : extraCriteria) {
 						whereClause.append(LINE_SEP).append(defn.beginConditionClauseLine(options)).append(clause);
@@ -579,7 +611,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 			}
 
 			for (BooleanExpression expression : queryState.getRemainingExpressions()) {
-				whereClause.append(LINE_SEP).append(defn.beginConditionClauseLine(options)).append("(").append(expression.toSQLString(defn)).append(")");
+				whereClause.append(LINE_SEP).append(defn.beginConditionClauseLine(options)).append("(").append(queryState.getBindParameters().collect(() -> expression.toSQLString(defn))).append(")");
 				queryState.consumeExpression(expression);
 			}
 
@@ -727,6 +759,121 @@ public class QueryDetails implements DBQueryable, Serializable {
 		}
 	}
 
+	/**
+	 * Describes everything that contributes to the SQL generated for this query.
+	 *
+	 * <p>
+	 * Tables, expressions, and the database are identified by instance. The
+	 * criteria of the tables may be changed after they are added to the query so
+	 * each column is identified by the instance and version of its QDT, or the
+	 * value of a type adapted field, rather than by rendering the WHERE clause.
+	 */
+	private synchronized SQLGenerationCache.Fingerprint getSQLFingerprint(QueryType queryType, QueryOptions options, boolean parameterised) {
+		final DBDefinition defn = options.getQueryDefinition();
+		final SQLGenerationCache.Fingerprint fingerprint = new SQLGenerationCache.Fingerprint()
+				.with(queryType)
+				.with(parameterised)
+				.withInstance(options.getQueryDatabase())
+				.with(defn.getClass())
+				.with(options.getQueryType())
+				.with(options.isMatchAllConditions())
+				.with(options.isMatchAllRelationships())
+				.with(options.getRowLimit())
+				.with(options.getPageIndex())
+				.with(options.isCartesianJoinAllowed())
+				.with(options.isUseANSISyntax())
+				.with(options.isCreatingNativeQuery())
+				.with(options.isUseStarInsteadOfColumns())
+				.with(options.getRequireEmptyStringForNullString())
+				.with(options.getRawSQL())
+				.with(getRawSQLClause())
+				// the recorded select clause is only reused by the reverse select
+				.with(queryType == QueryType.REVERSESELECT ? getSelectSQLClause() : null)
+				.with(getGroupByRequiredByAggregator());
+		addTablesToFingerprint(fingerprint, getRequiredQueryTables());
+		addTablesToFingerprint(fingerprint, getOptionalQueryTables());
+		addTablesToFingerprint(fingerprint, getAssumedQueryTables());
+		addTablesToFingerprint(fingerprint, getExtraExamples());
+		for (BooleanExpression condition : getConditions()) {
+			fingerprint.withInstance(condition);
+		}
+		for (BooleanExpression having : getHavingColumns()) {
+			fingerprint.withInstance(having);
+		}
+		for (Map.Entry<Object, QueryableDatatype<?>> entry : getExpressionColumnsCopy().entrySet()) {
+			fingerprint.with(entry.getKey()).withInstance(entry.getValue());
+		}
+		for (Map.Entry<Object, DBExpression> entry : getDBReportGroupByColumns().entrySet()) {
+			fingerprint.with(entry.getKey()).withInstance(entry.getValue());
+		}
+		if (sortOrderColumns != null) {
+			for (SortProvider sorter : sortOrderColumns) {
+				fingerprint.withInstance(sorter).with(sorter.getSortDirectionSQL(defn));
+			}
+		}
+		return fingerprint;
+	}
+
+	private static void addTablesToFingerprint(SQLGenerationCache.Fingerprint fingerprint, List<DBRow> tables) {
+		fingerprint.with(tables.size());
+		for (DBRow table : tables) {
+			fingerprint
+					.withInstance(table)
+					.with(table.getTableNameOrVariantIdentifier());
+			for (var prop : table.getColumnPropertyWrappers()) {
+				if (prop.isTypeAdapted()) {
+					fingerprint.with(prop.rawJavaValue());
+				} else {
+					final QueryableDatatype<?> qdt = prop.getQueryableDatatype();
+					fingerprint.withInstance(qdt).with(qdt.getVersion());
+				}
+			}
+			for (var prop : table.getSelectedProperties()) {
+				fingerprint.with(prop.getPropertyWrapperDefinition());
+			}
+			fingerprint.with(null);
+			for (var prop : table.getForeignKeyPropertyWrappers()) {
+				fingerprint.with(prop.getPropertyWrapperDefinition());
+			}
+		}
+	}
+
+	private synchronized SQLGenerationCache<String> getLiteralSQLCache() {
+		if (literalSQLCache == null) {
+			literalSQLCache = new SQLGenerationCache<>();
+		}
+		return literalSQLCache;
+	}
+
+	private synchronized SQLGenerationCache<ParameterisedSQL> getParameterisedSQLCache() {
+		if (parameterisedSQLCache == null) {
+			parameterisedSQLCache = new SQLGenerationCache<>();
+		}
+		return parameterisedSQLCache;
+	}
+
+	/**
+	 * The number of times the SQL for this query was reused rather than
+	 * generated.
+	 *
+	 * @return the number of times generating the SQL was avoided
+	 */
+	public synchronized long getSQLCacheHits() {
+		return getLiteralSQLCache().getHits() + getParameterisedSQLCache().getHits();
+	}
+
+	/**
+	 * Discards the SQL generated for this query.
+	 *
+	 * <p>
+	 * Called whenever the query is changed, changes to the tables' criteria are
+	 * detected automatically.
+	 */
+	public synchronized void clearSQLCache() {
+		getLiteralSQLCache().clear();
+		getParameterisedSQLCache().clear();
+	}
+
 	protected String assembleSQLQuery(DBDefinition defn, StringBuilder selectClause, StringBuilder fromClause, StringBuilder whereClause, String rawSQLClauseFinal, String groupByClauseSQL, String havingClause, String orderByClauseFinal, QueryOptions options1, QueryState queryState) {
 		return defn.doWrapQueryForPaging(
 				Builder
@@ -1060,6 +1207,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 		setResults(null);
 		setResultSQL(null);
 		queryGraph = null;
+		clearSQLCache();
 	}
 
 	public synchronized void addToSortOrder(SortProvider[] sortColumns) {
@@ -1078,6 +1226,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 	public synchronized void clearSortOrder() {
 //		sortOrder = null;
 		sortOrderColumns = null;
+		clearSQLCache();
 	}
 
 	private synchronized void prepareForQuery(DBDatabase database, QueryOptions options) {
@@ -1161,6 +1310,9 @@ public class QueryDetails implements DBQueryable, Serializable {
 			case SELECT:
 				fillResultSetInternal(currentOptions);
 				break;
+			case STREAM:
+				openResultCursor(currentOptions);
+				break;
 			default:
 				throw new UnsupportedOperationException("Query Type Not Supported: " + queryType);
 		}
@@ -1213,12 +1365,71 @@ public class QueryDetails implements DBQueryable, Serializable {
 	}
 
 	protected synchronized void fillResultSetInternal(QueryOptions options) throws SQLException, AccidentalBlankQueryException, AccidentalCartesianJoinException, LoopDetectedInRecursiveSQL {
-		final List<String> sqlOptions = this.getSQLForQueryInternal(new QueryState(this), QueryType.SELECT, options);
+		final List<ParameterisedSQL> parameterisedOptions = getParameterisedSQLForQuery(options);
+		final List<String> sqlOptions = getLiteralSQL(parameterisedOptions);
 
 		setResultSQL(sqlOptions);
 
 		final DBDefinition defn = options.getQueryDefinition();
 
+		checkForAccidentalQueries(options, sqlOptions);
+		// all set to execute the query
+		fillResultSetFromParameterisedSQL(options, defn, parameterisedOptions);
+	}
+
+	/**
+	 * Generates the SQL for the query with the values of the conditions
+	 * separated out as bind parameters if the query database prefers
+	 * PreparedStatements.
+	 *
+	 * <p>
+	 * Literal SQL shares the cache used by
+	 * {@link #getSQLForQuery(nz.co.gregs.dbvolution.databases.DBDatabase)}, SQL
+	 * with bind parameters is cached separately with its values.
+	 *
+	 * @param options the options to use for this query
+	 * @return the SQL options for this query
+	 */
+	private synchronized List<ParameterisedSQL> getParameterisedSQLForQuery(QueryOptions options) {
+		final DBDatabase queryDatabase = options.getQueryDatabase();
+		if (queryDatabase == null || !queryDatabase.getPreparedStatementsPreference()) {
+			final List<String> sqlOptions = getSQLForQueryInternal(new QueryState(this), QueryType.SELECT, options);
+			final List<ParameterisedSQL> literalOptions = new ArrayList<>(sqlOptions.size());
+			for (String sql : sqlOptions) {
+				literalOptions.add(BindParameters.none().bind(sql));
+			}
+			return literalOptions;
+		}
+		final BindParameters parameters = BindParameters.create();
+		final SQLGenerationCache.Fingerprint fingerprint = options.getQueryDefinition() == null
+				? null
+				: getSQLFingerprint(QueryType.SELECT, options, true);
+		if (fingerprint != null) {
+			final List<ParameterisedSQL> cached = getParameterisedSQLCache().get(fingerprint);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		final List<String> sqlOptions = this.generateSQLForQueryInternal(new QueryState(this, parameters), QueryType.SELECT, options);
+		final List<ParameterisedSQL> parameterisedOptions = new ArrayList<>(sqlOptions.size());
+		for (String sql : sqlOptions) {
+			parameterisedOptions.add(parameters.bind(sql));
+		}
+		if (fingerprint != null) {
+			getParameterisedSQLCache().put(fingerprint, parameterisedOptions);
+		}
+		return parameterisedOptions;
+	}
+
+	private static List<String> getLiteralSQL(List<ParameterisedSQL> parameterisedOptions) {
+		final List<String> sqlOptions = new ArrayList<>(parameterisedOptions.size());
+		for (ParameterisedSQL parameterisedSQL : parameterisedOptions) {
+			sqlOptions.add(parameterisedSQL.getLiteralSQL());
+		}
+		return sqlOptions;
+	}
+
+	private void checkForAccidentalQueries(QueryOptions options, List<String> sqlOptions) throws AccidentalBlankQueryException, AccidentalCartesianJoinException {
 		if (!options.isBlankQueryAllowed() && willCreateBlankQuery(options) && getRawSQLClause().isEmpty()) {
 			throw new AccidentalBlankQueryException(options.isBlankQueryAllowed(), willCreateBlankQuery(options), getRawSQLClause().isEmpty(),sqlOptions);
 		}
@@ -1228,30 +1439,142 @@ public class QueryDetails implements DBQueryable, Serializable {
 				&& queryGraph.willCreateCartesianJoin()) {
 			throw new AccidentalCartesianJoinException(this);
 		}
-		// all set to execute the query
-		fillResultSetFromSQL(options, defn, sqlOptions);
+	}
+
+	/**
+	 * Executes the query and keeps the ResultSet open so that the rows can be
+	 * retrieved one at a time using {@link #takeResultCursor() }.
+	 *
+	 * <p>
+	 * The results are not stored within the QueryDetails so memory use does not
+	 * grow with the size of the result.
+	 *
+	 * @param options the options to use for this query
+	 * @throws SQLException database errors
+	 * @throws AccidentalBlankQueryException add a condition or permit blank
+	 * queries
+	 * @throws AccidentalCartesianJoinException add a join or permit cartesian
+	 * joins
+	 * @throws LoopDetectedInRecursiveSQL recursive queries may cause loops
+	 */
+	protected synchronized void openResultCursor(QueryOptions options) throws SQLException, AccidentalBlankQueryException, AccidentalCartesianJoinException, LoopDetectedInRecursiveSQL {
+		final List<ParameterisedSQL> parameterisedOptions = getParameterisedSQLForQuery(options);
+		final List<String> sqlOptions = getLiteralSQL(parameterisedOptions);
+
+		setResultSQL(sqlOptions);
+
+		final DBDefinition defn = options.getQueryDefinition();
+
+		checkForAccidentalQueries(options, sqlOptions);
+
+		SQLException firstException = null;
+		final DBDatabase queryDatabase = options.getQueryDatabase();
+		for (ParameterisedSQL parameterisedSQL : parameterisedOptions) {
+			final String sql = parameterisedSQL.getLiteralSQL();
+			final DBStatement dbStatement = queryDatabase.getDBStatement();
+			try {
+				printSQLIfRequired(sql);
+				if (options.getFetchSize() > 0) {
+					dbStatement.setFetchSize(options.getFetchSize());
+				}
+				final StatementDetails statementDetails = new StatementDetails(getLabel(), QueryIntention.SIMPLE_SELECT_QUERY, sql, dbStatement)
+						.withParameterisedSQL(parameterisedSQL);
+				statementDetails.setIgnoreExceptions(this.isQuietExceptions());
+				ResultSet resultSet = getResultSetForSQL(dbStatement, statementDetails, sql);
+				final HydrationPlan plan = resultSet == null ? null : HydrationPlan.create(defn, this, resultSet);
+				resultCursor = new QueryResultCursor(this, defn, plan, dbStatement, resultSet);
+				return;
+			} catch (SQLException e) {
+				dbStatement.close();
+				queryDatabase.handleErrorDuringExecutingSQL(queryDatabase, e, sql);
+				if (firstException == null) {
+					firstException = e;
+				}
+			}
+		}
+		if (firstException != null) {
+			throw firstException;
+		}
+	}
+
+	/**
+	 * Returns the cursor opened by the last streaming query and removes it from
+	 * this QueryDetails.
+	 *
+	 * <p>
+	 * The caller is responsible for closing the cursor.
+	 *
+	 * @return the open cursor, or null if there is none
+	 */
+	public synchronized QueryResultCursor takeResultCursor() {
+		QueryResultCursor cursor = resultCursor;
+		resultCursor = null;
+		return cursor;
+	}
+
+	/**
+	 * Creates a DBQueryRow from the current row of the ResultSet without
+	 * retaining it.
+	 *
+	 * <p>
+	 * Used by {@link QueryResultCursor} to create rows lazily, existing
+	 * instances are not reused so that memory does not grow with the result.
+	 *
+	 * @param defn the database definition
+	 * @param plan the plan created for the ResultSet
+	 * @param resultSet a ResultSet positioned on the row to be processed
+	 * @return a new DBQueryRow
+	 * @throws SQLException database errors
+	 */
+	synchronized DBQueryRow getQueryRowForCurrentRowOfResultSet(DBDefinition defn, HydrationPlan plan, ResultSet resultSet) throws SQLException {
+		DBQueryRow queryRow = new DBQueryRow(this);
+		plan.setExpressionColumns(defn, resultSet, queryRow);
+		setQueryRowFromResultSet(defn, resultSet, plan, queryRow, isGroupedQuery(), false);
+		final AutoFillIndex onlyThisRow = new AutoFillIndex(List.of(queryRow));
+		try {
+			for (DBRow row : queryRow.getAll()) {
+				if (row != null) {
+					setAutoFilledFields(onlyThisRow, row);
+				}
+			}
+		} catch (AccidentalCartesianJoinException | AccidentalBlankQueryException ex) {
+			throw new SQLException(ex);
+		}
+		return queryRow;
 	}
 
 	protected synchronized void fillResultSetFromSQL(QueryOptions options, final DBDefinition defn, List<String> sqlOptions) throws AccidentalCartesianJoinException, AccidentalBlankQueryException, LoopDetectedInRecursiveSQL, SQLTimeoutException, SQLException {
+		final List<ParameterisedSQL> parameterisedOptions = new ArrayList<>(sqlOptions.size());
+		for (String sql : sqlOptions) {
+			parameterisedOptions.add(BindParameters.none().bind(sql));
+		}
+		fillResultSetFromParameterisedSQL(options, defn, parameterisedOptions);
+	}
+
+	private synchronized void fillResultSetFromParameterisedSQL(QueryOptions options, final DBDefinition defn, List<ParameterisedSQL> sqlOptions) throws AccidentalCartesianJoinException, AccidentalBlankQueryException, LoopDetectedInRecursiveSQL, SQLTimeoutException, SQLException {
 		ArrayList<DBQueryRow> foundRows = new ArrayList<>();
 		SQLException firstException = null;
 		Encoder errorMessages = Builder.byLines().encoder();
 		boolean successfulQuery = false;
-		for (String sql : sqlOptions) {
+		for (ParameterisedSQL parameterisedSQL : sqlOptions) {
+			final String sql = parameterisedSQL.getLiteralSQL();
 			final DBDatabase queryDatabase = options.getQueryDatabase();
 			try (DBStatement dbStatement = queryDatabase.getDBStatement()) {
 				printSQLIfRequired(sql);
-				final StatementDetails statementDetails = new StatementDetails(getLabel(), QueryIntention.SIMPLE_SELECT_QUERY, sql, dbStatement);
+				final StatementDetails statementDetails = new StatementDetails(getLabel(), QueryIntention.SIMPLE_SELECT_QUERY, sql, dbStatement)
+						.withParameterisedSQL(parameterisedSQL);
 				statementDetails.setIgnoreExceptions(this.isQuietExceptions());
 				try (ResultSet resultSet = getResultSetForSQL(dbStatement, statementDetails, sql)) {
 					if (resultSet != null) {
+						final HydrationPlan plan = HydrationPlan.create(defn, this, resultSet);
+						final boolean groupedQuery = isGroupedQuery();
 						DBQueryRow queryRow;
 						while (resultSet.next()) {
 							queryRow = new DBQueryRow(this);
 
-							setExpressionColumns(defn, resultSet, queryRow);
+							plan.setExpressionColumns(defn, resultSet, queryRow);
 
-							setQueryRowFromResultSet(defn, resultSet, this, queryRow, isGroupedQuery());
+							setQueryRowFromResultSet(defn, resultSet, plan, queryRow, groupedQuery, true);
 							foundRows.add(queryRow);
 						}
 					}
@@ -1275,11 +1598,13 @@ public class QueryDetails implements DBQueryable, Serializable {
 			}
 		}
 		if (successfulQuery) {
+			final AutoFillIndex autoFillIndex = new AutoFillIndex(foundRows);
+			final Set<DBRow> filledRows = Collections.newSetFromMap(new IdentityHashMap<>());
 			for (DBQueryRow result : foundRows) {
 				List<DBRow> rows = result.getAll();
 				for (DBRow row : rows) {
-					if (row != null) {
-						setAutoFilledFields(foundRows, row);
+					if (row != null && filledRows.add(row)) {
+						setAutoFilledFields(autoFillIndex, row);
 					}
 				}
 			}
@@ -1297,7 +1622,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 	}
 
 	@SuppressWarnings("unchecked")
-	synchronized void setAutoFilledFields(List<DBQueryRow> allRows, DBRow row) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
+	synchronized void setAutoFilledFields(AutoFillIndex autoFillIndex, DBRow row) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
 		boolean arrayRequired = false;
 		boolean listRequired = false;
 		try {
@@ -1328,7 +1653,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 						} catch (IllegalArgumentException | SecurityException ex) {
 							throw new UnableToInstantiateDBRowSubclassException(requiredClass, ex);
 						}
-						List<DBRow> relatedInstancesFromQuery = getRelatedInstancesFromQueryResults(allRows, row, fieldInstance);
+						List<DBRow> relatedInstancesFromQuery = autoFillIndex.getRelatedInstances(row, fieldInstance);
 						if (arrayRequired) {
 							Object newInstance = Array.newInstance(requiredClass, relatedInstancesFromQuery.size());
 							for (int index = 0; index < relatedInstancesFromQuery.size(); index++) {
@@ -1365,19 +1690,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 	 */
 	public <R extends DBRow> List<R> getRelatedInstancesFromQuery(DBRow row, R example) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
 		final List<DBQueryRow> allRows = getAllRows();
-		return getRelatedInstancesFromQueryResults(allRows, row, example);
-	}
-
-	private <R extends DBRow> List<R> getRelatedInstancesFromQueryResults(final List<DBQueryRow> allRows, DBRow row, R example) {
-		List<R> instances = new ArrayList<>();
-		for (DBQueryRow qrow : allRows) {
-			DBRow versionOfThis = qrow.get(row);
-			R versionOfThat = qrow.get(example);
-			if (versionOfThis.equals(row) && versionOfThat != null) {
-				instances.add(versionOfThat);
-			}
-		}
-		return instances;
+		return new AutoFillIndex(allRows).getRelatedInstances(row, example);
 	}
 
 	public synchronized boolean willCreateBlankQuery(DBDatabase database) {
@@ -1418,22 +1731,47 @@ public class QueryDetails implements DBQueryable, Serializable {
 		return statement.executeQuery(statementDetails);
 	}
 
-	private void setExpressionColumns(DBDefinition defn, ResultSet resultSet, DBQueryRow queryRow) throws SQLException {
-		for (Map.Entry<Object, QueryableDatatype<?>> entry : expressionColumns.entrySet()) {
-			final Object key = entry.getKey();
-			final QueryableDatatype<?> value = entry.getValue();
-			String expressionAlias = defn.formatExpressionAlias(key);
-			QueryableDatatype<?> expressionQDT = value.getQueryableDatatypeForExpressionValue();
-			expressionQDT.setFromResultSet(defn, resultSet, expressionAlias);
-			queryRow.addExpressionColumnValue(key, expressionQDT);
-		}
+	/**
+	 * Fills the query row with the tables from the current row of the ResultSet.
+	 *
+	 * <p>
+	 * Creates a new {@link HydrationPlan} for every call. When processing a whole
+	 * ResultSet, create the plan once and use
+	 * {@link #setQueryRowFromResultSet(nz.co.gregs.dbvolution.databases.definitions.DBDefinition, java.sql.ResultSet, nz.co.gregs.dbvolution.internal.query.HydrationPlan, nz.co.gregs.dbvolution.DBQueryRow, boolean) }
+	 * instead.
+	 *
+	 * @param defn the database definition
+	 * @param resultSet the ResultSet positioned on the current row
+	 * @param details the query being processed
+	 * @param queryRow the query row being hydrated
+	 * @param isGroupedQuery TRUE if the query uses GROUP BY
+	 * @throws SQLException database errors
+	 */
+	public synchronized void setQueryRowFromResultSet(DBDefinition defn, ResultSet resultSet, QueryDetails details, DBQueryRow queryRow, boolean isGroupedQuery) throws SQLException {
+		setQueryRowFromResultSet(defn, resultSet, HydrationPlan.create(defn, details, resultSet), queryRow, isGroupedQuery, true);
 	}
 
-	public synchronized void setQueryRowFromResultSet(DBDefinition defn, ResultSet resultSet, QueryDetails details, DBQueryRow queryRow, boolean isGroupedQuery) throws SQLException {
-		for (DBRow tableRow : details.getAllQueryTables()) {
+	/**
+	 * Fills the query row with the tables from the current row of the ResultSet
+	 * using a plan created for the ResultSet.
+	 *
+	 * @param defn the database definition
+	 * @param resultSet the ResultSet positioned on the current row
+	 * @param plan the plan created for this ResultSet
+	 * @param queryRow the query row being hydrated
+	 * @param isGroupedQuery TRUE if the query uses GROUP BY
+	 * @throws SQLException database errors
+	 */
+	public synchronized void setQueryRowFromResultSet(DBDefinition defn, ResultSet resultSet, HydrationPlan plan, DBQueryRow queryRow, boolean isGroupedQuery) throws SQLException {
+		setQueryRowFromResultSet(defn, resultSet, plan, queryRow, isGroupedQuery, true);
+	}
+
+	private void setQueryRowFromResultSet(DBDefinition defn, ResultSet resultSet, HydrationPlan plan, DBQueryRow queryRow, boolean isGroupedQuery, boolean reuseExistingInstances) throws SQLException {
+		for (HydrationPlan.TablePlan tablePlan : plan.getTablePlans()) {
+			final DBRow tableRow = tablePlan.getTable();
 			DBRow newInstance = DBRow.getDBRow(tableRow.getClass());
 
-			setFieldsFromColumns(defn, tableRow, newInstance, resultSet);
+			tablePlan.setFieldsFromColumns(defn, newInstance, resultSet);
 			newInstance.setReturnFieldsBasedOn(tableRow);
 
 			newInstance.setDefined(); // Actually came from the database so it is a defined row.
@@ -1454,12 +1792,11 @@ public class QueryDetails implements DBQueryable, Serializable {
 				for (QueryableDatatype<?> pk : primaryKeys) {
 					pksHaveBeenSet = pksHaveBeenSet && pk.hasBeenSet();
 				}
-				if (isGroupedQuery || primaryKeys.isEmpty() || !pksHaveBeenSet) {
+				if (isGroupedQuery || !reuseExistingInstances || primaryKeys.isEmpty() || !pksHaveBeenSet) {
 					queryRow.put(newInstanceClass, newInstance);
 				} else {
-					Map<String, DBRow> existingInstancesOfThisTableRow = details.getExistingInstances().get(tableRow.getClass());
-					existingInstancesOfThisTableRow = setExistingInstancesForTable(existingInstancesOfThisTableRow, newInstance);
-					DBRow existingInstance = getOrSetExistingInstanceForRow(defn, newInstance, existingInstancesOfThisTableRow);
+					RowIdentityMap existingInstancesOfThisTableRow = getExistingInstancesForTable(newInstanceClass);
+					DBRow existingInstance = getOrSetExistingInstanceForRow(newInstance, primaryKeys, existingInstancesOfThisTableRow);
 					queryRow.put(existingInstance.getClass(), existingInstance);
 				}
 			}
@@ -1467,62 +1804,14 @@ public class QueryDetails implements DBQueryable, Serializable {
 	}
 
 	/**
-	 * Based on the template provided by oldInstance, fill all the fields of
-	 * newInstance with data from the current row of the ResultSet.
-	 *
-	 * <p>
-	 * OldInstance is used to find the selected properties, newInstance is the
-	 * result, and restultSet contains the retrieved data.
-	 *
-	 * Database exceptions may be thrown
-	 *
-	 * @param defn the database definition
-	 * @param oldInstance oldInstance
-	 * @param newInstance newInstance
-	 * @param resultSet resultSet
-	 * @throws java.sql.SQLException java.sql.SQLException
-	 */
-	protected void setFieldsFromColumns(DBDefinition defn, DBRow oldInstance, DBRow newInstance, ResultSet resultSet) throws SQLException {
-		var selectedProperties = oldInstance.getSelectedProperties();
-		var newProperties = newInstance.getColumnPropertyWrappers();
-		for (var newProp : newProperties) {
-			QueryableDatatype<?> qdt = newProp.getQueryableDatatype();
-			for (var propertyWrapper : selectedProperties) {
-				if (propertyWrapper.getPropertyWrapperDefinition().equals(newProp.getPropertyWrapperDefinition())) {
-					final String[] columnAliases = newProp.getColumnAlias(defn);
-					if (columnAliases.length > 0) {
-						String resultSetColumnName = columnAliases[0];
-						//for (String resultSetColumnName : resultSetColumnNames) {
-
-						qdt.setFromResultSet(defn, resultSet, resultSetColumnName);
-
-						if (newInstance.isEmptyRow() && !qdt.isConsistentWithEmptyRow(defn)) {
-							newInstance.setEmptyRow(false);
-						}
-					}
-					//}
-				}
-			}
-
-			// ensure field set when using type adaptors
-			newProp.setQueryableDatatype(qdt);
-		}
-	}
-
-	/**
-	 * Creates the list of already created rows for the DBRow class supplied.
+	 * Retrieves, or creates, the identity map of already created rows for the
+	 * DBRow class supplied.
 	 *
-	 * @param existingInstancesOfThisTableRow existingInstancesOfThisTableRow
-	 * @param newInstance newInstance
-	 * @return a list of existing rows.
+	 * @param rowClass the class of the rows
+	 * @return the identity map for the class
 	 */
-	protected Map<String, DBRow> setExistingInstancesForTable(Map<String, DBRow> existingInstancesOfThisTableRow, DBRow newInstance) {
-		Map<String, DBRow> hashMap = existingInstancesOfThisTableRow;
-		if (hashMap == null) {
-			hashMap = new HashMap<>();
-		}
-		existingInstances.put(newInstance.getClass(), hashMap);
-		return hashMap;
+	protected RowIdentityMap getExistingInstancesForTable(Class<? extends DBRow> rowClass) {
+		return existingInstances.computeIfAbsent(rowClass, (key) -> new RowIdentityMap());
 	}
 
 	/**
@@ -1537,32 +1826,19 @@ public class QueryDetails implements DBQueryable, Serializable {
 	 * If the row is new then this method stores it, and returns it as the
 	 * existing instance.
 	 *
-	 * @param defn the database definition
+	 * <p>
+	 * Rows are identified by the values of their primary keys, rather than by
+	 * rendering the keys as SQL, so large joins do not create a string for
+	 * every row.
+	 *
 	 * @param newInstance newInstance
+	 * @param primaryKeys the primary keys of the new instance
 	 * @param existingInstancesOfThisTableRow existingInstancesOfThisTableRow
 	 * @return the existing instance of the provided row, or the row itself if
 	 * none exists.
 	 */
-	protected DBRow getOrSetExistingInstanceForRow(DBDefinition defn, DBRow newInstance, Map<String, DBRow> existingInstancesOfThisTableRow) {
-		DBRow existingInstance = newInstance;
-		String keyToSearchFor = "";
-		final var primaryKeys = newInstance.getPrimaryKeyPropertyWrappers();
-		for (var primaryKey : primaryKeys) {
-			if (primaryKey != null) {
-				final QueryableDatatype<?> qdt = primaryKey.getQueryableDatatype();
-				if (qdt != null) {
-					keyToSearchFor += "(" + qdt.toSQLString(defn) + ")";
-				}
-			}
-		}
-		if (!keyToSearchFor.isEmpty()) {
-			existingInstance = existingInstancesOfThisTableRow.get(keyToSearchFor);
-			if (existingInstance == null) {
-				existingInstance = newInstance;
-				existingInstancesOfThisTableRow.put(keyToSearchFor, existingInstance);
-			}
-		}
-		return existingInstance;
+	protected DBRow getOrSetExistingInstanceForRow(DBRow newInstance, List<QueryableDatatype<?>> primaryKeys, RowIdentityMap existingInstancesOfThisTableRow) {
+		return existingInstancesOfThisTableRow.getOrSet(newInstance, primaryKeys);
 	}
 
 	protected synchronized void setCurrentPage(List<DBQueryRow> results) {
@@ -1666,28 +1942,34 @@ public class QueryDetails implements DBQueryable, Serializable {
 	public void addRequiredTable(DBRow table) {
 		requiredQueryTables.add(table);
 		allQueryTables.add(table);
+		clearSQLCache();
 	}
 
 	public void addOptionalTable(DBRow table) {
 		optionalQueryTables.add(table);
 		allQueryTables.add(table);
+		clearSQLCache();
 	}
 
 	public void addAssumedQueryTable(DBRow table) {
 		assumedQueryTables.add(table);
 		allQueryTables.add(table);
+		clearSQLCache();
 	}
 
 	public void addCondition(BooleanExpression condition) {
 		conditions.add(condition);
+		clearSQLCache();
 	}
 
 	public void clearConditions() {
 		conditions.clear();
+		clearSQLCache();
 	}
 
 	public void addDBReportGroupByColumn(Object identifyingObject, DBExpression expressionToAdd) {
 		dbReportGroupByColumns.put(identifyingObject, expressionToAdd);
+		clearSQLCache();
 	}
 
 	public synchronized void removeTable(DBRow qtab) {
@@ -1695,14 +1977,17 @@ public class QueryDetails implements DBQueryable, Serializable {
 		optionalQueryTables.remove(qtab);
 		assumedQueryTables.remove(qtab);
 		allQueryTables.remove(qtab);
+		clearSQLCache();
 	}
 
 	public void addExtraExamples(DBRow[] newExamples) {
 		this.extraExamples.addAll(Arrays.asList(newExamples));
+		clearSQLCache();
 	}
 
 	public void addExpressionColumn(Object identifyingObject, QueryableDatatype<?> expressionToAdd) {
 		expressionColumns.put(identifyingObject, expressionToAdd);
+		clearSQLCache();
 	}
 
 	@Override
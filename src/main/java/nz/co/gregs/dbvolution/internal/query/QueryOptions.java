@@ -42,6 +42,7 @@ public class QueryOptions implements Serializable {
 	private boolean printSQLBeforeExecution = false;
 	private boolean requireEmptyStringForNullString = false;
 	private boolean useStarInsteadOfColumns = false;
+	private int fetchSize = 0;
 
 	private String rawSQL = null;
 
@@ -70,6 +71,7 @@ public class QueryOptions implements Serializable {
 		printSQLBeforeExecution = opts.printSQLBeforeExecution;
 		requireEmptyStringForNullString = opts.requireEmptyStringForNullString;
 		useStarInsteadOfColumns = opts.useStarInsteadOfColumns;
+		fetchSize = opts.fetchSize;
 		rawSQL = opts.rawSQL;
 		timeoutInMilliseconds = opts.timeoutInMilliseconds;
 		label = opts.label;
@@ -369,6 +371,27 @@ public class QueryOptions implements Serializable {
 		this.useStarInsteadOfColumns = useStarInsteadOfColumns;
 	}
 
+	/**
+	 * The number of rows the JDBC driver should retrieve from the database at a
+	 * time.
+	 *
+	 * <p>
+	 * Zero, the default, leaves the fetch size to the driver.
+	 *
+	 * @return the fetchSize
+	 */
+	public int getFetchSize() {
+		return fetchSize;
+	}
+
+	/**
+	 * @param fetchSize the fetchSize to set, zero or less uses the driver's
+	 * default
+	 */
+	public final void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
 	public QueryOptions copy() {
 		QueryOptions queryOptions = new QueryOptions(this);
 		return queryOptions;
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import nz.co.gregs.dbvolution.DBQueryRow;
+import nz.co.gregs.dbvolution.databases.DBStatement;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.exceptions.DBRuntimeException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Iterates over the rows of a query while the ResultSet is still open.
+ *
+ * <p>
+ * Rows are created from the ResultSet only when they are requested, so only
+ * the current row is held in memory. The cursor holds the statement, and
+ * therefore the connection, until it is exhausted or closed so always use it in
+ * a try-with-resources block.
+ *
+ * <p>
+ * Because the whole result is never available, rows produced by the cursor are
+ * not de-duplicated against each other and {@link nz.co.gregs.dbvolution.annotations.AutoFillDuringQueryIfPossible AutoFill}
+ * fields are only filled from the tables in the same DBQueryRow.
+ *
+ * @author Gregory Graham
+ */
+public class QueryResultCursor implements Iterator<DBQueryRow>, AutoCloseable {
+
+	private static final Log LOG = LogFactory.getLog(QueryResultCursor.class);
+
+	private final QueryDetails details;
+	private final DBDefinition definition;
+	private final HydrationPlan plan;
+	private final DBStatement statement;
+	private final ResultSet resultSet;
+	private DBQueryRow nextRow = null;
+	private boolean closed = false;
+	private long rowsReturned = 0L;
+
+	QueryResultCursor(QueryDetails details, DBDefinition defn, HydrationPlan plan, DBStatement statement, ResultSet resultSet) {
+		this.details = details;
+		this.definition = defn;
+		this.plan = plan;
+		this.statement = statement;
+		this.resultSet = resultSet;
+		if (resultSet == null) {
+			close();
+		}
+	}
+
+	@Override
+	public synchronized boolean hasNext() {
+		if (nextRow != null) {
+			return true;
+		}
+		if (closed) {
+			return false;
+		}
+		try {
+			if (resultSet.next()) {
+				nextRow = details.getQueryRowForCurrentRowOfResultSet(definition, plan, resultSet);
+				return true;
+			} else {
+				close();
+				return false;
+			}
+		} catch (SQLException ex) {
+			close();
+			throw new DBRuntimeException("Unable to retrieve the next row of query " + details.getLabel(), ex);
+		}
+	}
+
+	@Override
+	public synchronized DBQueryRow next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException("No more rows available from query " + details.getLabel());
+		}
+		DBQueryRow found = nextRow;
+		nextRow = null;
+		rowsReturned++;
+		return found;
+	}
+
+	/**
+	 * The number of rows that have been returned by {@link #next() } so far.
+	 *
+	 * @return the number of rows retrieved from the cursor
+	 */
+	public synchronized long getRowsReturned() {
+		return rowsReturned;
+	}
+
+	/**
+	 * Indicates whether the underlying ResultSet and statement have been
+	 * released.
+	 *
+	 * @return TRUE if the cursor is closed, otherwise FALSE
+	 */
+	public synchronized boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Wraps the cursor in a sequential Stream that closes the cursor when the
+	 * stream is closed.
+	 *
+	 * @return a Stream of the remaining rows
+	 */
+	public Stream<DBQueryRow> stream() {
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(this::close);
+	}
+
+	/**
+	 * Releases the ResultSet and statement, and with them the connection.
+	 *
+	 * <p>
+	 * Closing an already closed cursor has no effect.
+	 */
+	@Override
+	public synchronized void close() {
+		if (!closed) {
+			closed = true;
+			if (resultSet != null) {
+				try {
+					resultSet.close();
+				} catch (SQLException ex) {
+					LOG.warn("Exception occurred while closing cursor: " + ex.getMessage(), ex);
+				}
+			}
+			try {
+				statement.close();
+			} catch (SQLException ex) {
+				LOG.warn("Exception occurred while closing cursor: " + ex.getMessage(), ex);
+			}
+		}
+	}
+}
@@ -50,9 +50,31 @@ public class QueryState {
 	private final List<DBRow> joinedTables = new ArrayList<>();
 	private final List<DBExpression> joinedComplexExpressions = new ArrayList<>();
 	private boolean queryOnDual=false;
+	private final BindParameters bindParameters;
 
 	public QueryState(QueryDetails details) {
+		this(details, BindParameters.none());
+	}
+
+	/**
+	 * Creates a QueryState that collects the literal values of the conditions
+	 * into the BindParameters supplied.
+	 *
+	 * @param details the query being generated
+	 * @param parameters the collector for the values of the conditions
+	 */
+	public QueryState(QueryDetails details, BindParameters parameters) {
 		this.remainingExpressions = new ArrayList<>(details.getConditions());
+		this.bindParameters = parameters;
+	}
+
+	/**
+	 * The collector for the literal values used in the conditions of the query.
+	 *
+	 * @return the BindParameters for this query
+	 */
+	public BindParameters getBindParameters() {
+		return bindParameters;
 	}
 
 	public Iterable<BooleanExpression> getRemainingExpressions() {
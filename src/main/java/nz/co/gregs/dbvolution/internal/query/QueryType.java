@@ -40,5 +40,6 @@ public enum QueryType {
 	ROWSFORPAGE, 
 	GENERATESQLFORSELECT, 
 	GENERATESQLFORCOUNT, 
-	SELECTFROMRAWSQL
+	SELECTFROMRAWSQL,
+	STREAM
 };
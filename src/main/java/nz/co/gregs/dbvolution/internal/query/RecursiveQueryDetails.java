@@ -32,9 +32,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import nz.co.gregs.dbvolution.DBQuery;
 import nz.co.gregs.dbvolution.DBQueryRow;
 import nz.co.gregs.dbvolution.DBRow;
@@ -60,10 +58,8 @@ import nz.co.gregs.dbvolution.exceptions.ColumnProvidedMustBeAForeignKey;
 import nz.co.gregs.dbvolution.exceptions.IncorrectRowProviderInstanceSuppliedException;
 import nz.co.gregs.dbvolution.exceptions.LoopDetectedInRecursiveSQL;
 import nz.co.gregs.dbvolution.exceptions.UnableToInstantiateDBRowSubclassException;
-import nz.co.gregs.dbvolution.exceptions.UnableToInterpolateReferencedColumnInMultiColumnPrimaryKeyException;
 import nz.co.gregs.dbvolution.expressions.IntegerExpression;
 import nz.co.gregs.dbvolution.internal.properties.ColumnAspects;
-import nz.co.gregs.dbvolution.internal.properties.PropertyWrapperDefinition;
 import nz.co.gregs.dbvolution.query.RowDefinition;
 import nz.co.gregs.dbvolution.results.DateResult;
 import nz.co.gregs.dbvolution.results.EqualComparable;
@@ -83,6 +79,10 @@ public class RecursiveQueryDetails<T extends DBRow> extends QueryDetails {
 	private RecursiveSQLDirection recursiveQueryDirection = RecursiveSQLDirection.TOWARDS_ROOT;
 	public static final int MAXIMUM_DEPTH_DEFAULT = 10;
 	private int maximumDepth = MAXIMUM_DEPTH_DEFAULT;
+	public static final int EMULATION_BATCH_SIZE_DEFAULT = 500;
+	public static final int EMULATION_PARALLELISM_DEFAULT = 4;
+	private int emulationBatchSize = EMULATION_BATCH_SIZE_DEFAULT;
+	private int emulationParallelism = EMULATION_PARALLELISM_DEFAULT;
 
 	/**
 	 * @return the originalQuery
@@ -199,13 +199,14 @@ public class RecursiveQueryDetails<T extends DBRow> extends QueryDetails {
 			statementDetails.setIgnoreExceptions(this.isQuietExceptions());
 			try (ResultSet resultSet = queryDetails.getResultSetForSQL(dbStatement, statementDetails, descendingQuery)) {
 				if (resultSet != null) {
+					final HydrationPlan plan = HydrationPlan.create(defn, queryDetails, resultSet);
 					while (resultSet.next()) {
 						DBQueryRow queryRow = new DBQueryRow(queryDetails);
 
-						query.setExpressionColumns(defn, resultSet, queryRow);
+						plan.setExpressionColumns(defn, resultSet, queryRow);
 
 						queryDetails.setQueryRowFromResultSet(defn,
-								resultSet, queryDetails,
+								resultSet, plan,
 								queryRow,
 								queryDetails.getDBReportGroupByColumns().size() > 0
 						);
@@ -375,90 +376,7 @@ public class RecursiveQueryDetails<T extends DBRow> extends QueryDetails {
 	}
 
 	private synchronized List<DBQueryRow> performRecursiveQueryEmulation(DBDatabase database, RecursiveQueryDetails<T> recursiveDetails, RecursiveSQLDirection direction) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
-
-		final T returnType = getReturnType(recursiveDetails);
-		List<DBQueryRow> returnList = new ArrayList<>();
-		Long timeout = recursiveDetails.getTimeoutInMilliseconds();
-		long start = new java.util.Date().getTime();
-		final DBQuery query = recursiveDetails.getOriginalQuery();
-		query.setTimeoutInMilliseconds(timeout);
-		List<DBQueryRow> primingRows = query.getAllRows();
-
-		Map<String, List<String>> pkValues = new HashMap<>();
-		Map<String, PropertyWrapperDefinition<?, ?>> pkDefs = new HashMap<>();
-
-		for (DBQueryRow row : primingRows) {
-			final T tab = row.get(returnType);
-			List<QueryableDatatype<?>> qdts = tab.getPrimaryKeys();
-			for (QueryableDatatype<?> qdt : qdts) {
-				final PropertyWrapperDefinition<?, ?> propDefn = tab.getPropertyWrapperOf(qdt).getPropertyWrapperDefinition();
-				if (!pkValues.containsKey(propDefn.toString())) {
-					pkValues.put(propDefn.toString(), new ArrayList<String>());
-					pkDefs.put(propDefn.toString(), propDefn);
-				}
-				if (!qdt.isNull()) {
-					String stringValue = qdt.stringValue();
-					pkValues.get(propDefn.toString()).add(stringValue);
-				}
-			}
-		}
-		final ColumnProvider followKey = recursiveDetails.getKeyToFollow();
-		DBRow instanceOfRow = followKey.getColumn().getInstanceOfRow();
-		for (Map.Entry<String, List<String>> entry : pkValues.entrySet()) {
-			String key = entry.getKey();
-			var def = pkDefs.get(key);
-			List<String> value = entry.getValue();
-			setQDTPermittedValues(def.getQueryableDatatype(instanceOfRow), value);
-		}
-
-		final DBQuery dbQuery = database.getDBQuery(instanceOfRow);
-		dbQuery.setTimeoutInMilliseconds((int) (timeout - (new java.util.Date().getTime() - start)));
-		List<DBQueryRow> allRows = dbQuery.getAllRows();
-
-		int iteration = 0;
-		while (allRows.size() > 0 && iteration < getMaximumDepth()) {
-			List<String> recurseValues = new ArrayList<>();
-			returnList.addAll(allRows);
-			for (DBQueryRow row : allRows) {
-				final T tab = row.get(getReturnType(recursiveDetails));
-				QueryableDatatype<?> qdt;
-				if (direction.equals(RecursiveSQLDirection.TOWARDS_ROOT)) {
-					qdt = followKey.getColumn().getAppropriateQDTFromRow(tab);
-					if (!qdt.isNull()) {
-						recurseValues.add(qdt.stringValue());
-					}
-				} else {
-					List<QueryableDatatype<?>> primaryKeys = tab.getPrimaryKeys();
-					for (var pk : primaryKeys) {
-						if (!pk.isNull()) {
-							recurseValues.add(pk.stringValue());
-						}
-					}
-				}
-			}
-
-			if (recurseValues.isEmpty()) {
-				allRows.clear();
-			} else {
-				instanceOfRow = followKey.getColumn().getInstanceOfRow();
-				if (instanceOfRow.getPrimaryKeys().size() > 1) {
-					throw new UnableToInterpolateReferencedColumnInMultiColumnPrimaryKeyException(instanceOfRow, instanceOfRow.getPrimaryKeys());
-				}
-				QueryableDatatype<?> qdt;
-				if (direction.equals(RecursiveSQLDirection.TOWARDS_ROOT)) {
-					qdt = instanceOfRow.getPrimaryKeys().get(0);
-				} else {
-					qdt = followKey.getColumn().getAppropriateQDTFromRow(instanceOfRow);
-				}
-				setQDTPermittedValues(qdt, recurseValues);
-				final DBQuery dbQuery1 = database.getDBQuery(instanceOfRow);
-				dbQuery1.setTimeoutInMilliseconds((int) (timeout - (new java.util.Date().getTime() - start)));
-				allRows = dbQuery1.getAllRows();
-			}
-			iteration++;
-		}
-
-		return returnList;
+		return new RecursiveQueryEmulator<>(database, recursiveDetails, getReturnType(recursiveDetails), direction).emulate();
 	}
 
 	@SuppressWarnings("unchecked")
@@ -477,29 +395,6 @@ public class RecursiveQueryDetails<T extends DBRow> extends QueryDetails {
 		return returnInstance;
 	}
 
-	private synchronized void setQDTPermittedValues(QueryableDatatype<?> primaryKey, List<String> values) {
-		if (primaryKey instanceof DBInteger) {
-			DBInteger qdt = (DBInteger) primaryKey;
-			List<Long> longs = new ArrayList<>();
-			for (String value : values) {
-				longs.add(Long.parseLong(value));
-			}
-			qdt.permittedValues(longs);
-		} else if (primaryKey instanceof DBNumber) {
-			DBNumber qdt = (DBNumber) primaryKey;
-			List<Number> longs = new ArrayList<>();
-			for (String value : values) {
-				longs.add(Double.parseDouble(value));
-			}
-			qdt.permittedValues(longs);
-		} else if (primaryKey instanceof DBString) {
-			DBString qdt = (DBString) primaryKey;
-			qdt.permittedValues(values);
-		} else {
-			throw new UnsupportedOperationException("Only Integer, Number, and String Primary Keys are supported.");
-		}
-	}
-
 	public int getMaximumDepth() {
 		return maximumDepth;
 	}
@@ -512,4 +407,52 @@ public class RecursiveQueryDetails<T extends DBRow> extends QueryDetails {
 		maximumDepth = -1;
 	}
 
+	/**
+	 * The maximum number of keys queried at once when the recursive query is
+	 * emulated.
+	 *
+	 * <p>
+	 * Databases that do not support recursive queries natively find each level
+	 * of the tree by querying for the keys of the previous level. Wide levels are
+	 * split into batches of this size to limit the size of the IN clause.
+	 *
+	 * @return the maximum number of keys in each query
+	 */
+	public synchronized int getEmulationBatchSize() {
+		return emulationBatchSize;
+	}
+
+	/**
+	 * Sets the maximum number of keys queried at once when the recursive query
+	 * is emulated.
+	 *
+	 * @param batchSize the maximum number of keys in each query
+	 */
+	public synchronized void setEmulationBatchSize(int batchSize) {
+		emulationBatchSize = batchSize;
+	}
+
+	/**
+	 * The maximum number of batches queried at the same time when the recursive
+	 * query is emulated.
+	 *
+	 * @return the number of batches queried at the same time
+	 */
+	public synchronized int getEmulationParallelism() {
+		return emulationParallelism;
+	}
+
+	/**
+	 * Sets the maximum number of batches queried at the same time when the
+	 * recursive query is emulated.
+	 *
+	 * <p>
+	 * Use 1 to query the batches one after another.
+	 *
+	 * @param parallelism the number of batches queried at the same time
+	 */
+	public synchronized void setEmulationParallelism(int parallelism) {
+		emulationParallelism = parallelism;
+	}
+
 }
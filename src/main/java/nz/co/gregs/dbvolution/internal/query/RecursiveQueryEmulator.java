@@ -0,0 +1,293 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import nz.co.gregs.dbvolution.DBQuery;
+import nz.co.gregs.dbvolution.DBQueryRow;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.columns.ColumnProvider;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.datatypes.DBInteger;
+import nz.co.gregs.dbvolution.datatypes.DBNumber;
+import nz.co.gregs.dbvolution.datatypes.DBString;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.exceptions.AccidentalBlankQueryException;
+import nz.co.gregs.dbvolution.exceptions.AccidentalCartesianJoinException;
+import nz.co.gregs.dbvolution.exceptions.UnableToInterpolateReferencedColumnInMultiColumnPrimaryKeyException;
+import nz.co.gregs.dbvolution.internal.properties.PropertyWrapperDefinition;
+
+/**
+ * Emulates a recursive query, for databases that do not support them, by
+ * expanding the tree one level at a time.
+ *
+ * <p>
+ * Each level is found by querying for the keys of the previous level. The keys
+ * are kept as their Java values and split into batches of at most
+ * {@link RecursiveQueryDetails#getEmulationBatchSize() the batch size} so that
+ * a wide level does not create an enormous IN clause. When a level requires
+ * several batches they are queried in parallel, up to
+ * {@link RecursiveQueryDetails#getEmulationParallelism() the parallelism}, and
+ * the results are combined in the order of the batches.
+ *
+ * <p>
+ * Rows that have already been found are not returned or followed again, so
+ * loops in the data end the recursion rather than repeating until the maximum
+ * depth.
+ *
+ * @author Gregory Graham
+ * @param <T> the type of row returned
+ */
+class RecursiveQueryEmulator<T extends DBRow> {
+
+	private final DBDatabase database;
+	private final RecursiveQueryDetails<T> details;
+	private final T returnType;
+	private final ColumnProvider followKey;
+	private final RecursiveSQLDirection direction;
+	private final int batchSize;
+	private final int parallelism;
+	private final long timeout;
+	private final long start = System.currentTimeMillis();
+
+	RecursiveQueryEmulator(DBDatabase database, RecursiveQueryDetails<T> details, T returnType, RecursiveSQLDirection direction) {
+		this.database = database;
+		this.details = details;
+		this.returnType = returnType;
+		this.followKey = details.getKeyToFollow();
+		this.direction = direction;
+		this.batchSize = Math.max(1, details.getEmulationBatchSize());
+		this.parallelism = Math.max(1, details.getEmulationParallelism());
+		this.timeout = details.getTimeoutInMilliseconds();
+	}
+
+	/**
+	 * Finds the rows of the original query and all the rows connected to them by
+	 * the key to follow in the direction required.
+	 *
+	 * @return the rows found, level by level
+	 * @throws SQLException database errors
+	 */
+	List<DBQueryRow> emulate() throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
+		final DBQuery query = details.getOriginalQuery();
+		query.setTimeoutInMilliseconds(timeout);
+		List<DBQueryRow> level = getFirstLevel(query.getAllRows());
+
+		final List<DBQueryRow> returnList = new ArrayList<>();
+		final Set<Object> foundRows = new HashSet<>();
+		final Set<Object> followedKeys = new HashSet<>();
+		final int maximumDepth = details.getMaximumDepth();
+		int iteration = 0;
+		while (!level.isEmpty() && (maximumDepth < 0 || iteration < maximumDepth)) {
+			final Set<Object> frontier = new LinkedHashSet<>();
+			for (DBQueryRow row : level) {
+				final T tab = row.get(returnType);
+				if (foundRows.add(getIdentity(tab))) {
+					returnList.add(row);
+					for (Object key : getKeysToFollow(tab)) {
+						if (followedKeys.add(key)) {
+							frontier.add(key);
+						}
+					}
+				}
+			}
+			if (frontier.isEmpty()) {
+				break;
+			}
+			final DBRow instanceOfRow = followKey.getColumn().getInstanceOfRow();
+			if (instanceOfRow.getPrimaryKeys().size() > 1) {
+				throw new UnableToInterpolateReferencedColumnInMultiColumnPrimaryKeyException(instanceOfRow, instanceOfRow.getPrimaryKeys());
+			}
+			if (direction.equals(RecursiveSQLDirection.TOWARDS_ROOT)) {
+				level = queryInBatches(frontier, (row) -> row.getPrimaryKeys().get(0));
+			} else {
+				level = queryInBatches(frontier, (row) -> followKey.getColumn().getAppropriateQDTFromRow(row));
+			}
+			iteration++;
+		}
+		return returnList;
+	}
+
+	private List<DBQueryRow> getFirstLevel(List<DBQueryRow> primingRows) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
+		final Map<PropertyWrapperDefinition<?, ?>, Set<Object>> pkValues = new LinkedHashMap<>();
+		for (DBQueryRow row : primingRows) {
+			final T tab = row.get(returnType);
+			for (QueryableDatatype<?> qdt : tab.getPrimaryKeys()) {
+				final PropertyWrapperDefinition<?, ?> propDefn = tab.getPropertyWrapperOf(qdt).getPropertyWrapperDefinition();
+				final Set<Object> values = pkValues.computeIfAbsent(propDefn, (key) -> new LinkedHashSet<>());
+				if (!qdt.isNull()) {
+					values.add(qdt.getValue());
+				}
+			}
+		}
+		if (pkValues.isEmpty()) {
+			return new ArrayList<>();
+		} else if (pkValues.size() == 1) {
+			final Map.Entry<PropertyWrapperDefinition<?, ?>, Set<Object>> entry = pkValues.entrySet().iterator().next();
+			final PropertyWrapperDefinition<?, ?> propDefn = entry.getKey();
+			return queryInBatches(entry.getValue(), (row) -> propDefn.getQueryableDatatype(row));
+		} else {
+			final DBRow instanceOfRow = followKey.getColumn().getInstanceOfRow();
+			for (Map.Entry<PropertyWrapperDefinition<?, ?>, Set<Object>> entry : pkValues.entrySet()) {
+				setPermittedValues(entry.getKey().getQueryableDatatype(instanceOfRow), entry.getValue());
+			}
+			return queryRows(instanceOfRow);
+		}
+	}
+
+	private List<Object> getKeysToFollow(T tab) {
+		final List<Object> keys = new ArrayList<>(1);
+		if (direction.equals(RecursiveSQLDirection.TOWARDS_ROOT)) {
+			final QueryableDatatype<?> qdt = followKey.getColumn().getAppropriateQDTFromRow(tab);
+			if (!qdt.isNull()) {
+				keys.add(qdt.getValue());
+			}
+		} else {
+			for (QueryableDatatype<?> pk : tab.getPrimaryKeys()) {
+				if (!pk.isNull()) {
+					keys.add(pk.getValue());
+				}
+			}
+		}
+		return keys;
+	}
+
+	private static Object getIdentity(DBRow tab) {
+		final List<QueryableDatatype<?>> primaryKeys = tab.getPrimaryKeys();
+		if (primaryKeys.size() == 1) {
+			return primaryKeys.get(0).getValue();
+		}
+		final List<Object> values = new ArrayList<>(primaryKeys.size());
+		for (QueryableDatatype<?> pk : primaryKeys) {
+			values.add(pk.getValue());
+		}
+		return values;
+	}
+
+	private List<DBQueryRow> queryInBatches(Collection<Object> keys, Function<DBRow, QueryableDatatype<?>> column) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
+		final List<List<Object>> batches = new ArrayList<>();
+		List<Object> batch = new ArrayList<>(Math.min(batchSize, keys.size()));
+		for (Object key : keys) {
+			if (batch.size() == batchSize) {
+				batches.add(batch);
+				batch = new ArrayList<>(batchSize);
+			}
+			batch.add(key);
+		}
+		if (!batch.isEmpty()) {
+			batches.add(batch);
+		}
+		final List<DBQueryRow> rows = new ArrayList<>();
+		if (batches.size() == 1 || parallelism == 1) {
+			for (List<Object> values : batches) {
+				rows.addAll(queryBatch(values, column));
+			}
+			return rows;
+		}
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, batches.size()), runnable -> {
+			final Thread thread = new Thread(runnable, "DBvolution recursive query emulation");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			final List<Future<List<DBQueryRow>>> futures = new ArrayList<>(batches.size());
+			for (List<Object> values : batches) {
+				futures.add(executor.submit(() -> queryBatch(values, column)));
+			}
+			for (Future<List<DBQueryRow>> future : futures) {
+				rows.addAll(future.get());
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while emulating a recursive query", ex);
+		} catch (ExecutionException ex) {
+			final Throwable cause = ex.getCause();
+			if (cause instanceof SQLException) {
+				throw (SQLException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new SQLException(cause);
+		} finally {
+			executor.shutdownNow();
+		}
+		return rows;
+	}
+
+	private List<DBQueryRow> queryBatch(List<Object> values, Function<DBRow, QueryableDatatype<?>> column) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
+		final DBRow instanceOfRow = followKey.getColumn().getInstanceOfRow();
+		setPermittedValues(column.apply(instanceOfRow), values);
+		return queryRows(instanceOfRow);
+	}
+
+	private List<DBQueryRow> queryRows(DBRow instanceOfRow) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
+		final DBQuery dbQuery = database.getDBQuery(instanceOfRow);
+		dbQuery.setTimeoutInMilliseconds((int) (timeout - (System.currentTimeMillis() - start)));
+		return dbQuery.getAllRows();
+	}
+
+	private static void setPermittedValues(QueryableDatatype<?> column, Collection<Object> values) {
+		if (column instanceof DBInteger) {
+			final List<Long> longs = new ArrayList<>(values.size());
+			for (Object value : values) {
+				longs.add(value instanceof Number ? ((Number) value).longValue() : Long.parseLong(value.toString()));
+			}
+			((DBInteger) column).permittedValues(longs);
+		} else if (column instanceof DBNumber) {
+			final List<Number> numbers = new ArrayList<>(values.size());
+			for (Object value : values) {
+				numbers.add(value instanceof Number ? (Number) value : Double.parseDouble(value.toString()));
+			}
+			((DBNumber) column).permittedValues(numbers);
+		} else if (column instanceof DBString) {
+			final List<String> strings = new ArrayList<>(values.size());
+			for (Object value : values) {
+				strings.add(value.toString());
+			}
+			((DBString) column).permittedValues(strings);
+		} else {
+			throw new UnsupportedOperationException("Only Integer, Number, and String Primary Keys are supported.");
+		}
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+
+/**
+ * Tracks the rows of a single table already returned by a query, keyed on the
+ * values of their primary keys.
+ *
+ * <p>
+ * Joined queries return the same row many times, once for every row it is
+ * joined to. The identity map allows the query to reuse the first instance of
+ * each row rather than creating duplicates.
+ *
+ * <p>
+ * A single integer primary key is stored in an open addressing table of
+ * primitive longs, so the common case requires no boxing or allocation per
+ * row. Other primary keys use their values directly, or an immutable
+ * {@link CompositeKey} when there are several primary key columns.
+ *
+ * @author Gregory Graham
+ */
+public class RowIdentityMap {
+
+	private final LongKeyedRows longKeys = new LongKeyedRows();
+	private final HashMap<Object, DBRow> otherKeys = new HashMap<>();
+
+	/**
+	 * Retrieves the existing instance of the row or stores the row as the
+	 * existing instance.
+	 *
+	 * @param newInstance the row just retrieved from the database
+	 * @param primaryKeys the primary keys of the new instance
+	 * @return the existing instance of the row, or the row itself if none exists.
+	 */
+	public synchronized DBRow getOrSet(DBRow newInstance, List<QueryableDatatype<?>> primaryKeys) {
+		if (primaryKeys == null || primaryKeys.isEmpty()) {
+			return newInstance;
+		}
+		if (primaryKeys.size() == 1) {
+			final QueryableDatatype<?> primaryKey = primaryKeys.get(0);
+			if (primaryKey == null) {
+				return newInstance;
+			}
+			final Object value = primaryKey.getValue();
+			if (value instanceof Long) {
+				return longKeys.getOrSet((Long) value, newInstance);
+			} else if (value != null && !value.getClass().isArray()) {
+				return getOrSetOtherKey(value, newInstance);
+			}
+		}
+		final Object[] values = new Object[primaryKeys.size()];
+		for (int i = 0; i < values.length; i++) {
+			final QueryableDatatype<?> primaryKey = primaryKeys.get(i);
+			values[i] = primaryKey == null ? null : primaryKey.getValue();
+		}
+		return getOrSetOtherKey(new CompositeKey(values), newInstance);
+	}
+
+	private DBRow getOrSetOtherKey(Object key, DBRow newInstance) {
+		final DBRow existing = otherKeys.putIfAbsent(key, newInstance);
+		return existing == null ? newInstance : existing;
+	}
+
+	/**
+	 * The number of distinct rows stored.
+	 *
+	 * @return the number of rows in the identity map
+	 */
+	public synchronized int size() {
+		return longKeys.size() + otherKeys.size();
+	}
+
+	/**
+	 * Removes all the stored rows.
+	 */
+	public synchronized void clear() {
+		longKeys.clear();
+		otherKeys.clear();
+	}
+
+	/**
+	 * The values of a multi-column, or array valued, primary key.
+	 */
+	static final class CompositeKey {
+
+		private final Object[] values;
+		private final int hash;
+
+		CompositeKey(Object[] values) {
+			this.values = values;
+			this.hash = Arrays.deepHashCode(values);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CompositeKey)) {
+				return false;
+			}
+			final CompositeKey other = (CompositeKey) obj;
+			return hash == other.hash && Arrays.deepEquals(values, other.values);
+		}
+	}
+
+	/**
+	 * An open addressing hash table from primitive long keys to rows.
+	 */
+	static final class LongKeyedRows {
+
+		private static final int INITIAL_CAPACITY = 64;
+
+		private long[] keys = new long[INITIAL_CAPACITY];
+		private DBRow[] rows = new DBRow[INITIAL_CAPACITY];
+		private int size = 0;
+
+		DBRow getOrSet(long key, DBRow newInstance) {
+			final int mask = keys.length - 1;
+			int index = indexFor(key, mask);
+			DBRow found = rows[index];
+			while (found != null) {
+				if (keys[index] == key) {
+					return found;
+				}
+				index = (index + 1) & mask;
+				found = rows[index];
+			}
+			keys[index] = key;
+			rows[index] = newInstance;
+			size++;
+			if (size * 2 > keys.length) {
+				resize();
+			}
+			return newInstance;
+		}
+
+		int size() {
+			return size;
+		}
+
+		void clear() {
+			keys = new long[INITIAL_CAPACITY];
+			rows = new DBRow[INITIAL_CAPACITY];
+			size = 0;
+		}
+
+		private void resize() {
+			final long[] oldKeys = keys;
+			final DBRow[] oldRows = rows;
+			keys = new long[oldKeys.length * 2];
+			rows = new DBRow[oldRows.length * 2];
+			final int mask = keys.length - 1;
+			for (int i = 0; i < oldRows.length; i++) {
+				if (oldRows[i] != null) {
+					int index = indexFor(oldKeys[i], mask);
+					while (rows[index] != null) {
+						index = (index + 1) & mask;
+					}
+					keys[index] = oldKeys[i];
+					rows[index] = oldRows[i];
+				}
+			}
+		}
+
+		private static int indexFor(long key, int mask) {
+			final long mixed = key * 0x9E3779B97F4A7C15L;
+			return (int) (mixed ^ (mixed >>> 32)) & mask;
+		}
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * A small, least recently used, cache of the SQL generated for a query.
+ *
+ * <p>
+ * The SQL is stored against a {@link Fingerprint} of everything that
+ * contributes to it, so a repeated execution of an unchanged query can reuse
+ * the SQL rather than rebuilding the join graph and rendering every
+ * expression again.
+ *
+ * @author Gregory Graham
+ * @param <T> the type of SQL cached
+ */
+class SQLGenerationCache<T> {
+
+	/**
+	 * The number of SQL variations retained by default.
+	 */
+	static final int DEFAULT_CAPACITY = 8;
+
+	private final int capacity;
+	private final LinkedHashMap<Fingerprint, List<T>> entries;
+	private long hits = 0;
+	private long misses = 0;
+
+	SQLGenerationCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	SQLGenerationCache(int capacity) {
+		this.capacity = capacity;
+		this.entries = new LinkedHashMap<>(capacity * 2, 0.75f, true);
+	}
+
+	/**
+	 * Returns the SQL generated for the fingerprint.
+	 *
+	 * @param fingerprint the fingerprint of the query
+	 * @return a copy of the cached SQL or NULL if the query has not been cached
+	 */
+	synchronized List<T> get(Fingerprint fingerprint) {
+		final List<T> found = entries.get(fingerprint);
+		if (found == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return new ArrayList<>(found);
+	}
+
+	/**
+	 * Stores the SQL generated for the fingerprint.
+	 *
+	 * @param fingerprint the fingerprint of the query
+	 * @param sql the generated SQL
+	 */
+	synchronized void put(Fingerprint fingerprint, List<T> sql) {
+		if (capacity > 0) {
+			entries.put(fingerprint, Collections.unmodifiableList(new ArrayList<>(sql)));
+			while (entries.size() > capacity) {
+				entries.remove(entries.keySet().iterator().next());
+			}
+		}
+	}
+
+	/**
+	 * Removes all the cached SQL.
+	 */
+	synchronized void clear() {
+		entries.clear();
+	}
+
+	synchronized long getHits() {
+		return hits;
+	}
+
+	synchronized long getMisses() {
+		return misses;
+	}
+
+	synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * The parts of a query that determine the SQL generated.
+	 *
+	 * <p>
+	 * Values are compared with equals, objects that are only meaningful as
+	 * instances, like tables and expressions, are compared by identity.
+	 */
+	static class Fingerprint {
+
+		private final List<Object> parts = new ArrayList<>();
+		private int hash = 1;
+
+		/**
+		 * Adds a value, compared using equals.
+		 *
+		 * @param value the value
+		 * @return this fingerprint
+		 */
+		Fingerprint with(Object value) {
+			parts.add(value);
+			hash = 31 * hash + (value == null ? 0 : value.hashCode());
+			return this;
+		}
+
+		/**
+		 * Adds an object, compared by identity.
+		 *
+		 * @param instance the object
+		 * @return this fingerprint
+		 */
+		Fingerprint withInstance(Object instance) {
+			return with(new Instance(instance));
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj instanceof Fingerprint) {
+				final Fingerprint other = (Fingerprint) obj;
+				return hash == other.hash && parts.equals(other.parts);
+			}
+			return false;
+		}
+	}
+
+	private static class Instance {
+
+		private final Object instance;
+
+		Instance(Object instance) {
+			this.instance = instance;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(instance);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Instance && ((Instance) obj).instance == instance;
+		}
+	}
+}
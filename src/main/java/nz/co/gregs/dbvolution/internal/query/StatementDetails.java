@@ -32,6 +32,7 @@ package nz.co.gregs.dbvolution.internal.query;
 
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 import nz.co.gregs.dbvolution.databases.DBStatement;
 import nz.co.gregs.dbvolution.databases.QueryIntention;
 import nz.co.gregs.dbvolution.utility.StringCheck;
@@ -52,13 +53,18 @@ public class StatementDetails {
 	private String namedPKColumn;
 	private DBStatement activeStatement;
 	private Long timeout;
+	private ParameterisedSQL parameterisedSQL;
+	private List<ParameterisedSQL> batch;
 
 	public StatementDetails(String label, QueryIntention intent, String sql, DBStatement statement) {
 		this(label, intent, sql, null, false, false, "", statement);
 	}
 
 	public StatementDetails copy() {
-		return new StatementDetails(label, intention, sql, exception, withGeneratedKeys, ignoreExceptions, namedPKColumn, activeStatement);
+		final StatementDetails copy = new StatementDetails(label, intention, sql, exception, withGeneratedKeys, ignoreExceptions, namedPKColumn, activeStatement);
+		copy.parameterisedSQL = parameterisedSQL;
+		copy.batch = batch;
+		return copy;
 	}
 
 	public StatementDetails(String label, QueryIntention intent, String sql, Exception except, boolean generatedKeys, boolean ignoreExceptions, String pkColumn, DBStatement statement) {
@@ -158,4 +164,44 @@ public class StatementDetails {
 		return timeout;
 	}
 
+	/**
+	 * The parameterised version of the SQL, if available.
+	 *
+	 * <p>
+	 * When set, queries are run as a PreparedStatement using the bind parameters
+	 * and fallback to the literal SQL if that fails.
+	 *
+	 * @return the parameterised SQL or NULL
+	 */
+	public ParameterisedSQL getParameterisedSQL() {
+		return parameterisedSQL;
+	}
+
+	public StatementDetails withParameterisedSQL(ParameterisedSQL parameterised) {
+		this.parameterisedSQL = parameterised;
+		return this;
+	}
+
+	/**
+	 * The statements to be executed as JDBC batches, if this is a batch.
+	 *
+	 * <p>
+	 * When set, the statements are executed instead of the SQL and the SQL is
+	 * only used for logging and error messages.
+	 *
+	 * @return the statements of the batch or NULL
+	 */
+	public List<ParameterisedSQL> getBatch() {
+		return batch;
+	}
+
+	public boolean isBatch() {
+		return batch != null;
+	}
+
+	public StatementDetails withBatch(List<ParameterisedSQL> statements) {
+		this.batch = statements;
+		return this;
+	}
+
 }
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.utility;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+/**
+ * Decodes dates and times that the database has returned as text.
+ *
+ * <p>
+ * The expected formats are compiled once when the decoder is created rather
+ * than for every value read.
+ *
+ * <p>
+ * Canonical strings, like "2024-01-31 13:45:59.123456", are recognised from
+ * their length and separators and decoded by hand without throwing any
+ * exceptions. Other layouts are interpreted by the expected formats and then by
+ * the robust fallbacks of {@link TemporalStringParser}.
+ *
+ * <p>
+ * Decoders are immutable and may be shared between threads.
+ *
+ * @author Gregory Graham
+ */
+public class TemporalStringDecoder {
+
+	private static final int DATE_LENGTH = 10;
+	private static final int MINUTES_LENGTH = 16;
+	private static final int SECONDS_LENGTH = 19;
+	private static final int MAX_FRACTION_DIGITS = 9;
+	private static final int[] NANO_SCALE = new int[]{1_000_000_000, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1};
+
+	private final TemporalStringParser.Parser[] formats;
+
+	/**
+	 * Creates a decoder that uses the expected formats for non-canonical
+	 * strings.
+	 *
+	 * @param expectedFormats the {@link DateTimeFormatter} patterns to try, in
+	 * order, when the string is not in a canonical layout
+	 */
+	public TemporalStringDecoder(String... expectedFormats) {
+		this.formats = TemporalStringParser.Parser.ofPatterns(expectedFormats);
+	}
+
+	/**
+	 * Decodes the string as a local date-time.
+	 *
+	 * @param text a date-time retrieved with
+	 * {@link java.sql.ResultSet#getString(java.lang.String)}
+	 * @return the local date-time represented by the text, or NULL if the text is
+	 * NULL
+	 * @throws DateTimeParseException if the text cannot be interpreted
+	 */
+	public LocalDateTime toLocalDateTime(String text) throws DateTimeParseException {
+		if (text == null) {
+			return null;
+		}
+		LocalDateTime decoded = decodeCanonical(text, false, true, true);
+		if (decoded != null) {
+			return decoded;
+		}
+		try {
+			return LocalDateTime.parse(text.replaceAll(" ", "T"), DateTimeFormatter.ISO_DATE_TIME);
+		} catch (Exception parse) {
+			return TemporalStringParser.toLocalDateTimeUsingParsers(text, formats);
+		}
+	}
+
+	/**
+	 * Decodes the string as a local date.
+	 *
+	 * @param text a date retrieved with
+	 * {@link java.sql.ResultSet#getString(java.lang.String)}
+	 * @return the date represented by the text, or NULL if the text is NULL
+	 * @throws DateTimeParseException if the text cannot be interpreted
+	 */
+	public LocalDate toLocalDate(String text) throws DateTimeParseException {
+		if (text == null) {
+			return null;
+		}
+		LocalDateTime decoded = decodeCanonical(text, true, true, false);
+		if (decoded != null) {
+			return decoded.toLocalDate();
+		}
+		try {
+			return LocalDate.parse(text.replaceAll(" ", "T"), DateTimeFormatter.ISO_DATE);
+		} catch (Exception parse) {
+			return TemporalStringParser.toLocalDateTimeUsingParsers(text, formats).toLocalDate();
+		}
+	}
+
+	/**
+	 * Decodes the string as an instant.
+	 *
+	 * <p>
+	 * Strings without a time zone are interpreted as UTC.
+	 *
+	 * @param text a date-time retrieved with
+	 * {@link java.sql.ResultSet#getString(java.lang.String)}
+	 * @return the instant represented by the text, or NULL if the text is NULL
+	 * @throws DateTimeParseException if the text cannot be interpreted
+	 */
+	public Instant toInstant(String text) throws DateTimeParseException {
+		if (text == null) {
+			return null;
+		}
+		LocalDateTime decoded = decodeCanonical(text, false, true, true);
+		if (decoded != null) {
+			return decoded.toInstant(ZoneOffset.UTC);
+		}
+		try {
+			return ZonedDateTime.parse(text.replaceAll(" ", "T") + "Z", DateTimeFormatter.ISO_DATE_TIME).toInstant();
+		} catch (Exception parse) {
+			final ZonedDateTime zoned = TemporalStringParser.toZonedDateTimeUsingParsers(text, formats);
+			return zoned == null ? null : zoned.toInstant();
+		}
+	}
+
+	/**
+	 * Decodes the string as a date in the default time zone.
+	 *
+	 * <p>
+	 * As with {@link SimpleDateFormat "yyyy-MM-dd HH:mm:ss"}, the fractional
+	 * seconds of space separated date-times are ignored.
+	 *
+	 * @param text a date-time retrieved with
+	 * {@link java.sql.ResultSet#getString(java.lang.String)}
+	 * @return the date represented by the text, or NULL if the text is NULL
+	 * @throws DateTimeParseException if the text cannot be interpreted
+	 */
+	public Date toDate(String text) throws DateTimeParseException {
+		if (text == null) {
+			return null;
+		}
+		LocalDateTime decoded = decodeCanonical(text, false, false, false);
+		if (decoded != null) {
+			return Date.from(decoded.truncatedTo(ChronoUnit.SECONDS).atZone(ZoneId.systemDefault()).toInstant());
+		}
+		try {
+			return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(text);
+		} catch (ParseException parse) {
+			final LocalDateTime localDateTime = TemporalStringParser.toLocalDateTimeUsingParsers(text, formats);
+			return localDateTime == null ? null : Date.from(localDateTime.atZone(ZoneId.systemDefault()).toInstant());
+		}
+	}
+
+	/**
+	 * Decodes canonical date-time strings without using a formatter.
+	 *
+	 * <p>
+	 * The canonical layouts are "uuuu-MM-dd", "uuuu-MM-dd HH:mm",
+	 * "uuuu-MM-dd HH:mm:ss", and "uuuu-MM-dd HH:mm:ss" followed by a point and 1
+	 * to 9 digits of fractional seconds. The date and time may also be separated
+	 * by "T".
+	 *
+	 * @param text the string to decode
+	 * @param allowDateOnly TRUE if "uuuu-MM-dd" is acceptable
+	 * @param allowT TRUE if the date and time may be separated by "T"
+	 * @param allowMinutes TRUE if "uuuu-MM-dd HH:mm" is acceptable
+	 * @return the decoded date-time or NULL if the text is not an acceptable
+	 * canonical layout or a field is out of range
+	 */
+	static LocalDateTime decodeCanonical(String text, boolean allowDateOnly, boolean allowT, boolean allowMinutes) {
+		final int length = text.length();
+		if (length < DATE_LENGTH
+				|| text.charAt(4) != '-'
+				|| text.charAt(7) != '-') {
+			return null;
+		}
+		final int year = digits(text, 0, 4);
+		final int month = digits(text, 5, 2);
+		final int day = digits(text, 8, 2);
+		if (year < 0 || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+			return null;
+		}
+		if (length == DATE_LENGTH) {
+			return allowDateOnly ? LocalDateTime.of(year, month, day, 0, 0) : null;
+		}
+		final char separator = text.charAt(DATE_LENGTH);
+		if ((separator != ' ' && !(allowT && separator == 'T'))
+				|| length < MINUTES_LENGTH
+				|| text.charAt(13) != ':') {
+			return null;
+		}
+		final int hour = digits(text, 11, 2);
+		final int minute = digits(text, 14, 2);
+		if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+			return null;
+		}
+		if (length == MINUTES_LENGTH) {
+			return allowMinutes ? LocalDateTime.of(year, month, day, hour, minute) : null;
+		}
+		if (length < SECONDS_LENGTH || text.charAt(16) != ':') {
+			return null;
+		}
+		final int second = digits(text, 17, 2);
+		if (second < 0 || second > 59) {
+			return null;
+		}
+		int nano = 0;
+		if (length > SECONDS_LENGTH) {
+			final int fractionDigits = length - SECONDS_LENGTH - 1;
+			if (text.charAt(SECONDS_LENGTH) != '.' || fractionDigits < 1 || fractionDigits > MAX_FRACTION_DIGITS) {
+				return null;
+			}
+			nano = digits(text, SECONDS_LENGTH + 1, fractionDigits);
+			if (nano < 0) {
+				return null;
+			}
+			nano *= NANO_SCALE[fractionDigits];
+		}
+		return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+	}
+
+	private static int digits(String text, int start, int count) {
+		int value = 0;
+		for (int i = start; i < start + count; i++) {
+			final int digit = text.charAt(i) - '0';
+			if (digit < 0 || digit > 9) {
+				return -1;
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+}
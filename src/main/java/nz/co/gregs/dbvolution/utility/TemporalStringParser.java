@@ -184,6 +184,9 @@ public class TemporalStringParser {
 	}
 
 	private static void printException(String inputDateString, String format, Exception exception) {
+		if (!LOG.isDebugEnabled()) {
+			return;
+		}
 		LOG.debug("PARSING ORIGINAL: " + inputDateString);
 		LOG.debug("PATTERN: " + format);
 		LOG.debug("PARSE FAILED: " + inputDateString);
@@ -202,6 +205,14 @@ public class TemporalStringParser {
 		return toLocalDateTime(inputFromResultSet, Parser.ofPatterns(expectedFormats));
 	}
 
+	static ZonedDateTime toZonedDateTimeUsingParsers(String inputDateString, Parser[] compiledFormats) throws DateTimeParseException {
+		return toZonedDateTime(inputDateString, compiledFormats);
+	}
+
+	static LocalDateTime toLocalDateTimeUsingParsers(String inputDateString, Parser[] compiledFormats) throws DateTimeParseException {
+		return toLocalDateTime(inputDateString, compiledFormats);
+	}
+
 	private static LocalDateTime toLocalDateTime(String inputDateString, Parser... preferredFormats) throws DateTimeParseException {
 		if (inputDateString == null) {
 			return null;
@@ -290,7 +301,7 @@ public class TemporalStringParser {
 		}
 	}
 
-	private static class Parser {
+	static class Parser {
 
 		private final String pattern;
 		private final DateTimeFormatter formatter;
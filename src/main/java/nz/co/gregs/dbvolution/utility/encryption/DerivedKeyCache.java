@@ -0,0 +1,326 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License.
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ *
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ *
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.
+ *     Under the following terms:
+ *
+ *         Attribution -
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made.
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial -
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike -
+ *             If you remix, transform, or build upon the material,
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions -
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the
+ *             license permits.
+ *
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.utility.encryption;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * A bounded, least recently used, cache of keys derived from pass phrases.
+ *
+ * <p>
+ * Deriving a key with PBKDF2 is deliberately slow so decrypting many values
+ * encrypted with the same pass phrase and salt repeats a lot of expensive work.
+ * The cache retains the derived keys so that each pass phrase and salt pair is
+ * only derived once.
+ *
+ * <p>
+ * The pass phrase is not retained: entries are identified by a SHA-256 digest
+ * of the pass phrase and salt. Entries expire after a fixed time and the least
+ * recently used entry is removed when the cache is full. Removed keys are
+ * overwritten with zeroes unless zeroing has been disabled.
+ *
+ * <p>
+ * The hit, miss, and eviction counts are available to help tune the capacity.
+ *
+ * @author Gregory Graham
+ */
+public class DerivedKeyCache {
+
+	/**
+	 * The number of keys retained by default.
+	 */
+	public static final int DEFAULT_CAPACITY = 256;
+
+	/**
+	 * The number of milliseconds a key is retained by default.
+	 */
+	public static final long DEFAULT_EXPIRY_MILLIS = 10 * 60 * 1000L;
+
+	/**
+	 * Derives a key from a pass phrase and salt.
+	 */
+	@FunctionalInterface
+	public static interface KeyDerivation {
+
+		/**
+		 * Derives the key.
+		 *
+		 * @param passphrase the pass phrase
+		 * @param salt the salt
+		 * @return the derived key
+		 * @throws Exception if the key can not be derived
+		 */
+		byte[] derive(String passphrase, byte[] salt) throws Exception;
+	}
+
+	private final int capacity;
+	private final long expiryMillis;
+	private final boolean zeroOnEviction;
+	private final LinkedHashMap<String, Entry> keys;
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	/**
+	 * Creates a cache with the {@link #DEFAULT_CAPACITY default capacity} and
+	 * {@link #DEFAULT_EXPIRY_MILLIS default expiry} that zeroes removed keys.
+	 */
+	public DerivedKeyCache() {
+		this(DEFAULT_CAPACITY, DEFAULT_EXPIRY_MILLIS, true);
+	}
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param capacity the maximum number of keys retained, 0 or less disables
+	 * caching
+	 * @param expiryMillis the number of milliseconds a key is retained, 0 or less
+	 * retains keys until they are evicted
+	 * @param zeroOnEviction TRUE if removed keys should be overwritten with zeroes
+	 */
+	public DerivedKeyCache(int capacity, long expiryMillis, boolean zeroOnEviction) {
+		this.capacity = capacity;
+		this.expiryMillis = expiryMillis;
+		this.zeroOnEviction = zeroOnEviction;
+		this.keys = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Returns the key for the pass phrase and salt, deriving it if necessary.
+	 *
+	 * <p>
+	 * The returned array is a copy and may be changed by the caller.
+	 *
+	 * @param passphrase the pass phrase
+	 * @param salt the salt
+	 * @param derivation the derivation used when the key is not cached
+	 * @return the derived key
+	 * @throws Exception if the key needs to be derived and the derivation fails
+	 */
+	public byte[] get(String passphrase, byte[] salt, KeyDerivation derivation) throws Exception {
+		if (capacity <= 0) {
+			synchronized (this) {
+				misses++;
+			}
+			return derivation.derive(passphrase, salt);
+		}
+		final String identity = identify(passphrase, salt);
+		final List<byte[]> removed = new ArrayList<>(1);
+		synchronized (this) {
+			final Entry entry = keys.get(identity);
+			if (entry != null) {
+				if (!entry.hasExpired(System.currentTimeMillis())) {
+					hits++;
+					return entry.key.clone();
+				}
+				keys.remove(identity);
+				removed.add(entry.key);
+			}
+			misses++;
+		}
+		zero(removed);
+		// derive outside the lock so other keys are not delayed
+		final byte[] key = derivation.derive(passphrase, salt);
+		final byte[] copy = key.clone();
+		put(identity, key);
+		return copy;
+	}
+
+	/**
+	 * Adds a key derived elsewhere to the cache.
+	 *
+	 * @param passphrase the pass phrase
+	 * @param salt the salt
+	 * @param key the derived key
+	 */
+	public void put(String passphrase, byte[] salt, byte[] key) {
+		if (capacity > 0) {
+			put(identify(passphrase, salt), key.clone());
+		}
+	}
+
+	private void put(String identity, byte[] key) {
+		final List<byte[]> removed = new ArrayList<>(1);
+		synchronized (this) {
+			final Entry previous = keys.put(identity, new Entry(key, System.currentTimeMillis() + expiryMillis));
+			if (previous != null) {
+				removed.add(previous.key);
+			}
+			removeExpired(removed);
+			while (keys.size() > capacity) {
+				final Iterator<Entry> eldest = keys.values().iterator();
+				removed.add(eldest.next().key);
+				eldest.remove();
+				evictions++;
+			}
+		}
+		zero(removed);
+	}
+
+	/**
+	 * Removes, and zeroes if required, all the cached keys.
+	 *
+	 * <p>
+	 * The counters are retained.
+	 */
+	public void clear() {
+		final List<byte[]> removed = new ArrayList<>();
+		synchronized (this) {
+			for (Entry entry : keys.values()) {
+				removed.add(entry.key);
+			}
+			keys.clear();
+		}
+		zero(removed);
+	}
+
+	/**
+	 * The number of times a key was found in the cache.
+	 *
+	 * @return the hit count
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * The number of times a key had to be derived.
+	 *
+	 * @return the miss count
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * The number of keys removed to keep the cache within its capacity.
+	 *
+	 * @return the eviction count
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * The number of keys currently cached.
+	 *
+	 * @return the size of the cache
+	 */
+	public synchronized int size() {
+		return keys.size();
+	}
+
+	/**
+	 * The maximum number of keys retained.
+	 *
+	 * @return the capacity of the cache
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * The number of milliseconds a key is retained.
+	 *
+	 * @return the expiry time in milliseconds
+	 */
+	public long getExpiryMillis() {
+		return expiryMillis;
+	}
+
+	/**
+	 * Indicates whether removed keys are overwritten with zeroes.
+	 *
+	 * @return TRUE if removed keys are zeroed
+	 */
+	public boolean isZeroOnEviction() {
+		return zeroOnEviction;
+	}
+
+	private void removeExpired(List<byte[]> removed) {
+		if (expiryMillis > 0) {
+			final long now = System.currentTimeMillis();
+			final Iterator<Entry> iterator = keys.values().iterator();
+			while (iterator.hasNext()) {
+				final Entry entry = iterator.next();
+				if (entry.hasExpired(now)) {
+					removed.add(entry.key);
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	private void zero(List<byte[]> removed) {
+		if (zeroOnEviction) {
+			for (byte[] key : removed) {
+				Arrays.fill(key, (byte) 0);
+			}
+		}
+	}
+
+	private static String identify(String passphrase, byte[] salt) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			final byte[] phrase = passphrase.getBytes(StandardCharsets.UTF_8);
+			digest.update(ByteBuffer.allocate(4).putInt(phrase.length).array());
+			digest.update(phrase);
+			digest.update(salt);
+			return Encryption_BASE64_AES_GCM_NoPadding.getBase64String(digest.digest());
+		} catch (NoSuchAlgorithmException ex) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private class Entry {
+
+		private final byte[] key;
+		private final long expiresAt;
+
+		Entry(byte[] key, long expiresAt) {
+			this.key = key;
+			this.expiresAt = expiresAt;
+		}
+
+		boolean hasExpired(long now) {
+			return expiryMillis > 0 && now >= expiresAt;
+		}
+	}
+}
@@ -31,6 +31,8 @@
 package nz.co.gregs.dbvolution.utility.encryption;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import nz.co.gregs.dbvolution.exceptions.UnableToDecryptInput;
 import nz.co.gregs.dbvolution.exceptions.CannotEncryptInputException;
@@ -88,6 +90,39 @@ public class Encrypted {
 //		return Encryption_BASE64_AES_CBC_PKCS5Padding.decrypt(passPhrase, cipherText);
 	}
 
+	/**
+	 * Decrypts many values with the same pass phrase.
+	 *
+	 * <p>
+	 * Values encrypted with the default algorithm are decrypted together so the
+	 * key for each salt is only derived once, other values are decrypted
+	 * individually. Values that all use the default algorithm are not retried
+	 * individually when the pass phrase is wrong.
+	 *
+	 * @param passPhrase the pass phrase used to encrypt the values
+	 * @param values the encrypted values
+	 * @return the decrypted values in the same order as the encrypted values
+	 * @throws UnableToDecryptInput if any value can not be decrypted
+	 */
+	public static List<String> decrypt(String passPhrase, List<Encrypted> values) throws UnableToDecryptInput {
+		final List<String> cipherTexts = new ArrayList<>(values.size());
+		for (Encrypted value : values) {
+			if (!Encryption_BASE64_AES_GCM_NoPadding.isEncryptedString(value.cipherText)) {
+				cipherTexts.clear();
+				break;
+			}
+			cipherTexts.add(value.cipherText);
+		}
+		if (!cipherTexts.isEmpty()) {
+			return Encryption_BASE64_AES_GCM_NoPadding.decrypt(passPhrase, cipherTexts);
+		}
+		final List<String> results = new ArrayList<>(values.size());
+		for (Encrypted value : values) {
+			results.add(value.decrypt(passPhrase));
+		}
+		return results;
+	}
+
 	public boolean isEmpty() {
 		return cipherText.isEmpty();
 	}
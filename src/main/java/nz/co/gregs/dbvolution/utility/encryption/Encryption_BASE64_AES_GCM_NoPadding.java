@@ -46,7 +46,12 @@ import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
 import javax.crypto.spec.GCMParameterSpec;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import nz.co.gregs.dbvolution.utility.Random;
@@ -66,15 +71,43 @@ public class Encryption_BASE64_AES_GCM_NoPadding {
 	private final static int PBKDF2_SALT_SIZE = 16;
 	private final static int PBKDF2_ITERATIONS = 32767;
 
+	private static volatile DerivedKeyCache keyCache = new DerivedKeyCache();
+
+	/**
+	 * Returns the cache of keys derived from pass phrases.
+	 *
+	 * @return the key cache
+	 */
+	public static DerivedKeyCache getKeyCache() {
+		return keyCache;
+	}
+
+	/**
+	 * Replaces the cache of keys derived from pass phrases.
+	 *
+	 * <p>
+	 * The keys in the previous cache are cleared. Use a cache with a capacity of
+	 * zero to derive the key for every value.
+	 *
+	 * @param cache the new key cache
+	 */
+	public static void setKeyCache(DerivedKeyCache cache) {
+		if (cache == null) {
+			throw new IllegalArgumentException("The key cache must not be null");
+		}
+		final DerivedKeyCache previous = keyCache;
+		keyCache = cache;
+		previous.clear();
+	}
+
 	public static String encrypt(String password, String plaintext) throws CannotEncryptInputException {
 		try {
 			// make a salt
 			byte[] salt = Random.bytes(PBKDF2_SALT_SIZE);
 
 			// Create an instance of PBKDF2 and derive a key.
-			PBEKeySpec pwSpec = new PBEKeySpec(password.toCharArray(), salt, PBKDF2_ITERATIONS, ALGORITHM_KEY_SIZE);
-			SecretKeyFactory keyFactory = SecretKeyFactory.getInstance(PBKDF2_NAME);
-			byte[] key = keyFactory.generateSecret(pwSpec).getEncoded();
+			// the salt is new so the key is not cached
+			byte[] key = deriveKey(password, salt);
 
 			// make a nonce
 			byte[] nonce = Random.bytes(ALGORITHM_NONCE_SIZE);
@@ -109,12 +142,36 @@ public class Encryption_BASE64_AES_GCM_NoPadding {
 		return Base64.getDecoder().decode(base64String);
 	}
 
-	private static byte[] getSecretKey(String passphrase, byte[] salt) throws NoSuchAlgorithmException, InvalidKeySpecException {
+	private static byte[] deriveKey(String passphrase, byte[] salt) throws NoSuchAlgorithmException, InvalidKeySpecException {
 		// Create an instance of PBKDF2 and derive the key.
 		PBEKeySpec pwSpec = new PBEKeySpec(passphrase.toCharArray(), salt, PBKDF2_ITERATIONS, ALGORITHM_KEY_SIZE);
-		SecretKeyFactory keyFactory = SecretKeyFactory.getInstance(PBKDF2_NAME);
-		byte[] key = keyFactory.generateSecret(pwSpec).getEncoded();
-		return key;
+		try {
+			SecretKeyFactory keyFactory = SecretKeyFactory.getInstance(PBKDF2_NAME);
+			return keyFactory.generateSecret(pwSpec).getEncoded();
+		} finally {
+			pwSpec.clearPassword();
+		}
+	}
+
+	private static byte[] getSecretKey(String passphrase, byte[] salt) throws NoSuchAlgorithmException, InvalidKeySpecException {
+		try {
+			return keyCache.get(passphrase, salt, Encryption_BASE64_AES_GCM_NoPadding::deriveKey);
+		} catch (NoSuchAlgorithmException | InvalidKeySpecException | RuntimeException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			throw new InvalidKeySpecException(ex);
+		}
+	}
+
+	/**
+	 * Indicates whether the string looks like the output of
+	 * {@link #encrypt(java.lang.String, java.lang.String) }.
+	 *
+	 * @param encryptedString the possibly encrypted string
+	 * @return TRUE if the string can be decrypted by this class
+	 */
+	public static boolean isEncryptedString(String encryptedString) {
+		return encryptedString != null && encryptedString.startsWith(ENCRYPTED_PREAMPLE);
 	}
 
 	public static String decrypt(String passphrase, String encryptedString) throws UnableToDecryptInput {
@@ -144,6 +201,53 @@ public class Encryption_BASE64_AES_GCM_NoPadding {
 		}
 	}
 
+	/**
+	 * Decrypts many values with the same pass phrase.
+	 *
+	 * <p>
+	 * Equivalent to calling {@link #decrypt(java.lang.String, java.lang.String)
+	 * } for each value but the cipher is reused and each distinct salt is only
+	 * derived once.
+	 *
+	 * @param passphrase the pass phrase used to encrypt the values
+	 * @param encryptedStrings the values to decrypt
+	 * @return the decrypted values in the same order as the encrypted values
+	 * @throws UnableToDecryptInput if any value can not be decrypted
+	 */
+	public static List<String> decrypt(String passphrase, List<String> encryptedStrings) throws UnableToDecryptInput {
+		final List<String> results = new ArrayList<>(encryptedStrings.size());
+		final Map<String, byte[]> keys = new HashMap<>();
+		try {
+			final Cipher cipher = Cipher.getInstance(ALGORITHM_NAME);
+			for (String encryptedString : encryptedStrings) {
+				InterpretedString interpreted = InterpretedString.interpret(encryptedString);
+				if (!interpreted.isEncryptedString()) {
+					throw new UnableToDecryptInput();
+				}
+				final String saltString = getBase64String(interpreted.salt);
+				byte[] key = keys.get(saltString);
+				if (key == null) {
+					key = getSecretKey(passphrase, interpreted.salt);
+					keys.put(saltString, key);
+				}
+				cipher.init(Cipher.DECRYPT_MODE, getSecretKeySpec(key), getParameterSpec(interpreted.nonce));
+				final byte[] finalText = cipher.doFinal(getBytesFromBase64String(interpreted.encryptedPart));
+				results.add(new String(finalText, StandardCharsets.UTF_8));
+			}
+		} catch (IllegalBlockSizeException | BadPaddingException ex) {
+			// the usual result of the wrong pass phrase, not worth a log entry
+			throw new UnableToDecryptInput(ex);
+		} catch (NoSuchAlgorithmException | InvalidKeySpecException | InvalidKeyException | InvalidAlgorithmParameterException | NoSuchPaddingException ex) {
+			Logger.getLogger(Encryption_BASE64_AES_GCM_NoPadding.class.getName()).log(Level.SEVERE, null, ex);
+			throw new UnableToDecryptInput(ex);
+		} finally {
+			for (byte[] key : keys.values()) {
+				Arrays.fill(key, (byte) 0);
+			}
+		}
+		return results;
+	}
+
 	private static Cipher getEncryptCipher(byte[] key, byte[] nonce) throws NoSuchAlgorithmException, InvalidKeyException, InvalidAlgorithmParameterException, NoSuchPaddingException {
 		return getCipher(Cipher.ENCRYPT_MODE, key, nonce);
 	}
@@ -62,6 +62,10 @@ import nz.co.gregs.dbvolution.example.CarCompany;
 import nz.co.gregs.dbvolution.example.Marque;
 import nz.co.gregs.dbvolution.exceptions.*;
 import nz.co.gregs.dbvolution.generic.AbstractTest;
+import nz.co.gregs.dbvolution.internal.database.ReadRoutingStrategy;
+import nz.co.gregs.dbvolution.internal.database.ReadStatistics;
+import nz.co.gregs.dbvolution.internal.database.ReplicationStatistics;
+import nz.co.gregs.dbvolution.internal.database.TableCopyProgress;
 import nz.co.gregs.looper.Looper;
 import org.hamcrest.Matchers;
 import static org.hamcrest.Matchers.*;
@@ -161,6 +165,188 @@ public class DBDatabaseClusterTest extends AbstractTest {
 		}
 	}
 
+	@Test
+	public synchronized void testSynchronisationCopiesTablesInChunks() throws SQLException {
+		final DBDatabaseClusterTestTable testTable = new DBDatabaseClusterTestTable();
+
+		try (DBDatabaseCluster cluster = DBDatabaseCluster.randomManualCluster(database)) {
+			cluster.getDetails().setSynchronisationChunkSize(5);
+			cluster.addTrackedTable(testTable);
+			cluster.delete(cluster.getDBTable(testTable).setBlankQueryAllowed(true).getAllRows());
+			cluster.insert(createData(new Date(), new Date()));
+			assertThat(cluster.getDBTable(testTable).count(), is(22l));
+
+			try (H2MemoryDB soloDB = H2MemoryDB.createANewRandomDatabase()) {
+				cluster.addDatabase(soloDB);
+				cluster.waitUntilDatabaseIsSynchronised(soloDB);
+
+				assertThat(soloDB.getDBTable(testTable).count(), is(22l));
+				TableCopyProgress tableProgress = null;
+				for (TableCopyProgress progress : cluster.getDetails().getSynchronisationProgress(soloDB)) {
+					if (progress.getTableName().equals(testTable.getTableName())) {
+						tableProgress = progress;
+					}
+				}
+				assertThat(tableProgress, notNullValue());
+				assertThat(tableProgress.isComplete(), is(true));
+				assertThat(tableProgress.getTotalRows(), is(22l));
+				assertThat(tableProgress.getCopiedRows(), is(22l));
+				assertThat(tableProgress.getCopiedChunks(), is(5));
+				assertThat(tableProgress.getFractionComplete(), is(1.0));
+			}
+		}
+	}
+
+	@Test
+	public synchronized void testSynchronisationCopiesTablesInParallel() throws SQLException {
+		final DBDatabaseClusterTestTable testTable = new DBDatabaseClusterTestTable();
+
+		try (DBDatabaseCluster cluster = DBDatabaseCluster.randomManualCluster(database)) {
+			cluster.getDetails().setSynchronisationParallelism(2, 4);
+			cluster.addTrackedTable(testTable);
+			cluster.delete(cluster.getDBTable(testTable).setBlankQueryAllowed(true).getAllRows());
+			cluster.insert(createData(new Date(), new Date()));
+
+			try (H2MemoryDB soloDB = H2MemoryDB.createANewRandomDatabase()) {
+				cluster.addDatabase(soloDB);
+				cluster.waitUntilDatabaseIsSynchronised(soloDB);
+
+				assertThat(cluster.getDatabaseStatus(soloDB), is(DBDatabaseCluster.Status.READY));
+				assertThat(soloDB.getDBTable(testTable).count(), is(22l));
+				for (DBRow table : cluster.getDetails().getRequiredAndTrackedTables()) {
+					if (database.tableExists(table)) {
+						assertThat(soloDB.tableExists(table), is(true));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public synchronized void testQueriesAreRoutedUsingTheReadRoutingStrategy() throws SQLException {
+		final DBDatabaseClusterTestTable testTable = new DBDatabaseClusterTestTable();
+
+		try (DBDatabaseCluster cluster = DBDatabaseCluster.randomManualCluster(database)) {
+			cluster.addTrackedTable(testTable);
+			try (H2MemoryDB soloDB = H2MemoryDB.createANewRandomDatabase()) {
+				cluster.addDatabaseAndWait(soloDB);
+				cluster.getDetails().setReadRoutingStrategy(ReadRoutingStrategy.weighted().setWeight(database, 0));
+
+				for (int i = 0; i < 10; i++) {
+					cluster.getDBTable(testTable).setBlankQueryAllowed(true).count();
+				}
+
+				final ReadStatistics soloStatistics = cluster.getDetails().getReadStatistics(soloDB);
+				assertThat(soloStatistics.getCompleted(), is(10L));
+				assertThat(soloStatistics.getInFlight(), is(0));
+				assertThat(soloStatistics.getAverageLatencyNanos(), greaterThan(0.0));
+				assertThat(cluster.getDetails().getReadStatistics(database).getCompleted(), is(0L));
+			}
+		}
+	}
+
+	@Test
+	public synchronized void testActionsAreReplicatedInTheBackground() throws Exception {
+		final DBDatabaseClusterTestTable testTable = new DBDatabaseClusterTestTable();
+		final DBDatabaseCluster.Configuration config = DBDatabaseCluster.Configuration.fullyManual()
+				.withWriteConsistency(DBDatabaseCluster.WriteConsistency.FIRST)
+				.withMaximumReplicationLag(5);
+		assertThat(config.getWriteConsistency(), is(DBDatabaseCluster.WriteConsistency.FIRST));
+		assertThat(config.withAutoStart().getMaximumReplicationLag(), is(5));
+
+		try (H2MemoryDB firstDB = H2MemoryDB.createANewRandomDatabase();
+				H2MemoryDB secondDB = H2MemoryDB.createANewRandomDatabase();
+				DBDatabaseCluster cluster = new DBDatabaseCluster("testActionsAreReplicatedInTheBackground", config, firstDB)) {
+			cluster.addTrackedTable(testTable);
+			cluster.createTable(testTable);
+			cluster.addDatabaseAndWait(secondDB);
+			assertThat(cluster.getDatabaseStatus(secondDB), is(DBDatabaseCluster.Status.READY));
+
+			for (DBDatabaseClusterTestTable row : createData(new Date(), new Date())) {
+				cluster.insert(row);
+			}
+			cluster.delete(cluster.getDBTable(testTable).getRowsByPrimaryKey(4893059));
+
+			for (int i = 0; i < 100 && (cluster.getDetails().getReplicationStatistics(firstDB).getPendingActions() > 0
+					|| cluster.getDetails().getReplicationStatistics(secondDB).getPendingActions() > 0); i++) {
+				Thread.sleep(50);
+			}
+			final ReplicationStatistics firstStatistics = cluster.getDetails().getReplicationStatistics(firstDB);
+			final ReplicationStatistics secondStatistics = cluster.getDetails().getReplicationStatistics(secondDB);
+			assertThat(firstStatistics.getPendingActions(), is(0));
+			assertThat(secondStatistics.getPendingActions(), is(0));
+			assertThat(firstStatistics.getLagMillis(), is(0L));
+			assertThat(firstStatistics.getAppliedActions() + secondStatistics.getAppliedActions(), greaterThanOrEqualTo(2L * 23));
+			assertThat(firstStatistics.getFailedActions() + secondStatistics.getFailedActions(), is(0L));
+			assertThat(firstDB.getDBTable(testTable).setBlankQueryAllowed(true).count(), is(21L));
+			assertThat(secondDB.getDBTable(testTable).setBlankQueryAllowed(true).count(), is(21L));
+		}
+	}
+
+	@Test
+	public synchronized void testQuorumWritesReportFailures() throws SQLException {
+		final DBDatabaseClusterTestTable testTable = new DBDatabaseClusterTestTable();
+		final DBDatabaseCluster.Configuration config = DBDatabaseCluster.Configuration.fullyManual()
+				.withWriteConsistency(DBDatabaseCluster.WriteConsistency.QUORUM);
+
+		try (H2MemoryDB firstDB = H2MemoryDB.createANewRandomDatabase();
+				H2MemoryDB secondDB = H2MemoryDB.createANewRandomDatabase();
+				DBDatabaseCluster cluster = new DBDatabaseCluster("testQuorumWritesReportFailures", config, firstDB)) {
+			cluster.addTrackedTable(testTable);
+			cluster.createTable(testTable);
+			cluster.addDatabaseAndWait(secondDB);
+			final List<DBDatabaseClusterTestTable> data = createData(new Date(), new Date());
+			cluster.insert(data.get(0));
+			assertThat(firstDB.getDBTable(testTable).setBlankQueryAllowed(true).count(), is(1L));
+			assertThat(secondDB.getDBTable(testTable).setBlankQueryAllowed(true).count(), is(1L));
+			final TableThatDoesntExistOnTheCluster missingTable = new TableThatDoesntExistOnTheCluster();
+			missingTable.pkid.setValue(1);
+			try {
+				cluster.setQuietExceptionsPreference(true);
+				cluster.insert(missingTable);
+				Assert.fail("Inserting into a missing table should fail");
+			} catch (SQLException expected) {
+			} finally {
+				cluster.setQuietExceptionsPreference(false);
+			}
+			assertThat(cluster.getDatabaseStatus(firstDB), is(DBDatabaseCluster.Status.READY));
+			assertThat(cluster.getDatabaseStatus(secondDB), is(DBDatabaseCluster.Status.READY));
+		}
+	}
+
+	@Test
+	public synchronized void testQuarantinedDatabaseIsResynchronisedIncrementally() throws SQLException {
+		final DBDatabaseClusterTestTable testTable = new DBDatabaseClusterTestTable();
+
+		try (DBDatabaseCluster cluster = DBDatabaseCluster.randomManualCluster(database)) {
+			cluster.addTrackedTable(testTable);
+			cluster.delete(cluster.getDBTable(testTable).setBlankQueryAllowed(true).getAllRows());
+			final List<DBDatabaseClusterTestTable> data = createData(new Date(), new Date());
+			cluster.insert(data);
+
+			try (H2MemoryDB soloDB = H2MemoryDB.createANewRandomDatabase()) {
+				cluster.addDatabaseAndWait(soloDB);
+				assertThat(cluster.getDatabaseStatus(soloDB), is(DBDatabaseCluster.Status.READY));
+				final List<TableCopyProgress> progressOfFullSynchronisation = cluster.getDetails().getSynchronisationProgress(soloDB);
+
+				cluster.quarantineDatabase(soloDB, new SQLException("Testing incremental resynchronisation"));
+				assertThat(cluster.getDatabaseStatus(soloDB), is(DBDatabaseCluster.Status.QUARANTINED));
+
+				// changes made while the member is away are queued for it
+				cluster.delete(data.get(0));
+				// changes made outside the cluster are found by comparing the tables
+				soloDB.delete(soloDB.getDBTable(testTable).setBlankQueryAllowed(true).getAllRows().get(5));
+
+				cluster.reconnectQuarantinedDatabases();
+				cluster.waitUntilDatabaseIsSynchronised(soloDB);
+
+				assertThat(cluster.getDatabaseStatus(soloDB), is(DBDatabaseCluster.Status.READY));
+				assertThat(soloDB.getDBTable(testTable).count(), is(21l));
+				assertThat(cluster.getDetails().getSynchronisationProgress(soloDB), is(progressOfFullSynchronisation));
+			}
+		}
+	}
+
 	@Test
 	public synchronized void testAutomaticDataUpdating() throws SQLException, InterruptedException, UnexpectedNumberOfRowsException {
 		final DBDatabaseClusterTestTable2 testTable = new DBDatabaseClusterTestTable2();
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.H2MemoryDB;
+import nz.co.gregs.dbvolution.databases.settingsbuilders.H2MemorySettingsBuilder;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DBExtractorTest {
+
+	private static final int UNREADABLE_KEY = 13;
+
+	private H2MemoryDB database;
+
+	@Before
+	public void setUp() throws Exception {
+		database = new H2MemorySettingsBuilder()
+				.setDatabaseName("DBExtractorTest")
+				.getDBDatabase();
+		database.createTable(new CarCompany());
+		List<CarCompany> companies = new ArrayList<>();
+		for (int i = 1; i <= 200; i++) {
+			companies.add(new CarCompany("COMPANY " + i, i));
+		}
+		database.insert(companies);
+	}
+
+	@After
+	public void tearDown() {
+		database.stop();
+	}
+
+	@Test
+	public void extractionFindsEveryReadableRow() throws Exception {
+		CompanyExtractor extractor = new CompanyExtractor(1);
+
+		extractor.extract(database);
+
+		assertThat(extractor.found.size(), is(199));
+		assertThat(new HashSet<>(extractor.found).size(), is(199));
+		assertThat(extractor.found, not(hasItem(UNREADABLE_KEY)));
+		assertThat(extractor.getMetrics().getKeysSkipped(), is(1L));
+		assertThat(extractor.getMetrics().getRangesRetried(), greaterThan(0L));
+		assertThat(extractor.getMetrics().getRowsProcessed(), is(199L));
+	}
+
+	@Test
+	public void parallelExtractionFindsEveryReadableRowOnce() throws Exception {
+		CompanyExtractor extractor = new CompanyExtractor(4);
+		AtomicInteger published = new AtomicInteger(0);
+		extractor.setMetricsListener((metrics) -> published.incrementAndGet());
+
+		extractor.extract(database);
+
+		assertThat(extractor.found.size(), is(199));
+		assertThat(new HashSet<>(extractor.found).size(), is(199));
+		assertThat(extractor.found, not(hasItem(UNREADABLE_KEY)));
+		assertThat(extractor.getMetrics().getKeysSkipped(), is(1L));
+		assertThat(extractor.getMetrics().getRowsRetrieved(), is(199L));
+		assertThat(extractor.getMetrics().getRowsProcessed(), is(199L));
+		assertThat((long) published.get(), is(extractor.getMetrics().getRangesRetrieved()));
+	}
+
+	@Test
+	public void parallelExtractionCanCountRows() throws Exception {
+		CompanyExtractor extractor = new CompanyExtractor(3, false);
+		extractor.setToCountOnly();
+
+		extractor.extract(database);
+
+		assertThat(extractor.found.size(), is(0));
+		assertThat(extractor.counted, is(200L));
+	}
+
+	private static class CompanyExtractor extends DBExtractor {
+
+		private final List<Integer> found = new ArrayList<>();
+		private long counted = 0;
+		private final boolean withUnreadableKey;
+
+		CompanyExtractor(int parallelism) {
+			this(parallelism, true);
+		}
+
+		CompanyExtractor(int parallelism, boolean withUnreadableKey) {
+			this.withUnreadableKey = withUnreadableKey;
+			setMaxBound(200);
+			setParallelism(parallelism);
+			setQueueCapacity(2);
+		}
+
+		@Override
+		public void processRows(List<DBQueryRow> rows) throws Exception {
+			if (rows != null) {
+				for (DBQueryRow row : rows) {
+					found.add(row.get(new CarCompany()).uidCarCompany.intValue());
+				}
+				counted += getRowCount();
+			}
+		}
+
+		@Override
+		public DBQuery getQuery(DBDatabase db, int lowerbound, int upperbound) {
+			if (withUnreadableKey && lowerbound < UNREADABLE_KEY && UNREADABLE_KEY <= upperbound) {
+				// a query without conditions is refused as an accidental blank query
+				return db.getDBQuery(new CarCompany());
+			}
+			CarCompany company = new CarCompany();
+			company.uidCarCompany.permittedRange(lowerbound, upperbound);
+			return db.getDBQuery(company);
+		}
+	}
+}
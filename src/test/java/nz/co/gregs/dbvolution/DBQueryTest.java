@@ -15,10 +15,14 @@
  */
 package nz.co.gregs.dbvolution;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 import java.util.SortedSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import nz.co.gregs.dbvolution.example.CarCompany;
@@ -27,8 +31,18 @@ import nz.co.gregs.dbvolution.example.LinkCarCompanyAndLogo;
 import nz.co.gregs.dbvolution.example.LinkCarCompanyAndLogoWithPreviousLink;
 import nz.co.gregs.dbvolution.example.Marque;
 import nz.co.gregs.dbvolution.example.MarqueSelectQuery;
+import nz.co.gregs.dbvolution.exceptions.ExceptionThrownDuringTransaction;
 import nz.co.gregs.dbvolution.exceptions.IncorrectRowProviderInstanceSuppliedException;
 import nz.co.gregs.dbvolution.generic.AbstractTest;
+import nz.co.gregs.dbvolution.databases.DBStatement;
+import nz.co.gregs.dbvolution.databases.QueryIntention;
+import nz.co.gregs.dbvolution.databases.connections.PreparedStatementCache;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.datatypes.DBString;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
+import nz.co.gregs.dbvolution.internal.query.ParameterisedSQL;
+import nz.co.gregs.dbvolution.internal.query.QueryResultCursor;
+import nz.co.gregs.dbvolution.internal.query.StatementDetails;
 import org.junit.Test;
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertTrue;
@@ -60,6 +74,157 @@ public class DBQueryTest extends AbstractTest {
 		assertThat(allRows.size(), is(2));
 	}
 
+	@Test
+	public void testRepeatedQueriesReuseTheGeneratedSQL() throws SQLException {
+		DBQuery dbQuery = database.getDBQuery();
+		CarCompany carCompany = new CarCompany();
+		carCompany.name.permittedValues("TOYOTA");
+		dbQuery.add(new Marque());
+		dbQuery.add(carCompany);
+
+		final String toyotaSQL = dbQuery.getSQLForQuery();
+		assertThat(dbQuery.getSQLForQuery(), is(toyotaSQL));
+		assertThat(dbQuery.getQueryDetails().getSQLCacheHits(), greaterThan(0L));
+
+		assertThat(dbQuery.getAllRows().size(), is(2));
+		assertThat(dbQuery.getAllRows().size(), is(2));
+
+		// changing the criteria of a table must not reuse the old SQL
+		carCompany.name.permittedValues("NO SUCH COMPANY");
+		assertThat(dbQuery.getSQLForQuery(), not(toyotaSQL));
+		assertThat(dbQuery.getAllRows().size(), is(0));
+
+		carCompany.name.permittedValues("TOYOTA");
+		assertThat(dbQuery.getSQLForQuery(), is(toyotaSQL));
+		carCompany.name.negateOperator();
+		assertThat(dbQuery.getSQLForQuery(), not(toyotaSQL));
+
+		carCompany.name.permittedValues("TOYOTA");
+		assertThat(dbQuery.getSQLForQuery(), is(toyotaSQL));
+		dbQuery.addCondition(carCompany.column(carCompany.uidCarCompany).isGreaterThan(1000000));
+		assertThat(dbQuery.getSQLForQuery(), not(toyotaSQL));
+		assertThat(dbQuery.getAllRows().size(), is(0));
+	}
+
+	@Test
+	public void testStreamMatchesGetAllRows() throws SQLException {
+		DBQuery dbQuery = database.getDBQuery();
+		CarCompany carCompany = new CarCompany();
+		carCompany.name.permittedValues("TOYOTA");
+		dbQuery.add(new Marque());
+		dbQuery.add(carCompany);
+		dbQuery.setFetchSize(1);
+
+		List<DBQueryRow> allRows = dbQuery.getAllRows();
+		List<Long> streamedMarques;
+		try (Stream<DBQueryRow> rows = dbQuery.stream()) {
+			streamedMarques = rows
+					.map(row -> row.get(new Marque()).getUidMarque().getValue())
+					.collect(Collectors.toList());
+		}
+		assertThat(streamedMarques.size(), is(allRows.size()));
+		assertThat(streamedMarques, containsInAnyOrder(1L, 4896300L));
+	}
+
+	@Test
+	public void testResultCursorClosesWhenExhausted() throws SQLException {
+		DBQuery dbQuery = database.getDBQuery(new Marque());
+		dbQuery.setBlankQueryAllowed(true);
+		int count = 0;
+		try (QueryResultCursor cursor = dbQuery.getResultCursor()) {
+			while (cursor.hasNext()) {
+				assertThat(cursor.next().get(new Marque()), notNullValue());
+				count++;
+			}
+			assertThat(cursor.isClosed(), is(true));
+			assertThat(cursor.getRowsReturned(), is((long) count));
+		}
+		assertThat(count, is(marqueRows.size()));
+	}
+
+	@Test
+	public void testPreparedStatementsPreferenceMatchesLiteralQuery() throws SQLException, ExceptionThrownDuringTransaction {
+		final boolean originalPreference = database.getPreparedStatementsPreference();
+		try {
+			database.setPreparedStatementsPreference(false);
+			DBQuery literalQuery = database.getDBQuery(new Marque());
+			CarCompany carCompany = new CarCompany();
+			carCompany.name.permittedValues("TOYOTA");
+			literalQuery.add(carCompany);
+			List<DBQueryRow> literalRows = literalQuery.getAllRows();
+
+			database.setPreparedStatementsPreference(true);
+			List<DBQueryRow> preparedRows = database.doReadOnlyTransaction((db) -> {
+				try {
+					// the transaction keeps the query on this connection so its cache shows whether a PreparedStatement was used
+					final PreparedStatementCache cache = db.getConnection().getPreparedStatementCache();
+					final long statementsUsed = cache.getHits() + cache.getMisses();
+					DBQuery preparedQuery = db.getDBQuery(new Marque());
+					CarCompany toyota = new CarCompany();
+					toyota.name.permittedValues("TOYOTA");
+					preparedQuery.add(toyota);
+					List<DBQueryRow> rows = preparedQuery.getAllRows();
+					assertThat(cache.getHits() + cache.getMisses(), greaterThan(statementsUsed));
+					return rows;
+				} catch (SQLException ex) {
+					throw new ExceptionThrownDuringTransaction(ex);
+				}
+			});
+
+			assertThat(preparedRows.size(), is(literalRows.size()));
+			assertThat(
+					preparedRows.stream().map(row -> row.get(new Marque()).getUidMarque().getValue()).collect(Collectors.toList()),
+					containsInAnyOrder(1L, 4896300L));
+
+			Marque quotedMarque = new Marque();
+			quotedMarque.name.permittedValues("O'Brien");
+			assertThat(database.getDBTable(quotedMarque).getAllRows().size(), is(0));
+		} finally {
+			database.setPreparedStatementsPreference(originalPreference);
+		}
+	}
+
+	@Test
+	public void testParameterisedSQLIsExecutedAsAPreparedStatement() throws SQLException {
+		final DBDefinition defn = database.getDefinition();
+		final CarCompany carCompany = new CarCompany();
+		BindParameters parameters = BindParameters.create();
+		String condition = parameters.collect(() -> new DBString("TOYOTA").toSQLString(defn));
+		ParameterisedSQL bound = parameters.bind("SELECT " + defn.formatColumnName("uid_carcompany")
+				+ " FROM " + defn.formatTableName(carCompany)
+				+ " WHERE " + defn.formatColumnName("name") + " = " + condition);
+		assertThat(bound.hasParameters(), is(true));
+
+		// the literal SQL can't be executed so any results must come from the prepared statement
+		List<Long> found = new ArrayList<>();
+		try (DBStatement statement = database.getDBStatement()) {
+			final StatementDetails details = new StatementDetails("testParameterisedSQLIsExecutedAsAPreparedStatement", QueryIntention.SIMPLE_SELECT_QUERY, "NOT SQL AT ALL", statement)
+					.withParameterisedSQL(bound);
+			try (ResultSet resultSet = statement.executeQuery(details)) {
+				while (resultSet.next()) {
+					found.add(resultSet.getLong(1));
+				}
+			}
+		}
+		assertThat(found, containsInAnyOrder(1L));
+	}
+
+	@Test
+	public void testBindParametersSeparateValuesFromSQL() {
+		final DBDefinition defn = database.getDefinition();
+		final String literal = new DBString("TOYOTA").toSQLString(defn);
+
+		BindParameters parameters = BindParameters.create();
+		String condition = parameters.collect(() -> new DBString("TOYOTA").toSQLString(defn));
+		ParameterisedSQL bound = parameters.bind("SELECT 1 WHERE NAME = " + condition);
+
+		assertThat(bound.getLiteralSQL(), is("SELECT 1 WHERE NAME = " + literal));
+		assertThat(bound.hasParameters(), is(true));
+		assertThat(bound.getParameterisedSQL(), is("SELECT 1 WHERE NAME = ?"));
+		assertThat(bound.getValues(), contains((Object) "TOYOTA"));
+		assertThat(new DBString("TOYOTA").toSQLString(defn), is(literal));
+	}
+
 	@Test
 	public void testQueryExecution() throws SQLException {
 		Object[][] tests = new Object[][]{
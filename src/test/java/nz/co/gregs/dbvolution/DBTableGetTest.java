@@ -23,6 +23,7 @@ import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Locale;
+import java.util.stream.Stream;
 import net.sourceforge.tedhi.DateRange;
 import net.sourceforge.tedhi.FlexibleDateFormat;
 import nz.co.gregs.dbvolution.example.CarCompany;
@@ -59,6 +60,14 @@ public class DBTableGetTest extends AbstractTest {
 		assertThat(marquesTable.getAllRows().size(), is(marqueRows.size()));
 	}
 	
+	@Test
+	public void testStreamAllRows() throws SQLException {
+		marquesTable.setBlankQueryAllowed(true);
+		try (Stream<Marque> rows = marquesTable.stream()) {
+			assertThat(rows.count(), is((long) marqueRows.size()));
+		}
+	}
+	
 	@Test
 	public void testGetFirstAndPrimaryKey() throws SQLException, ClassNotFoundException {
 		DBTable<Marque> singleMarque = DBTable.getInstance(database, new Marque());
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.actions;
+
+import java.util.List;
+import nz.co.gregs.dbvolution.example.Marque;
+import nz.co.gregs.dbvolution.generic.AbstractTest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+public class DBBulkDeleteTest extends AbstractTest {
+
+	public DBBulkDeleteTest(Object testIterationName, Object db) {
+		super(testIterationName, db);
+	}
+
+	private List<Marque> getAllMarques() throws Exception {
+		final Marque example = new Marque();
+		return database.getDBTable(example)
+				.setBlankQueryAllowed(true)
+				.setSortOrder(example.column(example.uidMarque))
+				.getAllRows();
+	}
+
+	@Test
+	public void testChunkedDeleteByPrimaryKey() throws Exception {
+		final List<Marque> marques = getAllMarques();
+		final int originalCount = marques.size();
+		final Marque byExample = new Marque();
+		byExample.name.permittedValues(marques.get(10).name.getValue());
+
+		DBBulkDelete bulkDelete = new DBBulkDelete()
+				.setRowsPerStatement(2)
+				.addAll(marques.subList(0, 5))
+				.addRow(byExample);
+		final List<String> sqlStatements = bulkDelete.getSQLStatements(database);
+		assertThat(sqlStatements.size(), is(4));
+		assertThat(sqlStatements.get(0).toUpperCase(), containsString(" IN ("));
+		assertThat(sqlStatements.get(0).toUpperCase(), not(containsString(" OR ")));
+
+		bulkDelete.delete(database);
+
+		final List<Marque> remaining = getAllMarques();
+		assertThat(remaining.size(), is(originalCount - 6));
+		for (Marque marque : remaining) {
+			for (Marque deleted : marques.subList(0, 5)) {
+				assertThat(marque.uidMarque.getValue(), not(deleted.uidMarque.getValue()));
+			}
+			assertThat(marque.uidMarque.getValue(), not(marques.get(10).uidMarque.getValue()));
+		}
+	}
+
+	@Test
+	public void testRevertableDeleteRestoresDeletedRows() throws Exception {
+		final List<Marque> marques = getAllMarques();
+		final int originalCount = marques.size();
+
+		DBActionList actions = new DBBulkDelete()
+				.setRevertable(true)
+				.setRowsPerStatement(2)
+				.addAll(marques.subList(0, 3))
+				.delete(database);
+		assertThat(getAllMarques().size(), is(originalCount - 3));
+
+		final DBActionList reverts = actions.getRevertActionList();
+		assertThat(reverts.size(), is(3));
+		reverts.execute(database);
+
+		final List<Marque> restored = getAllMarques();
+		assertThat(restored.size(), is(originalCount));
+		for (int i = 0; i < originalCount; i++) {
+			assertThat(restored.get(i).uidMarque.getValue(), is(marques.get(i).uidMarque.getValue()));
+			assertThat(restored.get(i).name.getValue(), is(marques.get(i).name.getValue()));
+			assertThat(restored.get(i).carCompany.getValue(), is(marques.get(i).carCompany.getValue()));
+		}
+	}
+
+	@Test
+	public void testDeletingACollectionUsesARevertableBulkDelete() throws Exception {
+		final List<Marque> marques = getAllMarques();
+		final int originalCount = marques.size();
+		final Marque byExample = new Marque();
+		byExample.name.permittedValues(marques.get(10).name.getValue());
+
+		final DBActionList actions = database.delete(List.of(marques.get(0), marques.get(1), marques.get(2), byExample));
+		assertThat(actions.get(0), instanceOf(DBBulkDelete.class));
+		assertThat(getAllMarques().size(), is(originalCount - 4));
+
+		actions.getRevertActionList().execute(database);
+		assertThat(getAllMarques().size(), is(originalCount));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testDeleteIsNotRevertableByDefault() throws Exception {
+		final List<Marque> marques = getAllMarques();
+
+		DBActionList actions = new DBBulkDelete()
+				.addRow(marques.get(0))
+				.delete(database);
+		actions.getRevertActionList();
+	}
+}
@@ -67,6 +67,115 @@ public class DBBulkInsertTest extends AbstractTest {
 		assertThat(row2.pk.getValue(), is(2l));
 	}
 	
+	@Test
+	public void testChunkedInsertOfDefinedRows() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkInsertTestTable());
+		database.createTableNoExceptions(new BulkInsertTestTable());
+		for (String str : new String[]{"Lada", "Saab", "Volvo", "Skoda", "Trabant"}) {
+			database.insert(new BulkInsertTestTable(str));
+		}
+		final BulkInsertTestTable example = new BulkInsertTestTable();
+		final List<BulkInsertTestTable> definedRows = database.getDBTable(example).setBlankQueryAllowed(true).setSortOrder(example.column(example.pk)).getAllRows();
+		assertThat(definedRows.size(), is(5));
+
+		DBBulkInsert bulkInsert = new DBBulkInsert().setRowsPerStatement(2);
+		bulkInsert.addAll(definedRows.toArray(new DBRow[]{}));
+		long insertStatements = bulkInsert.getSQLStatements(database).stream()
+				.filter(sql -> sql.toUpperCase().contains("INSERT INTO"))
+				.count();
+		assertThat(insertStatements, is(3L));
+
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkInsertTestTable());
+		database.createTableNoExceptions(new BulkInsertTestTable());
+		bulkInsert.insert(database);
+
+		final List<BulkInsertTestTable> insertedRows = database.getDBTable(example).setBlankQueryAllowed(true).setSortOrder(example.column(example.pk)).getAllRows();
+		assertThat(insertedRows.size(), is(5));
+		for (int i = 0; i < 5; i++) {
+			assertThat(insertedRows.get(i).pk.getValue(), is(definedRows.get(i).pk.getValue()));
+			assertThat(insertedRows.get(i).string.getValue(), is(definedRows.get(i).string.getValue()));
+		}
+	}
+
+	@Test
+	public void testBytesPerStatementLimitsStatementSize() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkInsertTestTable());
+		database.createTableNoExceptions(new BulkInsertTestTable());
+		for (String str : new String[]{"Lada", "Saab", "Volvo", "Skoda"}) {
+			database.insert(new BulkInsertTestTable(str));
+		}
+		final List<BulkInsertTestTable> definedRows = database.getDBTable(new BulkInsertTestTable()).setBlankQueryAllowed(true).getAllRows();
+
+		DBBulkInsert bulkInsert = new DBBulkInsert().setRowsPerStatement(0).setBytesPerStatement(1);
+		bulkInsert.addAll(definedRows.toArray(new DBRow[]{}));
+		long insertStatements = bulkInsert.getSQLStatements(database).stream()
+				.filter(sql -> sql.toUpperCase().contains("INSERT INTO"))
+				.count();
+		assertThat(insertStatements, is(4L));
+
+		bulkInsert.setBytesPerStatement(0);
+		insertStatements = bulkInsert.getSQLStatements(database).stream()
+				.filter(sql -> sql.toUpperCase().contains("INSERT INTO"))
+				.count();
+		assertThat(insertStatements, is(1L));
+	}
+
+	@Test
+	public void testInterleavedTablesAreGroupedByTable() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkInsertTestTable());
+		database.createTableNoExceptions(new BulkInsertTestTable());
+		for (String str : new String[]{"Lada", "Saab", "Volvo", "Skoda"}) {
+			database.insert(new BulkInsertTestTable(str));
+		}
+		final List<BulkInsertTestTable> definedRows = database.getDBTable(new BulkInsertTestTable()).setBlankQueryAllowed(true).getAllRows();
+
+		DBBulkInsert bulkInsert = new DBBulkInsert().setRowsPerStatement(0);
+		for (int i = 0; i < definedRows.size(); i++) {
+			bulkInsert.addRow(definedRows.get(i));
+			bulkInsert.addRow(new CarCompany("INTERLEAVED " + i, 9200 + i));
+		}
+		long insertStatements = bulkInsert.getSQLStatements(database).stream()
+				.filter(sql -> sql.toUpperCase().contains("INSERT INTO"))
+				.count();
+		assertThat(insertStatements, is(2L));
+	}
+
+	@Test
+	public void testPreparedInsertOfDefinedRows() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkInsertTestTable());
+		database.createTableNoExceptions(new BulkInsertTestTable());
+		for (String str : new String[]{"Lada", "Saab", "Volvo", "Skoda", "Trabant"}) {
+			database.insert(new BulkInsertTestTable(str));
+		}
+		final BulkInsertTestTable example = new BulkInsertTestTable();
+		final List<BulkInsertTestTable> definedRows = database.getDBTable(example).setBlankQueryAllowed(true).setSortOrder(example.column(example.pk)).getAllRows();
+
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkInsertTestTable());
+		database.createTableNoExceptions(new BulkInsertTestTable());
+		final boolean preference = database.getPreparedStatementsPreference();
+		try {
+			database.setPreparedStatementsPreference(true);
+			DBBulkInsert bulkInsert = new DBBulkInsert().setRowsPerStatement(2);
+			bulkInsert.addAll(definedRows.toArray(new DBRow[]{}));
+			bulkInsert.insert(database);
+		} finally {
+			database.setPreparedStatementsPreference(preference);
+		}
+
+		final List<BulkInsertTestTable> insertedRows = database.getDBTable(example).setBlankQueryAllowed(true).setSortOrder(example.column(example.pk)).getAllRows();
+		assertThat(insertedRows.size(), is(5));
+		for (int i = 0; i < 5; i++) {
+			assertThat(insertedRows.get(i).pk.getValue(), is(definedRows.get(i).pk.getValue()));
+			assertThat(insertedRows.get(i).string.getValue(), is(definedRows.get(i).string.getValue()));
+		}
+	}
+
 	public static class BulkInsertTestTable extends DBRow {
 
 	private static final long serialVersionUID = 1L;
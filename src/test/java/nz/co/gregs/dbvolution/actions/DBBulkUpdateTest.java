@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.actions;
+
+import java.util.ArrayList;
+import java.util.List;
+import nz.co.gregs.dbvolution.example.Marque;
+import nz.co.gregs.dbvolution.generic.AbstractTest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+public class DBBulkUpdateTest extends AbstractTest {
+
+	public DBBulkUpdateTest(Object testIterationName, Object db) {
+		super(testIterationName, db);
+	}
+
+	private List<Marque> getAllMarques() throws Exception {
+		final Marque example = new Marque();
+		return database.getDBTable(example)
+				.setBlankQueryAllowed(true)
+				.setSortOrder(example.column(example.uidMarque))
+				.getAllRows();
+	}
+
+	@Test
+	public void testRowsAreGroupedByChangedColumns() throws Exception {
+		final List<Marque> marques = getAllMarques();
+		for (int i = 0; i < 5; i++) {
+			marques.get(i).name.setValue("BULK UPDATE " + i);
+		}
+		marques.get(5).name.setValue("BULK UPDATE 5");
+		marques.get(5).carCompany.setValueToNull();
+		marques.get(6).carCompany.setValue(marques.get(0).carCompany.getValue());
+
+		DBBulkUpdate bulkUpdate = new DBBulkUpdate()
+				.setRowsPerStatement(2)
+				.addAll(marques.subList(0, 7));
+		final List<String> sqlStatements = bulkUpdate.getSQLStatements(database);
+		if (database.getDefinition().supportsBulkUpdates()) {
+			assertThat(sqlStatements.size(), is(5));
+		} else {
+			assertThat(sqlStatements.size(), is(7));
+		}
+
+		final DBActionList actions = bulkUpdate.update(database);
+		assertThat(actions.size(), is(7));
+
+		final List<Marque> updated = getAllMarques();
+		assertThat(updated.size(), is(marques.size()));
+		for (int i = 0; i < 6; i++) {
+			assertThat(updated.get(i).name.getValue(), is("BULK UPDATE " + i));
+		}
+		assertThat(updated.get(5).carCompany.isNull(), is(true));
+		assertThat(updated.get(6).name.getValue(), is(marques.get(6).name.getValue()));
+		assertThat(updated.get(6).carCompany.getValue(), is(marques.get(0).carCompany.getValue()));
+		assertThat(updated.get(7).name.getValue(), is(marques.get(7).name.getValue()));
+	}
+
+	@Test
+	public void testDatabaseUpdateOfCollectionUsesBulkUpdate() throws Exception {
+		final List<Marque> marques = getAllMarques();
+		final List<Marque> changed = new ArrayList<>();
+		final List<String> originalNames = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			final Marque marque = marques.get(i);
+			originalNames.add(marque.name.getValue());
+			marque.name.setValue("COLLECTION " + i);
+			changed.add(marque);
+		}
+
+		final DBActionList actions = database.update(changed);
+		assertThat(actions.size(), is(4));
+		for (Marque marque : changed) {
+			assertThat(marque.hasChangedSimpleTypes(), is(false));
+		}
+
+		final List<Marque> updated = getAllMarques();
+		for (int i = 0; i < 4; i++) {
+			assertThat(updated.get(i).name.getValue(), is("COLLECTION " + i));
+		}
+
+		actions.getRevertActionList().execute(database);
+		final List<Marque> reverted = getAllMarques();
+		for (int i = 0; i < 4; i++) {
+			assertThat(reverted.get(i).name.getValue(), is(originalNames.get(i)));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRowsWithChangedPrimaryKeysAreRejected() throws Exception {
+		final Marque marque = getAllMarques().get(0);
+		marque.uidMarque.setValue(marque.uidMarque.getValue() + 1000000);
+
+		new DBBulkUpdate().addRow(marque);
+	}
+}
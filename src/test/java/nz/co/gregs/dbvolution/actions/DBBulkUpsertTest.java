@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.actions;
+
+import java.util.ArrayList;
+import java.util.List;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.example.Marque;
+import nz.co.gregs.dbvolution.generic.AbstractTest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+public class DBBulkUpsertTest extends AbstractTest {
+
+	public DBBulkUpsertTest(Object testIterationName, Object db) {
+		super(testIterationName, db);
+	}
+
+	private List<Marque> getAllMarques() throws Exception {
+		final Marque example = new Marque();
+		return database.getDBTable(example)
+				.setBlankQueryAllowed(true)
+				.setSortOrder(example.column(example.uidMarque))
+				.getAllRows();
+	}
+
+	private Marque getMarque(long uid) throws Exception {
+		return database.getDBTable(new Marque()).getRowsByPrimaryKey(uid).get(0);
+	}
+
+	private static Marque newMarque(int uid, String name) {
+		final Marque marque = new Marque();
+		marque.uidMarque.setValue(uid);
+		marque.name.setValue(name);
+		return marque;
+	}
+
+	@Test
+	public void testInsertOrUpdateInsertsNewRowsAndUpdatesExistingRows() throws Exception {
+		final List<Marque> marques = getAllMarques();
+		final int originalCount = marques.size();
+		final List<DBRow> rows = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			final Marque existing = marques.get(i);
+			existing.name.setValue("UPSERTED " + i);
+			rows.add(existing);
+		}
+		for (int i = 0; i < 3; i++) {
+			rows.add(newMarque(9000000 + i, "INSERTED " + i));
+		}
+
+		database.insertOrUpdate(rows);
+
+		for (DBRow row : rows) {
+			assertThat(row.getDefined(), is(true));
+			assertThat(row.hasChangedSimpleTypes(), is(false));
+		}
+		assertThat(getAllMarques().size(), is(originalCount + 3));
+		for (int i = 0; i < 3; i++) {
+			final Marque updated = getMarque(marques.get(i).uidMarque.getValue());
+			assertThat(updated.name.getValue(), is("UPSERTED " + i));
+			assertThat(updated.carCompany.getValue(), is(marques.get(i).carCompany.getValue()));
+			assertThat(getMarque(9000000L + i).name.getValue(), is("INSERTED " + i));
+		}
+	}
+
+	@Test
+	public void testColumnsWithoutValuesAreNotUpdated() throws Exception {
+		final List<Marque> marques = getAllMarques();
+		final Marque first = marques.get(0);
+		final Marque second = marques.get(1);
+
+		DBBulkUpsert upsert = new DBBulkUpsert()
+				.setRowsPerStatement(1)
+				.addRow(newMarque(first.uidMarque.getValue().intValue(), "PARTIAL 0"))
+				.addRow(newMarque(second.uidMarque.getValue().intValue(), "PARTIAL 1"));
+		if (database.getDefinition().supportsBulkUpserts()) {
+			assertThat(upsert.getSQLStatements(database).size(), is(2));
+		}
+		upsert.upsert(database);
+
+		assertThat(getAllMarques().size(), is(marques.size()));
+		final Marque firstUpserted = getMarque(first.uidMarque.getValue());
+		assertThat(firstUpserted.name.getValue(), is("PARTIAL 0"));
+		assertThat(firstUpserted.carCompany.getValue(), is(first.carCompany.getValue()));
+		assertThat(firstUpserted.creationDate.getValue(), is(first.creationDate.getValue()));
+		final Marque secondUpserted = getMarque(second.uidMarque.getValue());
+		assertThat(secondUpserted.name.getValue(), is("PARTIAL 1"));
+		assertThat(secondUpserted.carCompany.getValue(), is(second.carCompany.getValue()));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testBulkUpsertIsNotRevertableByDefault() throws Exception {
+		DBActionList actions = new DBBulkUpsert()
+				.addRow(newMarque(9100000, "UNREVERTABLE"))
+				.upsert(database);
+		actions.getRevertActionList();
+	}
+
+	@Test
+	public void testRevertableBulkUpsertRemovesInsertedRowsAndRestoresUpdatedRows() throws Exception {
+		final List<Marque> marques = getAllMarques();
+		final Marque first = marques.get(0);
+		final Marque second = marques.get(1);
+		final List<DBRow> rows = new ArrayList<>();
+		rows.add(newMarque(first.uidMarque.getValue().intValue(), "REVERTED 0"));
+		rows.add(newMarque(second.uidMarque.getValue().intValue(), second.name.getValue()));
+		rows.add(newMarque(9100000, "REVERTED INSERT"));
+
+		DBActionList actions = new DBBulkUpsert()
+				.setRevertable(true)
+				.addAll(rows)
+				.upsert(database);
+		assertThat(getMarque(first.uidMarque.getValue()).name.getValue(), is("REVERTED 0"));
+		assertThat(getAllMarques().size(), is(marques.size() + 1));
+
+		actions.getRevertActionList().execute(database);
+		assertThat(getAllMarques().size(), is(marques.size()));
+		final Marque restored = getMarque(first.uidMarque.getValue());
+		assertThat(restored.name.getValue(), is(first.name.getValue()));
+		assertThat(restored.carCompany.getValue(), is(first.carCompany.getValue()));
+		assertThat(getMarque(second.uidMarque.getValue()).name.getValue(), is(second.name.getValue()));
+	}
+}
@@ -112,6 +112,23 @@ public class AutoFillDuringQueryIfPossibleTest extends AbstractTest {
 		}
 	}
 
+	@Test
+	public void testFilledListsContainOnlyAndAllTheRelatedRows() throws SQLException {
+		final FilledCarCoWithList testExample = new FilledCarCoWithList();
+		DBQuery query = database.getDBQuery(testExample, new Marque()).setBlankQueryAllowed(true);
+		final int rowCount = query.getAllRows().size();
+		List<FilledCarCoWithList> instances = query.getAllInstancesOf(testExample);
+
+		int filledCount = 0;
+		for (FilledCarCoWithList instance : instances) {
+			for (Marque marque : instance.marques) {
+				assertThat(marque.carCompany.getValue(), is(instance.uidCarCompany.getValue()));
+			}
+			filledCount += instance.marques.size();
+		}
+		assertThat(filledCount, is(rowCount));
+	}
+
 	public static class FilledMarque extends Marque {
 
 		private static final long serialVersionUID = 1L;
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.databases.connections;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import nz.co.gregs.dbvolution.databases.H2MemoryDB;
+import nz.co.gregs.dbvolution.databases.settingsbuilders.H2MemorySettingsBuilder;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DBConnectionPoolTest {
+
+	private H2MemoryDB database;
+
+	@Before
+	public void setUp() throws Exception {
+		database = new H2MemorySettingsBuilder()
+				.setDatabaseName("DBConnectionPoolTest")
+				.setPoolMaximumSize(2)
+				.setPoolAcquisitionTimeout(100)
+				.getDBDatabase();
+	}
+
+	@After
+	public void tearDown() {
+		database.stop();
+	}
+
+	private DBConnectionPool.ConnectionFactory factory() {
+		return () -> database.getDatabaseSpecificDBConnection(DriverManager.getConnection("jdbc:h2:mem:DBConnectionPoolTest"));
+	}
+
+	@Test
+	public void releasedConnectionsAreReused() throws SQLException {
+		DBConnectionPool pool = new DBConnectionPool("test", factory(), 0, 2, 100, 0, true, 0);
+
+		DBConnection first = pool.borrow();
+		assertThat(pool.getActiveCount(), is(1));
+		pool.release(first);
+		assertThat(pool.getActiveCount(), is(0));
+		assertThat(pool.getIdleCount(), is(1));
+
+		DBConnection second = pool.borrow();
+		assertThat(second, sameInstance(first));
+		assertThat(pool.getCreatedCount(), is(1L));
+		assertThat(pool.getBorrowCount(), is(2L));
+		pool.closeAll();
+		assertThat(second.isClosed(), is(true));
+	}
+
+	@Test
+	public void borrowingBeyondTheMaximumTimesOut() throws SQLException {
+		DBConnectionPool pool = new DBConnectionPool("test", factory(), 0, 2, 50, 0, false, 0);
+
+		DBConnection first = pool.borrow();
+		pool.borrow();
+		try {
+			pool.borrow();
+			Assert.fail("The pool should not lend more than its maximum size");
+		} catch (SQLTransientConnectionException expected) {
+		}
+		assertThat(pool.getTimeoutCount(), is(1L));
+		assertThat(pool.getTotalCount(), is(2));
+
+		pool.release(first);
+		assertThat(pool.borrow(), sameInstance(first));
+		pool.closeAll();
+	}
+
+	@Test
+	public void discardedAndDetachedConnectionsFreeTheirPlace() throws SQLException {
+		DBConnectionPool pool = new DBConnectionPool("test", factory(), 0, 1, 50, 0, false, 0);
+
+		DBConnection discarded = pool.borrow();
+		pool.discard(discarded);
+		assertThat(discarded.isClosed(), is(true));
+
+		DBConnection detached = pool.borrow();
+		assertThat(pool.detach(detached), is(true));
+		assertThat(pool.getTotalCount(), is(0));
+
+		DBConnection another = pool.borrow();
+		assertThat(another, not(sameInstance(detached)));
+		pool.closeAll();
+		assertThat(detached.isClosed(), is(false));
+		detached.close();
+	}
+
+	@Test
+	public void idleConnectionsAreReapedDownToTheMinimum() throws SQLException, InterruptedException {
+		DBConnectionPool pool = new DBConnectionPool("test", factory(), 1, 3, 100, 1, false, 0);
+
+		DBConnection first = pool.borrow();
+		DBConnection second = pool.borrow();
+		pool.release(first);
+		pool.release(second);
+		assertThat(pool.getIdleCount(), is(2));
+		Thread.sleep(10);
+
+		pool.maintain();
+		assertThat(pool.getIdleCount(), is(1));
+		assertThat(pool.getTotalCount(), is(1));
+		assertThat(pool.getDiscardedCount(), is(1L));
+		pool.closeAll();
+	}
+
+	@Test
+	public void poolIsFilledToTheMinimum() throws SQLException {
+		DBConnectionPool pool = new DBConnectionPool("test", factory(), 2, 3, 100, 0, false, 0);
+
+		pool.maintain();
+		assertThat(pool.getIdleCount(), is(2));
+		assertThat(pool.getCreatedCount(), is(2L));
+		pool.closeAll();
+		assertThat(pool.getTotalCount(), is(0));
+	}
+
+	@Test
+	public void longHeldConnectionsAreReportedAsLeaks() throws SQLException, InterruptedException {
+		DBConnectionPool pool = new DBConnectionPool("test", factory(), 0, 2, 100, 0, false, 1);
+
+		DBConnection held = pool.borrow();
+		Thread.sleep(10);
+		pool.maintain();
+		pool.maintain();
+		assertThat(pool.getLeakCount(), is(1L));
+		pool.release(held);
+		pool.closeAll();
+	}
+
+	@Test
+	public void databaseUsesTheConfiguredPool() throws SQLException {
+		DBConnectionPool pool = database.getConnectionPool();
+		assertThat(pool.getMaximumSize(), is(2));
+
+		DBConnection connection = database.getConnection();
+		assertThat(pool.getActiveCount(), is(1));
+		database.unusedConnection(connection);
+		assertThat(pool.getActiveCount(), is(0));
+		assertThat(pool.getIdleCount(), is(1));
+		assertThat(database.getConnection(), sameInstance(connection));
+	}
+
+	@Test
+	public void databasesOnlyShareAPoolWithTheSamePoolSettings() throws SQLException {
+		H2MemoryDB samePoolSettings = new H2MemorySettingsBuilder()
+				.setDatabaseName("DBConnectionPoolTest")
+				.setPoolMaximumSize(2)
+				.setPoolAcquisitionTimeout(100)
+				.getDBDatabase();
+		H2MemoryDB differentPoolSettings = new H2MemorySettingsBuilder()
+				.setDatabaseName("DBConnectionPoolTest")
+				.setPoolMaximumSize(3)
+				.setPoolAcquisitionTimeout(100)
+				.getDBDatabase();
+		try {
+			assertThat(samePoolSettings.getConnectionPool(), sameInstance(database.getConnectionPool()));
+			assertThat(differentPoolSettings.getConnectionPool(), not(sameInstance(database.getConnectionPool())));
+			assertThat(differentPoolSettings.getConnectionPool().getMaximumSize(), is(3));
+			assertThat(database.getConnectionPool().getMaximumSize(), is(2));
+		} finally {
+			differentPoolSettings.stop();
+		}
+	}
+}
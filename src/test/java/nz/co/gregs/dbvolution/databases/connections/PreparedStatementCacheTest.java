@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.databases.connections;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PreparedStatementCacheTest {
+
+	private Connection connection;
+
+	@Before
+	public void setUp() throws SQLException {
+		connection = DriverManager.getConnection("jdbc:h2:mem:PreparedStatementCacheTest");
+	}
+
+	@After
+	public void tearDown() throws SQLException {
+		connection.close();
+	}
+
+	@Test
+	public void releasedStatementsAreReused() throws SQLException {
+		PreparedStatementCache cache = new PreparedStatementCache(2);
+		final String sql = "SELECT ? FROM DUAL";
+
+		assertThat(cache.take(sql), nullValue());
+		PreparedStatement statement = connection.prepareStatement(sql);
+		cache.release(sql, statement);
+
+		assertThat(cache.take(sql), sameInstance(statement));
+		assertThat(cache.size(), is(0));
+		assertThat(cache.take(sql), nullValue());
+		assertThat(cache.getHits(), is(1L));
+		assertThat(cache.getMisses(), is(2L));
+	}
+
+	@Test
+	public void leastRecentlyUsedStatementIsEvictedAndClosed() throws SQLException {
+		PreparedStatementCache cache = new PreparedStatementCache(2);
+		PreparedStatement first = connection.prepareStatement("SELECT 1 FROM DUAL");
+		PreparedStatement second = connection.prepareStatement("SELECT 2 FROM DUAL");
+		PreparedStatement third = connection.prepareStatement("SELECT 3 FROM DUAL");
+
+		cache.release("SELECT 1 FROM DUAL", first);
+		cache.release("SELECT 2 FROM DUAL", second);
+		cache.release("SELECT 3 FROM DUAL", third);
+
+		assertThat(cache.size(), is(2));
+		assertThat(cache.getEvictions(), is(1L));
+		assertThat(first.isClosed(), is(true));
+		assertThat(second.isClosed(), is(false));
+
+		cache.clear();
+		assertThat(cache.size(), is(0));
+		assertThat(second.isClosed(), is(true));
+		assertThat(third.isClosed(), is(true));
+	}
+
+	@Test
+	public void closedStatementsAreNotCached() throws SQLException {
+		PreparedStatementCache cache = new PreparedStatementCache();
+		PreparedStatement statement = connection.prepareStatement("SELECT 1 FROM DUAL");
+		statement.close();
+
+		cache.release("SELECT 1 FROM DUAL", statement);
+
+		assertThat(cache.size(), is(0));
+		assertThat(cache.take("SELECT 1 FROM DUAL"), nullValue());
+	}
+}
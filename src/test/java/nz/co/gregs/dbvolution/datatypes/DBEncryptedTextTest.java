@@ -31,6 +31,7 @@
 package nz.co.gregs.dbvolution.datatypes;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import nz.co.gregs.dbvolution.DBRow;
 import nz.co.gregs.dbvolution.DBTable;
@@ -153,6 +154,33 @@ public class DBEncryptedTextTest extends AbstractTest {
 		}
 	}
 
+	@Test
+	public void testDecryptingManyValues() throws SQLException, CannotEncryptInputException, UnableToDecryptInput {
+		String passphrase = "very secret phrase for many values";
+
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new EncryptedTextTestTable());
+		database.createTableNoExceptions(new EncryptedTextTestTable());
+		for (int i = 0; i < 5; i++) {
+			EncryptedTextTestTable insertRow = new EncryptedTextTestTable();
+			insertRow.encryptedString.setValue(passphrase, "secret " + i);
+			database.insert(insertRow);
+		}
+		database.insert(new EncryptedTextTestTable());
+
+		EncryptedTextTestTable template = new EncryptedTextTestTable();
+		DBTable<EncryptedTextTestTable> table = database.getDBTable(template);
+		table.setBlankQueryAllowed(true).setSortOrder(template.column(template.pkid).ascending());
+		List<EncryptedTextTestTable> allRows = table.getAllRows();
+		List<DBEncryptedText> values = new ArrayList<>();
+		for (EncryptedTextTestTable row : allRows) {
+			values.add(row.encryptedString);
+		}
+
+		List<String> decrypted = DBEncryptedText.getDecryptedValues(passphrase, values);
+		assertThat(decrypted, contains("secret 0", "secret 1", "secret 2", "secret 3", "secret 4", null));
+	}
+
 	public static class EncryptedTextTestTable extends DBRow {
 
 		private final static long serialVersionUID = 1l;
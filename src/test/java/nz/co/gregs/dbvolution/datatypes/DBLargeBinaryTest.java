@@ -16,6 +16,8 @@
 package nz.co.gregs.dbvolution.datatypes;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.util.List;
 import java.sql.SQLException;
 import nz.co.gregs.dbvolution.DBRow;
@@ -361,6 +363,45 @@ public class DBLargeBinaryTest extends AbstractTest {
 		assertThat(stringValue, is(SOURCE_DATA_AS_STRING));
 	}
 
+	@Test
+	public void retrieveRowWithBinaryObjectSpilledToTemporaryFile() throws FileNotFoundException, IOException, SQLException, UnexpectedNumberOfRowsException, ClassNotFoundException, InstantiationException {
+
+		CompanyLogoSpilledToTemporaryFile blobTable = new CompanyLogoSpilledToTemporaryFile();
+
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(blobTable);
+		database.createTable(blobTable);
+
+		int primaryKey = 32;
+		blobTable.logoID.setValue(primaryKey);
+		blobTable.carCompany.setValue(1);//Toyota
+		blobTable.imageFilename.setValue("mclaren.jpg");
+		File image = new File("mclaren.jpg");
+		blobTable.imageBytes.setValue(new FileInputStream(image));
+		assertThat(blobTable.imageBytes.isSpilledToFile(), is(true));
+		database.insert(blobTable);
+
+		CompanyLogoSpilledToTemporaryFile firstRow = database.getDBTable(new CompanyLogoSpilledToTemporaryFile()).getRowsByPrimaryKey(primaryKey).get(0);
+		assertThat(firstRow.imageBytes.isSpilledToFile(), is(true));
+		assertThat((long) firstRow.imageBytes.getSize(), is(image.length()));
+		ByteBuffer buffer = firstRow.imageBytes.getByteBuffer();
+		assertThat((long) buffer.remaining(), is(image.length()));
+		assertThat(firstRow.imageBytes.getBytes(), is(Files.readAllBytes(image.toPath())));
+
+		File newFile = new File("retrieveRowWithBinaryObjectSpilledToTemporaryFile.jpg");
+		firstRow.imageBytes.writeToFileSystem(newFile);
+		assertThat(Files.readAllBytes(newFile.toPath()), is(Files.readAllBytes(image.toPath())));
+		newFile.delete();
+
+		File smallImage = new File("toyota_share_logo.jpg");
+		firstRow.imageBytes.setValue(new FileInputStream(smallImage));
+		assertThat(firstRow.imageBytes.getPreviousValue(), is(Files.readAllBytes(image.toPath())));
+		database.update(firstRow);
+
+		CompanyLogoSpilledToTemporaryFile updatedRow = database.getDBTable(new CompanyLogoSpilledToTemporaryFile()).getRowsByPrimaryKey(primaryKey).get(0);
+		assertThat(updatedRow.imageBytes.getBytes(), is(Files.readAllBytes(smallImage.toPath())));
+	}
+
 	@DBTableName("bytearraywithautoincrement")
 	public static class BinaryObjectWithAutoIncrement extends DBRow {
 
@@ -402,6 +443,30 @@ public class DBLargeBinaryTest extends AbstractTest {
 		public DBString imageFilename = new DBString();
 	}
 
+	@DBTableName("bigblobspilled")
+	public static class CompanyLogoSpilledToTemporaryFile extends DBRow {
+
+		private static final long serialVersionUID = 1L;
+
+		@DBPrimaryKey
+		@DBColumn("logo_id")
+		public DBInteger logoID = new DBInteger();
+
+		@DBForeignKey(CarCompany.class)
+		@DBColumn("car_company_fk")
+		public DBInteger carCompany = new DBInteger();
+
+		@DBColumn("image_file")
+		public DBLargeBinary imageBytes = new DBLargeBinary();
+
+		@DBColumn("image_name")
+		public DBString imageFilename = new DBString();
+
+		{
+			imageBytes.setSpillThreshold(1024);
+		}
+	}
+
 	@DBTableName("bigstring")
 	public static class CompanyLogoForRetreivingString extends DBRow {
 
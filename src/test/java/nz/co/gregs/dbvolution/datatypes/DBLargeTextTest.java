@@ -15,6 +15,7 @@
  */
 package nz.co.gregs.dbvolution.datatypes;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -156,6 +157,37 @@ public class DBLargeTextTest extends AbstractTest {
 		assertThat(stringValue, is(SOURCEDATAASSTRING));
 	}
 
+	@Test
+	public void retrieveStringSpilledToTemporaryFile() throws FileNotFoundException, IOException, SQLException, UnexpectedNumberOfRowsException, ClassNotFoundException, InstantiationException {
+
+		CompanyTextSpilledToTemporaryFile clobTable = new CompanyTextSpilledToTemporaryFile();
+
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(clobTable);
+		database.createTable(clobTable);
+
+		int primaryKey = 5;
+		clobTable.textID.setValue(primaryKey);
+		clobTable.carCompany.setValue(1);
+		clobTable.textFilename.setValue("history.txt");
+		clobTable.filetext.setValue(new ByteArrayInputStream(DBLargeText.transformToStandardCharset(SOURCEDATAASSTRING)));
+		assertThat(clobTable.filetext.isSpilledToFile(), is(true));
+		database.insert(clobTable);
+
+		CompanyTextSpilledToTemporaryFile firstRow = database.getDBTable(new CompanyTextSpilledToTemporaryFile()).getRowsByPrimaryKey(primaryKey).get(0);
+
+		assertThat(firstRow.filetext.isSpilledToFile(), is(true));
+		assertThat(firstRow.filetext.stringValue(), is(SOURCEDATAASSTRING));
+
+		firstRow.filetext.setValue("short text");
+		assertThat(firstRow.filetext.isSpilledToFile(), is(false));
+		database.update(firstRow);
+
+		CompanyTextSpilledToTemporaryFile updatedRow = database.getDBTable(new CompanyTextSpilledToTemporaryFile()).getRowsByPrimaryKey(primaryKey).get(0);
+		assertThat(updatedRow.filetext.isSpilledToFile(), is(false));
+		assertThat(updatedRow.filetext.stringValue(), is("short text"));
+	}
+
 	@Test
 	public void retrieveStringWithBinaryObjectAndAutoIncrement() throws FileNotFoundException, IOException, SQLException, UnexpectedNumberOfRowsException, ClassNotFoundException, InstantiationException {
 
@@ -240,6 +272,30 @@ public class DBLargeTextTest extends AbstractTest {
 		public DBString textFilename = new DBString();
 	}
 
+	@DBTableName("bigtextspilled")
+	public static class CompanyTextSpilledToTemporaryFile extends DBRow {
+
+		private static final long serialVersionUID = 1L;
+
+		@DBPrimaryKey
+		@DBColumn("logo_id")
+		public DBInteger textID = new DBInteger();
+
+		@DBForeignKey(CarCompany.class)
+		@DBColumn("car_company_fk")
+		public DBInteger carCompany = new DBInteger();
+
+		@DBColumn("image_file")
+		public DBLargeText filetext = new DBLargeText();
+
+		@DBColumn("image_name")
+		public DBString textFilename = new DBString();
+
+		{
+			filetext.setSpillThreshold(100);
+		}
+	}
+
 	static final String SOURCEDATAASSTRING = "\n"
 			+ "-------------------------------------------------------\n"
 			+ " T E S T S\n"
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import nz.co.gregs.dbvolution.actions.DBAction;
+import nz.co.gregs.dbvolution.actions.DBCreateTable;
+import nz.co.gregs.dbvolution.actions.DBInsert;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import nz.co.gregs.dbvolution.example.Marque;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+public class ActionOrderingTest {
+
+	private final ActionOrdering ordering = new ActionOrdering();
+
+	@Test
+	public void actionsOnDifferentTablesRunTogether() throws Exception {
+		final DBAction carCompanyInsert = DBInsert.getInserts(new CarCompany("TOYOTA", 1)).get(0);
+		final DBAction marqueInsert = DBInsert.getInserts(new Marque()).get(0);
+
+		try (ActionOrdering.Permit permit = ordering.acquire(carCompanyInsert)) {
+			assertThat(acquiredInAnotherThread(marqueInsert), is(true));
+		}
+	}
+
+	@Test
+	public void actionsOnTheSameTableWait() throws Exception {
+		final DBAction first = DBInsert.getInserts(new CarCompany("TOYOTA", 1)).get(0);
+		final DBAction second = DBInsert.getInserts(new CarCompany("FORD", 2)).get(0);
+
+		try (ActionOrdering.Permit permit = ordering.acquire(first)) {
+			assertThat(acquiredInAnotherThread(second), is(false));
+		}
+		assertThat(acquiredInAnotherThread(second), is(true));
+	}
+
+	@Test
+	public void schemaChangesWaitForAllActions() throws Exception {
+		final DBAction insert = DBInsert.getInserts(new CarCompany("TOYOTA", 1)).get(0);
+		final DBAction create = new DBCreateTable(new Marque(), false);
+
+		assertThat(create.getOrderingTableName(), nullValue());
+		try (ActionOrdering.Permit permit = ordering.acquire(insert)) {
+			assertThat(acquiredInAnotherThread(create), is(false));
+		}
+		try (ActionOrdering.Permit permit = ordering.acquire(create)) {
+			assertThat(acquiredInAnotherThread(insert), is(false));
+		}
+		assertThat(acquiredInAnotherThread(create), is(true));
+	}
+
+	@Test
+	public void exclusiveWorkCanExecuteNestedActions() throws Exception {
+		final DBAction insert = DBInsert.getInserts(new CarCompany("TOYOTA", 1)).get(0);
+
+		try (ActionOrdering.Permit exclusive = ordering.acquireExclusive()) {
+			try (ActionOrdering.Permit nested = ordering.acquire(insert)) {
+				assertThat(acquiredInAnotherThread(insert), is(false));
+			}
+		}
+		assertThat(acquiredInAnotherThread(insert), is(true));
+	}
+
+	private boolean acquiredInAnotherThread(DBAction action) throws InterruptedException {
+		final CountDownLatch acquired = new CountDownLatch(1);
+		final Thread thread = new Thread(() -> {
+			try (ActionOrdering.Permit permit = ordering.acquire(action)) {
+				acquired.countDown();
+			}
+		});
+		thread.setDaemon(true);
+		thread.start();
+		return acquired.await(200, TimeUnit.MILLISECONDS);
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import nz.co.gregs.dbvolution.databases.H2MemoryDB;
+import nz.co.gregs.dbvolution.databases.settingsbuilders.H2MemorySettingsBuilder;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import nz.co.gregs.dbvolution.example.CompanyLogo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IncrementalResynchroniserTest {
+
+	private H2MemoryDB template;
+	private H2MemoryDB secondary;
+
+	@Before
+	public void setUp() throws Exception {
+		template = new H2MemorySettingsBuilder().setDatabaseName("IncrementalResynchroniserTestTemplate").getDBDatabase();
+		secondary = new H2MemorySettingsBuilder().setDatabaseName("IncrementalResynchroniserTestSecondary").getDBDatabase();
+		template.createTable(new CarCompany());
+		secondary.createTable(new CarCompany());
+		final List<CarCompany> companies = new ArrayList<>();
+		for (int i = 0; i < 23; i++) {
+			companies.add(new CarCompany("COMPANY " + i, i));
+		}
+		template.insert(companies);
+		new TableCopier(template, secondary, 100, p -> {
+		}).copy(new CarCompany(), new TableCopyProgress("CAR_COMPANY"));
+	}
+
+	@After
+	public void tearDown() {
+		template.stop();
+		secondary.stop();
+	}
+
+	@Test
+	public void onlyDifferingRowsAreReplaced() throws Exception {
+		final CarCompany changed = secondary.getDBTable(new CarCompany()).getRowsByPrimaryKey(7).get(0);
+		changed.name.setValue("CHANGED");
+		secondary.update(changed);
+		secondary.delete(secondary.getDBTable(new CarCompany()).getRowsByPrimaryKey(12));
+		secondary.insert(new CarCompany("EXTRA", 100));
+
+		IncrementalResynchroniser resynchroniser = new IncrementalResynchroniser(template, secondary, 5);
+		assertThat(resynchroniser.rowCountsMatch(new CarCompany()), is(true));
+		resynchroniser.repair(new CarCompany());
+
+		assertThat(resynchroniser.getInsertedRows(), is(2L));
+		assertThat(resynchroniser.getDeletedRows(), is(2L));
+		assertThat(resynchroniser.getComparedRanges(), is(5L));
+		assertThat(resynchroniser.getRepairedRanges(), is(3L));
+		assertThat(secondary.getDBTable(new CarCompany()).count(), is(23L));
+		assertThat(secondary.getDBTable(new CarCompany()).getRowsByPrimaryKey(7).get(0).name.stringValue(), is("COMPANY 7"));
+		assertThat(secondary.getDBTable(new CarCompany()).getRowsByPrimaryKey(12).size(), is(1));
+		assertThat(secondary.getDBTable(new CarCompany()).getRowsByPrimaryKey(100).size(), is(0));
+	}
+
+	@Test
+	public void matchingRangesAreNotRetrieved() throws Exception {
+		IncrementalResynchroniser resynchroniser = new IncrementalResynchroniser(template, secondary, 5);
+		resynchroniser.repair(new CarCompany());
+
+		assertThat(resynchroniser.getComparedRanges(), is(5L));
+		assertThat(resynchroniser.getRepairedRanges(), is(0L));
+		assertThat(resynchroniser.getInsertedRows(), is(0L));
+		assertThat(resynchroniser.getDeletedRows(), is(0L));
+	}
+
+	@Test
+	public void tablesWithLargeObjectsCanNotBeRepaired() {
+		assertThat(IncrementalResynchroniser.canRepair(new CarCompany()), is(true));
+		assertThat(IncrementalResynchroniser.canRepair(new CompanyLogo()), is(false));
+	}
+}
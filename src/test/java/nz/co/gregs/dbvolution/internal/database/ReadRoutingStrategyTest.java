@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.H2MemoryDB;
+import nz.co.gregs.dbvolution.databases.settingsbuilders.H2MemorySettingsBuilder;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReadRoutingStrategyTest {
+
+	private H2MemoryDB fast;
+	private H2MemoryDB slow;
+	private H2MemoryDB busy;
+	private DBDatabase[] members;
+	private final Map<DBDatabase, ReadStatistics> statistics = new HashMap<>();
+
+	@Before
+	public void setUp() throws Exception {
+		fast = new H2MemorySettingsBuilder().setDatabaseName("ReadRoutingStrategyTestFast").getDBDatabase();
+		slow = new H2MemorySettingsBuilder().setDatabaseName("ReadRoutingStrategyTestSlow").getDBDatabase();
+		busy = new H2MemorySettingsBuilder().setDatabaseName("ReadRoutingStrategyTestBusy").getDBDatabase();
+		members = new DBDatabase[]{fast, slow, busy};
+		for (DBDatabase member : members) {
+			statistics.put(member, new ReadStatistics());
+		}
+		recordQuery(fast, 1);
+		recordQuery(slow, 50);
+		recordQuery(busy, 1);
+		statistics.get(busy).started();
+		statistics.get(busy).started();
+	}
+
+	@After
+	public void tearDown() {
+		fast.stop();
+		slow.stop();
+		busy.stop();
+	}
+
+	private void recordQuery(DBDatabase member, long latencyInMillis) {
+		final ReadStatistics stats = statistics.get(member);
+		final long start = stats.started();
+		stats.finished(start - TimeUnit.MILLISECONDS.toNanos(latencyInMillis), false);
+	}
+
+	private int countSelections(ReadRoutingStrategy strategy, DBDatabase member, DBDatabase... candidates) {
+		int count = 0;
+		for (int i = 0; i < 1000; i++) {
+			if (strategy.select(candidates, statistics::get) == member) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Test
+	public void statisticsTrackInFlightQueriesAndAverageLatency() {
+		final ReadStatistics stats = new ReadStatistics(0.5);
+		long start = stats.started();
+		assertThat(stats.getInFlight(), is(1));
+		stats.finished(start - TimeUnit.MILLISECONDS.toNanos(10), false);
+		assertThat(stats.getInFlight(), is(0));
+		assertThat(stats.getAverageLatencyNanos(), greaterThanOrEqualTo(10_000_000.0));
+
+		start = stats.started();
+		stats.finished(start, true);
+		assertThat(stats.getAverageLatencyNanos(), lessThan(6_000_000.0));
+		assertThat(stats.getCompleted(), is(2L));
+		assertThat(stats.getFailures(), is(1L));
+	}
+
+	@Test
+	public void leastOutstandingAvoidsTheBusyMember() {
+		final ReadRoutingStrategy strategy = ReadRoutingStrategy.leastOutstanding();
+		assertThat(countSelections(strategy, busy, members), is(0));
+		assertThat(countSelections(strategy, slow, members), greaterThan(0));
+	}
+
+	@Test
+	public void lowestLatencyAvoidsTheSlowMember() {
+		final ReadRoutingStrategy strategy = ReadRoutingStrategy.lowestLatency();
+		assertThat(countSelections(strategy, slow, members), is(0));
+	}
+
+	@Test
+	public void powerOfTwoChoicesPrefersTheLeastLoadedMember() {
+		final ReadRoutingStrategy strategy = ReadRoutingStrategy.powerOfTwoChoices();
+		assertThat(countSelections(strategy, fast, fast, slow), is(1000));
+		assertThat(countSelections(strategy, fast, fast, busy), is(1000));
+		assertThat(countSelections(strategy, slow, members), is(0));
+		assertThat(countSelections(strategy, fast, members), greaterThan(500));
+	}
+
+	@Test
+	public void weightedSelectionIsProportionalToTheWeights() {
+		final ReadRoutingStrategy.Weighted strategy = ReadRoutingStrategy.weighted()
+				.setWeight(fast, 3)
+				.setWeight(busy, 0);
+		assertThat(strategy.getWeight(slow), is(1));
+		assertThat(countSelections(strategy, busy, members), is(0));
+		assertThat(countSelections(strategy, fast, members), allOf(greaterThan(650), lessThan(850)));
+		assertThat(countSelections(strategy, busy, busy), is(1000));
+	}
+}
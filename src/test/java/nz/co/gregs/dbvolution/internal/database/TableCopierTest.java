@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import nz.co.gregs.dbvolution.databases.H2MemoryDB;
+import nz.co.gregs.dbvolution.databases.settingsbuilders.H2MemorySettingsBuilder;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import nz.co.gregs.dbvolution.example.LinkCarCompanyAndLogo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TableCopierTest {
+
+	private H2MemoryDB template;
+	private H2MemoryDB secondary;
+
+	@Before
+	public void setUp() throws Exception {
+		template = new H2MemorySettingsBuilder().setDatabaseName("TableCopierTestTemplate").getDBDatabase();
+		secondary = new H2MemorySettingsBuilder().setDatabaseName("TableCopierTestSecondary").getDBDatabase();
+		template.createTable(new CarCompany());
+		secondary.createTable(new CarCompany());
+		final List<CarCompany> companies = new ArrayList<>();
+		for (int i = 0; i < 23; i++) {
+			companies.add(new CarCompany("COMPANY " + i, i));
+		}
+		template.insert(companies);
+	}
+
+	@After
+	public void tearDown() {
+		template.stop();
+		secondary.stop();
+	}
+
+	@Test
+	public void tableIsCopiedInChunks() throws Exception {
+		final List<Long> reported = new ArrayList<>();
+		TableCopier copier = new TableCopier(template, secondary, 5, progress -> reported.add(progress.getCopiedRows()));
+		TableCopyProgress progress = new TableCopyProgress("CAR_COMPANY");
+
+		copier.copy(new CarCompany(), progress);
+
+		assertThat(secondary.getDBTable(new CarCompany()).count(), is(23L));
+		assertThat(progress.isComplete(), is(true));
+		assertThat(progress.getCopiedRows(), is(23L));
+		assertThat(progress.getCopiedChunks(), is(5));
+		assertThat(progress.getLastCopiedKey(), is(22L));
+		assertThat(reported, contains(5L, 10L, 15L, 20L, 23L, 23L));
+	}
+
+	@Test
+	public void interruptedCopyResumesFromTheLastKey() throws Exception {
+		TableCopyProgress progress = new TableCopyProgress("CAR_COMPANY");
+		TableCopier interrupted = new TableCopier(template, secondary, 5, p -> {
+			if (p.getCopiedChunks() == 2) {
+				throw new IllegalStateException("interrupted");
+			}
+		});
+		try {
+			interrupted.copy(new CarCompany(), progress);
+			Assert.fail("The copy should have been interrupted");
+		} catch (IllegalStateException expected) {
+		}
+		assertThat(progress.isComplete(), is(false));
+		assertThat(progress.getLastCopiedKey(), is(9L));
+		assertThat(secondary.getDBTable(new CarCompany()).count(), is(10L));
+
+		new TableCopier(template, secondary, 5, p -> {
+		}).copy(new CarCompany(), progress);
+
+		assertThat(progress.isComplete(), is(true));
+		assertThat(progress.getCopiedRows(), is(23L));
+		assertThat(secondary.getDBTable(new CarCompany()).count(), is(23L));
+	}
+
+	@Test
+	public void tableWithoutPrimaryKeyIsStreamedInChunks() throws Exception {
+		template.createTable(new LinkCarCompanyAndLogo());
+		secondary.createTable(new LinkCarCompanyAndLogo());
+		final List<LinkCarCompanyAndLogo> links = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			final LinkCarCompanyAndLogo link = new LinkCarCompanyAndLogo();
+			// include duplicate rows as nothing distinguishes them
+			link.fkCarCompany.setValue(i % 4);
+			link.fkCompanyLogo.setValue(i % 3);
+			links.add(link);
+		}
+		template.insert(links);
+		TableCopier copier = new TableCopier(template, secondary, 5, progress -> {
+		});
+		TableCopyProgress progress = new TableCopyProgress("LT_CARCO_LOGO");
+
+		copier.copy(new LinkCarCompanyAndLogo(), progress);
+
+		assertThat(secondary.getDBTable(new LinkCarCompanyAndLogo()).setBlankQueryAllowed(true).count(), is(12L));
+		assertThat(progress.isComplete(), is(true));
+		assertThat(progress.getCopiedRows(), is(12L));
+		assertThat(progress.getCopiedChunks(), is(3));
+		for (int company = 0; company < 4; company++) {
+			final LinkCarCompanyAndLogo example = new LinkCarCompanyAndLogo();
+			example.fkCarCompany.permittedValues(company);
+			assertThat(secondary.getDBTable(example).count(), is(3L));
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import nz.co.gregs.dbvolution.example.CompanyLogo;
+import nz.co.gregs.dbvolution.example.CompanyText;
+import nz.co.gregs.dbvolution.example.LinkCarCompanyAndLogo;
+import nz.co.gregs.dbvolution.example.Marque;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TableSynchronisationSchedulerTest {
+
+	private final List<DBRow> tables = Arrays.asList(
+			new LinkCarCompanyAndLogo(), new Marque(), new CompanyLogo(), new CompanyText(), new CarCompany());
+
+	@Test
+	public void referencedTablesAreSynchronisedFirst() throws Exception {
+		final Map<Class<?>, Long> started = new ConcurrentHashMap<>();
+		final Map<Class<?>, Long> finished = new ConcurrentHashMap<>();
+		final AtomicInteger running = new AtomicInteger(0);
+		final AtomicInteger maximumRunning = new AtomicInteger(0);
+		TableSynchronisationScheduler scheduler = new TableSynchronisationScheduler("referencedTablesAreSynchronisedFirst", 0, 3, p -> {
+		});
+
+		scheduler.run(tables, table -> {
+			started.put(table.getClass(), System.nanoTime());
+			maximumRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			Thread.sleep(50);
+			running.decrementAndGet();
+			finished.put(table.getClass(), System.nanoTime());
+		});
+
+		assertThat(finished.size(), is(5));
+		assertThat(maximumRunning.get(), is(3));
+		for (Class<?> dependent : Arrays.asList(Marque.class, CompanyLogo.class, CompanyText.class, LinkCarCompanyAndLogo.class)) {
+			assertThat(started.get(dependent), greaterThan(finished.get(CarCompany.class)));
+		}
+		assertThat(started.get(LinkCarCompanyAndLogo.class), greaterThan(finished.get(CompanyLogo.class)));
+	}
+
+	@Test
+	public void templateParallelismLimitsConcurrentTables() throws Exception {
+		final AtomicInteger running = new AtomicInteger(0);
+		final AtomicInteger maximumRunning = new AtomicInteger(0);
+		TableSynchronisationScheduler scheduler = new TableSynchronisationScheduler("templateParallelismLimitsConcurrentTables", 2, 4, p -> {
+		});
+
+		scheduler.run(tables, table -> {
+			maximumRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			Thread.sleep(50);
+			running.decrementAndGet();
+		});
+
+		assertThat(maximumRunning.get(), is(2));
+	}
+
+	@Test
+	public void noTablesAreStartedAfterAFailure() throws Exception {
+		final AtomicInteger synchronised = new AtomicInteger(0);
+		TableSynchronisationScheduler scheduler = new TableSynchronisationScheduler("noTablesAreStartedAfterAFailure", 0, 2, p -> {
+		});
+		try {
+			scheduler.run(tables, table -> {
+				if (table instanceof CarCompany) {
+					throw new SQLException("failed");
+				}
+				synchronised.incrementAndGet();
+			});
+			Assert.fail("The failure should have been rethrown");
+		} catch (SQLException expected) {
+			assertThat(expected.getMessage(), is("failed"));
+		}
+		assertThat(synchronised.get(), is(0));
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import nz.co.gregs.dbvolution.DBQuery;
+import nz.co.gregs.dbvolution.DBQueryRow;
+import nz.co.gregs.dbvolution.databases.DBStatement;
+import nz.co.gregs.dbvolution.databases.H2MemoryDB;
+import nz.co.gregs.dbvolution.databases.QueryIntention;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.databases.settingsbuilders.H2MemorySettingsBuilder;
+import nz.co.gregs.dbvolution.datatypes.DBString;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HydrationPlanTest {
+
+	private static final String UPPER_NAME = "upper name";
+
+	private H2MemoryDB database;
+
+	@Before
+	public void setUp() throws Exception {
+		database = new H2MemorySettingsBuilder()
+				.setDatabaseName("HydrationPlanTest")
+				.getDBDatabase();
+		database.createTable(new CarCompany());
+		database.insert(
+				new CarCompany("Toyota", 1),
+				new CarCompany("Ford", 2),
+				new CarCompany("Volvo", 3)
+		);
+	}
+
+	@After
+	public void tearDown() {
+		database.stop();
+	}
+
+	@Test
+	public void hydratesTablesAndExpressionsFromEveryRowOfTheResultSet() throws SQLException {
+		CarCompany carCo = new CarCompany();
+		DBQuery query = database.getDBQuery(carCo)
+				.addExpressionColumn(UPPER_NAME, carCo.column(carCo.name).uppercase().asExpressionColumn())
+				.setSortOrder(carCo.column(carCo.uidCarCompany));
+
+		List<DBQueryRow> rows = hydrate(query, query.getSQLForQuery());
+
+		assertThat(rows.size(), is(3));
+		List<Long> ids = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		List<String> upperNames = new ArrayList<>();
+		for (DBQueryRow row : rows) {
+			CarCompany company = row.get(carCo);
+			assertThat(company.isDefined(), is(true));
+			ids.add(company.uidCarCompany.getValue());
+			names.add(company.name.getValue());
+			upperNames.add(((DBString) row.getExpressionColumnValue(UPPER_NAME)).getValue());
+		}
+		assertThat(ids, contains(1L, 2L, 3L));
+		assertThat(names, contains("Toyota", "Ford", "Volvo"));
+		assertThat(upperNames, contains("TOYOTA", "FORD", "VOLVO"));
+	}
+
+	@Test
+	public void setsColumnsMissingFromTheResultSetToNull() throws SQLException {
+		CarCompany carCo = new CarCompany();
+		DBQuery query = database.getDBQuery(carCo)
+				.setSortOrder(carCo.column(carCo.uidCarCompany));
+
+		CarCompany idOnly = new CarCompany();
+		idOnly.setReturnFields(idOnly.uidCarCompany);
+		DBQuery idOnlyQuery = database.getDBQuery(idOnly)
+				.setSortOrder(idOnly.column(idOnly.uidCarCompany));
+
+		List<DBQueryRow> rows = hydrate(query, idOnlyQuery.getSQLForQuery());
+
+		assertThat(rows.size(), is(3));
+		for (DBQueryRow row : rows) {
+			CarCompany company = row.get(carCo);
+			assertThat(company.uidCarCompany.isNull(), is(false));
+			assertThat(company.name.isNull(), is(true));
+		}
+	}
+
+	private List<DBQueryRow> hydrate(DBQuery query, String sql) throws SQLException {
+		final QueryDetails details = query.getQueryDetails();
+		final DBDefinition defn = database.getDefinition();
+		List<DBQueryRow> rows = new ArrayList<>();
+		try (DBStatement statement = database.getDBStatement();
+				ResultSet resultSet = statement.executeQuery(new StatementDetails("HydrationPlanTest", QueryIntention.SIMPLE_SELECT_QUERY, sql, statement))) {
+			final HydrationPlan plan = HydrationPlan.create(defn, details, resultSet);
+			while (resultSet.next()) {
+				DBQueryRow queryRow = new DBQueryRow(details);
+				plan.setExpressionColumns(defn, resultSet, queryRow);
+				details.setQueryRowFromResultSet(defn, resultSet, plan, queryRow, false);
+				rows.add(queryRow);
+			}
+		}
+		return rows;
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import nz.co.gregs.dbvolution.DBQuery;
+import nz.co.gregs.dbvolution.DBQueryRow;
+import nz.co.gregs.dbvolution.DBRecursiveQuery;
+import nz.co.gregs.dbvolution.DBRecursiveQueryTest.Parts;
+import nz.co.gregs.dbvolution.databases.H2MemoryDB;
+import nz.co.gregs.dbvolution.databases.settingsbuilders.H2MemorySettingsBuilder;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RecursiveQueryEmulatorTest {
+
+	private H2MemoryDB database;
+	private Parts root;
+
+	@Before
+	public void setUp() throws Exception {
+		database = new H2MemorySettingsBuilder()
+				.setDatabaseName("RecursiveQueryEmulatorTest")
+				.getDBDatabase();
+		database.createTable(new Parts());
+		root = new Parts(null, "root");
+		database.insert(root);
+		List<Parts> level = List.of(root);
+		for (int depth = 1; depth <= 3; depth++) {
+			List<Parts> nextLevel = new ArrayList<>();
+			for (Parts parent : level) {
+				for (int i = 0; i < 4; i++) {
+					Parts child = new Parts(parent.partID.intValue(), parent.name.stringValue() + "." + i);
+					database.insert(child);
+					nextLevel.add(child);
+				}
+			}
+			level = nextLevel;
+		}
+	}
+
+	@After
+	public void tearDown() {
+		database.stop();
+	}
+
+	@Test
+	public void emulatedDescendantsMatchTheNativeQuery() throws SQLException {
+		Parts example = new Parts();
+		example.partID.permittedValues(root.partID.intValue());
+		DBQuery query = database.getDBQuery(example);
+		Set<String> expected = new HashSet<>();
+		for (Parts part : new DBRecursiveQuery<Parts>(query, example.column(example.subPartOf)).getDescendants()) {
+			expected.add(part.name.stringValue());
+		}
+
+		List<String> found = getNames(emulate(query, example, RecursiveSQLDirection.TOWARDS_LEAVES, -1));
+
+		assertThat(found.size(), is(85));
+		assertThat(new HashSet<>(found), is(expected));
+		assertThat(found.get(0), is("root"));
+		assertThat(found.subList(1, 5), containsInAnyOrder("root.0", "root.1", "root.2", "root.3"));
+	}
+
+	@Test
+	public void emulatedAncestorsOfManyRowsAreOnlyFoundOnce() throws SQLException {
+		Parts example = new Parts();
+		example.name.permittedPattern("root._._._");
+		DBQuery query = database.getDBQuery(example);
+
+		List<String> found = getNames(emulate(query, example, RecursiveSQLDirection.TOWARDS_ROOT, -1));
+
+		assertThat(found.size(), is(85));
+		assertThat(new HashSet<>(found).size(), is(85));
+		assertThat(found.get(84), is("root"));
+	}
+
+	@Test
+	public void emulationRespectsTheMaximumDepth() throws SQLException {
+		Parts example = new Parts();
+		example.partID.permittedValues(root.partID.intValue());
+		DBQuery query = database.getDBQuery(example);
+
+		List<String> found = getNames(emulate(query, example, RecursiveSQLDirection.TOWARDS_LEAVES, 2));
+
+		assertThat(found, containsInAnyOrder("root", "root.0", "root.1", "root.2", "root.3"));
+	}
+
+	@Test
+	public void loopsEndTheEmulation() throws SQLException {
+		Parts tail = new Parts(null, "Tail");
+		database.insert(tail);
+		Parts fuselage = new Parts(tail.partID.intValue(), "Fuselage");
+		database.insert(fuselage);
+		tail.subPartOf.setValue(fuselage.partID);
+		database.update(tail);
+
+		Parts example = new Parts();
+		example.name.permittedValues("Fuselage");
+		DBQuery query = database.getDBQuery(example);
+
+		List<String> found = getNames(emulate(query, example, RecursiveSQLDirection.TOWARDS_ROOT, -1));
+
+		assertThat(found, contains("Fuselage", "Tail"));
+	}
+
+	private List<DBQueryRow> emulate(DBQuery query, Parts example, RecursiveSQLDirection direction, int maximumDepth) throws SQLException {
+		RecursiveQueryDetails<Parts> details = new RecursiveQueryDetails<>();
+		details.setOriginalQuery(query);
+		details.setKeyToFollow(example.column(example.subPartOf));
+		details.setTypeToReturn(example);
+		details.setMaximumDepth(maximumDepth);
+		details.setEmulationBatchSize(3);
+		details.setEmulationParallelism(4);
+		return new RecursiveQueryEmulator<>(database, details, example, direction).emulate();
+	}
+
+	private static List<String> getNames(List<DBQueryRow> rows) {
+		List<String> names = new ArrayList<>();
+		for (DBQueryRow row : rows) {
+			names.add(row.get(new Parts()).name.stringValue());
+		}
+		return names;
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.annotations.DBColumn;
+import nz.co.gregs.dbvolution.annotations.DBPrimaryKey;
+import nz.co.gregs.dbvolution.annotations.DBTableName;
+import nz.co.gregs.dbvolution.datatypes.DBInteger;
+import nz.co.gregs.dbvolution.datatypes.DBString;
+import nz.co.gregs.dbvolution.example.Marque;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+public class RowIdentityMapTest {
+
+	@Test
+	public void integerKeysReuseTheFirstInstance() {
+		RowIdentityMap map = new RowIdentityMap();
+		for (long i = 0; i < 1000; i++) {
+			Marque marque = marque(i);
+			assertThat(map.getOrSet(marque, marque.getPrimaryKeys()), sameInstance(marque));
+		}
+		assertThat(map.size(), is(1000));
+
+		for (long i = 0; i < 1000; i++) {
+			Marque duplicate = marque(i);
+			DBRow existing = map.getOrSet(duplicate, duplicate.getPrimaryKeys());
+			assertThat(existing, not(sameInstance(duplicate)));
+			assertThat(((Marque) existing).uidMarque.getValue(), is(i));
+		}
+		assertThat(map.size(), is(1000));
+
+		Marque negative = marque(-1L);
+		assertThat(map.getOrSet(negative, negative.getPrimaryKeys()), sameInstance(negative));
+		map.clear();
+		assertThat(map.size(), is(0));
+	}
+
+	@Test
+	public void stringKeysReuseTheFirstInstance() {
+		RowIdentityMap map = new RowIdentityMap();
+		StringKeyed first = new StringKeyed("A", 1);
+		StringKeyed second = new StringKeyed("A", 2);
+		StringKeyed third = new StringKeyed("B", 1);
+
+		assertThat(map.getOrSet(first, first.getPrimaryKeys()), sameInstance(first));
+		assertThat(map.getOrSet(second, second.getPrimaryKeys()), sameInstance(first));
+		assertThat(map.getOrSet(third, third.getPrimaryKeys()), sameInstance(third));
+		assertThat(map.size(), is(2));
+	}
+
+	@Test
+	public void compositeKeysUseAllTheKeyValues() {
+		RowIdentityMap map = new RowIdentityMap();
+		CompositeKeyed first = new CompositeKeyed("A", 1);
+		CompositeKeyed sameKeys = new CompositeKeyed("A", 1);
+		CompositeKeyed differentNumber = new CompositeKeyed("A", 2);
+		CompositeKeyed differentName = new CompositeKeyed("B", 1);
+
+		assertThat(map.getOrSet(first, first.getPrimaryKeys()), sameInstance(first));
+		assertThat(map.getOrSet(sameKeys, sameKeys.getPrimaryKeys()), sameInstance(first));
+		assertThat(map.getOrSet(differentNumber, differentNumber.getPrimaryKeys()), sameInstance(differentNumber));
+		assertThat(map.getOrSet(differentName, differentName.getPrimaryKeys()), sameInstance(differentName));
+		assertThat(map.size(), is(3));
+	}
+
+	private static Marque marque(long uid) {
+		Marque marque = new Marque();
+		marque.uidMarque.setValue(uid);
+		return marque;
+	}
+
+	@DBTableName("row_identity_string_keyed")
+	public static class StringKeyed extends DBRow {
+
+		private static final long serialVersionUID = 1L;
+
+		@DBPrimaryKey
+		@DBColumn
+		public DBString name = new DBString();
+
+		@DBColumn
+		public DBInteger number = new DBInteger();
+
+		public StringKeyed() {
+		}
+
+		public StringKeyed(String name, int number) {
+			this.name.setValue(name);
+			this.number.setValue(number);
+		}
+	}
+
+	@DBTableName("row_identity_composite_keyed")
+	public static class CompositeKeyed extends DBRow {
+
+		private static final long serialVersionUID = 1L;
+
+		@DBPrimaryKey
+		@DBColumn
+		public DBString name = new DBString();
+
+		@DBPrimaryKey
+		@DBColumn
+		public DBInteger number = new DBInteger();
+
+		public CompositeKeyed() {
+		}
+
+		public CompositeKeyed(String name, int number) {
+			this.name.setValue(name);
+			this.number.setValue(number);
+		}
+	}
+}
@@ -188,6 +188,8 @@ public class DataModelTest extends AbstractTest {
 		knownKeys.add("class nz.co.gregs.dbvolution.datatypes.DBEnumTest$IntegerEnumWithDefinedValuesTable");
 		knownKeys.add("class nz.co.gregs.dbvolution.generation.Marque");
 		knownKeys.add("class nz.co.gregs.dbvolution.internal.properties.DBRowClassWrapperUsabilityTest$MyExampleTableClass");
+		knownKeys.add("class nz.co.gregs.dbvolution.internal.query.RowIdentityMapTest$StringKeyed");
+		knownKeys.add("class nz.co.gregs.dbvolution.internal.query.RowIdentityMapTest$CompositeKeyed");
 		knownKeys.add("class nz.co.gregs.dbvolution.internal.properties.TypeAdaptorUsabilityTest$10MyTable");
 		knownKeys.add("class nz.co.gregs.dbvolution.DBScriptTest$ScriptTestTable");
 		knownKeys.add("class nz.co.gregs.dbvolution.DBRecursiveQueryTest$PartsWithoutTableName$ParentPart");
@@ -322,6 +324,7 @@ public class DataModelTest extends AbstractTest {
 		knownKeys.add("class nz.co.gregs.dbvolution.expressions.InstantExpressionTest$MarqueWithSecondsFromDate");
 		knownKeys.add("class nz.co.gregs.dbvolution.datatypes.DBLargeBinaryTest$CompanyLogoForRetreivingString");
 		knownKeys.add("class nz.co.gregs.dbvolution.datatypes.DBLargeBinaryTest$CompanyLogoForRetreivingBinaryObject");
+		knownKeys.add("class nz.co.gregs.dbvolution.datatypes.DBLargeBinaryTest$CompanyLogoSpilledToTemporaryFile");
 		knownKeys.add("class nz.co.gregs.dbvolution.OuterJoinTest$Antagonist$Monster");
 		knownKeys.add("class nz.co.gregs.dbvolution.expressions.LocalDateExpressionTest$MarqueWithDateAggregators");
 		knownKeys.add("class nz.co.gregs.dbvolution.MultiplePrimaryKeyTests$InvitedUser");
@@ -333,6 +336,7 @@ public class DataModelTest extends AbstractTest {
 		knownKeys.add("class nz.co.gregs.dbvolution.datatypes.DBDateRepeatTest$MarqueWithDateRepeatExprCol");
 		knownKeys.add("class nz.co.gregs.dbvolution.datatypes.DBDateRepeatTest$DateRepeatYears");
 		knownKeys.add("class nz.co.gregs.dbvolution.datatypes.DBLargeTextTest$CompanyTextForRetreivingString");
+		knownKeys.add("class nz.co.gregs.dbvolution.datatypes.DBLargeTextTest$CompanyTextSpilledToTemporaryFile");
 		knownKeys.add("class nz.co.gregs.dbvolution.DBRecursiveQueryTest$CompletePart");
 		knownKeys.add("class nz.co.gregs.dbvolution.internal.properties.EnumTypeHandlerTest$5TestClass");
 		knownKeys.add("class nz.co.gregs.dbvolution.internal.properties.DBRowClassWrapperTest$MyTable1");
@@ -532,6 +536,8 @@ public class DataModelTest extends AbstractTest {
 		knownKeys.add("nz.co.gregs.dbvolution.DBDatabaseTest.CreateTableTestClassWithNewColumns");
 		knownKeys.add("nz.co.gregs.dbvolution.datatypes.DBLargeBinaryTest.BinaryObjectWithAutoIncrement");
 		knownKeys.add("nz.co.gregs.dbvolution.internal.properties.TableHandlerTest.MyNonAnnotatedDBRow");
+		knownKeys.add("nz.co.gregs.dbvolution.internal.query.RowIdentityMapTest.StringKeyed");
+		knownKeys.add("nz.co.gregs.dbvolution.internal.query.RowIdentityMapTest.CompositeKeyed");
 		knownKeys.add("nz.co.gregs.dbvolution.DBValidationTest.Villain");
 		knownKeys.add("nz.co.gregs.dbvolution.generation.CarCompany");
 		knownKeys.add("nz.co.gregs.dbvolution.expressions.LocalDateExpressionTest.MarqueWithLocalDate");
@@ -567,6 +573,7 @@ public class DataModelTest extends AbstractTest {
 		knownKeys.add("nz.co.gregs.dbvolution.datatypes.DBBooleanArrayTest.BooleanArrayTable");
 		knownKeys.add("nz.co.gregs.dbvolution.datatypes.DBDurationTest.DurationTable");
 		knownKeys.add("nz.co.gregs.dbvolution.datatypes.DBLargeTextTest.CompanyTextForRetreivingString");
+		knownKeys.add("nz.co.gregs.dbvolution.datatypes.DBLargeTextTest.CompanyTextSpilledToTemporaryFile");
 		knownKeys.add("nz.co.gregs.dbvolution.datatypes.DBLargeBinaryTest.CompanyLogoForRetreivingString");
 		knownKeys.add("nz.co.gregs.dbvolution.expressions.StringExpressionTest.FindFirstNumberTable");
 		knownKeys.add("nz.co.gregs.dbvolution.DBValidationTest.Hero");
@@ -647,6 +654,7 @@ public class DataModelTest extends AbstractTest {
 		knownKeys.add("nz.co.gregs.dbvolution.actions.DBInsertTest.TestValueRetrievalWith2PKs");
 		knownKeys.add("nz.co.gregs.dbvolution.DBValidationTest.Fight");
 		knownKeys.add("nz.co.gregs.dbvolution.datatypes.DBLargeBinaryTest.CompanyLogoForRetreivingBinaryObject");
+		knownKeys.add("nz.co.gregs.dbvolution.datatypes.DBLargeBinaryTest.CompanyLogoSpilledToTemporaryFile");
 		knownKeys.add("nz.co.gregs.dbvolution.generation.deprecated.CarCompany");
 		knownKeys.add("nz.co.gregs.dbvolution.datatypes.DBLocalDateTimeTest.DBLocalDateTimeTable");
 		knownKeys.add("nz.co.gregs.dbvolution.generation.deprecated.Companylogo");
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.utility;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+public class TemporalStringDecoderTest {
+
+	private static final String[] FORMATS = new String[]{"uuuu-MM-dd[ ]['T'][HH:mm:ss][.][S][S][S][S][S][S][S][S][S][ ][VV]", "uuuu-MM-dd HH:mm:ss.SSSSSS[ ]VV", "uuuu-MM-dd HH:mm:ss.SSSSSSX"};
+
+	private static final String[] CANONICAL = new String[]{
+		"2024-01-31 13:45",
+		"2024-01-31 13:45:59",
+		"2024-01-31T13:45:59",
+		"2024-02-29 00:00:00.1",
+		"2024-12-31 23:59:59.123",
+		"1999-06-15 08:07:06.123456",
+		"2024-01-31T13:45:59.123456789"
+	};
+
+	private final TemporalStringDecoder decoder = new TemporalStringDecoder(FORMATS);
+
+	@Test
+	public void canonicalStringsMatchTheIsoFormatter() {
+		for (String text : CANONICAL) {
+			final LocalDateTime expected = LocalDateTime.parse(text.replaceAll(" ", "T"), DateTimeFormatter.ISO_DATE_TIME);
+			assertThat(TemporalStringDecoder.decodeCanonical(text, false, true, true), is(expected));
+			assertThat(decoder.toLocalDateTime(text), is(expected));
+			assertThat(decoder.toInstant(text), is(ZonedDateTime.parse(text.replaceAll(" ", "T") + "Z", DateTimeFormatter.ISO_DATE_TIME).toInstant()));
+		}
+	}
+
+	@Test
+	public void canonicalStringsMatchTheSimpleDateFormat() throws Exception {
+		for (String text : CANONICAL) {
+			if (text.length() >= 19 && text.charAt(10) == ' ') {
+				assertThat(decoder.toDate(text), is(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(text)));
+			}
+		}
+	}
+
+	@Test
+	public void canonicalDatesAreDecoded() {
+		assertThat(decoder.toLocalDate("2024-01-31"), is(LocalDate.of(2024, 1, 31)));
+		assertThat(decoder.toLocalDate("2024-01-31 13:45:59.123456"), is(LocalDate.of(2024, 1, 31)));
+		assertThat(TemporalStringDecoder.decodeCanonical("2024-01-31", true, true, true), is(LocalDateTime.of(2024, 1, 31, 0, 0)));
+		assertThat(TemporalStringDecoder.decodeCanonical("2024-01-31", false, true, true), nullValue());
+	}
+
+	@Test
+	public void nonCanonicalStringsAreNotDecodedByHand() {
+		assertThat(TemporalStringDecoder.decodeCanonical("2023-02-29 00:00:00", true, true, true), nullValue());
+		assertThat(TemporalStringDecoder.decodeCanonical("2024-01-31 24:00:00", true, true, true), nullValue());
+		assertThat(TemporalStringDecoder.decodeCanonical("2024-01-31 13:45:59.", true, true, true), nullValue());
+		assertThat(TemporalStringDecoder.decodeCanonical("2024-01-31 13:45:59.1234567890", true, true, true), nullValue());
+		assertThat(TemporalStringDecoder.decodeCanonical("2024-01-31 13:45:59+12:00", true, true, true), nullValue());
+		assertThat(TemporalStringDecoder.decodeCanonical("2024-1-31 13:45:59", true, true, true), nullValue());
+		assertThat(TemporalStringDecoder.decodeCanonical("2024-01-31T13:45:59", true, false, true), nullValue());
+		assertThat(TemporalStringDecoder.decodeCanonical("2024-01-31 13:45", true, true, false), nullValue());
+	}
+
+	@Test
+	public void nonCanonicalStringsUseTheExpectedFormats() {
+		assertThat(decoder.toInstant("2024-01-31 13:45:59.123456 Pacific/Auckland"),
+				is(Instant.parse("2024-01-31T00:45:59.123456Z")));
+		assertThat(decoder.toLocalDateTime("2024-01-31T13:45:59+12:00"),
+				is(LocalDateTime.of(2024, 1, 31, 13, 45, 59)));
+		assertThat(decoder.toLocalDateTime("2023-02-29 00:00:00"),
+				is(TemporalStringParser.toLocalDateTime("2023-02-29 00:00:00", FORMATS)));
+	}
+
+	@Test(expected = DateTimeParseException.class)
+	public void invalidStringsAreRejected() {
+		decoder.toLocalDateTime("not a date");
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.utility.encryption;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+public class DerivedKeyCacheTest {
+
+	private final AtomicInteger derivations = new AtomicInteger(0);
+	private final byte[][] lastDerived = new byte[1][];
+
+	private final DerivedKeyCache.KeyDerivation derivation = (passphrase, salt) -> {
+		derivations.incrementAndGet();
+		final byte[] key = (passphrase + new String(salt, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+		lastDerived[0] = key;
+		return key;
+	};
+
+	@Test
+	public void keysAreDerivedOncePerPassphraseAndSalt() throws Exception {
+		DerivedKeyCache cache = new DerivedKeyCache(10, 0, false);
+
+		byte[] first = cache.get("phrase", bytes("salt"), derivation);
+		byte[] second = cache.get("phrase", bytes("salt"), derivation);
+		cache.get("phrase", bytes("other salt"), derivation);
+		cache.get("other phrase", bytes("salt"), derivation);
+
+		assertThat(second, is(first));
+		assertThat(second, not(sameInstance(first)));
+		assertThat(derivations.get(), is(3));
+		assertThat(cache.getHits(), is(1L));
+		assertThat(cache.getMisses(), is(3L));
+		assertThat(cache.size(), is(3));
+	}
+
+	@Test
+	public void leastRecentlyUsedKeyIsEvictedAndZeroed() throws Exception {
+		DerivedKeyCache cache = new DerivedKeyCache(2, 0, true);
+
+		cache.get("phrase", bytes("salt 1"), derivation);
+		cache.get("phrase", bytes("salt 2"), derivation);
+		final byte[] evicted = lastDerived[0];
+		cache.get("phrase", bytes("salt 1"), derivation);
+		cache.get("phrase", bytes("salt 3"), derivation);
+
+		assertThat(cache.size(), is(2));
+		assertThat(cache.getEvictions(), is(1L));
+		cache.get("phrase", bytes("salt 1"), derivation);
+		assertThat(derivations.get(), is(3));
+		cache.get("phrase", bytes("salt 2"), derivation);
+		assertThat(derivations.get(), is(4));
+		assertThat(evicted, is(new byte[evicted.length]));
+	}
+
+	@Test
+	public void expiredKeysAreDerivedAgain() throws Exception {
+		DerivedKeyCache cache = new DerivedKeyCache(10, 1, false);
+
+		cache.get("phrase", bytes("salt"), derivation);
+		Thread.sleep(10);
+		cache.get("phrase", bytes("salt"), derivation);
+
+		assertThat(derivations.get(), is(2));
+		assertThat(cache.getHits(), is(0L));
+	}
+
+	@Test
+	public void clearedKeysAreZeroed() throws Exception {
+		DerivedKeyCache cache = new DerivedKeyCache(10, 0, true);
+		byte[] key = new byte[]{1, 2, 3};
+		cache.put("phrase", bytes("salt"), key);
+		assertThat(cache.get("phrase", bytes("salt"), derivation), is(key));
+		cache.get("phrase", bytes("other salt"), derivation);
+		final byte[] cached = lastDerived[0];
+
+		cache.clear();
+		assertThat(cache.size(), is(0));
+		assertThat(cached, is(new byte[cached.length]));
+		assertThat(key, is(new byte[]{1, 2, 3}));
+	}
+
+	@Test
+	public void zeroCapacityDisablesCaching() throws Exception {
+		DerivedKeyCache cache = new DerivedKeyCache(0, 0, true);
+
+		cache.get("phrase", bytes("salt"), derivation);
+		cache.get("phrase", bytes("salt"), derivation);
+
+		assertThat(derivations.get(), is(2));
+		assertThat(cache.size(), is(0));
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -30,10 +30,15 @@
  */
 package nz.co.gregs.dbvolution.utility.encryption;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import nz.co.gregs.dbvolution.exceptions.UnableToDecryptInput;
+import org.junit.Assert;
 import org.junit.Test;
 
 /**
@@ -61,4 +66,52 @@ public class Encryption_BASE64_AES_GCM_NoPaddingTest {
 		}
 	}
 
+	@Test
+	public void testWrongPassPhraseIsNotRetriedForEachValue() throws Exception {
+		final DerivedKeyCache cache = new DerivedKeyCache();
+		Encryption_BASE64_AES_GCM_NoPadding.setKeyCache(cache);
+		try {
+			final List<Encrypted> encrypted = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				encrypted.add(Encrypted.encrypt("secret key of safety", "value " + i));
+			}
+			try {
+				Encrypted.decrypt("wrong key", encrypted);
+				Assert.fail("The wrong pass phrase should not decrypt the values");
+			} catch (UnableToDecryptInput expected) {
+			}
+			assertThat(cache.getMisses(), is(1L));
+			assertThat(cache.getHits(), is(0L));
+		} finally {
+			Encryption_BASE64_AES_GCM_NoPadding.setKeyCache(new DerivedKeyCache());
+		}
+	}
+
+	@Test
+	public void testDecryptingManyValuesDerivesEachKeyOnce() throws Exception {
+		final DerivedKeyCache cache = new DerivedKeyCache();
+		Encryption_BASE64_AES_GCM_NoPadding.setKeyCache(cache);
+		try {
+			final String passphrase = "secret key of safety";
+			final List<String> encrypted = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				encrypted.add(Encryption_BASE64_AES_GCM_NoPadding.encrypt(passphrase, "value " + i));
+			}
+			encrypted.add(encrypted.get(0));
+
+			List<String> decrypted = Encryption_BASE64_AES_GCM_NoPadding.decrypt(passphrase, encrypted);
+			assertThat(decrypted, is(Arrays.asList("value 0", "value 1", "value 2", "value 0")));
+			assertThat(cache.getMisses(), is(3L));
+			assertThat(cache.getHits(), is(0L));
+
+			try {
+				Encryption_BASE64_AES_GCM_NoPadding.decrypt("wrong key", encrypted);
+				Assert.fail("The wrong pass phrase should not decrypt the values");
+			} catch (UnableToDecryptInput expected) {
+			}
+		} finally {
+			Encryption_BASE64_AES_GCM_NoPadding.setKeyCache(new DerivedKeyCache());
+		}
+	}
+
 }